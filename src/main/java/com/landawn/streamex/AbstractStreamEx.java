@@ -26,6 +26,7 @@ import java.util.stream.*;
 import java.util.stream.Collector.Characteristics;
 
 import com.landawn.streamex.util.Fn;
+import com.landawn.streamex.util.Fn.StatefulPredicate;
 
 import java.util.AbstractMap.SimpleImmutableEntry;
 
@@ -144,6 +145,13 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
 
     @Override
     public S filter(Predicate<? super T> predicate) {
+        if (predicate instanceof StatefulPredicate) {
+            StatefulPredicate<? super T> stateful = (StatefulPredicate<? super T>) predicate;
+            Spliterator<T> spliterator = spliterator();
+            if (context.parallel && stateful.isOrderDependent() && spliterator.hasCharacteristics(Spliterator.ORDERED))
+                return supply(stateful.filterOrdered(StreamSupport.stream(spliterator, true)));
+            return supply(new StatefulFilterSpliterator<>(spliterator, stateful));
+        }
         return supply(stream().filter(predicate));
     }
 
@@ -182,7 +190,11 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
     }
 
     public <R> StreamEx<R> flattMap(Function<? super T, ? extends Collection<? extends R>> mapper) {
-        return flatMap(t -> StreamEx.of(mapper.apply(t)));
+        return mapMulti((T t, Consumer<R> sink) -> {
+            Collection<? extends R> c = mapper.apply(t);
+            if (c != null)
+                c.forEach(sink);
+        });
     }
 
     /**
@@ -216,7 +228,41 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
     }
 
     public <R> StreamEx<R> flatMapp(Function<? super T, ? extends R[]> mapper) {
-        return flatMap(t -> StreamEx.of(mapper.apply(t)));
+        return mapMulti((T t, Consumer<R> sink) -> {
+            R[] array = mapper.apply(t);
+            if (array != null) {
+                for (R r : array) {
+                    sink.accept(r);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns a stream consisting of the elements which the mapper pushes to
+     * the supplied consumer for each element of this stream. Unlike
+     * {@link #flatMap(Function)} no stream is created per element, so this is
+     * cheaper when every element is replaced with a small number of elements.
+     * On JDK 16+ {@code Stream.mapMulti} is used.
+     *
+     * <p>
+     * The consumer must not be used after the mapper returns.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate
+     * operation</a>.
+     *
+     * @param <R> The element type of the new stream
+     * @param mapper a
+     *        <a href="package-summary.html#NonInterference">non-interfering
+     *        </a>, <a href="package-summary.html#Statelessness">stateless</a>
+     *        function which pushes the replacement elements to the supplied
+     *        consumer
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public <R> StreamEx<R> mapMulti(BiConsumer<? super T, ? super Consumer<R>> mapper) {
+        return new StreamEx<>(VER_SPEC.mapMulti(this, mapper), context);
     }
 
     @Override
@@ -460,6 +506,37 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
     public abstract S distinctBy(final Function<? super T, ?> keyExtractor,
             final Predicate<? super Long> occurrencesFilter);
 
+    /**
+     * Counts the elements by keys in an open-addressing {@link KeyCounter}.
+     * 
+     * @param keyExtractor the function to extract the key
+     * @param keepFirst whether to remember the first element for every key
+     * @return the counter with the keys in the order of the first occurrence
+     */
+    <K> KeyCounter<T> countKeys(Function<? super T, ? extends K> keyExtractor, boolean keepFirst) {
+        return collect(() -> new KeyCounter<>(keepFirst), (c, t) -> c.add(keyExtractor.apply(t), t),
+            KeyCounter::addAll);
+    }
+
+    /**
+     * Lazily selects the first element for every key which number of
+     * occurrences matches the filter, preserving the order of the first
+     * occurrence.
+     * 
+     * @param keyExtractor the function to extract the key or null if the
+     *        element itself is the key
+     * @param occurrencesFilter the filter for the number of occurrences
+     * @return the new stream
+     */
+    S distinctByCount(Function<? super T, ?> keyExtractor, Predicate<? super Long> occurrencesFilter) {
+        Supplier<Stream<T>> supplier = () -> {
+            List<T> list = keyExtractor == null ? countKeys(Function.identity(), false).firsts(
+                occurrencesFilter::test) : countKeys(keyExtractor, true).firsts(occurrencesFilter::test);
+            return context.parallel ? list.parallelStream() : list.stream();
+        };
+        return supply(ForwardingStream.of(supplier));
+    }
+
     @Override
     public S sorted() {
         return supply(stream().sorted());
@@ -470,6 +547,67 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
         return supply(stream().sorted(comparator));
     }
 
+    /**
+     * Returns a stream consisting of the elements of this stream, sorted
+     * according to the provided {@code Comparator}, which keeps no more than
+     * the specified number of elements in memory.
+     *
+     * <p>
+     * The input is consumed when the resulting stream is first traversed.
+     * Every time the memory budget is exhausted, the buffered elements are
+     * sorted and written to a temporary file as a sorted run. The runs are
+     * merged lazily as the downstream requests the elements, so only one
+     * element per run is read at once. At most 64 runs are merged at once:
+     * when there are more, they are merged into longer runs in advance. If
+     * the input fits the budget, no file is created and this is equivalent
+     * to {@link #sorted(Comparator)}.
+     * In a parallel stream every run is sorted in parallel in the stream's
+     * pool, while the merge is sequential.
+     *
+     * <p>
+     * The sort is stable. The temporary files are deleted when the resulting
+     * stream is exhausted or closed. An {@link java.io.UncheckedIOException}
+     * is thrown if the files cannot be written or read.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">stateful intermediate
+     * operation</a>.
+     *
+     * @param comparator a
+     *        <a href="package-summary.html#NonInterference">non-interfering
+     *        </a>, <a href="package-summary.html#Statelessness">stateless</a>
+     *        {@code Comparator} to be used to compare stream elements
+     * @param spill the memory budget, the codec and the directory of the
+     *        temporary files
+     * @return the new stream
+     * @see #reverseSorted(Comparator)
+     * @since 2.3.3
+     */
+    public S sorted(Comparator<? super T> comparator, SpillOptions<? super T> spill) {
+        ExternalSortSpliterator<T> spliterator = new ExternalSortSpliterator<>(spliterator(), Objects.requireNonNull(
+            comparator), Objects.requireNonNull(spill), context);
+        return supply(spliterator).onClose(spliterator::close);
+    }
+
+    /**
+     * Returns the source spliterator going right to left if the stream
+     * consists of a reversible source only, otherwise returns null and
+     * leaves the stream untouched.
+     */
+    @SuppressWarnings("unchecked")
+    Spliterator<T> reverseSpliterator() {
+        if (spliterator instanceof RangeBasedSpliterator.Reversible)
+            return ((RangeBasedSpliterator.Reversible<T, ?>) spliterator()).reverse();
+        return null;
+    }
+
+    <K, A, D> EntryStream<K, D> groupBySpilling(Function<? super T, ? extends K> classifier,
+            Collector<? super T, A, D> downstream, SpillOptions<? super T> spill) {
+        SpillGroupingSpliterator<T, K, A, D> spliterator = new SpillGroupingSpliterator<>(spliterator(), Objects
+                .requireNonNull(classifier), downstream, Objects.requireNonNull(spill));
+        return new EntryStream<>(spliterator, context).onClose(spliterator::close);
+    }
+
     @Override
     public S peek(Consumer<? super T> action) {
         return supply(stream().peek(action));
@@ -574,7 +712,7 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
             BinaryOperator<A> combiner = collector.combiner();
             Spliterator<T> spliterator = spliterator();
             if (!isParallel()) {
-                A a = collector.supplier().get();
+                A a = sequentialSupplier(collector).get();
                 if (!finished.test(a)) {
                     try {
                         // forEachRemaining can be much faster
@@ -1374,17 +1512,8 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @see #toList()
      * @since 0.6.3
      */
-    @SuppressWarnings("unchecked")
     public List<T> toImmutableList() {
-        Object[] array = toArray(Object[]::new);
-        switch (array.length) {
-        case 0:
-            return Collections.emptyList();
-        case 1:
-            return Collections.singletonList((T) array[0]);
-        default:
-            return Collections.unmodifiableList(Arrays.asList((T[]) array));
-        }
+        return VER_SPEC.toImmutableList(this);
     }
 
     /**
@@ -1436,15 +1565,17 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * <p>
      * This is a terminal operation.
      *
+     * <p>
+     * The duplicates are dropped while the elements are collected, then the
+     * distinct elements are kept in a flat array and found through an
+     * open-addressing table, so no node is allocated per element.
+     *
      * @return a {@code Set} containing the elements of this stream
      * @see #toSet()
      * @since 0.6.3
      */
     public Set<T> toImmutableSet() {
-        Set<T> result = toSet();
-        if (result.size() == 0)
-            return Collections.emptySet();
-        return Collections.unmodifiableSet(result);
+        return CompactCollections.set(rawCollect(Collectors.toCollection(LinkedHashSet::new)).toArray());
     }
 
     /**
@@ -1476,6 +1607,11 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * <p>
      * This is a terminal operation.
      *
+     * <p>
+     * For parallel stream the factory is called once and the collection is
+     * filled without the intermediate collections per thread when its type
+     * allows it (see {@link StreamEx#into(Collection)}).
+     *
      * @param <C> the type of the resulting {@code Collection}
      * @param collectionFactory a {@code Supplier} which returns a new, empty
      *        {@code Collection} of the appropriate type
@@ -1483,6 +1619,8 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @see Collectors#toCollection(Supplier)
      */
     public <C extends Collection<T>> C toCollection(Supplier<? extends C> collectionFactory) {
+        if (isParallel())
+            return CollectionSinks.into(this, collectionFactory.get());
         return rawCollect(Collectors.toCollection(collectionFactory));
     }
 
@@ -1506,7 +1644,8 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * This method cannot take all the advantages of parallel streams as it must
      * process elements strictly left to right. If your accumulator function is
      * associative and you can provide a combiner function, consider using
-     * {@link #reduce(Object, BiFunction, BinaryOperator)} method.
+     * {@link #reduce(Object, BiFunction, BinaryOperator)} or
+     * {@link #foldMap(Function, Monoid)} method.
      * 
      * <p>
      * For parallel stream it's not guaranteed that accumulator will always be
@@ -1578,6 +1717,37 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
         return result.a == NONE ? Optional.empty() : Optional.of(result.a);
     }
 
+    /**
+     * Maps every element of this stream to the monoid value and combines the
+     * values using the supplied {@link Monoid}. For the empty stream the
+     * identity of the monoid is returned.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * <p>
+     * Unlike {@link #foldLeft(Object, BiFunction)}, the monoid makes the
+     * reduction fully parallel. The monoid is applied in the encounter order,
+     * so it need not be commutative. The library monoids created by the
+     * {@code Monoid} static methods are recognized: the numeric monoids
+     * accumulate the unboxed values and the string, set and map monoids
+     * accumulate into one mutable container per thread.
+     *
+     * @param <M> the type of the monoid values
+     * @param mapper a <a
+     *        href="package-summary.html#NonInterference">non-interfering </a>,
+     *        <a href="package-summary.html#Statelessness">stateless</a>
+     *        function to apply to each element
+     * @param monoid the monoid to combine the mapped values
+     * @return the combination of the mapped values
+     * @see #foldLeft(Object, BiFunction)
+     * @see #reduce(Object, BiFunction, BinaryOperator)
+     * @since 2.3.3
+     */
+    public <M> M foldMap(Function<? super T, ? extends M> mapper, Monoid<M> monoid) {
+        return collect(Monoids.collector(mapper, monoid));
+    }
+
     /**
      * Folds the elements of this stream using the provided seed object and
      * accumulation function, going right to left.
@@ -1589,8 +1759,11 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * As this method must process elements strictly right to left, it cannot
      * start processing till all the previous stream stages complete. Also it
      * requires intermediate memory to store the whole content of the stream as
-     * the stream natural order is left to right. If your accumulator function
-     * is associative and you can provide a combiner function, consider using
+     * the stream natural order is left to right, unless the stream is created
+     * right from an array or by {@code ofReversed} and no intermediate
+     * operations are applied: such source is read from the end directly. If
+     * your accumulator function is associative and you can provide a combiner
+     * function, consider using
      * {@link #reduce(Object, BiFunction, BinaryOperator)} method.
      * 
      * <p>
@@ -1610,6 +1783,12 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @since 0.2.2
      */
     public <U> U foldRight(U seed, BiFunction<? super T, U, U> accumulator) {
+        Spliterator<T> reversed = reverseSpliterator();
+        if (reversed != null) {
+            Box<U> result = new Box<>(seed);
+            reversed.forEachRemaining(t -> result.a = accumulator.apply(t, result.a));
+            return result.a;
+        }
         return toListAndThen(list -> {
             U result = seed;
             for (int i = list.size() - 1; i >= 0; i--)
@@ -1629,12 +1808,17 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * As this method must process elements strictly right to left, it cannot
      * start processing till all the previous stream stages complete. Also it
      * requires intermediate memory to store the whole content of the stream as
-     * the stream natural order is left to right. If your accumulator function
-     * is associative, consider using {@link #reduce(BinaryOperator)} method.
+     * the stream natural order is left to right, unless the stream is created
+     * right from an array or by {@code ofReversed} and no intermediate
+     * operations are applied: such source is read from the end directly. If
+     * your accumulator function is associative, consider using
+     * {@link #reduce(BinaryOperator)} method.
      * 
      * <p>
      * For parallel stream it's not guaranteed that accumulator will always be
-     * executed in the same thread.
+     * executed in the same thread. The accumulator is not required to be
+     * associative, so the results of the parallel parts are not combined: the
+     * elements are accumulated one by one after the previous stages complete.
      *
      * @param accumulator a
      *        <a href="package-summary.html#NonInterference">non-interfering
@@ -1647,6 +1831,19 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @since 0.4.0
      */
     public Optional<T> foldRight(BinaryOperator<T> accumulator) {
+        Spliterator<T> reversed = reverseSpliterator();
+        if (reversed != null) {
+            PairBox<T, Boolean> result = new PairBox<>(null, Boolean.FALSE);
+            reversed.forEachRemaining(t -> {
+                if (result.b) {
+                    result.a = accumulator.apply(t, result.a);
+                } else {
+                    result.a = t;
+                    result.b = Boolean.TRUE;
+                }
+            });
+            return result.b ? Optional.of(result.a) : Optional.empty();
+        }
         return this.<Optional<T>> toListAndThen(list -> {
             if (list.isEmpty())
                 return Optional.empty();
@@ -1776,6 +1973,14 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      */
     @SuppressWarnings("unchecked")
     public <U> List<U> scanRight(U seed, BiFunction<? super T, U, U> accumulator) {
+        Spliterator<T> reversed = reverseSpliterator();
+        if (reversed != null) {
+            List<U> result = new ArrayList<>((int) reversed.estimateSize() + 1);
+            result.add(seed);
+            reversed.forEachRemaining(t -> result.add(accumulator.apply(t, result.get(result.size() - 1))));
+            Collections.reverse(result);
+            return result;
+        }
         return toListAndThen(list -> {
             // Reusing the list for different object type as it will save memory
             List<U> result = (List<U>) list;
@@ -1799,7 +2004,9 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * 
      * <p>
      * For parallel stream it's not guaranteed that accumulator will always be
-     * executed in the same thread.
+     * executed in the same thread. The accumulator is not required to be
+     * associative, so the results of the parallel parts are not combined: the
+     * elements are accumulated one by one after the previous stages complete.
      * 
      * <p>
      * This method cannot take all the advantages of parallel streams as it must
@@ -1819,6 +2026,14 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @since 0.4.0
      */
     public List<T> scanRight(BinaryOperator<T> accumulator) {
+        Spliterator<T> reversed = reverseSpliterator();
+        if (reversed != null) {
+            List<T> result = new ArrayList<>((int) reversed.estimateSize());
+            reversed.forEachRemaining(t -> result.add(result.isEmpty() ? t : accumulator.apply(t, result.get(result
+                    .size() - 1))));
+            Collections.reverse(result);
+            return result;
+        }
         return toListAndThen(list -> {
             for (int i = list.size() - 2; i >= 0; i--) {
                 list.set(i, accumulator.apply(list.get(i), list.get(i + 1)));
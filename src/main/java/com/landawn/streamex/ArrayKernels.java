@@ -0,0 +1,579 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import com.landawn.streamex.RangeBasedSpliterator.DoubleArray;
+import com.landawn.streamex.RangeBasedSpliterator.IntArray;
+import com.landawn.streamex.RangeBasedSpliterator.LongArray;
+import com.landawn.streamex.StreamExInternals.DoubleBuffer;
+import com.landawn.streamex.StreamExInternals.IntBuffer;
+import com.landawn.streamex.StreamExInternals.LongBuffer;
+
+/**
+ * Terminal operations over the array sources of the primitive streams.
+ *
+ * <p>
+ * The unfiltered loops are unrolled by four with independent accumulators,
+ * which lets the JIT compiler vectorize them. Parallel streams split the array
+ * range into a few chunks per worker thread; every chunk runs the same loop
+ * and the partial results are combined in the encounter order.
+ *
+ * @since 2.3.3
+ */
+/* package */final class ArrayKernels {
+    static final int MIN_CHUNK = 1 << 13;
+
+    private ArrayKernels() {
+        throw new UnsupportedOperationException();
+    }
+
+    static int chunks(int size, StreamContext context) {
+        if (!context.parallel || size < MIN_CHUNK * 2)
+            return 1;
+        int parallelism = context.fjp == null ? ForkJoinPool.getCommonPoolParallelism() : context.fjp
+                .getParallelism();
+        return Math.max(1, Math.min(size / MIN_CHUNK, parallelism * 4));
+    }
+
+    static int bound(int from, int to, int chunks, int chunk) {
+        return from + (int) ((long) (to - from) * chunk / chunks);
+    }
+
+    private static <T> T run(StreamContext context, Supplier<T> operation) {
+        return context.fjp == null ? operation.get() : context.terminate(operation);
+    }
+
+    // int
+
+    static int sum(int[] a, int from, int to, IntPredicate filter) {
+        int s0 = 0;
+        int i = from;
+        if (filter != null) {
+            for (; i < to; i++) {
+                if (filter.test(a[i]))
+                    s0 += a[i];
+            }
+            return s0;
+        }
+        int s1 = 0, s2 = 0, s3 = 0;
+        for (int l = to - 3; i < l; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += a[i];
+        }
+        return s0 + s1 + s2 + s3;
+    }
+
+    static OptionalInt min(int[] a, int from, int to, IntPredicate filter) {
+        if (filter != null) {
+            boolean seen = false;
+            int m = 0;
+            for (int i = from; i < to; i++) {
+                int v = a[i];
+                if (filter.test(v) && (!seen || v < m)) {
+                    m = v;
+                    seen = true;
+                }
+            }
+            return seen ? OptionalInt.of(m) : OptionalInt.empty();
+        }
+        if (from >= to)
+            return OptionalInt.empty();
+        int m0 = a[from], m1 = m0, m2 = m0, m3 = m0;
+        int i = from + 1;
+        for (int l = to - 3; i < l; i += 4) {
+            m0 = Math.min(m0, a[i]);
+            m1 = Math.min(m1, a[i + 1]);
+            m2 = Math.min(m2, a[i + 2]);
+            m3 = Math.min(m3, a[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.min(m0, a[i]);
+        }
+        return OptionalInt.of(Math.min(Math.min(m0, m1), Math.min(m2, m3)));
+    }
+
+    static OptionalInt max(int[] a, int from, int to, IntPredicate filter) {
+        if (filter != null) {
+            boolean seen = false;
+            int m = 0;
+            for (int i = from; i < to; i++) {
+                int v = a[i];
+                if (filter.test(v) && (!seen || v > m)) {
+                    m = v;
+                    seen = true;
+                }
+            }
+            return seen ? OptionalInt.of(m) : OptionalInt.empty();
+        }
+        if (from >= to)
+            return OptionalInt.empty();
+        int m0 = a[from], m1 = m0, m2 = m0, m3 = m0;
+        int i = from + 1;
+        for (int l = to - 3; i < l; i += 4) {
+            m0 = Math.max(m0, a[i]);
+            m1 = Math.max(m1, a[i + 1]);
+            m2 = Math.max(m2, a[i + 2]);
+            m3 = Math.max(m3, a[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.max(m0, a[i]);
+        }
+        return OptionalInt.of(Math.max(Math.max(m0, m1), Math.max(m2, m3)));
+    }
+
+    static long count(int[] a, int from, int to, IntPredicate filter) {
+        if (filter == null)
+            return to - from;
+        long count = 0;
+        for (int i = from; i < to; i++) {
+            if (filter.test(a[i]))
+                count++;
+        }
+        return count;
+    }
+
+    static int[] toArray(int[] a, int from, int to, IntPredicate filter) {
+        if (filter == null)
+            return Arrays.copyOfRange(a, from, to);
+        IntBuffer buf = new IntBuffer();
+        for (int i = from; i < to; i++) {
+            if (filter.test(a[i]))
+                buf.add(a[i]);
+        }
+        return buf.toArray();
+    }
+
+    static int sum(IntArray s, StreamContext context) {
+        int[] a = s.array;
+        int from = s.cur, to = s.limit, n = chunks(to - from, context);
+        IntPredicate f = s.filter;
+        if (n == 1)
+            return sum(a, from, to, f);
+        return run(context, () -> IntStream.range(0, n).parallel().map(c -> sum(a, bound(from, to, n, c), bound(
+            from, to, n, c + 1), f)).sum());
+    }
+
+    static OptionalInt min(IntArray s, StreamContext context) {
+        int[] a = s.array;
+        int from = s.cur, to = s.limit, n = chunks(to - from, context);
+        IntPredicate f = s.filter;
+        if (n == 1)
+            return min(a, from, to, f);
+        return run(context, () -> IntStream.range(0, n).parallel().mapToObj(c -> min(a, bound(from, to, n, c),
+            bound(from, to, n, c + 1), f)).filter(OptionalInt::isPresent).mapToInt(OptionalInt::getAsInt).min());
+    }
+
+    static OptionalInt max(IntArray s, StreamContext context) {
+        int[] a = s.array;
+        int from = s.cur, to = s.limit, n = chunks(to - from, context);
+        IntPredicate f = s.filter;
+        if (n == 1)
+            return max(a, from, to, f);
+        return run(context, () -> IntStream.range(0, n).parallel().mapToObj(c -> max(a, bound(from, to, n, c),
+            bound(from, to, n, c + 1), f)).filter(OptionalInt::isPresent).mapToInt(OptionalInt::getAsInt).max());
+    }
+
+    static long count(IntArray s, StreamContext context) {
+        int[] a = s.array;
+        int from = s.cur, to = s.limit, n = s.filter == null ? 1 : chunks(to - from, context);
+        IntPredicate f = s.filter;
+        if (n == 1)
+            return count(a, from, to, f);
+        return run(context, () -> IntStream.range(0, n).parallel().mapToLong(c -> count(a, bound(from, to, n, c),
+            bound(from, to, n, c + 1), f)).sum());
+    }
+
+    static int[] toArray(IntArray s, StreamContext context) {
+        int[] a = s.array;
+        int from = s.cur, to = s.limit, n = s.filter == null ? 1 : chunks(to - from, context);
+        IntPredicate f = s.filter;
+        if (n == 1)
+            return toArray(a, from, to, f);
+        return run(context, () -> {
+            int[][] parts = IntStream.range(0, n).parallel().mapToObj(c -> toArray(a, bound(from, to, n, c), bound(
+                from, to, n, c + 1), f)).toArray(int[][]::new);
+            IntBuffer buf = new IntBuffer(Arrays.stream(parts).mapToInt(p -> p.length).sum());
+            for (int[] part : parts) {
+                System.arraycopy(part, 0, buf.data, buf.size, part.length);
+                buf.size += part.length;
+            }
+            return buf.data;
+        });
+    }
+
+    // long
+
+    static long sum(long[] a, int from, int to, LongPredicate filter) {
+        long s0 = 0;
+        int i = from;
+        if (filter != null) {
+            for (; i < to; i++) {
+                if (filter.test(a[i]))
+                    s0 += a[i];
+            }
+            return s0;
+        }
+        long s1 = 0, s2 = 0, s3 = 0;
+        for (int l = to - 3; i < l; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += a[i];
+        }
+        return s0 + s1 + s2 + s3;
+    }
+
+    static OptionalLong min(long[] a, int from, int to, LongPredicate filter) {
+        if (filter != null) {
+            boolean seen = false;
+            long m = 0;
+            for (int i = from; i < to; i++) {
+                long v = a[i];
+                if (filter.test(v) && (!seen || v < m)) {
+                    m = v;
+                    seen = true;
+                }
+            }
+            return seen ? OptionalLong.of(m) : OptionalLong.empty();
+        }
+        if (from >= to)
+            return OptionalLong.empty();
+        long m0 = a[from], m1 = m0, m2 = m0, m3 = m0;
+        int i = from + 1;
+        for (int l = to - 3; i < l; i += 4) {
+            m0 = Math.min(m0, a[i]);
+            m1 = Math.min(m1, a[i + 1]);
+            m2 = Math.min(m2, a[i + 2]);
+            m3 = Math.min(m3, a[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.min(m0, a[i]);
+        }
+        return OptionalLong.of(Math.min(Math.min(m0, m1), Math.min(m2, m3)));
+    }
+
+    static OptionalLong max(long[] a, int from, int to, LongPredicate filter) {
+        if (filter != null) {
+            boolean seen = false;
+            long m = 0;
+            for (int i = from; i < to; i++) {
+                long v = a[i];
+                if (filter.test(v) && (!seen || v > m)) {
+                    m = v;
+                    seen = true;
+                }
+            }
+            return seen ? OptionalLong.of(m) : OptionalLong.empty();
+        }
+        if (from >= to)
+            return OptionalLong.empty();
+        long m0 = a[from], m1 = m0, m2 = m0, m3 = m0;
+        int i = from + 1;
+        for (int l = to - 3; i < l; i += 4) {
+            m0 = Math.max(m0, a[i]);
+            m1 = Math.max(m1, a[i + 1]);
+            m2 = Math.max(m2, a[i + 2]);
+            m3 = Math.max(m3, a[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.max(m0, a[i]);
+        }
+        return OptionalLong.of(Math.max(Math.max(m0, m1), Math.max(m2, m3)));
+    }
+
+    static long count(long[] a, int from, int to, LongPredicate filter) {
+        if (filter == null)
+            return to - from;
+        long count = 0;
+        for (int i = from; i < to; i++) {
+            if (filter.test(a[i]))
+                count++;
+        }
+        return count;
+    }
+
+    static long[] toArray(long[] a, int from, int to, LongPredicate filter) {
+        if (filter == null)
+            return Arrays.copyOfRange(a, from, to);
+        LongBuffer buf = new LongBuffer();
+        for (int i = from; i < to; i++) {
+            if (filter.test(a[i]))
+                buf.add(a[i]);
+        }
+        return buf.toArray();
+    }
+
+    static long sum(LongArray s, StreamContext context) {
+        long[] a = s.array;
+        int from = s.cur, to = s.limit, n = chunks(to - from, context);
+        LongPredicate f = s.filter;
+        if (n == 1)
+            return sum(a, from, to, f);
+        return run(context, () -> IntStream.range(0, n).parallel().mapToLong(c -> sum(a, bound(from, to, n, c),
+            bound(from, to, n, c + 1), f)).sum());
+    }
+
+    static OptionalLong min(LongArray s, StreamContext context) {
+        long[] a = s.array;
+        int from = s.cur, to = s.limit, n = chunks(to - from, context);
+        LongPredicate f = s.filter;
+        if (n == 1)
+            return min(a, from, to, f);
+        return run(context, () -> IntStream.range(0, n).parallel().mapToObj(c -> min(a, bound(from, to, n, c),
+            bound(from, to, n, c + 1), f)).filter(OptionalLong::isPresent).mapToLong(OptionalLong::getAsLong)
+                .min());
+    }
+
+    static OptionalLong max(LongArray s, StreamContext context) {
+        long[] a = s.array;
+        int from = s.cur, to = s.limit, n = chunks(to - from, context);
+        LongPredicate f = s.filter;
+        if (n == 1)
+            return max(a, from, to, f);
+        return run(context, () -> IntStream.range(0, n).parallel().mapToObj(c -> max(a, bound(from, to, n, c),
+            bound(from, to, n, c + 1), f)).filter(OptionalLong::isPresent).mapToLong(OptionalLong::getAsLong)
+                .max());
+    }
+
+    static long count(LongArray s, StreamContext context) {
+        long[] a = s.array;
+        int from = s.cur, to = s.limit, n = s.filter == null ? 1 : chunks(to - from, context);
+        LongPredicate f = s.filter;
+        if (n == 1)
+            return count(a, from, to, f);
+        return run(context, () -> IntStream.range(0, n).parallel().mapToLong(c -> count(a, bound(from, to, n, c),
+            bound(from, to, n, c + 1), f)).sum());
+    }
+
+    static long[] toArray(LongArray s, StreamContext context) {
+        long[] a = s.array;
+        int from = s.cur, to = s.limit, n = s.filter == null ? 1 : chunks(to - from, context);
+        LongPredicate f = s.filter;
+        if (n == 1)
+            return toArray(a, from, to, f);
+        return run(context, () -> {
+            long[][] parts = IntStream.range(0, n).parallel().mapToObj(c -> toArray(a, bound(from, to, n, c), bound(
+                from, to, n, c + 1), f)).toArray(long[][]::new);
+            LongBuffer buf = new LongBuffer(Arrays.stream(parts).mapToInt(p -> p.length).sum());
+            for (long[] part : parts) {
+                System.arraycopy(part, 0, buf.data, buf.size, part.length);
+                buf.size += part.length;
+            }
+            return buf.data;
+        });
+    }
+
+    // double
+
+    /**
+     * Kahan summation as in {@link java.util.stream.DoubleStream#sum()}.
+     *
+     * @return the array of the high-order sum, the negated compensation and
+     *         the simple sum which is used if the compensated sum is NaN
+     *         because of the infinities
+     */
+    static double[] sum(double[] a, int from, int to, DoublePredicate filter) {
+        double sum = 0, comp = 0, simple = 0;
+        for (int i = from; i < to; i++) {
+            double v = a[i];
+            if (filter == null || filter.test(v)) {
+                double y = v - comp;
+                double t = sum + y;
+                comp = (t - sum) - y;
+                sum = t;
+                simple += v;
+            }
+        }
+        return new double[] { sum, comp, simple };
+    }
+
+    static double[] combineSums(double[] left, double[] right) {
+        double sum = left[0], comp = left[1];
+        for (double v : new double[] { right[0], -right[1] }) {
+            double y = v - comp;
+            double t = sum + y;
+            comp = (t - sum) - y;
+            sum = t;
+        }
+        return new double[] { sum, comp, left[2] + right[2] };
+    }
+
+    static double finalSum(double[] sums) {
+        double sum = sums[0] - sums[1];
+        if (Double.isNaN(sum) && Double.isInfinite(sums[2]))
+            return sums[2];
+        return sum;
+    }
+
+    static OptionalDouble min(double[] a, int from, int to, DoublePredicate filter) {
+        if (filter != null) {
+            boolean seen = false;
+            double m = 0;
+            for (int i = from; i < to; i++) {
+                double v = a[i];
+                if (filter.test(v)) {
+                    m = seen ? Math.min(m, v) : v;
+                    seen = true;
+                }
+            }
+            return seen ? OptionalDouble.of(m) : OptionalDouble.empty();
+        }
+        if (from >= to)
+            return OptionalDouble.empty();
+        double m0 = a[from], m1 = m0, m2 = m0, m3 = m0;
+        int i = from + 1;
+        for (int l = to - 3; i < l; i += 4) {
+            m0 = Math.min(m0, a[i]);
+            m1 = Math.min(m1, a[i + 1]);
+            m2 = Math.min(m2, a[i + 2]);
+            m3 = Math.min(m3, a[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.min(m0, a[i]);
+        }
+        return OptionalDouble.of(Math.min(Math.min(m0, m1), Math.min(m2, m3)));
+    }
+
+    static OptionalDouble max(double[] a, int from, int to, DoublePredicate filter) {
+        if (filter != null) {
+            boolean seen = false;
+            double m = 0;
+            for (int i = from; i < to; i++) {
+                double v = a[i];
+                if (filter.test(v)) {
+                    m = seen ? Math.max(m, v) : v;
+                    seen = true;
+                }
+            }
+            return seen ? OptionalDouble.of(m) : OptionalDouble.empty();
+        }
+        if (from >= to)
+            return OptionalDouble.empty();
+        double m0 = a[from], m1 = m0, m2 = m0, m3 = m0;
+        int i = from + 1;
+        for (int l = to - 3; i < l; i += 4) {
+            m0 = Math.max(m0, a[i]);
+            m1 = Math.max(m1, a[i + 1]);
+            m2 = Math.max(m2, a[i + 2]);
+            m3 = Math.max(m3, a[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.max(m0, a[i]);
+        }
+        return OptionalDouble.of(Math.max(Math.max(m0, m1), Math.max(m2, m3)));
+    }
+
+    static long count(double[] a, int from, int to, DoublePredicate filter) {
+        if (filter == null)
+            return to - from;
+        long count = 0;
+        for (int i = from; i < to; i++) {
+            if (filter.test(a[i]))
+                count++;
+        }
+        return count;
+    }
+
+    static double[] toArray(double[] a, int from, int to, DoublePredicate filter) {
+        if (filter == null)
+            return Arrays.copyOfRange(a, from, to);
+        DoubleBuffer buf = new DoubleBuffer();
+        for (int i = from; i < to; i++) {
+            if (filter.test(a[i]))
+                buf.add(a[i]);
+        }
+        return buf.toArray();
+    }
+
+    static double sum(DoubleArray s, StreamContext context) {
+        double[] a = s.array;
+        int from = s.cur, to = s.limit, n = chunks(to - from, context);
+        DoublePredicate f = s.filter;
+        if (n == 1)
+            return finalSum(sum(a, from, to, f));
+        return run(context, () -> finalSum(IntStream.range(0, n).parallel().mapToObj(c -> sum(a, bound(from, to, n,
+            c), bound(from, to, n, c + 1), f)).reduce(ArrayKernels::combineSums).get()));
+    }
+
+    static OptionalDouble min(DoubleArray s, StreamContext context) {
+        double[] a = s.array;
+        int from = s.cur, to = s.limit, n = chunks(to - from, context);
+        DoublePredicate f = s.filter;
+        if (n == 1)
+            return min(a, from, to, f);
+        return run(context, () -> IntStream.range(0, n).parallel().mapToObj(c -> min(a, bound(from, to, n, c),
+            bound(from, to, n, c + 1), f)).filter(OptionalDouble::isPresent).mapToDouble(
+                OptionalDouble::getAsDouble).reduce(Math::min));
+    }
+
+    static OptionalDouble max(DoubleArray s, StreamContext context) {
+        double[] a = s.array;
+        int from = s.cur, to = s.limit, n = chunks(to - from, context);
+        DoublePredicate f = s.filter;
+        if (n == 1)
+            return max(a, from, to, f);
+        return run(context, () -> IntStream.range(0, n).parallel().mapToObj(c -> max(a, bound(from, to, n, c),
+            bound(from, to, n, c + 1), f)).filter(OptionalDouble::isPresent).mapToDouble(
+                OptionalDouble::getAsDouble).reduce(Math::max));
+    }
+
+    static long count(DoubleArray s, StreamContext context) {
+        double[] a = s.array;
+        int from = s.cur, to = s.limit, n = s.filter == null ? 1 : chunks(to - from, context);
+        DoublePredicate f = s.filter;
+        if (n == 1)
+            return count(a, from, to, f);
+        return run(context, () -> IntStream.range(0, n).parallel().mapToLong(c -> count(a, bound(from, to, n, c),
+            bound(from, to, n, c + 1), f)).sum());
+    }
+
+    static double[] toArray(DoubleArray s, StreamContext context) {
+        double[] a = s.array;
+        int from = s.cur, to = s.limit, n = s.filter == null ? 1 : chunks(to - from, context);
+        DoublePredicate f = s.filter;
+        if (n == 1)
+            return toArray(a, from, to, f);
+        return run(context, () -> {
+            double[][] parts = IntStream.range(0, n).parallel().mapToObj(c -> toArray(a, bound(from, to, n, c),
+                bound(from, to, n, c + 1), f)).toArray(double[][]::new);
+            DoubleBuffer buf = new DoubleBuffer(Arrays.stream(parts).mapToInt(p -> p.length).sum());
+            for (double[] part : parts) {
+                System.arraycopy(part, 0, buf.data, buf.size, part.length);
+                buf.size += part.length;
+            }
+            return buf.data;
+        });
+    }
+}
@@ -0,0 +1,562 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.function.BinaryOperator;
+
+/**
+ * Immutable {@link NavigableMap} backed by the arrays of the sorted keys and
+ * their values. The lookups are binary searches, the sub-maps share the arrays
+ * of their parent. Only two references per entry are retained, unlike the
+ * node per entry of {@link TreeMap}.
+ *
+ * <p>
+ * The map is created by {@link Builder} which collects the entries in the
+ * encounter order and sorts them once. The descending views are rarely used,
+ * so they are served by a {@code TreeMap} copy which is built in linear time
+ * from the sorted entries.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 2.3.3
+ */
+/* package */final class ArrayNavigableMap<K, V> extends AbstractMap<K, V> implements NavigableMap<K, V>,
+        Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Object[] keys;
+    private final Object[] values;
+    private final int from, to;
+    private final Comparator<? super K> comparator;
+    // the key bounds of a sub-map, checked like the ones of TreeMap sub-maps
+    private final boolean fromStart, toEnd;
+    private final Object lo, hi;
+    private final boolean loInclusive, hiInclusive;
+
+    private ArrayNavigableMap(Object[] keys, Object[] values, int from, int to, Comparator<? super K> comparator) {
+        this(keys, values, from, to, comparator, true, null, false, true, null, false);
+    }
+
+    private ArrayNavigableMap(Object[] keys, Object[] values, int from, int to, Comparator<? super K> comparator,
+            boolean fromStart, Object lo, boolean loInclusive, boolean toEnd, Object hi, boolean hiInclusive) {
+        this.keys = keys;
+        this.values = values;
+        this.from = from;
+        this.to = to;
+        this.comparator = comparator;
+        this.fromStart = fromStart;
+        this.lo = lo;
+        this.loInclusive = loInclusive;
+        this.toEnd = toEnd;
+        this.hi = hi;
+        this.hiInclusive = hiInclusive;
+    }
+
+    /**
+     * Accumulates the entries in the encounter order. The parts collected in
+     * parallel are concatenated, the entries are sorted once by
+     * {@link #build()}.
+     */
+    static final class Builder<K, V> {
+        private final Comparator<? super K> comparator;
+        private final BinaryOperator<V> mergeFunction;
+        private Object[] entries = new Object[16];
+        private int size;
+
+        /**
+         * @param comparator the comparator of the keys or null for the natural
+         *        order
+         * @param mergeFunction the function to merge the values of the equal
+         *        keys in the encounter order
+         */
+        Builder(Comparator<? super K> comparator, BinaryOperator<V> mergeFunction) {
+            this.comparator = comparator;
+            this.mergeFunction = mergeFunction;
+        }
+
+        void add(K key, V value) {
+            if (size == entries.length)
+                entries = Arrays.copyOf(entries, size * 2);
+            entries[size++] = new SimpleImmutableEntry<>(key, value);
+        }
+
+        Builder<K, V> addAll(Builder<K, V> other) {
+            if (size + other.size > entries.length)
+                entries = Arrays.copyOf(entries, Math.max(entries.length * 2, size + other.size));
+            System.arraycopy(other.entries, 0, entries, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        NavigableMap<K, V> build() {
+            Comparator<? super K> cmp = comparator == null ? (Comparator<? super K>) Comparator.naturalOrder()
+                    : comparator;
+            // the sort is stable, so the equal keys are merged in the encounter order
+            Arrays.parallelSort(entries, 0, size, (a, b) -> cmp.compare(((Entry<K, V>) a).getKey(),
+                ((Entry<K, V>) b).getKey()));
+            Object[] ks = new Object[size];
+            Object[] vs = new Object[size];
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                Entry<K, V> e = (Entry<K, V>) entries[i];
+                if (n > 0 && cmp.compare((K) ks[n - 1], e.getKey()) == 0) {
+                    vs[n - 1] = mergeFunction.apply((V) vs[n - 1], e.getValue());
+                } else {
+                    ks[n] = e.getKey();
+                    vs[n++] = e.getValue();
+                }
+            }
+            entries = null;
+            if (n < size) {
+                ks = Arrays.copyOf(ks, n);
+                vs = Arrays.copyOf(vs, n);
+            }
+            return new ArrayNavigableMap<>(ks, vs, 0, n, comparator);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b) {
+        return comparator == null ? ((Comparable<Object>) a).compareTo(b) : comparator.compare((K) a, (K) b);
+    }
+
+    /**
+     * @return the index of the key or {@code -(insertion point) - 1}
+     */
+    private int search(Object key) {
+        int lo = from, hi = to - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = compare(keys[mid], key);
+            if (c < 0)
+                lo = mid + 1;
+            else if (c > 0)
+                hi = mid - 1;
+            else
+                return mid;
+        }
+        return -lo - 1;
+    }
+
+    private int ceilingIndex(Object key) {
+        int i = search(key);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private int higherIndex(Object key) {
+        int i = search(key);
+        return i >= 0 ? i + 1 : -i - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K key(int i) {
+        return i >= from && i < to ? (K) keys[i] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry<K, V> entry(int i) {
+        return i >= from && i < to ? new SimpleImmutableEntry<>((K) keys[i], (V) values[i]) : null;
+    }
+
+    /**
+     * @return true if the key is within the bounds of this map or, when
+     *         {@code inclusive} is false, equal to an exclusive bound
+     */
+    private boolean inRange(Object key, boolean inclusive) {
+        if (!fromStart) {
+            int c = compare(key, lo);
+            if (c < 0 || c == 0 && inclusive && !loInclusive)
+                return false;
+        }
+        if (!toEnd) {
+            int c = compare(key, hi);
+            if (c > 0 || c == 0 && inclusive && !hiInclusive)
+                return false;
+        }
+        return true;
+    }
+
+    private NavigableMap<K, V> range(boolean fromStart, Object lo, boolean loInclusive, boolean toEnd, Object hi,
+            boolean hiInclusive) {
+        int start = fromStart ? from : loInclusive ? ceilingIndex(lo) : higherIndex(lo);
+        int end = toEnd ? to : hiInclusive ? higherIndex(hi) : ceilingIndex(hi);
+        return new ArrayNavigableMap<>(keys, values, start, Math.max(start, end), comparator, fromStart, lo,
+                loInclusive, toEnd, hi, hiInclusive);
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return search(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = from; i < to; i++) {
+            if (Objects.equals(values[i], value))
+                return true;
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+        int i = search(key);
+        return i >= 0 ? (V) values[i] : null;
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public K firstKey() {
+        if (from == to)
+            throw new NoSuchElementException();
+        return key(from);
+    }
+
+    @Override
+    public K lastKey() {
+        if (from == to)
+            throw new NoSuchElementException();
+        return key(to - 1);
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        return entry(from);
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        return entry(to - 1);
+    }
+
+    @Override
+    public Entry<K, V> pollFirstEntry() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Entry<K, V> pollLastEntry() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        return entry(ceilingIndex(key) - 1);
+    }
+
+    @Override
+    public K lowerKey(K key) {
+        return key(ceilingIndex(key) - 1);
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        return entry(higherIndex(key) - 1);
+    }
+
+    @Override
+    public K floorKey(K key) {
+        return key(higherIndex(key) - 1);
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return entry(ceilingIndex(key));
+    }
+
+    @Override
+    public K ceilingKey(K key) {
+        return key(ceilingIndex(key));
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(K key) {
+        return entry(higherIndex(key));
+    }
+
+    @Override
+    public K higherKey(K key) {
+        return key(higherIndex(key));
+    }
+
+    @Override
+    public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        if (compare(fromKey, toKey) > 0)
+            throw new IllegalArgumentException("fromKey > toKey");
+        if (!inRange(fromKey, fromInclusive))
+            throw new IllegalArgumentException("fromKey out of range");
+        if (!inRange(toKey, toInclusive))
+            throw new IllegalArgumentException("toKey out of range");
+        return range(false, fromKey, fromInclusive, false, toKey, toInclusive);
+    }
+
+    @Override
+    public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+        if (!inRange(toKey, inclusive))
+            throw new IllegalArgumentException("toKey out of range");
+        return range(fromStart, lo, loInclusive, false, toKey, inclusive);
+    }
+
+    @Override
+    public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+        if (!inRange(fromKey, inclusive))
+            throw new IllegalArgumentException("fromKey out of range");
+        return range(false, fromKey, inclusive, toEnd, hi, hiInclusive);
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(K toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(K fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public NavigableMap<K, V> descendingMap() {
+        NavigableMap<K, V> copy = new TreeMap<>(this);
+        // keep the bounds, so the sub-maps of the view are checked alike
+        if (!fromStart && !toEnd)
+            copy = copy.subMap((K) lo, loInclusive, (K) hi, hiInclusive);
+        else if (!fromStart)
+            copy = copy.tailMap((K) lo, loInclusive);
+        else if (!toEnd)
+            copy = copy.headMap((K) hi, hiInclusive);
+        return Collections.unmodifiableNavigableMap(copy).descendingMap();
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+        return new KeySet<>(this);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+        return descendingMap().navigableKeySet();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Collection<V> values() {
+        return (Collection<V>) Collections.unmodifiableList(Arrays.asList(values).subList(from, to));
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new Iterator<Entry<K, V>>() {
+                    private int i = from;
+
+                    @Override
+                    public boolean hasNext() {
+                        return i < to;
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        if (i >= to)
+                            throw new NoSuchElementException();
+                        return entry(i++);
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Entry))
+                    return false;
+                Entry<?, ?> e = (Entry<?, ?>) o;
+                int i = search(e.getKey());
+                return i >= 0 && Objects.equals(values[i], e.getValue());
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
+    }
+
+    static final class KeySet<K> extends AbstractSet<K> implements NavigableSet<K>, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayNavigableMap<K, ?> map;
+
+        KeySet(ArrayNavigableMap<K, ?> map) {
+            this.map = map;
+        }
+
+        private static <K> NavigableSet<K> of(NavigableMap<K, ?> map) {
+            return map.navigableKeySet();
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return new Iterator<K>() {
+                private int i = map.from;
+
+                @Override
+                public boolean hasNext() {
+                    return i < map.to;
+                }
+
+                @Override
+                public K next() {
+                    if (i >= map.to)
+                        throw new NoSuchElementException();
+                    return map.key(i++);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return map.containsKey(o);
+        }
+
+        @Override
+        public Comparator<? super K> comparator() {
+            return map.comparator();
+        }
+
+        @Override
+        public K first() {
+            return map.firstKey();
+        }
+
+        @Override
+        public K last() {
+            return map.lastKey();
+        }
+
+        @Override
+        public K lower(K e) {
+            return map.lowerKey(e);
+        }
+
+        @Override
+        public K floor(K e) {
+            return map.floorKey(e);
+        }
+
+        @Override
+        public K ceiling(K e) {
+            return map.ceilingKey(e);
+        }
+
+        @Override
+        public K higher(K e) {
+            return map.higherKey(e);
+        }
+
+        @Override
+        public K pollFirst() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public K pollLast() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public NavigableSet<K> descendingSet() {
+            return map.descendingKeySet();
+        }
+
+        @Override
+        public Iterator<K> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public NavigableSet<K> subSet(K fromElement, boolean fromInclusive, K toElement, boolean toInclusive) {
+            return of(map.subMap(fromElement, fromInclusive, toElement, toInclusive));
+        }
+
+        @Override
+        public NavigableSet<K> headSet(K toElement, boolean inclusive) {
+            return of(map.headMap(toElement, inclusive));
+        }
+
+        @Override
+        public NavigableSet<K> tailSet(K fromElement, boolean inclusive) {
+            return of(map.tailMap(fromElement, inclusive));
+        }
+
+        @Override
+        public SortedSet<K> subSet(K fromElement, K toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public SortedSet<K> headSet(K toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public SortedSet<K> tailSet(K fromElement) {
+            return tailSet(fromElement, true);
+        }
+    }
+}
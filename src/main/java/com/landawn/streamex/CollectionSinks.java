@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import static com.landawn.streamex.StreamExInternals.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * Drains parallel streams into the existing collections without copying the
+ * elements into a temporary array and then into the collection again where
+ * the target allows it:
+ *
+ * <ul>
+ * <li>the concurrent sets are added to directly from all the threads;</li>
+ * <li>an {@link ArrayList} is pre-sized to the exact size of a
+ * {@code SUBSIZED} stream and every split sets its own disjoint index
+ * range;</li>
+ * <li>a {@link HashSet} or a map is filled from the per-split partials which
+ * are merged smaller into larger;</li>
+ * <li>other collections get the array of the elements without the defensive
+ * copy {@link Collection#addAll(Collection)} makes of it.</li>
+ * </ul>
+ *
+ * @since 2.3.3
+ */
+/* package */final class CollectionSinks {
+    private CollectionSinks() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Adds all the elements of the parallel stream to the target collection
+     * in the encounter order unless the target is a set.
+     */
+    @SuppressWarnings("unchecked")
+    static <T, C extends Collection<? super T>> C into(AbstractStreamEx<T, ?> stream, C target) {
+        if (target instanceof ConcurrentHashMap.KeySetView || target instanceof ConcurrentSkipListSet) {
+            stream.forEach(target::add);
+        } else if (target.getClass() == HashSet.class) {
+            target.addAll(stream.collect(Collector.<T, Set<T>> of(HashSet::new, Set::add, CollectionSinks::bySize,
+                Collector.Characteristics.UNORDERED)));
+        } else {
+            Spliterator<T> spliterator = stream.spliterator();
+            long size = spliterator.getExactSizeIfKnown();
+            if (target.getClass() == ArrayList.class && spliterator.hasCharacteristics(Spliterator.SUBSIZED)
+                && size <= Integer.MAX_VALUE - 8 - target.size()) {
+                fill((ArrayList<Object>) target, spliterator, (int) size, stream.context);
+            } else {
+                target.addAll((Collection<T>) new ArrayCollection(new StreamEx<>(spliterator, stream.context)
+                        .toArray()));
+            }
+        }
+        return target;
+    }
+
+    private static <T> Set<T> bySize(Set<T> a, Set<T> b) {
+        if (a.size() < b.size()) {
+            b.addAll(a);
+            return b;
+        }
+        a.addAll(b);
+        return a;
+    }
+
+    private static void fill(ArrayList<Object> list, Spliterator<?> spliterator, int size, StreamContext context) {
+        int base = list.size();
+        list.ensureCapacity(base + size);
+        for (int i = 0; i < size; i++) {
+            list.add(null);
+        }
+        ForkJoinPool pool = context.fjp == null ? ForkJoinPool.commonPool() : context.fjp;
+        try {
+            pool.invoke(new IndexedFill(spliterator, list, base, Math.max(size / (pool.getParallelism() << 2), 1)));
+        } catch (RuntimeException | Error e) {
+            list.subList(base, list.size()).clear();
+            throw e;
+        }
+    }
+
+    /**
+     * Splits a {@code SUBSIZED} spliterator, so the offset of every part is
+     * known, and sets the elements of the part at its positions of the list.
+     */
+    static final class IndexedFill extends RecursiveAction implements Consumer<Object> {
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<?> spliterator;
+        private final ArrayList<Object> list;
+        private final long threshold;
+        private int index;
+
+        IndexedFill(Spliterator<?> spliterator, ArrayList<Object> list, int index, long threshold) {
+            this.spliterator = spliterator;
+            this.list = list;
+            this.index = index;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void accept(Object t) {
+            list.set(index++, t);
+        }
+
+        @Override
+        protected void compute() {
+            Spliterator<?> prefix;
+            if (spliterator.estimateSize() > threshold && (prefix = spliterator.trySplit()) != null) {
+                invokeAll(new IndexedFill(prefix, list, index, threshold), new IndexedFill(spliterator, list,
+                        index + (int) prefix.getExactSizeIfKnown(), threshold));
+            } else {
+                spliterator.forEachRemaining(this);
+            }
+        }
+    }
+
+    /**
+     * Returns a collector of the entries to the per-split {@link HashMap}
+     * partials which are merged smaller into larger.
+     *
+     * @throws IllegalStateException on the duplicate keys
+     */
+    static <K, V> Collector<Entry<K, V>, ?, Map<K, V>> partialMaps() {
+        return Collector.<Entry<K, V>, Map<K, V>> of(HashMap::new, (m, e) -> putUnique(m, e.getKey(), e.getValue()),
+            (a, b) -> {
+                Map<K, V> big = a.size() < b.size() ? b : a;
+                (big == a ? b : a).forEach((k, v) -> putUnique(big, k, v));
+                return big;
+            }, Collector.Characteristics.UNORDERED);
+    }
+
+    private static <K, V> void putUnique(Map<K, V> map, K key, V value) {
+        V old = map.putIfAbsent(key, value);
+        if (old != null)
+            throw new IllegalStateException("Duplicate entry for key '" + key + "' (attempt to merge values '" + old
+                + "' and '" + value + "')");
+    }
+}
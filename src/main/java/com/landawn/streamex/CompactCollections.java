@@ -0,0 +1,504 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Immutable collections which keep their elements in flat arrays instead of
+ * the nodes of {@link java.util.HashMap}, so they are cheap to retain for a
+ * long time. The hash-based ones keep the elements densely in the encounter
+ * order and find them through an open-addressing table of their positions.
+ *
+ * <p>
+ * Every collection is built in one pass over the array produced by the
+ * stream, which is already exactly sized for the {@code SIZED} streams.
+ *
+ * @since 2.3.3
+ */
+/* package */final class CompactCollections {
+    private CompactCollections() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final int MAX_TABLE_LENGTH = 1 << 30;
+
+    /**
+     * @return the power of two index table length for the given number of
+     *         elements, so the table is at most half full unless it's the
+     *         largest possible table
+     */
+    private static int tableLength(int size) {
+        if (size >= MAX_TABLE_LENGTH)
+            throw new OutOfMemoryError("Too many elements: " + size);
+        return (int) Math.min(Long.highestOneBit(Math.max(size, 1) * 4L - 1), MAX_TABLE_LENGTH);
+    }
+
+    /**
+     * @return the index table for the given distinct elements
+     */
+    private static int[] index(Object[] elements) {
+        int[] idx = new int[tableLength(elements.length)];
+        int mask = idx.length - 1;
+        for (int pos = 0; pos < elements.length; pos++) {
+            int i = spread(Objects.hashCode(elements[pos])) & mask;
+            while (idx[i] != 0)
+                i = (i + 1) & mask;
+            idx[i] = pos + 1;
+        }
+        return idx;
+    }
+
+    private static int[] index(int[] elements) {
+        int[] idx = new int[tableLength(elements.length)];
+        int mask = idx.length - 1;
+        for (int pos = 0; pos < elements.length; pos++) {
+            int i = spread(elements[pos]) & mask;
+            while (idx[i] != 0)
+                i = (i + 1) & mask;
+            idx[i] = pos + 1;
+        }
+        return idx;
+    }
+
+    private static int[] index(long[] elements) {
+        int[] idx = new int[tableLength(elements.length)];
+        int mask = idx.length - 1;
+        for (int pos = 0; pos < elements.length; pos++) {
+            int i = spread(Long.hashCode(elements[pos])) & mask;
+            while (idx[i] != 0)
+                i = (i + 1) & mask;
+            idx[i] = pos + 1;
+        }
+        return idx;
+    }
+
+    /**
+     * Returns an immutable list backed by the given array which must not be
+     * modified afterwards.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> List<T> list(Object[] array) {
+        switch (array.length) {
+        case 0:
+            return Collections.emptyList();
+        case 1:
+            return Collections.singletonList((T) array[0]);
+        default:
+            return new ImmutableArrayList<>(array);
+        }
+    }
+
+    /**
+     * Returns an immutable set of the distinct elements of the given array
+     * which is reused to store them.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Set<T> set(Object[] array) {
+        switch (array.length) {
+        case 0:
+            return Collections.emptySet();
+        case 1:
+            return Collections.singleton((T) array[0]);
+        default:
+            return new ImmutableHashSet<>(array);
+        }
+    }
+
+    /**
+     * Returns an immutable map of the given entries.
+     *
+     * @throws IllegalStateException if the entries contain duplicate keys
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> Map<K, V> map(Object[] entries) {
+        switch (entries.length) {
+        case 0:
+            return Collections.emptyMap();
+        case 1:
+            Entry<K, V> e = (Entry<K, V>) entries[0];
+            return Collections.singletonMap(e.getKey(), e.getValue());
+        default:
+            return new ImmutableHashMap<>(entries);
+        }
+    }
+
+    static List<Integer> intList(int[] array) {
+        return array.length == 0 ? Collections.emptyList() : new ImmutableIntList(array);
+    }
+
+    static List<Long> longList(long[] array) {
+        return array.length == 0 ? Collections.emptyList() : new ImmutableLongList(array);
+    }
+
+    static Set<Integer> intSet(int[] array) {
+        return array.length == 0 ? Collections.emptySet() : new ImmutableIntSet(array);
+    }
+
+    static Set<Long> longSet(long[] array) {
+        return array.length == 0 ? Collections.emptySet() : new ImmutableLongSet(array);
+    }
+
+    static final class ImmutableArrayList<T> extends AbstractList<T> implements RandomAccess, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] elements;
+
+        ImmutableArrayList(Object[] elements) {
+            this.elements = elements;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get(int index) {
+            return (T) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return elements.clone();
+        }
+    }
+
+    /**
+     * Keeps the distinct elements densely in the encounter order; the index
+     * table stores their position + 1 and zero marks an empty slot.
+     */
+    static final class ImmutableHashSet<T> extends AbstractSet<T> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] elements;
+        private final int[] index;
+
+        ImmutableHashSet(Object[] array) {
+            int[] idx = new int[tableLength(array.length)];
+            int mask = idx.length - 1;
+            int size = 0;
+            for (Object e : array) {
+                int i = spread(Objects.hashCode(e)) & mask;
+                while (true) {
+                    int pos = idx[i] - 1;
+                    if (pos < 0) {
+                        array[size] = e;
+                        idx[i] = ++size;
+                        break;
+                    }
+                    if (Objects.equals(array[pos], e))
+                        break;
+                    i = (i + 1) & mask;
+                }
+            }
+            this.elements = size == array.length ? array : Arrays.copyOf(array, size);
+            // the duplicates are not stored, so the table may be smaller
+            this.index = idx.length == tableLength(size) ? idx : index(elements);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            int[] idx = index;
+            int mask = idx.length - 1;
+            for (int i = spread(Objects.hashCode(o)) & mask;; i = (i + 1) & mask) {
+                int pos = idx[i] - 1;
+                if (pos < 0)
+                    return false;
+                if (Objects.equals(elements[pos], o))
+                    return true;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Iterator<T> iterator() {
+            return (Iterator<T>) Arrays.asList(elements).iterator();
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return elements.clone();
+        }
+    }
+
+    static final class ImmutableHashMap<K, V> extends AbstractMap<K, V> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] keys;
+        private final Object[] values;
+        private final int[] index;
+
+        ImmutableHashMap(Object[] entries) {
+            int n = entries.length;
+            Object[] ks = new Object[n], vs = new Object[n];
+            int[] idx = new int[tableLength(n)];
+            int mask = idx.length - 1;
+            for (int pos = 0; pos < n; pos++) {
+                Entry<?, ?> e = (Entry<?, ?>) entries[pos];
+                Object key = e.getKey();
+                int i = spread(Objects.hashCode(key)) & mask;
+                while (idx[i] != 0) {
+                    int other = idx[i] - 1;
+                    if (Objects.equals(ks[other], key))
+                        throw new IllegalStateException("Duplicate entry for key '" + key
+                            + "' (attempt to merge values '" + vs[other] + "' and '" + e.getValue() + "')");
+                    i = (i + 1) & mask;
+                }
+                ks[pos] = key;
+                vs[pos] = e.getValue();
+                idx[i] = pos + 1;
+            }
+            this.keys = ks;
+            this.values = vs;
+            this.index = idx;
+        }
+
+        private int position(Object key) {
+            int[] idx = index;
+            int mask = idx.length - 1;
+            for (int i = spread(Objects.hashCode(key)) & mask;; i = (i + 1) & mask) {
+                int pos = idx[i] - 1;
+                if (pos < 0 || Objects.equals(keys[pos], key))
+                    return pos;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V get(Object key) {
+            int pos = position(key);
+            return pos < 0 ? null : (V) values[pos];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return position(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new Iterator<Entry<K, V>>() {
+                        private int pos;
+
+                        @Override
+                        public boolean hasNext() {
+                            return pos < keys.length;
+                        }
+
+                        @SuppressWarnings("unchecked")
+                        @Override
+                        public Entry<K, V> next() {
+                            if (pos >= keys.length)
+                                throw new NoSuchElementException();
+                            int p = pos++;
+                            return new SimpleImmutableEntry<>((K) keys[p], (V) values[p]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+    }
+
+    static final class ImmutableIntList extends AbstractList<Integer> implements RandomAccess, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] elements;
+
+        ImmutableIntList(int[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return elements[index];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+    }
+
+    static final class ImmutableLongList extends AbstractList<Long> implements RandomAccess, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] elements;
+
+        ImmutableLongList(long[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Long get(int index) {
+            return elements[index];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+    }
+
+    static final class ImmutableIntSet extends AbstractSet<Integer> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] elements;
+        private final int[] index;
+
+        ImmutableIntSet(int[] array) {
+            int[] idx = new int[tableLength(array.length)];
+            int mask = idx.length - 1;
+            int size = 0;
+            for (int e : array) {
+                int i = spread(e) & mask;
+                while (true) {
+                    int pos = idx[i] - 1;
+                    if (pos < 0) {
+                        array[size] = e;
+                        idx[i] = ++size;
+                        break;
+                    }
+                    if (array[pos] == e)
+                        break;
+                    i = (i + 1) & mask;
+                }
+            }
+            this.elements = size == array.length ? array : Arrays.copyOf(array, size);
+            // the duplicates are not stored, so the table may be smaller
+            this.index = idx.length == tableLength(size) ? idx : index(elements);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Integer))
+                return false;
+            int e = (Integer) o;
+            int[] idx = index;
+            int mask = idx.length - 1;
+            for (int i = spread(e) & mask;; i = (i + 1) & mask) {
+                int pos = idx[i] - 1;
+                if (pos < 0)
+                    return false;
+                if (elements[pos] == e)
+                    return true;
+            }
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new ImmutableIntList(elements).iterator();
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+    }
+
+    static final class ImmutableLongSet extends AbstractSet<Long> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] elements;
+        private final int[] index;
+
+        ImmutableLongSet(long[] array) {
+            int[] idx = new int[tableLength(array.length)];
+            int mask = idx.length - 1;
+            int size = 0;
+            for (long e : array) {
+                int i = spread(Long.hashCode(e)) & mask;
+                while (true) {
+                    int pos = idx[i] - 1;
+                    if (pos < 0) {
+                        array[size] = e;
+                        idx[i] = ++size;
+                        break;
+                    }
+                    if (array[pos] == e)
+                        break;
+                    i = (i + 1) & mask;
+                }
+            }
+            this.elements = size == array.length ? array : Arrays.copyOf(array, size);
+            // the duplicates are not stored, so the table may be smaller
+            this.index = idx.length == tableLength(size) ? idx : index(elements);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Long))
+                return false;
+            long e = (Long) o;
+            int[] idx = index;
+            int mask = idx.length - 1;
+            for (int i = spread(Long.hashCode(e)) & mask;; i = (i + 1) & mask) {
+                int pos = idx[i] - 1;
+                if (pos < 0)
+                    return false;
+                if (elements[pos] == e)
+                    return true;
+            }
+        }
+
+        @Override
+        public Iterator<Long> iterator() {
+            return new ImmutableLongList(elements).iterator();
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+    }
+}
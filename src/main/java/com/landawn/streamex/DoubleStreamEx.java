@@ -25,6 +25,8 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.function.*;
 import java.util.stream.*;
 
+import com.landawn.streamex.RangeBasedSpliterator.DoubleArray;
+import com.landawn.streamex.function.DoubleTernaryOperator;
 import com.landawn.streamex.util.Fn;
 
 import java.util.AbstractMap.SimpleImmutableEntry;
@@ -67,8 +69,20 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
         return (DoubleStreamEx) super.onClose(closeHandler);
     }
 
+    /**
+     * Consumes and returns the array source if no intermediate operation other
+     * than a filter was applied to it.
+     *
+     * @return the array source or null
+     */
+    private DoubleArray arraySource() {
+        return spliterator instanceof DoubleArray ? (DoubleArray) spliterator() : null;
+    }
+
     @Override
     public DoubleStreamEx filter(DoublePredicate predicate) {
+        if (spliterator instanceof DoubleArray)
+            return new DoubleStreamEx(arraySource().filter(predicate), context);
         return new DoubleStreamEx(stream().filter(predicate), context);
     }
 
@@ -319,7 +333,37 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
     }
 
     public DoubleStreamEx flattMap(final DoubleFunction<double[]> mapper) {
-        return flatMap(d -> DoubleStreamEx.of(mapper.apply(d)));
+        return mapMultii((value, sink) -> {
+            double[] array = mapper.apply(value);
+            if (array != null) {
+                for (double v : array) {
+                    sink.accept(v);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns a stream consisting of the elements which the mapper pushes to
+     * the supplied consumer for each element of this stream. Unlike
+     * {@link #flatMap(DoubleFunction)} no stream is created per element, so this is
+     * cheaper when every element is replaced with a small number of elements.
+     * It's named differently from {@code DoubleStream.mapMulti} of JDK 16, so
+     * the lambdas are not ambiguous.
+     *
+     * <p>
+     * The consumer must not be used after the mapper returns.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param mapper a non-interfering, stateless function which pushes the
+     *        replacement elements to the supplied consumer
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public DoubleStreamEx mapMultii(DoubleMapMultiConsumer mapper) {
+        return delegate(new MapMultiSpliterator.OfDouble(spliterator(), mapper));
     }
 
     /**
@@ -736,6 +780,9 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
 
     @Override
     public double[] toArray() {
+        DoubleArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.toArray(source, context);
         if (context.fjp != null)
             return context.terminate(stream()::toArray);
         return stream().toArray();
@@ -877,6 +924,35 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
         return box[0];
     }
 
+    /**
+     * Combines the elements of this stream using the supplied {@link Monoid}.
+     * For the empty stream the identity of the monoid is returned.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * <p>
+     * Unlike {@link #foldLeft(double, DoubleBinaryOperator)}, the monoid makes the
+     * reduction fully parallel. The library monoids like
+     * {@link Monoid#doubleSum()} are recognized and reduce the elements without
+     * boxing, other monoids reduce the boxed elements.
+     *
+     * @param monoid the monoid to combine the elements
+     * @return the combination of the elements
+     * @throws NullPointerException if the monoid yields null
+     * @see #foldLeft(double, DoubleBinaryOperator)
+     * @see #reduce(double, DoubleBinaryOperator)
+     * @see StreamEx#foldMap(Function, Monoid)
+     * @since 2.3.3
+     */
+    public double fold(Monoid<Double> monoid) {
+        if (monoid instanceof Monoids.DoubleMonoid) {
+            Monoids.DoubleMonoid m = (Monoids.DoubleMonoid) monoid;
+            return reduce(m.identity, m.op);
+        }
+        return boxed().foldMap(Function.identity(), monoid);
+    }
+
     /**
      * Produces an array containing cumulative results of applying the
      * accumulation function going left to right.
@@ -1031,6 +1107,9 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
 
     @Override
     public double sum() {
+        DoubleArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.sum(source, context);
         if (context.fjp != null)
             return context.terminate(stream()::sum);
         return stream().sum();
@@ -1038,6 +1117,9 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
 
     @Override
     public OptionalDouble min() {
+        DoubleArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.min(source, context);
         return reduce(Math::min);
     }
 
@@ -1166,6 +1248,9 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
 
     @Override
     public OptionalDouble max() {
+        DoubleArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.max(source, context);
         return reduce(Math::max);
     }
 
@@ -1293,6 +1378,9 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
 
     @Override
     public long count() {
+        DoubleArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.count(source, context);
         if (context.fjp != null)
             return context.terminate(stream()::count);
         return stream().count();
@@ -1527,6 +1615,52 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
         return delegate(new PairSpliterator.PSOfDouble(mapper, null, spliterator(), PairSpliterator.MODE_PAIRS));
     }
 
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the every adjacent pair of elements of this stream, like
+     * the deltas of the consecutive values. This is the same as
+     * {@link #pairMap(DoubleBinaryOperator)}.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * @param mapper a non-interfering, stateless function to apply to each
+     *        adjacent pair of this stream elements.
+     * @return the new stream
+     * @see StreamEx#slidingMap(java.util.function.BiFunction)
+     * @since 2.3.3
+     */
+    public DoubleStreamEx slidingMap(DoubleBinaryOperator mapper) {
+        return pairMap(mapper);
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the every window of three adjacent elements of this stream,
+     * like the moving sums or averages.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>. The elements are not boxed. In parallel every split reads
+     * the first two elements of the next one ahead, so the windows crossing
+     * the split boundaries need no synchronization.
+     *
+     * <p>
+     * The output stream will contain two elements less than this stream. If
+     * this stream contains less than three elements the output stream will be
+     * empty.
+     *
+     * @param mapper a non-interfering, stateless function to apply to each
+     *        window of three adjacent elements of this stream.
+     * @return the new stream
+     * @see StreamEx#slidingMap(com.landawn.streamex.function.TriFunction)
+     * @since 2.3.3
+     */
+    public DoubleStreamEx slidingMap(DoubleTernaryOperator mapper) {
+        return delegate(new SlidingSpliterator.OfDouble(spliterator(), mapper));
+    }
+
     /**
      * Returns a {@link String} which is the concatenation of the results of
      * calling {@link String#valueOf(double)} on each element of this stream,
@@ -1690,7 +1824,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
             return empty();
         }
 
-        return of(Arrays.spliterator(elements));
+        return of(new DoubleArray(0, elements.length, elements, null));
     }
 
     /**
@@ -1714,7 +1848,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
         }
 
         rangeCheck(array.length, startInclusive, endExclusive);
-        return of(Arrays.spliterator(array, startInclusive, endExclusive));
+        return of(new DoubleArray(startInclusive, endExclusive, array, null));
     }
 
     /**
@@ -2185,4 +2319,22 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
             return of(spliterator());
         }
     }
+
+    /**
+     * Represents an operation which pushes zero or more elements to the
+     * supplied consumer for a single element.
+     *
+     * @since 2.3.3
+     * @see DoubleStreamEx#mapMultii(DoubleMapMultiConsumer)
+     */
+    @FunctionalInterface
+    public interface DoubleMapMultiConsumer {
+        /**
+         * Pushes the replacement elements of the value to the consumer.
+         *
+         * @param value the stream element
+         * @param consumer the consumer which accepts the replacement elements
+         */
+        void accept(double value, DoubleConsumer consumer);
+    }
 }
@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +33,7 @@ import java.util.Spliterator;
 import java.util.Map.Entry;
 import java.util.NavigableMap;
 import java.util.NoSuchElementException;
+import java.util.OptionalLong;
 import java.util.SortedMap;
 import java.util.Spliterators;
 import java.util.concurrent.ConcurrentMap;
@@ -43,6 +45,9 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToLongBiFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 import java.util.stream.Collector.Characteristics;
 import java.util.stream.Collectors;
@@ -52,7 +57,6 @@ import java.util.stream.StreamSupport;
 import com.landawn.streamex.util.Comparators;
 import com.landawn.streamex.util.Fn;
 import com.landawn.streamex.util.Fn.Suppliers;
-import com.landawn.streamex.util.Keyed;
 
 /**
  * A {@link Stream} of {@link Entry} objects which provides additional specific
@@ -171,14 +175,26 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
     }
 
     public <KK> EntryStream<KK, V> flattMapKeys(Function<? super K, ? extends Collection<? extends KK>> mapper) {
-        return new EntryStream<>(stream().flatMap(e -> withValue(StreamEx.of(mapper.apply(e.getKey())), e.getValue())),
-                context);
+        return new EntryStream<>(VER_SPEC.mapMulti(this, (Entry<K, V> e, Consumer<Entry<KK, V>> sink) -> {
+            Collection<? extends KK> keys = mapper.apply(e.getKey());
+            if (keys != null) {
+                for (KK k : keys) {
+                    sink.accept(new SimpleImmutableEntry<>(k, e.getValue()));
+                }
+            }
+        }), context);
     }
 
     public <KK> EntryStream<KK, V> flattMapKeys(
             BiFunction<? super K, ? super V, ? extends Collection<? extends KK>> mapper) {
-        return new EntryStream<>(stream().flatMap(e -> withValue(StreamEx.of(mapper.apply(e.getKey(), e.getValue())), e
-                .getValue())), context);
+        return new EntryStream<>(VER_SPEC.mapMulti(this, (Entry<K, V> e, Consumer<Entry<KK, V>> sink) -> {
+            Collection<? extends KK> keys = mapper.apply(e.getKey(), e.getValue());
+            if (keys != null) {
+                for (KK k : keys) {
+                    sink.accept(new SimpleImmutableEntry<>(k, e.getValue()));
+                }
+            }
+        }), context);
     }
 
     /**
@@ -234,14 +250,26 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
     }
 
     public <VV> EntryStream<K, VV> flattMapValues(Function<? super V, ? extends Collection<? extends VV>> mapper) {
-        return new EntryStream<>(stream().flatMap(e -> withKey(e.getKey(), StreamEx.of(mapper.apply(e.getValue())))),
-                context);
+        return new EntryStream<>(VER_SPEC.mapMulti(this, (Entry<K, V> e, Consumer<Entry<K, VV>> sink) -> {
+            Collection<? extends VV> values = mapper.apply(e.getValue());
+            if (values != null) {
+                for (VV v : values) {
+                    sink.accept(new SimpleImmutableEntry<>(e.getKey(), v));
+                }
+            }
+        }), context);
     }
 
     public <VV> EntryStream<K, VV> flattMapValues(
             BiFunction<? super K, ? super V, ? extends Collection<? extends VV>> mapper) {
-        return new EntryStream<>(stream().flatMap(e -> withKey(e.getKey(), StreamEx.of(mapper.apply(e.getKey(), e
-                .getValue())))), context);
+        return new EntryStream<>(VER_SPEC.mapMulti(this, (Entry<K, V> e, Consumer<Entry<K, VV>> sink) -> {
+            Collection<? extends VV> values = mapper.apply(e.getKey(), e.getValue());
+            if (values != null) {
+                for (VV v : values) {
+                    sink.accept(new SimpleImmutableEntry<>(e.getKey(), v));
+                }
+            }
+        }), context);
     }
 
     /**
@@ -515,21 +543,15 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
 
     @Override
     public EntryStream<K, V> distinct(Predicate<? super Long> occurrencesFilter) {
-        final Supplier<? extends Map<Map.Entry<K, V>, Long>> mapSupplier = Suppliers.ofLinkedHashMap();
-
-        return groupBy(Fn.identity(), Fn.identity(), Collectors.counting(), mapSupplier).filter(
-            e -> occurrencesFilter.test(e.getValue())).mapToEntry(Fn.key());
+        return distinctByCount(null, occurrencesFilter);
     }
 
     @Override
     public EntryStream<K, V> distinctBy(Function<? super Entry<K, V>, ?> keyExtractor,
             Predicate<? super Long> occurrencesFilter) {
-        final Supplier<? extends Map<Keyed<?, Map.Entry<K, V>>, Long>> mapSupplier = isParallel()
-                ? Suppliers.<Keyed<?, Map.Entry<K, V>>, Long> ofConcurrentHashMap()
-                : Suppliers.<Keyed<?, Map.Entry<K, V>>, Long> ofLinkedHashMap();
+        Objects.requireNonNull(keyExtractor);
 
-        return groupBy(e -> Keyed.of(keyExtractor.apply(e), e), Fn.identity(), Collectors.counting(), mapSupplier)
-                .filter(e -> occurrencesFilter.test(e.getValue())).mapToEntry(e -> e.getKey().val());
+        return distinctByCount(keyExtractor, occurrencesFilter);
     }
 
     /**
@@ -1388,6 +1410,54 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
         return toMap(mergeFunction, Suppliers.ofTreeMap());
     }
 
+    /**
+     * Returns an immutable {@link NavigableMap} containing the elements of this
+     * stream. The keys are sorted according to their natural order.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * <p>
+     * Unlike {@link #toNavigableMap()} the entries are sorted once after they
+     * are collected and are kept in two arrays, which is much faster and more
+     * compact for the large maps.
+     *
+     * @return an immutable {@code NavigableMap} containing the elements of this
+     *         stream
+     * @throws IllegalStateException if this stream contains duplicate keys
+     *         (according to the ordering)
+     * @see MoreCollectors#toImmutableNavigableMap(Function, Function)
+     * @since 2.3.3
+     */
+    public NavigableMap<K, V> toImmutableNavigableMap() {
+        return collect(MoreCollectors.toImmutableNavigableMap(Entry::getKey, Entry::getValue));
+    }
+
+    /**
+     * Returns an immutable {@link NavigableMap} containing the elements of this
+     * stream. The keys are sorted according to their natural order.
+     *
+     * <p>
+     * If this stream contains duplicate keys (according to the ordering), the
+     * values of the equal keys are merged in the encounter order using the
+     * provided merging function.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * @param mergeFunction a merge function, used to resolve collisions between
+     *        values associated with the same key
+     * @return an immutable {@code NavigableMap} containing the elements of this
+     *         stream
+     * @see MoreCollectors#toImmutableNavigableMap(Function, Function, BinaryOperator)
+     * @since 2.3.3
+     */
+    public NavigableMap<K, V> toImmutableNavigableMap(BinaryOperator<V> mergeFunction) {
+        return collect(MoreCollectors.toImmutableNavigableMap(Entry::getKey, Entry::getValue, mergeFunction));
+    }
+
     /**
      * Returns an immutable {@link Map} containing the elements of this stream.
      * There's no guarantees on exact type of the returned {@code Map}. In
@@ -1398,6 +1468,10 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
      * <p>
      * This is a terminal operation.
      *
+     * <p>
+     * The keys and values are kept in flat arrays and found through an
+     * open-addressing table, so no node is allocated per entry.
+     *
      * @return a {@code Map} containing the elements of this stream
      * @throws IllegalStateException if this stream contains duplicate keys
      *         (according to {@link Object#equals(Object)})
@@ -1405,8 +1479,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
      * @since 0.6.3
      */
     public Map<K, V> toImmutableMap() {
-        Map<K, V> map = toMap();
-        return map.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(map);
+        return CompactCollections.map(toArray());
     }
 
     /**
@@ -1460,7 +1533,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
             if (map instanceof ConcurrentMap)
                 forEach(cons);
             else
-                toMap().entrySet().forEach(cons);
+                collect(CollectionSinks.partialMaps()).entrySet().forEach(cons);
         } else {
             spliterator().forEachRemaining(cons);
         }
@@ -1545,6 +1618,39 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
         return groupBy(downstream, Suppliers.ofMap());
     }
 
+    /**
+     * Returns an {@code EntryStream} where elements of this stream with the
+     * same key are grouped together and the corresponding values are combined
+     * using the provided downstream collector, keeping no more than the
+     * specified number of groups in memory. The entries of the groups which
+     * don't fit are written to the temporary files partitioned by the key hash
+     * and processed one partition at a time when the resulting stream is
+     * traversed.
+     *
+     * <p>
+     * The order of the groups is unspecified. The temporary files are
+     * deleted as soon as the partitions are processed or when the resulting
+     * stream is closed.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * @param <A> the intermediate accumulation type of the downstream collector
+     * @param <D> the result type of the downstream reduction
+     * @param downstream a {@code Collector} implementing the downstream
+     *        reduction
+     * @param spill the maximal number of groups in memory, the codec for the
+     *        entries of this stream and the directory of the temporary files
+     * @return an {@code EntryStream} of the keys and the reduction results
+     * @see StreamEx#groupByToEntry(Function, Collector, SpillOptions)
+     * @since 2.3.3
+     */
+    public <A, D> EntryStream<K, D> groupBy(Collector<? super V, A, D> downstream,
+            SpillOptions<? super Entry<K, V>> spill) {
+        return groupBySpilling(Entry::getKey, Collectors.mapping(Entry::getValue, downstream), spill);
+    }
+
     /**
      * Returns a {@link Map} where elements of this stream with the same key are
      * grouped together. The resulting {@code Map} keys are the keys of this
@@ -1776,6 +1882,103 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
         return collect(MoreCollectors.groupingBy(classifier, mapping, mapSupplier));
     }
 
+    /**
+     * Returns the sum of the results of applying the given function to the
+     * keys and values of this stream.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation. The results are accumulated into the primitive {@code int}
+     * without creating intermediate objects.
+     *
+     * @param mapper a non-interfering, stateless function to apply to the key
+     *        and the value of each entry
+     * @return the sum of the function results
+     * @since 2.3.3
+     */
+    public int sumValuesInt(ToIntBiFunction<? super K, ? super V> mapper) {
+        return collect(() -> new int[1], (acc, e) -> acc[0] += mapper.applyAsInt(e.getKey(), e.getValue()), (acc1,
+                acc2) -> acc1[0] += acc2[0])[0];
+    }
+
+    /**
+     * Returns the maximal result of applying the given function to the keys
+     * and values of this stream, or an empty optional if the stream is empty.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation. The results are compared as primitive {@code long} values
+     * without creating intermediate objects.
+     *
+     * @param mapper a non-interfering, stateless function to apply to the key
+     *        and the value of each entry
+     * @return the maximal function result
+     * @since 2.3.3
+     */
+    public OptionalLong maxValuesLong(ToLongBiFunction<? super K, ? super V> mapper) {
+        return collect(PrimitiveBox::new, (box, e) -> {
+            long val = mapper.applyAsLong(e.getKey(), e.getValue());
+            if (!box.b || box.l < val) {
+                box.b = true;
+                box.l = val;
+            }
+        }, PrimitiveBox.MAX_LONG).asLong();
+    }
+
+    /**
+     * Returns a {@link Map} where the keys are the stream keys and the values
+     * are the sums of the results of applying the given function to the values
+     * having the same key.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * @param valueMapper a non-interfering, stateless function to apply to the
+     *        values
+     * @return a {@code Map} containing the sums by key
+     * @see #groupingSum(Function, ToLongFunction)
+     * @since 2.3.3
+     */
+    public Map<K, Long> groupingSum(ToLongFunction<? super V> valueMapper) {
+        return groupingSum(Function.identity(), valueMapper);
+    }
+
+    /**
+     * Returns a {@link Map} where the keys are the results of applying the key
+     * mapping function to the stream keys and the values are the sums of the
+     * results of applying the value mapping function to the values mapped to
+     * the same key.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation. Unlike {@code groupTo(Collectors.summingLong(...))} the sums
+     * are kept in primitive accumulators which are converted to {@code Long}
+     * once per key after the stream is processed. There are no guarantees on
+     * the type or serializability of the {@code Map} returned.
+     *
+     * @param <KK> the type of the resulting map keys
+     * @param keyMapper a non-interfering, stateless function to apply to the
+     *        keys
+     * @param valueMapper a non-interfering, stateless function to apply to the
+     *        values
+     * @return a {@code Map} containing the sums by the mapped key
+     * @since 2.3.3
+     */
+    @SuppressWarnings("unchecked")
+    public <KK> Map<KK, Long> groupingSum(Function<? super K, ? extends KK> keyMapper,
+            ToLongFunction<? super V> valueMapper) {
+        Map<KK, long[]> sums = collect(HashMap::new, (map, e) -> map.computeIfAbsent(keyMapper.apply(e.getKey()),
+            k -> new long[1])[0] += valueMapper.applyAsLong(e.getValue()), (map1, map2) -> map2.forEach((k,
+                    v) -> map1.merge(k, v, (v1, v2) -> {
+                        v1[0] += v2[0];
+                        return v1;
+                    })));
+        Map<KK, Object> result = (Map<KK, Object>) (Map<KK, ?>) sums;
+        result.replaceAll((k, v) -> ((long[]) v)[0]);
+        return (Map<KK, Long>) (Map<KK, ?>) result;
+    }
+
     /**
      * Performs an action for each key-value pair of this stream.
      *
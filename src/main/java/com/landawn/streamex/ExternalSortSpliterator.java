@@ -0,0 +1,273 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Sorts the source keeping at most {@link SpillOptions#maxInMemory} elements
+ * in memory. The source is consumed on the first traversal: every time the
+ * buffer is full it's sorted and written to a {@link SpillFile} as a sorted
+ * run. If nothing was spilled, the buffer is emitted directly. Otherwise the
+ * runs and the sorted rest of the buffer are merged lazily as the elements
+ * are requested, so only one element per run is kept in the merge heap.
+ *
+ * <p>
+ * Every open run holds a file and, while it's read, an input buffer, so at
+ * most {@link #MAX_FAN_IN} runs are merged at once. Every time that many runs
+ * of the same level are written, they are merged into one run of the next
+ * level, and before the final merge the last runs are merged until they fit.
+ * So every element is rewritten only once per level.
+ *
+ * <p>
+ * The sort is stable: the runs preserve the encounter order of the source
+ * and the heap breaks the ties by the run number. In the parallel stream the
+ * runs are sorted with {@link Arrays#parallelSort(Object[], int, int,
+ * Comparator)} in the stream's pool.
+ *
+ * @param <T> the type of the elements
+ * @since 2.3.3
+ */
+/* package */final class ExternalSortSpliterator<T> implements Spliterator<T>, Consumer<T> {
+    private static final int INITIAL_BUFFER = 1024;
+    static final int MAX_FAN_IN = 64;
+
+    private Spliterator<T> source;
+    private final Comparator<Object> comparator;
+    private final SpillOptions<Object> options;
+    private final StreamContext context;
+    private Object[] buf;
+    private int size;
+    private int pos;
+    private long remaining;
+    // the runs in the encounter order and their levels, never increasing
+    private List<SpillFile> files;
+    private List<Integer> levels;
+    private PriorityQueue<Run> heap;
+
+    @SuppressWarnings("unchecked")
+    ExternalSortSpliterator(Spliterator<T> source, Comparator<? super T> comparator, SpillOptions<? super T> options,
+            StreamContext context) {
+        this.source = source;
+        this.comparator = (Comparator<Object>) comparator;
+        this.options = (SpillOptions<Object>) options;
+        this.context = context;
+    }
+
+    private final class Run implements Comparable<Run> {
+        final int order;
+        final SpillFile file;
+        long remaining;
+        Object head;
+
+        Run(int order, SpillFile file) {
+            this.order = order;
+            this.file = file;
+            this.remaining = file == null ? size - pos : file.size();
+        }
+
+        boolean advance() {
+            if (remaining == 0)
+                return false;
+            remaining--;
+            head = file == null ? buf[pos++] : file.read(options.codec);
+            return true;
+        }
+
+        @Override
+        public int compareTo(Run o) {
+            int res = comparator.compare(head, o.head);
+            return res != 0 ? res : Integer.compare(order, o.order);
+        }
+    }
+
+    @Override
+    public void accept(T t) {
+        if (size == buf.length) {
+            if (size == options.maxInMemory) {
+                spill();
+            } else {
+                buf = Arrays.copyOf(buf, (int) Math.min(options.maxInMemory, size * 2L));
+            }
+        }
+        buf[size++] = t;
+    }
+
+    private void sort() {
+        if (!context.parallel) {
+            Arrays.sort(buf, 0, size, comparator);
+        } else if (context.fjp != null) {
+            context.fjp.submit(() -> Arrays.parallelSort(buf, 0, size, comparator)).join();
+        } else {
+            Arrays.parallelSort(buf, 0, size, comparator);
+        }
+    }
+
+    private void spill() {
+        sort();
+        SpillFile file = SpillFile.create(options.tempDirectory);
+        files.add(file);
+        levels.add(0);
+        for (int i = 0; i < size; i++) {
+            file.write(options.codec, buf[i]);
+            buf[i] = null;
+        }
+        file.flush();
+        size = 0;
+        int n = files.size();
+        while (n >= MAX_FAN_IN && levels.get(n - MAX_FAN_IN).equals(levels.get(n - 1))) {
+            merge(n - MAX_FAN_IN, levels.get(n - 1) + 1);
+            n = files.size();
+        }
+    }
+
+    /**
+     * Merges the runs from the given one to the last into a single run of the
+     * given level.
+     */
+    private void merge(int from, int level) {
+        List<SpillFile> group = files.subList(from, files.size());
+        SpillFile merged = SpillFile.create(options.tempDirectory);
+        try {
+            PriorityQueue<Run> queue = new PriorityQueue<>(group.size());
+            for (int i = 0; i < group.size(); i++) {
+                add(queue, new Run(i, group.get(i)));
+            }
+            for (Run run = queue.poll(); run != null; run = queue.poll()) {
+                merged.write(options.codec, run.head);
+                add(queue, run);
+            }
+            merged.flush();
+        } catch (RuntimeException | Error e) {
+            merged.close();
+            throw e;
+        }
+        group.clear();
+        levels.subList(from, levels.size()).clear();
+        files.add(merged);
+        levels.add(level);
+    }
+
+    private void init() {
+        if (source == null)
+            return;
+        buf = new Object[Math.min(options.maxInMemory, INITIAL_BUFFER)];
+        files = new ArrayList<>();
+        levels = new ArrayList<>();
+        try {
+            source.forEachRemaining(this);
+            source = null;
+            sort();
+            // leave room for the buffer in the final merge
+            while (files.size() >= MAX_FAN_IN) {
+                int group = Math.min(MAX_FAN_IN, files.size() - MAX_FAN_IN + 2);
+                merge(files.size() - group, Integer.MAX_VALUE);
+            }
+            remaining = size;
+            for (SpillFile file : files)
+                remaining += file.size();
+            if (!files.isEmpty()) {
+                heap = new PriorityQueue<>(files.size() + 1);
+                for (int i = 0; i < files.size(); i++) {
+                    add(heap, new Run(i, files.get(i)));
+                }
+                add(heap, new Run(files.size(), null));
+            }
+        } catch (RuntimeException | Error e) {
+            source = null;
+            close();
+            throw e;
+        }
+    }
+
+    private void add(PriorityQueue<Run> queue, Run run) {
+        if (run.advance())
+            queue.add(run);
+        else if (run.file != null)
+            run.file.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        init();
+        if (heap == null) {
+            if (pos >= size) {
+                buf = null;
+                return false;
+            }
+            T t = (T) buf[pos];
+            buf[pos++] = null;
+            remaining--;
+            action.accept(t);
+            return true;
+        }
+        Run run = heap.poll();
+        if (run == null) {
+            close();
+            return false;
+        }
+        T t = (T) run.head;
+        add(heap, run);
+        remaining--;
+        action.accept(t);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        while (tryAdvance(action)) {
+            // empty
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return source == null ? remaining : source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return source == null ? ORDERED | SIZED : source.characteristics() & (ORDERED | SIZED);
+    }
+
+    /**
+     * Deletes all the temporary files. Called when the merge is complete or
+     * the stream is closed.
+     */
+    void close() {
+        List<SpillFile> f = files;
+        files = null;
+        heap = null;
+        buf = null;
+        if (f != null) {
+            for (SpillFile file : f)
+                file.close();
+        }
+    }
+}
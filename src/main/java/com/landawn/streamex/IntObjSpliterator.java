@@ -0,0 +1,486 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import static com.landawn.streamex.StreamExInternals.*;
+
+import java.util.Map.Entry;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+import com.landawn.streamex.function.IntObjConsumer;
+import com.landawn.streamex.function.IntObjFunction;
+import com.landawn.streamex.function.IntObjPredicate;
+
+/**
+ * A spliterator-like source of {@code (int, object)} pairs which passes the
+ * key and the value to the action as separate arguments, so no pair object is
+ * created per element. Every method has the same contract as the
+ * corresponding {@link Spliterator} method.
+ *
+ * @param <V> the type of the values
+ * @since 2.3.3
+ */
+/* package */abstract class IntObjSpliterator<V> {
+    static final int KEEP = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE
+        | Spliterator.CONCURRENT;
+
+    abstract boolean tryAdvance(IntObjConsumer<? super V> action);
+
+    void forEachRemaining(IntObjConsumer<? super V> action) {
+        while (tryAdvance(action)) {
+            // empty
+        }
+    }
+
+    abstract IntObjSpliterator<V> trySplit();
+
+    abstract long estimateSize();
+
+    abstract int characteristics();
+
+    Spliterator.OfInt keys() {
+        return new Keys<>(this);
+    }
+
+    Spliterator<V> values() {
+        return new Values<>(this);
+    }
+
+    Spliterator<Entry<Integer, V>> entries() {
+        return new Entries<>(this);
+    }
+
+    /**
+     * Pairs the indices with the elements of an indexed source, like a list
+     * or an array.
+     */
+    static final class Indexed<V> extends IntObjSpliterator<V> {
+        private final IntFunction<? extends V> getter;
+        private int cur;
+        private final int limit;
+
+        Indexed(IntFunction<? extends V> getter, int cur, int limit) {
+            this.getter = getter;
+            this.cur = cur;
+            this.limit = limit;
+        }
+
+        @Override
+        boolean tryAdvance(IntObjConsumer<? super V> action) {
+            if (cur >= limit)
+                return false;
+            int i = cur++;
+            action.accept(i, getter.apply(i));
+            return true;
+        }
+
+        @Override
+        void forEachRemaining(IntObjConsumer<? super V> action) {
+            int l = limit;
+            for (int i = cur; i < l; i++) {
+                action.accept(i, getter.apply(i));
+            }
+            cur = l;
+        }
+
+        @Override
+        IntObjSpliterator<V> trySplit() {
+            int size = limit - cur;
+            if (size < 2)
+                return null;
+            int mid = cur + (size >>> 1);
+            IntObjSpliterator<V> prefix = new Indexed<>(getter, cur, mid);
+            cur = mid;
+            return prefix;
+        }
+
+        @Override
+        long estimateSize() {
+            return limit - cur;
+        }
+
+        @Override
+        int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    static final class Zip<V> extends IntObjSpliterator<V> {
+        private final int[] keys;
+        private final V[] values;
+        private int cur;
+        private final int limit;
+
+        Zip(int[] keys, V[] values, int cur, int limit) {
+            this.keys = keys;
+            this.values = values;
+            this.cur = cur;
+            this.limit = limit;
+        }
+
+        @Override
+        boolean tryAdvance(IntObjConsumer<? super V> action) {
+            if (cur >= limit)
+                return false;
+            int i = cur++;
+            action.accept(keys[i], values[i]);
+            return true;
+        }
+
+        @Override
+        void forEachRemaining(IntObjConsumer<? super V> action) {
+            int[] k = keys;
+            V[] v = values;
+            int l = limit;
+            for (int i = cur; i < l; i++) {
+                action.accept(k[i], v[i]);
+            }
+            cur = l;
+        }
+
+        @Override
+        IntObjSpliterator<V> trySplit() {
+            int size = limit - cur;
+            if (size < 2)
+                return null;
+            int mid = cur + (size >>> 1);
+            IntObjSpliterator<V> prefix = new Zip<>(keys, values, cur, mid);
+            cur = mid;
+            return prefix;
+        }
+
+        @Override
+        long estimateSize() {
+            return limit - cur;
+        }
+
+        @Override
+        int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /**
+     * Adapts a spliterator of arbitrary elements, extracting the key and the
+     * value from each of them.
+     */
+    static final class OfMapped<T, V> extends IntObjSpliterator<V> implements Consumer<T> {
+        private final Spliterator<T> source;
+        private final ToIntFunction<? super T> keyMapper;
+        private final Function<? super T, ? extends V> valueMapper;
+        private IntObjConsumer<? super V> action;
+
+        OfMapped(Spliterator<T> source, ToIntFunction<? super T> keyMapper,
+                Function<? super T, ? extends V> valueMapper) {
+            this.source = source;
+            this.keyMapper = keyMapper;
+            this.valueMapper = valueMapper;
+        }
+
+        @Override
+        public void accept(T t) {
+            action.accept(keyMapper.applyAsInt(t), valueMapper.apply(t));
+        }
+
+        @Override
+        boolean tryAdvance(IntObjConsumer<? super V> action) {
+            this.action = action;
+            boolean result = source.tryAdvance(this);
+            this.action = null;
+            return result;
+        }
+
+        @Override
+        void forEachRemaining(IntObjConsumer<? super V> action) {
+            this.action = action;
+            source.forEachRemaining(this);
+            this.action = null;
+        }
+
+        @Override
+        IntObjSpliterator<V> trySplit() {
+            Spliterator<T> prefix = source.trySplit();
+            return prefix == null ? null : new OfMapped<>(prefix, keyMapper, valueMapper);
+        }
+
+        @Override
+        long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        int characteristics() {
+            return source.characteristics() & KEEP;
+        }
+    }
+
+    /**
+     * Adapts a primitive spliterator of keys, computing the value for each of
+     * them.
+     */
+    static final class OfKeys<V> extends IntObjSpliterator<V> implements IntConsumer {
+        private final Spliterator.OfInt source;
+        private final IntFunction<? extends V> valueMapper;
+        private IntObjConsumer<? super V> action;
+
+        OfKeys(Spliterator.OfInt source, IntFunction<? extends V> valueMapper) {
+            this.source = source;
+            this.valueMapper = valueMapper;
+        }
+
+        @Override
+        public void accept(int key) {
+            action.accept(key, valueMapper.apply(key));
+        }
+
+        @Override
+        boolean tryAdvance(IntObjConsumer<? super V> action) {
+            this.action = action;
+            boolean result = source.tryAdvance(this);
+            this.action = null;
+            return result;
+        }
+
+        @Override
+        void forEachRemaining(IntObjConsumer<? super V> action) {
+            this.action = action;
+            source.forEachRemaining(this);
+            this.action = null;
+        }
+
+        @Override
+        IntObjSpliterator<V> trySplit() {
+            Spliterator.OfInt prefix = source.trySplit();
+            return prefix == null ? null : new OfKeys<>(prefix, valueMapper);
+        }
+
+        @Override
+        long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        int characteristics() {
+            return source.characteristics() & KEEP;
+        }
+    }
+
+    static final class Filtered<V> extends IntObjSpliterator<V> implements IntObjConsumer<V> {
+        private final IntObjSpliterator<V> source;
+        private final IntObjPredicate<? super V> predicate;
+        private boolean found;
+        private int key;
+        private V value;
+
+        Filtered(IntObjSpliterator<V> source, IntObjPredicate<? super V> predicate) {
+            this.source = source;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void accept(int k, V v) {
+            if (predicate.test(k, v)) {
+                key = k;
+                value = v;
+                found = true;
+            }
+        }
+
+        @Override
+        boolean tryAdvance(IntObjConsumer<? super V> action) {
+            while (!found && source.tryAdvance(this)) {
+                // empty
+            }
+            if (!found)
+                return false;
+            V v = value;
+            value = null;
+            found = false;
+            action.accept(key, v);
+            return true;
+        }
+
+        @Override
+        void forEachRemaining(IntObjConsumer<? super V> action) {
+            IntObjPredicate<? super V> p = predicate;
+            source.forEachRemaining((k, v) -> {
+                if (p.test(k, v))
+                    action.accept(k, v);
+            });
+        }
+
+        @Override
+        IntObjSpliterator<V> trySplit() {
+            IntObjSpliterator<V> prefix = source.trySplit();
+            return prefix == null ? null : new Filtered<>(prefix, predicate);
+        }
+
+        @Override
+        long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        int characteristics() {
+            return source.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+        }
+    }
+
+    static final class Mapped<V, R> extends IntObjSpliterator<R> {
+        private final IntObjSpliterator<V> source;
+        private final IntObjFunction<? super V, ? extends R> mapper;
+
+        Mapped(IntObjSpliterator<V> source, IntObjFunction<? super V, ? extends R> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        boolean tryAdvance(IntObjConsumer<? super R> action) {
+            IntObjFunction<? super V, ? extends R> m = mapper;
+            return source.tryAdvance((k, v) -> action.accept(k, m.apply(k, v)));
+        }
+
+        @Override
+        void forEachRemaining(IntObjConsumer<? super R> action) {
+            IntObjFunction<? super V, ? extends R> m = mapper;
+            source.forEachRemaining((k, v) -> action.accept(k, m.apply(k, v)));
+        }
+
+        @Override
+        IntObjSpliterator<R> trySplit() {
+            IntObjSpliterator<V> prefix = source.trySplit();
+            return prefix == null ? null : new Mapped<>(prefix, mapper);
+        }
+
+        @Override
+        long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        int characteristics() {
+            return source.characteristics() & KEEP;
+        }
+    }
+
+    static final class Keys<V> implements Spliterator.OfInt {
+        private final IntObjSpliterator<V> source;
+
+        Keys(IntObjSpliterator<V> source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            return source.tryAdvance((k, v) -> action.accept(k));
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            source.forEachRemaining((k, v) -> action.accept(k));
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            IntObjSpliterator<V> prefix = source.trySplit();
+            return prefix == null ? null : new Keys<>(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & KEEP;
+        }
+    }
+
+    static final class Values<V> implements Spliterator<V> {
+        private final IntObjSpliterator<V> source;
+
+        Values(IntObjSpliterator<V> source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super V> action) {
+            return source.tryAdvance((k, v) -> action.accept(v));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super V> action) {
+            source.forEachRemaining((k, v) -> action.accept(v));
+        }
+
+        @Override
+        public Spliterator<V> trySplit() {
+            IntObjSpliterator<V> prefix = source.trySplit();
+            return prefix == null ? null : new Values<>(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & KEEP;
+        }
+    }
+
+    static final class Entries<V> implements Spliterator<Entry<Integer, V>> {
+        private final IntObjSpliterator<V> source;
+
+        Entries(IntObjSpliterator<V> source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry<Integer, V>> action) {
+            return source.tryAdvance((k, v) -> action.accept(new ObjIntBox<>(v, k)));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Entry<Integer, V>> action) {
+            source.forEachRemaining((k, v) -> action.accept(new ObjIntBox<>(v, k)));
+        }
+
+        @Override
+        public Spliterator<Entry<Integer, V>> trySplit() {
+            IntObjSpliterator<V> prefix = source.trySplit();
+            return prefix == null ? null : new Entries<>(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & KEEP;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import static com.landawn.streamex.StreamExInternals.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.landawn.streamex.function.IntObjConsumer;
+import com.landawn.streamex.function.IntObjFunction;
+import com.landawn.streamex.function.IntObjPredicate;
+
+/**
+ * A stream of {@code (int, object)} pairs. Unlike
+ * {@code EntryStream<Integer, V>} it neither boxes the keys nor allocates an
+ * {@link Entry} per element: the key and the value are passed to the
+ * functional arguments separately.
+ *
+ * <p>
+ * The stream is designed for sequential pipelines like indexing or
+ * aggregation results. It can be parallel: the {@link #keys()},
+ * {@link #values()}, {@link #map(IntObjFunction)} and {@link #boxed()}
+ * conversions keep the splitting of the source, so the parallel processing
+ * does not need to box the pairs.
+ *
+ * <p>
+ * Like the other streams, an {@code IntObjStream} may be consumed only once.
+ *
+ * @param <V> the type of the values
+ * @since 2.3.3
+ */
+public class IntObjStream<V> implements AutoCloseable {
+    private IntObjSpliterator<V> spliterator;
+    StreamContext context;
+
+    IntObjStream(IntObjSpliterator<V> spliterator, StreamContext context) {
+        this.spliterator = spliterator;
+        this.context = context;
+    }
+
+    IntObjSpliterator<V> spliterator() {
+        IntObjSpliterator<V> s = spliterator;
+        if (s == null)
+            throw new IllegalStateException(BaseStreamEx.CONSUMED_MESSAGE);
+        spliterator = null;
+        return s;
+    }
+
+    private <R> IntObjStream<R> supply(IntObjSpliterator<R> spliterator) {
+        return new IntObjStream<>(spliterator, context);
+    }
+
+    /**
+     * Returns whether the terminal operation of this stream would execute in
+     * parallel.
+     *
+     * @return {@code true} if this stream is parallel
+     */
+    public boolean isParallel() {
+        return context.parallel;
+    }
+
+    /**
+     * Returns an equivalent stream that is parallel.
+     *
+     * @return a parallel stream
+     */
+    public IntObjStream<V> parallel() {
+        context = context.parallel();
+        return this;
+    }
+
+    /**
+     * Returns an equivalent stream that is sequential.
+     *
+     * @return a sequential stream
+     */
+    public IntObjStream<V> sequential() {
+        context = context.sequential();
+        return this;
+    }
+
+    /**
+     * Returns an equivalent stream with an additional close handler.
+     *
+     * @param closeHandler a task to execute when the stream is closed
+     * @return a stream with a handler that is run if the stream is closed
+     * @see java.util.stream.BaseStream#onClose(Runnable)
+     */
+    public IntObjStream<V> onClose(Runnable closeHandler) {
+        context = context.onClose(closeHandler);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    /**
+     * Returns a stream consisting of the pairs of this stream which match the
+     * given predicate.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param predicate a non-interfering, stateless predicate to apply to the
+     *        key and the value of each pair
+     * @return the new stream
+     */
+    public IntObjStream<V> filter(IntObjPredicate<? super V> predicate) {
+        return supply(new IntObjSpliterator.Filtered<>(spliterator(), predicate));
+    }
+
+    /**
+     * Returns a stream consisting of the pairs of this stream which keys match
+     * the given predicate.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param keyPredicate a non-interfering, stateless predicate to apply to
+     *        the key of each pair
+     * @return the new stream
+     */
+    public IntObjStream<V> filterKeys(IntPredicate keyPredicate) {
+        return filter((k, v) -> keyPredicate.test(k));
+    }
+
+    /**
+     * Returns a stream consisting of the pairs of this stream which values
+     * match the given predicate.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param valuePredicate a non-interfering, stateless predicate to apply to
+     *        the value of each pair
+     * @return the new stream
+     */
+    public IntObjStream<V> filterValues(Predicate<? super V> valuePredicate) {
+        return filter((k, v) -> valuePredicate.test(v));
+    }
+
+    /**
+     * Returns a stream consisting of the pairs which keys are the same as in
+     * this stream and the values are the results of applying the given
+     * function to the pairs of this stream.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param <R> the type of the new values
+     * @param valueMapper a non-interfering, stateless function to apply to the
+     *        key and the value of each pair
+     * @return the new stream
+     */
+    public <R> IntObjStream<R> mapValues(IntObjFunction<? super V, ? extends R> valueMapper) {
+        return supply(new IntObjSpliterator.Mapped<>(spliterator(), valueMapper));
+    }
+
+    /**
+     * Returns a {@link StreamEx} consisting of the results of applying the
+     * given function to the pairs of this stream.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param <R> the type of the resulting stream elements
+     * @param mapper a non-interfering, stateless function to apply to the key
+     *        and the value of each pair
+     * @return the new stream
+     */
+    public <R> StreamEx<R> map(IntObjFunction<? super V, ? extends R> mapper) {
+        return this.<R> mapValues(mapper).values();
+    }
+
+    /**
+     * Returns an {@link IntStreamEx} consisting of the keys of this stream.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @return the new stream
+     */
+    public IntStreamEx keys() {
+        return new IntStreamEx(spliterator().keys(), context);
+    }
+
+    /**
+     * Returns a {@link StreamEx} consisting of the values of this stream.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @return the new stream
+     */
+    public StreamEx<V> values() {
+        return new StreamEx<>(spliterator().values(), context);
+    }
+
+    /**
+     * Returns an {@link EntryStream} consisting of the pairs of this stream
+     * with boxed keys.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @return the new stream
+     */
+    public EntryStream<Integer, V> boxed() {
+        return new EntryStream<>(spliterator().entries(), context);
+    }
+
+    /**
+     * Performs an action for each pair of this stream.
+     *
+     * <p>
+     * This is a terminal operation. For the sequential stream the pairs are
+     * processed in the encounter order without creating intermediate
+     * objects.
+     *
+     * @param action a non-interfering action to perform on the key and the
+     *        value of each pair
+     */
+    public void forEach(IntObjConsumer<? super V> action) {
+        if (context.parallel) {
+            map((k, v) -> {
+                action.accept(k, v);
+                return null;
+            }).reduce(null, selectFirst());
+        } else
+            spliterator().forEachRemaining(action);
+    }
+
+    /**
+     * Returns the count of pairs in this stream.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * @return the count of pairs in this stream
+     */
+    public long count() {
+        return keys().count();
+    }
+
+    /**
+     * Returns a {@link Map} containing the pairs of this stream. There are no
+     * guarantees on the type or mutability of the {@code Map} returned.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * @return a {@code Map} containing the pairs of this stream
+     * @throws IllegalStateException if this stream contains duplicate keys
+     */
+    public Map<Integer, V> toMap() {
+        return boxed().toMap();
+    }
+
+    /**
+     * Returns a sequential {@code IntObjStream} which keys are the indices of
+     * the supplied list and the values are the corresponding list elements.
+     *
+     * @param <V> the type of the list elements
+     * @param list list to get the elements from; should support fast random
+     *        access
+     * @return the new stream
+     */
+    public static <V> IntObjStream<V> of(List<V> list) {
+        return new IntObjStream<>(new IntObjSpliterator.Indexed<>(list::get, 0, list.size()),
+                StreamContext.SEQUENTIAL);
+    }
+
+    /**
+     * Returns a sequential {@code IntObjStream} which keys are the indices of
+     * the supplied array and the values are the corresponding array elements.
+     *
+     * @param <V> the type of the array elements
+     * @param array array to get the elements from
+     * @return the new stream
+     */
+    @SafeVarargs
+    public static <V> IntObjStream<V> of(V... array) {
+        return new IntObjStream<>(new IntObjSpliterator.Indexed<>(i -> array[i], 0, array.length),
+                StreamContext.SEQUENTIAL);
+    }
+
+    /**
+     * Returns a sequential {@code IntObjStream} which keys are the elements of
+     * the first array and the values are the corresponding elements of the
+     * second array.
+     *
+     * @param <V> the type of the values
+     * @param keys array of the keys
+     * @param values array of the values
+     * @return the new stream
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public static <V> IntObjStream<V> zip(int[] keys, V[] values) {
+        return new IntObjStream<>(new IntObjSpliterator.Zip<>(keys, values, 0, checkLength(keys.length,
+            values.length)), StreamContext.SEQUENTIAL);
+    }
+
+    /**
+     * Returns an {@code IntObjStream} which keys are the elements of the
+     * supplied {@code IntStream} and the values are the results of applying
+     * the given function to them.
+     *
+     * @param <V> the type of the values
+     * @param keys the stream of the keys
+     * @param valueMapper a non-interfering, stateless function to compute the
+     *        value for each key
+     * @return the new stream
+     */
+    public static <V> IntObjStream<V> of(IntStream keys, IntFunction<? extends V> valueMapper) {
+        return new IntObjStream<>(new IntObjSpliterator.OfKeys<>(keys.spliterator(), valueMapper), StreamContext
+                .of(keys));
+    }
+
+    /**
+     * Returns an {@code IntObjStream} consisting of the keys and the values of
+     * the supplied entries.
+     *
+     * @param <V> the type of the values
+     * @param entries the stream of entries
+     * @return the new stream
+     */
+    public static <V> IntObjStream<V> of(Stream<? extends Entry<Integer, ? extends V>> entries) {
+        return new IntObjStream<>(new IntObjSpliterator.OfMapped<>(entries.spliterator(), Entry::getKey,
+                Entry::getValue), StreamContext.of(entries));
+    }
+}
@@ -30,6 +30,9 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.function.*;
 import java.util.stream.*;
 
+import com.landawn.streamex.RangeBasedSpliterator.IntArray;
+import com.landawn.streamex.function.IntBiPredicate;
+import com.landawn.streamex.function.IntTernaryOperator;
 import com.landawn.streamex.util.Fn;
 
 /**
@@ -86,8 +89,20 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
         return (IntStreamEx) super.onClose(closeHandler);
     }
 
+    /**
+     * Consumes and returns the array source if no intermediate operation other
+     * than a filter was applied to it.
+     *
+     * @return the array source or null
+     */
+    private IntArray arraySource() {
+        return spliterator instanceof IntArray ? (IntArray) spliterator() : null;
+    }
+
     @Override
     public IntStreamEx filter(IntPredicate predicate) {
+        if (spliterator instanceof IntArray)
+            return new IntStreamEx(arraySource().filter(predicate), context);
         return new IntStreamEx(stream().filter(predicate), context);
     }
 
@@ -294,7 +309,37 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
     }
 
     public IntStreamEx flattMap(final IntFunction<int[]> mapper) {
-        return flatMap(d -> IntStreamEx.of(mapper.apply(d)));
+        return mapMultii((value, sink) -> {
+            int[] array = mapper.apply(value);
+            if (array != null) {
+                for (int v : array) {
+                    sink.accept(v);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns a stream consisting of the elements which the mapper pushes to
+     * the supplied consumer for each element of this stream. Unlike
+     * {@link #flatMap(IntFunction)} no stream is created per element, so this is
+     * cheaper when every element is replaced with a small number of elements.
+     * It's named differently from {@code IntStream.mapMulti} of JDK 16, so
+     * the lambdas are not ambiguous.
+     *
+     * <p>
+     * The consumer must not be used after the mapper returns.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param mapper a non-interfering, stateless function which pushes the
+     *        replacement elements to the supplied consumer
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public IntStreamEx mapMultii(IntMapMultiConsumer mapper) {
+        return delegate(new MapMultiSpliterator.OfInt(spliterator(), mapper));
     }
 
     /**
@@ -707,11 +752,48 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
 
     @Override
     public int[] toArray() {
+        IntArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.toArray(source, context);
         if (context.fjp != null)
             return context.terminate(stream()::toArray);
         return stream().toArray();
     }
 
+    /**
+     * Returns an immutable {@link List} containing the elements of this
+     * stream. The returned {@code List} is backed by a {@code int[]} array,
+     * so the elements are boxed only when they are read. It is guaranteed to be
+     * serializable.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * @return a {@code List} containing the elements of this stream
+     * @see StreamEx#toImmutableList()
+     * @since 2.3.3
+     */
+    public List<Integer> toImmutableList() {
+        return CompactCollections.intList(toArray());
+    }
+
+    /**
+     * Returns an immutable {@link Set} containing the distinct elements of this
+     * stream. The elements are kept unboxed in a {@code int[]} array in the
+     * encounter order and found through an open-addressing table. The returned
+     * {@code Set} is guaranteed to be serializable.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * @return a {@code Set} containing the distinct elements of this stream
+     * @see StreamEx#toImmutableSet()
+     * @since 2.3.3
+     */
+    public Set<Integer> toImmutableSet() {
+        return CompactCollections.intSet(toArray());
+    }
+
     /**
      * Returns a {@code byte[]} array containing the elements of this stream
      * which are converted to bytes using {@code (byte)} cast operation.
@@ -919,6 +1001,35 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
         return box[0];
     }
 
+    /**
+     * Combines the elements of this stream using the supplied {@link Monoid}.
+     * For the empty stream the identity of the monoid is returned.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * <p>
+     * Unlike {@link #foldLeft(int, IntBinaryOperator)}, the monoid makes the
+     * reduction fully parallel. The library monoids like
+     * {@link Monoid#intSum()} are recognized and reduce the elements without
+     * boxing, other monoids reduce the boxed elements.
+     *
+     * @param monoid the monoid to combine the elements
+     * @return the combination of the elements
+     * @throws NullPointerException if the monoid yields null
+     * @see #foldLeft(int, IntBinaryOperator)
+     * @see #reduce(int, IntBinaryOperator)
+     * @see StreamEx#foldMap(Function, Monoid)
+     * @since 2.3.3
+     */
+    public int fold(Monoid<Integer> monoid) {
+        if (monoid instanceof Monoids.IntMonoid) {
+            Monoids.IntMonoid m = (Monoids.IntMonoid) monoid;
+            return reduce(m.identity, m.op);
+        }
+        return boxed().foldMap(Function.identity(), monoid);
+    }
+
     /**
      * Produces an array containing cumulative results of applying the
      * accumulation function going left to right.
@@ -1071,11 +1182,17 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
 
     @Override
     public int sum() {
+        IntArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.sum(source, context);
         return reduce(0, Integer::sum);
     }
 
     @Override
     public OptionalInt min() {
+        IntArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.min(source, context);
         return reduce(Integer::min);
     }
 
@@ -1204,6 +1321,9 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
 
     @Override
     public OptionalInt max() {
+        IntArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.max(source, context);
         return reduce(Integer::max);
     }
 
@@ -1331,6 +1451,9 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
 
     @Override
     public long count() {
+        IntArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.count(source, context);
         if (context.fjp != null)
             return context.terminate(stream()::count);
         return stream().count();
@@ -1707,6 +1830,193 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
         return delegate(new PairSpliterator.PSOfInt(mapper, null, spliterator(), PairSpliterator.MODE_PAIRS));
     }
 
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the every adjacent pair of elements of this stream, like
+     * the deltas of the consecutive values. This is the same as
+     * {@link #pairMap(IntBinaryOperator)}.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * @param mapper a non-interfering, stateless function to apply to each
+     *        adjacent pair of this stream elements.
+     * @return the new stream
+     * @see StreamEx#slidingMap(java.util.function.BiFunction)
+     * @since 2.3.3
+     */
+    public IntStreamEx slidingMap(IntBinaryOperator mapper) {
+        return pairMap(mapper);
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the every window of three adjacent elements of this stream,
+     * like the moving sums or averages.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>. The elements are not boxed. In parallel every split reads
+     * the first two elements of the next one ahead, so the windows crossing
+     * the split boundaries need no synchronization.
+     *
+     * <p>
+     * The output stream will contain two elements less than this stream. If
+     * this stream contains less than three elements the output stream will be
+     * empty.
+     *
+     * @param mapper a non-interfering, stateless function to apply to each
+     *        window of three adjacent elements of this stream.
+     * @return the new stream
+     * @see StreamEx#slidingMap(com.landawn.streamex.function.TriFunction)
+     * @since 2.3.3
+     */
+    public IntStreamEx slidingMap(IntTernaryOperator mapper) {
+        return delegate(new SlidingSpliterator.OfInt(spliterator(), mapper));
+    }
+
+    /**
+     * Merge series of adjacent elements which satisfy the given predicate using
+     * the merger function and return a new stream.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation. The elements are not boxed: only one object
+     * is created per series. In parallel the series crossing the split
+     * boundaries are merged like in {@link StreamEx#collapse(BiPredicate, BinaryOperator)}.
+     *
+     * @param collapsible a non-interfering, stateless predicate to apply to the
+     *        pair of adjacent elements of the input stream which returns true
+     *        for elements which are collapsible.
+     * @param merger a non-interfering, stateless, associative function to merge
+     *        two adjacent elements for which collapsible predicate returned
+     *        true. Note that it can be applied to the results if previous
+     *        merges.
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public IntStreamEx collapse(IntBiPredicate collapsible, IntBinaryOperator merger) {
+        return runs(collapsible, Objects.requireNonNull(merger), false).mapToInt(r -> r.acc);
+    }
+
+    /**
+     * Returns a stream consisting of elements of this stream where every series
+     * of elements matched the predicate is replaced with first element from the
+     * series.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation. The elements are not boxed.
+     *
+     * <p>
+     * For sorted stream {@code collapse((a, b) -> a == b)} is equivalent to
+     * {@code distinct()}.
+     *
+     * @param collapsible a non-interfering, stateless predicate to apply to the
+     *        pair of adjacent input elements which returns true for elements
+     *        which are collapsible.
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public IntStreamEx collapse(IntBiPredicate collapsible) {
+        return runs(collapsible, null, false).mapToInt(r -> r.first);
+    }
+
+    /**
+     * Returns a stream consisting of arrays of elements of this stream where
+     * adjacent elements are grouped according to supplied predicate.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation. The elements are not boxed.
+     *
+     * @param sameGroup a non-interfering, stateless predicate to apply to the
+     *        pair of adjacent elements which returns true for elements which
+     *        belong to the same group.
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public StreamEx<int[]> groupRuns(IntBiPredicate sameGroup) {
+        return runs(sameGroup, null, true).map(RunSpliterator.IntRun::toArray);
+    }
+
+    /**
+     * Collapses the series of equal adjacent elements and returns an
+     * {@link EntryStream} where keys are the elements and values specify how
+     * many elements were collapsed (run-length encoding).
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation. The elements are not boxed: only the
+     * resulting entries are created per series.
+     *
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public EntryStream<Integer, Long> runLengths() {
+        return runs((a, b) -> a == b, null, false).mapToEntry(r -> r.first, r -> r.count);
+    }
+
+    /**
+     * Returns a stream consisting of results of applying the given function to
+     * the intervals created from the source elements.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation. Only the first and the last elements of
+     * every interval are tracked and the elements are not boxed.
+     *
+     * @param sameInterval a non-interfering, stateless predicate to apply to
+     *        the pair of adjacent elements which returns true for elements
+     *        which belong to the same interval.
+     * @param mapper a non-interfering, stateless function to apply to the first
+     *        and the last element of every interval.
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public IntStreamEx intervalMap(IntBiPredicate sameInterval, IntBinaryOperator mapper) {
+        return runs(sameInterval, null, false).mapToInt(r -> mapper.applyAsInt(r.first, r.last));
+    }
+
+    private StreamEx<RunSpliterator.IntRun> runs(IntBiPredicate sameGroup, IntBinaryOperator merger, boolean keepValues) {
+        return new RunSpliterator.OfInt(spliterator(), sameGroup, merger, keepValues).collapse(context);
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given function
+     * to the corresponding elements of this stream and the supplied other
+     * stream. The resulting stream is ordered if both of the input streams are
+     * ordered, and parallel if either of the input streams is parallel. When
+     * the resulting stream is closed, the close handlers for both input streams
+     * are invoked.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * <p>
+     * The resulting stream finishes when either of the input streams finish:
+     * the rest of the longer stream is discarded. It's unspecified whether the
+     * rest elements of the longer stream are actually consumed.
+     *
+     * <p>
+     * The values are never boxed. In parallel the input streams are buffered
+     * in growing chunks, so the mapper is applied in parallel even if the input
+     * streams cannot be split.
+     *
+     * @param other the stream to zip this stream with
+     * @param mapper a non-interfering, stateless function to apply to the
+     *        corresponding pairs of this stream and other stream elements
+     * @return the new stream
+     * @see #zip(int[], int[], IntBinaryOperator)
+     * @since 2.3.3
+     */
+    public IntStreamEx zipWith(IntStream other, IntBinaryOperator mapper) {
+        return new IntStreamEx(new ZipSpliterator.OfIntInt(spliterator(), other.spliterator(), mapper), context
+                .combine(other));
+    }
+
     /**
      * Returns a {@link String} which is the concatenation of the results of
      * calling {@link String#valueOf(int)} on each element of this stream,
@@ -1913,7 +2223,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
             return empty();
         }
 
-        return of(Arrays.spliterator(elements));
+        return of(new IntArray(0, elements.length, elements, null));
     }
 
     /**
@@ -1937,7 +2247,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
         }
 
         rangeCheck(array.length, startInclusive, endExclusive);
-        return of(Arrays.spliterator(array, startInclusive, endExclusive));
+        return of(new IntArray(startInclusive, endExclusive, array, null));
     }
 
     /**
@@ -2912,4 +3222,22 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
             return of(spliterator());
         }
     }
+
+    /**
+     * Represents an operation which pushes zero or more elements to the
+     * supplied consumer for a single element.
+     *
+     * @since 2.3.3
+     * @see IntStreamEx#mapMultii(IntMapMultiConsumer)
+     */
+    @FunctionalInterface
+    public interface IntMapMultiConsumer {
+        /**
+         * Pushes the replacement elements of the value to the consumer.
+         *
+         * @param value the stream element
+         * @param consumer the consumer which accepts the replacement elements
+         */
+        void accept(int value, IntConsumer consumer);
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Uses {@code Stream.mapMulti} and {@code Stream.toList} which appeared in
+ * JDK 16. The methods are reached via the method handles, so this class can be
+ * compiled for Java 8; the handles are constant, so JIT compiles the calls as
+ * the direct ones.
+ *
+ * @since 2.3.3
+ */
+/* package */class Java16Specific extends Java9Specific {
+    private static final MethodHandle MAP_MULTI;
+    private static final MethodHandle TO_LIST;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodHandle mapMulti, toList;
+        try {
+            mapMulti = lookup.findVirtual(Stream.class, "mapMulti", MethodType.methodType(Stream.class,
+                BiConsumer.class));
+            toList = lookup.findVirtual(Stream.class, "toList", MethodType.methodType(List.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            mapMulti = toList = null;
+        }
+        MAP_MULTI = mapMulti;
+        TO_LIST = toList;
+    }
+
+    static boolean isSupported() {
+        return MAP_MULTI != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    <T, R> Stream<R> mapMulti(AbstractStreamEx<T, ?> stream, BiConsumer<? super T, ? super Consumer<R>> mapper) {
+        try {
+            return (Stream<R>) MAP_MULTI.invokeExact(stream.stream(), (BiConsumer<?, ?>) mapper);
+        } catch (Error | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InternalError(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    <T> List<T> toImmutableList(AbstractStreamEx<T, ?> stream) {
+        if (stream.context.fjp != null)
+            return stream.context.terminate(() -> toList(stream.stream()));
+        return toList(stream.stream());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> toList(Stream<T> stream) {
+        try {
+            return (List<T>) TO_LIST.invokeExact(stream);
+        } catch (Error | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InternalError(e);
+        }
+    }
+}
@@ -17,10 +17,20 @@ package com.landawn.streamex;
 
 import static com.landawn.streamex.StreamExInternals.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.text.BreakIterator;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
@@ -70,15 +80,195 @@ import java.util.stream.Collectors;
  * Collector<CharSequence, ?, String> joining = Joining.with(", ");
  * }</pre>
  * 
+ * <p>
+ * If the joined result is not needed as a {@code String}, use
+ * {@link #to(Appendable)}, {@link #toWriter(Writer)} or
+ * {@link #toByteBuffer(Charset)} to write it directly to the target without
+ * creating the intermediate {@code String}.
+ * 
  * @author Tagir Valeev
  * @since 0.4.1
  */
 public class Joining extends CancellableCollector<CharSequence, Joining.Accumulator, String> {
     static final class Accumulator {
         final List<CharSequence> data = new ArrayList<>();
+        // element lists of the combined accumulators (including this one), or
+        // null if nothing was combined into this accumulator
+        List<List<CharSequence>> chunks;
         int chars = 0, count = 0;
+
+        List<List<CharSequence>> chunks() {
+            return chunks == null ? Collections.singletonList(data) : chunks;
+        }
+    }
+
+    /**
+     * Accumulation container of the collectors created by {@link #to(Appendable)}
+     * and similar methods. When the output is set, the elements are written
+     * to it as soon as it's known that they will not be cut, and only the
+     * remaining elements are kept in the accumulator.
+     */
+    static final class Sink<R> {
+        final Output<R> out;
+        Accumulator acc = new Accumulator();
+        // number of elements and their length which were already written
+        int written, committed;
+
+        Sink(Output<R> out) {
+            this.out = out;
+        }
     }
 
+    /**
+     * Bounded character buffer which is flushed to the target when full.
+     */
+    static abstract class Output<R> {
+        char[] buf;
+        int pos;
+
+        Output(int capacity) {
+            this.buf = new char[capacity];
+        }
+
+        void append(String str) {
+            append(str, str.length());
+        }
+
+        void append(String str, int end) {
+            int start = 0;
+            while (true) {
+                int n = Math.min(end - start, buf.length - pos);
+                str.getChars(start, start + n, buf, pos);
+                pos += n;
+                start += n;
+                if (start == end)
+                    return;
+                flush();
+            }
+        }
+
+        void flush() {
+            int n;
+            try {
+                n = write(buf, pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            System.arraycopy(buf, n, buf, 0, pos - n);
+            pos -= n;
+        }
+
+        /**
+         * Writes the buffer content to the target.
+         * 
+         * @return number of chars actually consumed (the rest is kept in the
+         *         buffer)
+         */
+        abstract int write(char[] buf, int len) throws IOException;
+
+        abstract R finish();
+    }
+
+    static final class StringOutput extends Output<String> {
+        StringOutput(int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        void flush() {
+            buf = Arrays.copyOf(buf, buf.length * 2 + 1);
+        }
+
+        @Override
+        int write(char[] buf, int len) {
+            throw new InternalError();
+        }
+
+        @Override
+        String finish() {
+            return new String(buf, 0, pos);
+        }
+    }
+
+    static final class AppendableOutput<A extends Appendable> extends Output<A> {
+        private final A target;
+        private final boolean flushTarget;
+
+        AppendableOutput(A target, boolean flushTarget) {
+            super(BUFFER_SIZE);
+            this.target = target;
+            this.flushTarget = flushTarget;
+        }
+
+        @Override
+        int write(char[] buf, int len) throws IOException {
+            if (target instanceof Writer) {
+                ((Writer) target).write(buf, 0, len);
+            } else if (target instanceof StringBuilder) {
+                ((StringBuilder) target).append(buf, 0, len);
+            } else {
+                target.append(CharBuffer.wrap(buf, 0, len));
+            }
+            return len;
+        }
+
+        @Override
+        A finish() {
+            flush();
+            if (flushTarget) {
+                try {
+                    ((Writer) target).flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return target;
+        }
+    }
+
+    static final class ByteBufferOutput extends Output<ByteBuffer> {
+        private final CharsetEncoder encoder;
+        private ByteBuffer result;
+
+        ByteBufferOutput(Charset charset) {
+            super(BUFFER_SIZE);
+            this.encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(
+                CodingErrorAction.REPLACE);
+            this.result = ByteBuffer.allocate(BUFFER_SIZE);
+        }
+
+        private void encode(CharBuffer in, boolean endOfInput) {
+            while (encoder.encode(in, result, endOfInput).isOverflow())
+                grow();
+        }
+
+        private void grow() {
+            ByteBuffer bigger = ByteBuffer.allocate(result.capacity() * 2);
+            result.flip();
+            result = bigger.put(result);
+        }
+
+        @Override
+        int write(char[] buf, int len) {
+            CharBuffer in = CharBuffer.wrap(buf, 0, len);
+            // unpaired high surrogate at the end stays in the buffer
+            encode(in, false);
+            return in.position();
+        }
+
+        @Override
+        ByteBuffer finish() {
+            encode(CharBuffer.wrap(buf, 0, pos), true);
+            pos = 0;
+            while (encoder.flush(result).isOverflow())
+                grow();
+            result.flip();
+            return result;
+        }
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+
     private static final int CUT_ANYWHERE = 0;
     private static final int CUT_CODEPOINT = 1;
     private static final int CUT_GRAPHEME = 2;
@@ -132,14 +322,15 @@ public class Joining extends CancellableCollector<CharSequence, Joining.Accumula
         }
     }
 
-    private static int copy(char[] buf, int pos, String str) {
-        str.getChars(0, str.length(), buf, pos);
-        return pos + str.length();
+    private int copyCut(char[] buf, int pos, String str, int limit, int cutStrategy) {
+        int endPos = cutPos(str, limit, cutStrategy);
+        str.getChars(0, endPos, buf, pos);
+        return pos + endPos;
     }
 
-    private int copyCut(char[] buf, int pos, String str, int limit, int cutStrategy) {
+    private int cutPos(String str, int limit, int cutStrategy) {
         if (limit <= 0)
-            return pos;
+            return 0;
         int endPos = str.length();
         switch (lenStrategy) {
         case LENGTH_CHARS:
@@ -194,22 +385,11 @@ public class Joining extends CancellableCollector<CharSequence, Joining.Accumula
                 throw new InternalError();
             }
         }
-        str.getChars(0, endPos, buf, pos);
-        return pos + endPos;
+        return endPos;
     }
 
     private String finisherNoOverflow(Accumulator acc) {
-        char[] buf = new char[acc.chars + prefix.length() + suffix.length()];
-        int size = acc.data.size();
-        int pos = copy(buf, 0, prefix);
-        for (int i = 0; i < size; i++) {
-            if (i > 0) {
-                pos = copy(buf, pos, delimiter);
-            }
-            pos = copy(buf, pos, acc.data.get(i).toString());
-        }
-        copy(buf, pos, suffix);
-        return new String(buf);
+        return VER_SPEC.join(acc.chunks(), acc.chars + prefix.length() + suffix.length(), delimiter, prefix, suffix);
     }
 
     private Joining withLimit(int lenStrategy, int maxLength) {
@@ -478,6 +658,197 @@ public class Joining extends CancellableCollector<CharSequence, Joining.Accumula
         return withCut(CUT_AFTER_DELIMITER);
     }
 
+    /**
+     * Returns a {@code Collector} which joins the input elements like this
+     * collector, but appends the result to the specified {@code Appendable}
+     * instead of creating a {@code String}. All the settings of this collector
+     * (including the length limit and the ellipsis) are preserved.
+     * 
+     * <p>
+     * When the collector is used with the sequential {@link StreamEx} (or
+     * {@link EntryStream}), the elements are written to the target through the
+     * bounded buffer as soon as they are collected, so the whole result is
+     * never kept in memory. If the length limit is set, only the elements
+     * which may still be cut are retained until the stream end. In other
+     * cases (for example, for parallel streams) the input elements are
+     * collected first and appended to the target at once when the collection
+     * is finished.
+     * 
+     * <p>
+     * The returned collector is <a
+     * href="package-summary.html#ShortCircuitReduction">short-circuiting</a>
+     * if this collector is short-circuiting. If an {@link IOException} occurs
+     * when appending to the target, it is wrapped into the
+     * {@link UncheckedIOException}.
+     * 
+     * @param <A> type of the target
+     * @param appendable the target to append the result to. It must not be
+     *        accessed by other code until the collection is finished.
+     * @return a new {@code Collector} which appends the result to the
+     *         specified {@code Appendable} and returns it.
+     * @since 2.3.3
+     */
+    public <A extends Appendable> Collector<CharSequence, ?, A> to(A appendable) {
+        Objects.requireNonNull(appendable);
+        return new StreamingCollector<>(() -> new AppendableOutput<>(appendable, false));
+    }
+
+    /**
+     * Returns a {@code Collector} which joins the input elements like this
+     * collector, but writes the result to the specified {@code Writer}
+     * flushing it after the collection is finished.
+     * 
+     * <p>
+     * This method works exactly like {@link #to(Appendable)} except the
+     * writer is flushed in the end. The writer is not closed.
+     * 
+     * @param <W> type of the writer
+     * @param writer the writer to write the result to
+     * @return a new {@code Collector} which writes the result to the
+     *         specified {@code Writer} and returns it.
+     * @since 2.3.3
+     */
+    public <W extends Writer> Collector<CharSequence, ?, W> toWriter(W writer) {
+        Objects.requireNonNull(writer);
+        return new StreamingCollector<>(() -> new AppendableOutput<>(writer, true));
+    }
+
+    /**
+     * Returns a {@code Collector} which joins the input elements like this
+     * collector, but encodes the result into the {@code ByteBuffer} using the
+     * specified charset instead of creating a {@code String}.
+     * 
+     * <p>
+     * The characters are encoded incrementally through the bounded buffer in
+     * the same manner as described in {@link #to(Appendable)}. Malformed input
+     * and unmappable characters are replaced with the charset default
+     * replacement like {@link String#getBytes(Charset)} does. The resulting
+     * buffer is flipped, so it's ready to be read from.
+     * 
+     * @param charset the charset to encode the result with
+     * @return a new {@code Collector} which produces the encoded result.
+     * @since 2.3.3
+     */
+    public Collector<CharSequence, ?, ByteBuffer> toByteBuffer(Charset charset) {
+        Objects.requireNonNull(charset);
+        return new StreamingCollector<>(() -> new ByteBufferOutput(charset));
+    }
+
+    private final class StreamingCollector<R> extends CancellableCollector<CharSequence, Sink<R>, R> {
+        private final Supplier<Output<R>> outputSupplier;
+
+        StreamingCollector(Supplier<Output<R>> outputSupplier) {
+            this.outputSupplier = outputSupplier;
+        }
+
+        private Output<R> newOutput() {
+            Output<R> out = outputSupplier.get();
+            if (maxLength == -1 || limit > 0)
+                out.append(prefix);
+            return out;
+        }
+
+        @Override
+        public Supplier<Sink<R>> supplier() {
+            return () -> new Sink<>(null);
+        }
+
+        @Override
+        Supplier<Sink<R>> sequentialSupplier() {
+            init();
+            return () -> new Sink<>(newOutput());
+        }
+
+        @Override
+        public BiConsumer<Sink<R>, CharSequence> accumulator() {
+            BiConsumer<Accumulator, CharSequence> buffering = Joining.this.accumulator();
+            if (maxLength == -1)
+                return (sink, str) -> {
+                    Output<R> out = sink.out;
+                    if (out == null) {
+                        buffering.accept(sink.acc, str);
+                        return;
+                    }
+                    if (sink.written++ > 0)
+                        out.append(delimiter);
+                    out.append(str.toString());
+                };
+            // elements fitting into this length are written anyways
+            int safe = limit - length(ellipsis) - (cutStrategy == CUT_AFTER_DELIMITER ? delimCount : 0);
+            return (sink, str) -> {
+                Accumulator acc = sink.acc;
+                Output<R> out = sink.out;
+                if (out == null || limit <= 0) {
+                    buffering.accept(acc, str);
+                    return;
+                }
+                if (acc.count > limit)
+                    return;
+                if (sink.written > 0 || !acc.data.isEmpty())
+                    acc.count += delimCount;
+                acc.count += length(str);
+                if (acc.data.isEmpty() && acc.count <= safe) {
+                    if (sink.written++ > 0)
+                        out.append(delimiter);
+                    out.append(str.toString());
+                    sink.committed = acc.count;
+                } else {
+                    if (!acc.data.isEmpty())
+                        acc.chars += delimiter.length();
+                    acc.chars += str.length();
+                    acc.data.add(str);
+                }
+            };
+        }
+
+        @Override
+        public BinaryOperator<Sink<R>> combiner() {
+            BinaryOperator<Accumulator> combiner = Joining.this.combiner();
+            return (sink1, sink2) -> {
+                sink1.acc = combiner.apply(sink1.acc, sink2.acc);
+                return sink1;
+            };
+        }
+
+        @Override
+        public Function<Sink<R>, R> finisher() {
+            init();
+            if (maxLength != -1 && limit <= 0) {
+                String result = cutPrefixSuffix();
+                return sink -> {
+                    Output<R> out = outputSupplier.get();
+                    out.append(result);
+                    return out.finish();
+                };
+            }
+            return sink -> {
+                Output<R> out = sink.out == null ? newOutput() : sink.out;
+                Accumulator acc = sink.acc;
+                if (maxLength == -1 || acc.count <= limit)
+                    appendAll(out, acc, sink.written > 0);
+                else
+                    appendOverflow(out, acc.data, sink.written > 0, limit - sink.committed);
+                out.append(suffix);
+                return out.finish();
+            };
+        }
+
+        @Override
+        public Set<Characteristics> characteristics() {
+            if (maxLength == -1)
+                return Collections.emptySet();
+            return Joining.this.characteristics();
+        }
+
+        @Override
+        Predicate<Sink<R>> finished() {
+            if (maxLength == -1)
+                return sink -> false;
+            Predicate<Accumulator> finished = Joining.this.finished();
+            return sink -> finished.test(sink.acc);
+        }
+    }
+
     @Override
     public Supplier<Accumulator> supplier() {
         return Accumulator::new;
@@ -515,7 +886,13 @@ public class Joining extends CancellableCollector<CharSequence, Joining.Accumula
                 if (acc2.data.isEmpty())
                     return acc1;
                 acc1.chars += delimiter.length() + acc2.chars;
-                acc1.data.addAll(acc2.data);
+                // only the chunk lists are linked here: the elements are
+                // copied once by the finisher into the presized buffer
+                if (acc1.chunks == null) {
+                    acc1.chunks = new ArrayList<>();
+                    acc1.chunks.add(acc1.data);
+                }
+                acc1.chunks.addAll(acc2.chunks());
                 return acc1;
             };
         init();
@@ -548,52 +925,79 @@ public class Joining extends CancellableCollector<CharSequence, Joining.Accumula
         }
         init();
         if (limit <= 0) {
-            char[] buf = new char[prefix.length() + suffix.length()];
-            int pos = copyCut(buf, 0, prefix, maxLength, cutStrategy);
-            pos = copyCut(buf, pos, suffix, maxLength - length(prefix), cutStrategy);
-            String result = new String(buf, 0, pos);
+            String result = cutPrefixSuffix();
             return acc -> result;
         }
         return acc -> {
             if (acc.count <= limit)
                 return finisherNoOverflow(acc);
-            char[] buf = new char[acc.chars + prefix.length() + suffix.length()];
-            int size = acc.data.size();
-            int pos = copy(buf, 0, prefix);
-            int ellipsisCount = length(ellipsis);
-            int rest = limit - ellipsisCount;
-            if (rest < 0) {
-                pos = copyCut(buf, pos, ellipsis, limit, CUT_ANYWHERE);
-            } else {
-                for (int i = 0; i < size; i++) {
-                    String s = acc.data.get(i).toString();
-                    int count = length(s);
-                    if (i > 0) {
-                        if (cutStrategy == CUT_BEFORE_DELIMITER && delimCount + count > rest) {
-                            break;
-                        }
-                        if (delimCount > rest) {
-                            pos = copyCut(buf, pos, delimiter, rest, cutStrategy);
-                            break;
-                        }
-                        rest -= delimCount;
-                        pos = copy(buf, pos, delimiter);
-                    }
-                    if (cutStrategy == CUT_AFTER_DELIMITER && delimCount + count > rest) {
-                        break;
-                    }
-                    if (count > rest) {
-                        pos = copyCut(buf, pos, s, rest, cutStrategy);
-                        break;
-                    }
-                    pos = copy(buf, pos, s);
-                    rest -= count;
+            Output<String> out = new StringOutput(acc.chars + prefix.length() + suffix.length());
+            out.append(prefix);
+            appendOverflow(out, acc.data, false, limit);
+            out.append(suffix);
+            return out.finish();
+        };
+    }
+
+    private String cutPrefixSuffix() {
+        char[] buf = new char[prefix.length() + suffix.length()];
+        int pos = copyCut(buf, 0, prefix, maxLength, cutStrategy);
+        pos = copyCut(buf, pos, suffix, maxLength - length(prefix), cutStrategy);
+        return new String(buf, 0, pos);
+    }
+
+    private void appendAll(Output<?> out, Accumulator acc, boolean delimit) {
+        for (List<CharSequence> data : acc.chunks()) {
+            for (CharSequence s : data) {
+                if (delimit)
+                    out.append(delimiter);
+                out.append(s.toString());
+                delimit = true;
+            }
+        }
+    }
+
+    /**
+     * Appends the elements which exceed the limit, cutting them according to
+     * the cut strategy, followed by the ellipsis.
+     * 
+     * @param out output to append to
+     * @param data elements to append
+     * @param delimit whether the delimiter must precede the first element
+     * @param rest the available length
+     */
+    private void appendOverflow(Output<?> out, List<CharSequence> data, boolean delimit, int rest) {
+        int ellipsisCount = length(ellipsis);
+        if (rest < ellipsisCount) {
+            out.append(ellipsis, cutPos(ellipsis, rest, CUT_ANYWHERE));
+            return;
+        }
+        rest -= ellipsisCount;
+        for (int i = 0, size = data.size(); i < size; i++) {
+            String s = data.get(i).toString();
+            int count = length(s);
+            if (i > 0 || delimit) {
+                if (cutStrategy == CUT_BEFORE_DELIMITER && delimCount + count > rest) {
+                    break;
                 }
-                pos = copy(buf, pos, ellipsis);
+                if (delimCount > rest) {
+                    out.append(delimiter, cutPos(delimiter, rest, cutStrategy));
+                    break;
+                }
+                rest -= delimCount;
+                out.append(delimiter);
             }
-            pos = copy(buf, pos, suffix);
-            return new String(buf, 0, pos);
-        };
+            if (cutStrategy == CUT_AFTER_DELIMITER && delimCount + count > rest) {
+                break;
+            }
+            if (count > rest) {
+                out.append(s, cutPos(s, rest, cutStrategy));
+                break;
+            }
+            out.append(s);
+            rest -= count;
+        }
+        out.append(ellipsis);
     }
 
     @Override
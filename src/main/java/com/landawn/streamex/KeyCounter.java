@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongPredicate;
+
+/**
+ * Insertion-ordered open-addressing hash table which counts the occurrences
+ * of the keys and optionally remembers the first element seen for every key.
+ *
+ * <p>
+ * The keys, their hashes, counts and first elements are stored densely in
+ * parallel arrays in the order of the first occurrence; the linear-probing
+ * index table stores only the positions in these arrays. Adding an element
+ * doesn't allocate unless the table grows, so neither a key wrapper nor a
+ * boxed count is created per element.
+ *
+ * @param <T> the type of the remembered elements
+ * @since 2.3.3
+ */
+/* package */final class KeyCounter<T> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    // entry position + 1; zero means an empty slot
+    private int[] index = new int[INITIAL_CAPACITY * 2];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private long[] counts = new long[INITIAL_CAPACITY];
+    private Object[] firsts;
+    private int size;
+
+    /**
+     * @param keepFirst whether to remember the first element for every key
+     */
+    KeyCounter(boolean keepFirst) {
+        this.firsts = keepFirst ? new Object[INITIAL_CAPACITY] : null;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Counts one occurrence of the key.
+     *
+     * @param key the key (may be null)
+     * @param element the element to remember if the key is new
+     */
+    void add(Object key, T element) {
+        add(key, element, 1);
+    }
+
+    private void add(Object key, Object element, long count) {
+        int h = spread(Objects.hashCode(key));
+        int[] idx = index;
+        int mask = idx.length - 1;
+        for (int i = h & mask;; i = (i + 1) & mask) {
+            int pos = idx[i] - 1;
+            if (pos < 0) {
+                idx[i] = append(h, key, element, count) + 1;
+                if (size * 2 > idx.length)
+                    rehash();
+                return;
+            }
+            if (hashes[pos] == h && Objects.equals(keys[pos], key)) {
+                counts[pos] += count;
+                return;
+            }
+        }
+    }
+
+    private int append(int h, Object key, Object element, long count) {
+        int pos = size;
+        if (pos == keys.length) {
+            int cap = pos * 2;
+            hashes = Arrays.copyOf(hashes, cap);
+            keys = Arrays.copyOf(keys, cap);
+            counts = Arrays.copyOf(counts, cap);
+            if (firsts != null)
+                firsts = Arrays.copyOf(firsts, cap);
+        }
+        hashes[pos] = h;
+        keys[pos] = key;
+        counts[pos] = count;
+        if (firsts != null)
+            firsts[pos] = element;
+        size = pos + 1;
+        return pos;
+    }
+
+    private void rehash() {
+        int[] idx = new int[index.length * 2];
+        int mask = idx.length - 1;
+        for (int pos = 0; pos < size; pos++) {
+            int i = hashes[pos] & mask;
+            while (idx[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            idx[i] = pos + 1;
+        }
+        index = idx;
+    }
+
+    /**
+     * Adds all the counts of other counter to this one. The keys of the other
+     * counter which are new for this counter are appended after the existing
+     * ones, so the order of the first occurrence is preserved when the
+     * counters of the consecutive parts are merged left to right.
+     *
+     * @param other counter to merge
+     */
+    void addAll(KeyCounter<T> other) {
+        Object[] otherFirsts = other.firsts;
+        for (int pos = 0; pos < other.size; pos++) {
+            add(other.keys[pos], otherFirsts == null ? null : otherFirsts[pos], other.counts[pos]);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the keys in the order of the first occurrence; the array may be
+     *         longer than {@link #size()}
+     */
+    Object[] keys() {
+        return keys;
+    }
+
+    /**
+     * @return the counts of the keys; the array may be longer than
+     *         {@link #size()}
+     */
+    long[] counts() {
+        return counts;
+    }
+
+    /**
+     * Returns the first elements of the keys which counts match the filter.
+     * If the first elements are not kept, the keys themselves are returned.
+     *
+     * @param countFilter the filter for the counts
+     * @return the list of the first elements in the order of the first
+     *         occurrence
+     */
+    @SuppressWarnings("unchecked")
+    List<T> firsts(LongPredicate countFilter) {
+        List<T> result = new ArrayList<>();
+        Object[] f = firsts == null ? keys : firsts;
+        for (int pos = 0; pos < size; pos++) {
+            if (countFilter.test(counts[pos]))
+                result.add((T) f[pos]);
+        }
+        return result;
+    }
+}
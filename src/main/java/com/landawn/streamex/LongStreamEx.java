@@ -26,6 +26,10 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.function.*;
 import java.util.stream.*;
 
+import com.landawn.streamex.RangeBasedSpliterator.LongArray;
+import com.landawn.streamex.function.LongBiPredicate;
+import com.landawn.streamex.function.LongDoubleToDoubleFunction;
+import com.landawn.streamex.function.LongTernaryOperator;
 import com.landawn.streamex.util.Fn;
 
 /**
@@ -66,8 +70,20 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
         return (LongStreamEx) super.onClose(closeHandler);
     }
 
+    /**
+     * Consumes and returns the array source if no intermediate operation other
+     * than a filter was applied to it.
+     *
+     * @return the array source or null
+     */
+    private LongArray arraySource() {
+        return spliterator instanceof LongArray ? (LongArray) spliterator() : null;
+    }
+
     @Override
     public LongStreamEx filter(LongPredicate predicate) {
+        if (spliterator instanceof LongArray)
+            return new LongStreamEx(arraySource().filter(predicate), context);
         return new LongStreamEx(stream().filter(predicate), context);
     }
 
@@ -318,7 +334,37 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
     }
 
     public LongStreamEx flattMap(final LongFunction<long[]> mapper) {
-        return flatMap(d -> LongStreamEx.of(mapper.apply(d)));
+        return mapMultii((value, sink) -> {
+            long[] array = mapper.apply(value);
+            if (array != null) {
+                for (long v : array) {
+                    sink.accept(v);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns a stream consisting of the elements which the mapper pushes to
+     * the supplied consumer for each element of this stream. Unlike
+     * {@link #flatMap(LongFunction)} no stream is created per element, so this is
+     * cheaper when every element is replaced with a small number of elements.
+     * It's named differently from {@code LongStream.mapMulti} of JDK 16, so
+     * the lambdas are not ambiguous.
+     *
+     * <p>
+     * The consumer must not be used after the mapper returns.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param mapper a non-interfering, stateless function which pushes the
+     *        replacement elements to the supplied consumer
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public LongStreamEx mapMultii(LongMapMultiConsumer mapper) {
+        return delegate(new MapMultiSpliterator.OfLong(spliterator(), mapper));
     }
 
     /**
@@ -732,11 +778,48 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
 
     @Override
     public long[] toArray() {
+        LongArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.toArray(source, context);
         if (context.fjp != null)
             return context.terminate(stream()::toArray);
         return stream().toArray();
     }
 
+    /**
+     * Returns an immutable {@link List} containing the elements of this
+     * stream. The returned {@code List} is backed by a {@code long[]} array,
+     * so the elements are boxed only when they are read. It is guaranteed to be
+     * serializable.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * @return a {@code List} containing the elements of this stream
+     * @see StreamEx#toImmutableList()
+     * @since 2.3.3
+     */
+    public List<Long> toImmutableList() {
+        return CompactCollections.longList(toArray());
+    }
+
+    /**
+     * Returns an immutable {@link Set} containing the distinct elements of this
+     * stream. The elements are kept unboxed in a {@code long[]} array in the
+     * encounter order and found through an open-addressing table. The returned
+     * {@code Set} is guaranteed to be serializable.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * @return a {@code Set} containing the distinct elements of this stream
+     * @see StreamEx#toImmutableSet()
+     * @since 2.3.3
+     */
+    public Set<Long> toImmutableSet() {
+        return CompactCollections.longSet(toArray());
+    }
+
     @Override
     public long reduce(long identity, LongBinaryOperator op) {
         if (context.fjp != null)
@@ -847,6 +930,35 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
         return box[0];
     }
 
+    /**
+     * Combines the elements of this stream using the supplied {@link Monoid}.
+     * For the empty stream the identity of the monoid is returned.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * <p>
+     * Unlike {@link #foldLeft(long, LongBinaryOperator)}, the monoid makes the
+     * reduction fully parallel. The library monoids like
+     * {@link Monoid#longSum()} are recognized and reduce the elements without
+     * boxing, other monoids reduce the boxed elements.
+     *
+     * @param monoid the monoid to combine the elements
+     * @return the combination of the elements
+     * @throws NullPointerException if the monoid yields null
+     * @see #foldLeft(long, LongBinaryOperator)
+     * @see #reduce(long, LongBinaryOperator)
+     * @see StreamEx#foldMap(Function, Monoid)
+     * @since 2.3.3
+     */
+    public long fold(Monoid<Long> monoid) {
+        if (monoid instanceof Monoids.LongMonoid) {
+            Monoids.LongMonoid m = (Monoids.LongMonoid) monoid;
+            return reduce(m.identity, m.op);
+        }
+        return boxed().foldMap(Function.identity(), monoid);
+    }
+
     /**
      * Produces an array containing cumulative results of applying the
      * accumulation function going left to right.
@@ -1001,11 +1113,17 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
 
     @Override
     public long sum() {
+        LongArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.sum(source, context);
         return reduce(0, Long::sum);
     }
 
     @Override
     public OptionalLong min() {
+        LongArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.min(source, context);
         return reduce(Long::min);
     }
 
@@ -1134,6 +1252,9 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
 
     @Override
     public OptionalLong max() {
+        LongArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.max(source, context);
         return reduce(Long::max);
     }
 
@@ -1262,6 +1383,9 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
 
     @Override
     public long count() {
+        LongArray source = arraySource();
+        if (source != null)
+            return ArrayKernels.count(source, context);
         if (context.fjp != null)
             return context.terminate(stream()::count);
         return stream().count();
@@ -1520,6 +1644,192 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
         return delegate(new PairSpliterator.PSOfLong(mapper, null, spliterator(), PairSpliterator.MODE_PAIRS));
     }
 
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the every adjacent pair of elements of this stream, like
+     * the deltas of the consecutive values. This is the same as
+     * {@link #pairMap(LongBinaryOperator)}.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * @param mapper a non-interfering, stateless function to apply to each
+     *        adjacent pair of this stream elements.
+     * @return the new stream
+     * @see StreamEx#slidingMap(java.util.function.BiFunction)
+     * @since 2.3.3
+     */
+    public LongStreamEx slidingMap(LongBinaryOperator mapper) {
+        return pairMap(mapper);
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the every window of three adjacent elements of this stream,
+     * like the moving sums or averages.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>. The elements are not boxed. In parallel every split reads
+     * the first two elements of the next one ahead, so the windows crossing
+     * the split boundaries need no synchronization.
+     *
+     * <p>
+     * The output stream will contain two elements less than this stream. If
+     * this stream contains less than three elements the output stream will be
+     * empty.
+     *
+     * @param mapper a non-interfering, stateless function to apply to each
+     *        window of three adjacent elements of this stream.
+     * @return the new stream
+     * @see StreamEx#slidingMap(com.landawn.streamex.function.TriFunction)
+     * @since 2.3.3
+     */
+    public LongStreamEx slidingMap(LongTernaryOperator mapper) {
+        return delegate(new SlidingSpliterator.OfLong(spliterator(), mapper));
+    }
+
+    /**
+     * Merge series of adjacent elements which satisfy the given predicate using
+     * the merger function and return a new stream.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation. The elements are not boxed: only one object
+     * is created per series. In parallel the series crossing the split
+     * boundaries are merged like in {@link StreamEx#collapse(BiPredicate, BinaryOperator)}.
+     *
+     * @param collapsible a non-interfering, stateless predicate to apply to the
+     *        pair of adjacent elements of the input stream which returns true
+     *        for elements which are collapsible.
+     * @param merger a non-interfering, stateless, associative function to merge
+     *        two adjacent elements for which collapsible predicate returned
+     *        true. Note that it can be applied to the results if previous
+     *        merges.
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public LongStreamEx collapse(LongBiPredicate collapsible, LongBinaryOperator merger) {
+        return runs(collapsible, Objects.requireNonNull(merger), false).mapToLong(r -> r.acc);
+    }
+
+    /**
+     * Returns a stream consisting of elements of this stream where every series
+     * of elements matched the predicate is replaced with first element from the
+     * series.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation. The elements are not boxed.
+     *
+     * <p>
+     * For sorted stream {@code collapse((a, b) -> a == b)} is equivalent to
+     * {@code distinct()}.
+     *
+     * @param collapsible a non-interfering, stateless predicate to apply to the
+     *        pair of adjacent input elements which returns true for elements
+     *        which are collapsible.
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public LongStreamEx collapse(LongBiPredicate collapsible) {
+        return runs(collapsible, null, false).mapToLong(r -> r.first);
+    }
+
+    /**
+     * Returns a stream consisting of arrays of elements of this stream where
+     * adjacent elements are grouped according to supplied predicate.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation. The elements are not boxed.
+     *
+     * @param sameGroup a non-interfering, stateless predicate to apply to the
+     *        pair of adjacent elements which returns true for elements which
+     *        belong to the same group.
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public StreamEx<long[]> groupRuns(LongBiPredicate sameGroup) {
+        return runs(sameGroup, null, true).map(RunSpliterator.LongRun::toArray);
+    }
+
+    /**
+     * Collapses the series of equal adjacent elements and returns an
+     * {@link EntryStream} where keys are the elements and values specify how
+     * many elements were collapsed (run-length encoding).
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation. The elements are not boxed: only the
+     * resulting entries are created per series.
+     *
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public EntryStream<Long, Long> runLengths() {
+        return runs((a, b) -> a == b, null, false).mapToEntry(r -> r.first, r -> r.count);
+    }
+
+    /**
+     * Returns a stream consisting of results of applying the given function to
+     * the intervals created from the source elements.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation. Only the first and the last elements of
+     * every interval are tracked and the elements are not boxed.
+     *
+     * @param sameInterval a non-interfering, stateless predicate to apply to
+     *        the pair of adjacent elements which returns true for elements
+     *        which belong to the same interval.
+     * @param mapper a non-interfering, stateless function to apply to the first
+     *        and the last element of every interval.
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public LongStreamEx intervalMap(LongBiPredicate sameInterval, LongBinaryOperator mapper) {
+        return runs(sameInterval, null, false).mapToLong(r -> mapper.applyAsLong(r.first, r.last));
+    }
+
+    private StreamEx<RunSpliterator.LongRun> runs(LongBiPredicate sameGroup, LongBinaryOperator merger, boolean keepValues) {
+        return new RunSpliterator.OfLong(spliterator(), sameGroup, merger, keepValues).collapse(context);
+    }
+
+    /**
+     * Returns a {@link DoubleStreamEx} consisting of the results of applying
+     * the given function to the corresponding elements of this stream and the
+     * supplied {@code DoubleStream}. The resulting stream is ordered if both of
+     * the input streams are ordered, and parallel if either of the input
+     * streams is parallel. When the resulting stream is closed, the close
+     * handlers for both input streams are invoked.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * <p>
+     * The resulting stream finishes when either of the input streams finish:
+     * the rest of the longer stream is discarded. It's unspecified whether the
+     * rest elements of the longer stream are actually consumed.
+     *
+     * <p>
+     * The values are never boxed. In parallel the input streams are buffered
+     * in growing chunks, so the mapper is applied in parallel even if the input
+     * streams cannot be split.
+     *
+     * @param other the stream to zip this stream with
+     * @param mapper a non-interfering, stateless function to apply to the
+     *        corresponding pairs of this stream and other stream elements
+     * @return the new stream
+     * @since 2.3.3
+     */
+    public DoubleStreamEx zipWith(DoubleStream other, LongDoubleToDoubleFunction mapper) {
+        return new DoubleStreamEx(new ZipSpliterator.OfLongDouble(spliterator(), other.spliterator(), mapper),
+                context.combine(other));
+    }
+
     /**
      * Returns a {@link String} which is the concatenation of the results of
      * calling {@link String#valueOf(long)} on each element of this stream,
@@ -1683,7 +1993,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
             return empty();
         }
 
-        return of(Arrays.spliterator(elements));
+        return of(new LongArray(0, elements.length, elements, null));
     }
 
     /**
@@ -1707,7 +2017,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
         }
 
         rangeCheck(array.length, startInclusive, endExclusive);
-        return of(Arrays.spliterator(array, startInclusive, endExclusive));
+        return of(new LongArray(startInclusive, endExclusive, array, null));
     }
 
     /**
@@ -2266,4 +2576,22 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
             return of(spliterator());
         }
     }
+
+    /**
+     * Represents an operation which pushes zero or more elements to the
+     * supplied consumer for a single element.
+     *
+     * @since 2.3.3
+     * @see LongStreamEx#mapMultii(LongMapMultiConsumer)
+     */
+    @FunctionalInterface
+    public interface LongMapMultiConsumer {
+        /**
+         * Pushes the replacement elements of the value to the consumer.
+         *
+         * @param value the stream element
+         * @param consumer the consumer which accepts the replacement elements
+         */
+        void accept(long value, LongConsumer consumer);
+    }
 }
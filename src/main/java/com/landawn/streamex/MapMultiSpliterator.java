@@ -0,0 +1,299 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+import com.landawn.streamex.DoubleStreamEx.DoubleMapMultiConsumer;
+import com.landawn.streamex.IntStreamEx.IntMapMultiConsumer;
+import com.landawn.streamex.LongStreamEx.LongMapMultiConsumer;
+
+/**
+ * Replaces every source element with the elements pushed by the mapper. The
+ * bulk traversal passes the downstream consumer to the mapper directly, so
+ * nothing is buffered; {@link #tryAdvance(Consumer)} buffers the elements
+ * pushed for one source element.
+ *
+ * @param <T> the type of the source elements
+ * @param <R> the type of the resulting elements
+ * @since 2.3.3
+ */
+/* package */final class MapMultiSpliterator<T, R> implements Spliterator<R>, Consumer<T> {
+    private static final int INITIAL_SIZE = 8;
+
+    private final Spliterator<T> source;
+    private final BiConsumer<? super T, ? super Consumer<R>> mapper;
+    private final Consumer<R> buffer = this::add;
+    private Object[] buf;
+    private int pos, size;
+
+    MapMultiSpliterator(Spliterator<T> source, BiConsumer<? super T, ? super Consumer<R>> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    private void add(R r) {
+        if (buf == null)
+            buf = new Object[INITIAL_SIZE];
+        else if (size == buf.length)
+            buf = Arrays.copyOf(buf, size * 2);
+        buf[size++] = r;
+    }
+
+    @Override
+    public void accept(T t) {
+        mapper.accept(t, buffer);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        while (pos == size) {
+            pos = size = 0;
+            if (!source.tryAdvance(this))
+                return false;
+        }
+        R r = (R) buf[pos];
+        buf[pos++] = null;
+        action.accept(r);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEachRemaining(Consumer<? super R> action) {
+        while (pos < size) {
+            R r = (R) buf[pos];
+            buf[pos++] = null;
+            action.accept(r);
+        }
+        Consumer<R> downstream = (Consumer<R>) action;
+        source.forEachRemaining(t -> mapper.accept(t, downstream));
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        if (pos < size)
+            return null;
+        Spliterator<T> prefix = source.trySplit();
+        return prefix == null ? null : new MapMultiSpliterator<>(prefix, mapper);
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & ORDERED;
+    }
+
+    static final class OfInt implements Spliterator.OfInt, IntConsumer {
+        private final Spliterator.OfInt source;
+        private final IntMapMultiConsumer mapper;
+        private final IntConsumer buffer = this::add;
+        private int[] buf;
+        private int pos, size;
+
+        OfInt(Spliterator.OfInt source, IntMapMultiConsumer mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        private void add(int value) {
+            if (buf == null)
+                buf = new int[INITIAL_SIZE];
+            else if (size == buf.length)
+                buf = Arrays.copyOf(buf, size * 2);
+            buf[size++] = value;
+        }
+
+        @Override
+        public void accept(int value) {
+            mapper.accept(value, buffer);
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            while (pos == size) {
+                pos = size = 0;
+                if (!source.tryAdvance(this))
+                    return false;
+            }
+            action.accept(buf[pos++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (pos < size) {
+                action.accept(buf[pos++]);
+            }
+            source.forEachRemaining((int value) -> mapper.accept(value, action));
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            if (pos < size)
+                return null;
+            Spliterator.OfInt prefix = source.trySplit();
+            return prefix == null ? null : new MapMultiSpliterator.OfInt(prefix, mapper);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ORDERED;
+        }
+    }
+
+    static final class OfLong implements Spliterator.OfLong, LongConsumer {
+        private final Spliterator.OfLong source;
+        private final LongMapMultiConsumer mapper;
+        private final LongConsumer buffer = this::add;
+        private long[] buf;
+        private int pos, size;
+
+        OfLong(Spliterator.OfLong source, LongMapMultiConsumer mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        private void add(long value) {
+            if (buf == null)
+                buf = new long[INITIAL_SIZE];
+            else if (size == buf.length)
+                buf = Arrays.copyOf(buf, size * 2);
+            buf[size++] = value;
+        }
+
+        @Override
+        public void accept(long value) {
+            mapper.accept(value, buffer);
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            while (pos == size) {
+                pos = size = 0;
+                if (!source.tryAdvance(this))
+                    return false;
+            }
+            action.accept(buf[pos++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            while (pos < size) {
+                action.accept(buf[pos++]);
+            }
+            source.forEachRemaining((long value) -> mapper.accept(value, action));
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            if (pos < size)
+                return null;
+            Spliterator.OfLong prefix = source.trySplit();
+            return prefix == null ? null : new MapMultiSpliterator.OfLong(prefix, mapper);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ORDERED;
+        }
+    }
+
+    static final class OfDouble implements Spliterator.OfDouble, DoubleConsumer {
+        private final Spliterator.OfDouble source;
+        private final DoubleMapMultiConsumer mapper;
+        private final DoubleConsumer buffer = this::add;
+        private double[] buf;
+        private int pos, size;
+
+        OfDouble(Spliterator.OfDouble source, DoubleMapMultiConsumer mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        private void add(double value) {
+            if (buf == null)
+                buf = new double[INITIAL_SIZE];
+            else if (size == buf.length)
+                buf = Arrays.copyOf(buf, size * 2);
+            buf[size++] = value;
+        }
+
+        @Override
+        public void accept(double value) {
+            mapper.accept(value, buffer);
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            while (pos == size) {
+                pos = size = 0;
+                if (!source.tryAdvance(this))
+                    return false;
+            }
+            action.accept(buf[pos++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            while (pos < size) {
+                action.accept(buf[pos++]);
+            }
+            source.forEachRemaining((double value) -> mapper.accept(value, action));
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            if (pos < size)
+                return null;
+            Spliterator.OfDouble prefix = source.trySplit();
+            return prefix == null ? null : new MapMultiSpliterator.OfDouble(prefix, mapper);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ORDERED;
+        }
+    }
+}
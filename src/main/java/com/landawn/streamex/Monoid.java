@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+
+/**
+ * A monoid: an associative binary operation with an identity element. It's
+ * everything needed to reduce the elements in any order of grouping, so the
+ * reductions expressed with a monoid run in parallel as well as sequentially.
+ *
+ * <p>
+ * The implementations must satisfy for any {@code a}, {@code b} and
+ * {@code c}:
+ *
+ * <pre>{@code
+ * combine(identity(), a) equals a
+ * combine(a, identity()) equals a
+ * combine(combine(a, b), c) equals combine(a, combine(b, c))
+ * }</pre>
+ *
+ * <p>
+ * The monoids created by the static methods of this interface are recognized
+ * by {@link AbstractStreamEx#foldMap(java.util.function.Function, Monoid)}
+ * and by the {@code fold} methods of the primitive streams: the primitive
+ * monoids accumulate unboxed values and the string, set and map monoids
+ * accumulate into one mutable container per thread instead of creating a new
+ * object on every combination.
+ *
+ * @param <T> the type of the values
+ * @see AbstractStreamEx#foldMap(java.util.function.Function, Monoid)
+ * @see IntStreamEx#fold(Monoid)
+ * @see LongStreamEx#fold(Monoid)
+ * @see DoubleStreamEx#fold(Monoid)
+ * @since 2.3.3
+ */
+public interface Monoid<T> {
+    /**
+     * Returns the identity element of this monoid.
+     *
+     * @return the identity element
+     */
+    T identity();
+
+    /**
+     * Combines two values. The operation must be associative and must not
+     * modify its arguments.
+     *
+     * @param a the left value
+     * @param b the right value
+     * @return the combination of the values
+     */
+    T combine(T a, T b);
+
+    /**
+     * Returns a monoid with the given identity and combining function.
+     *
+     * @param <T> the type of the values
+     * @param identity the identity element which must be immutable as it's
+     *        shared between the threads
+     * @param combiner an associative, non-interfering and stateless function
+     *        to combine two values
+     * @return the new monoid
+     */
+    static <T> Monoid<T> of(T identity, BinaryOperator<T> combiner) {
+        return new Monoids.Generic<>(identity, Objects.requireNonNull(combiner));
+    }
+
+    /**
+     * Returns a monoid which adds the integers. The overflow is not detected,
+     * like in {@link IntStreamEx#sum()}.
+     *
+     * @return the integer sum monoid
+     */
+    static Monoid<Integer> intSum() {
+        return Monoids.INT_SUM;
+    }
+
+    /**
+     * Returns a monoid which selects the minimal integer. Its identity is
+     * {@link Integer#MAX_VALUE}.
+     *
+     * @return the integer minimum monoid
+     */
+    static Monoid<Integer> intMin() {
+        return Monoids.INT_MIN;
+    }
+
+    /**
+     * Returns a monoid which selects the maximal integer. Its identity is
+     * {@link Integer#MIN_VALUE}.
+     *
+     * @return the integer maximum monoid
+     */
+    static Monoid<Integer> intMax() {
+        return Monoids.INT_MAX;
+    }
+
+    /**
+     * Returns a monoid which adds the longs. The overflow is not detected,
+     * like in {@link LongStreamEx#sum()}.
+     *
+     * @return the long sum monoid
+     */
+    static Monoid<Long> longSum() {
+        return Monoids.LONG_SUM;
+    }
+
+    /**
+     * Returns a monoid which selects the minimal long. Its identity is
+     * {@link Long#MAX_VALUE}.
+     *
+     * @return the long minimum monoid
+     */
+    static Monoid<Long> longMin() {
+        return Monoids.LONG_MIN;
+    }
+
+    /**
+     * Returns a monoid which selects the maximal long. Its identity is
+     * {@link Long#MIN_VALUE}.
+     *
+     * @return the long maximum monoid
+     */
+    static Monoid<Long> longMax() {
+        return Monoids.LONG_MAX;
+    }
+
+    /**
+     * Returns a monoid which adds the doubles. The floating-point addition is
+     * not strictly associative, so the result may slightly differ depending on
+     * how the stream is split.
+     *
+     * @return the double sum monoid
+     */
+    static Monoid<Double> doubleSum() {
+        return Monoids.DOUBLE_SUM;
+    }
+
+    /**
+     * Returns a monoid which selects the minimal double using
+     * {@link Math#min(double, double)}. Its identity is
+     * {@link Double#POSITIVE_INFINITY}.
+     *
+     * @return the double minimum monoid
+     */
+    static Monoid<Double> doubleMin() {
+        return Monoids.DOUBLE_MIN;
+    }
+
+    /**
+     * Returns a monoid which selects the maximal double using
+     * {@link Math#max(double, double)}. Its identity is
+     * {@link Double#NEGATIVE_INFINITY}.
+     *
+     * @return the double maximum monoid
+     */
+    static Monoid<Double> doubleMax() {
+        return Monoids.DOUBLE_MAX;
+    }
+
+    /**
+     * Returns a monoid which selects the minimal value according to the
+     * comparator. The first of equal values is selected.
+     *
+     * <p>
+     * Its identity is {@code null} which is never passed to the comparator,
+     * so the values must not be null and the result of reducing no values is
+     * {@code null}.
+     *
+     * @param <T> the type of the values
+     * @param comparator the comparator to compare the values
+     * @return the minimum monoid
+     */
+    static <T> Monoid<T> min(Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator);
+        return new Monoids.Generic<>(null, (a, b) -> a == null ? b : b == null || comparator.compare(a, b) <= 0 ? a
+                : b);
+    }
+
+    /**
+     * Returns a monoid which selects the maximal value according to the
+     * comparator. The last of equal values is selected.
+     *
+     * <p>
+     * Its identity is {@code null} which is never passed to the comparator,
+     * so the values must not be null and the result of reducing no values is
+     * {@code null}.
+     *
+     * @param <T> the type of the values
+     * @param comparator the comparator to compare the values
+     * @return the maximum monoid
+     */
+    static <T> Monoid<T> max(Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator);
+        return new Monoids.Generic<>(null, (a, b) -> a == null ? b : b == null || comparator.compare(a, b) > 0 ? a
+                : b);
+    }
+
+    /**
+     * Returns a monoid which concatenates the strings. Its identity is the
+     * empty string.
+     *
+     * @return the string concatenation monoid
+     */
+    static Monoid<String> concat() {
+        return Monoids.CONCAT;
+    }
+
+    /**
+     * Returns a monoid which unites the sets. Its identity is an empty set.
+     * The combined sets are not modified, the results are new mutable sets
+     * with no guarantees on the type.
+     *
+     * @param <T> the type of the set elements
+     * @return the set union monoid
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Monoid<Set<T>> union() {
+        return (Monoid<Set<T>>) (Monoid<?>) Monoids.UNION;
+    }
+
+    /**
+     * Returns a monoid which merges the maps. The values of the keys present
+     * in both maps are merged using the supplied function. Its identity is an
+     * empty map. The combined maps are not modified, the results are new
+     * mutable maps with no guarantees on the type.
+     *
+     * @param <K> the type of the map keys
+     * @param <V> the type of the map values
+     * @param merger an associative, non-interfering and stateless function to
+     *        merge the values of the same key
+     * @return the map merging monoid
+     * @see Map#merge(Object, Object, java.util.function.BiFunction)
+     */
+    static <K, V> Monoid<Map<K, V>> mergeMaps(BinaryOperator<V> merger) {
+        return new Monoids.MapMerge<>(Objects.requireNonNull(merger));
+    }
+}
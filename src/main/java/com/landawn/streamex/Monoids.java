@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.stream.Collector;
+
+import static com.landawn.streamex.StreamExInternals.*;
+
+/**
+ * The implementations of the library {@link Monoid} instances. Every one of
+ * them provides a {@link Collector} which accumulates in the cheapest way for
+ * its type: the primitive monoids accumulate into the primitive arrays and
+ * the container monoids into one mutable container per thread.
+ *
+ * @since 2.3.3
+ */
+/* package */final class Monoids {
+    static final IntMonoid INT_SUM = new IntMonoid(0, Integer::sum);
+    static final IntMonoid INT_MIN = new IntMonoid(Integer.MAX_VALUE, Math::min);
+    static final IntMonoid INT_MAX = new IntMonoid(Integer.MIN_VALUE, Math::max);
+    static final LongMonoid LONG_SUM = new LongMonoid(0L, Long::sum);
+    static final LongMonoid LONG_MIN = new LongMonoid(Long.MAX_VALUE, Math::min);
+    static final LongMonoid LONG_MAX = new LongMonoid(Long.MIN_VALUE, Math::max);
+    static final DoubleMonoid DOUBLE_SUM = new DoubleMonoid(0.0, Double::sum);
+    static final DoubleMonoid DOUBLE_MIN = new DoubleMonoid(Double.POSITIVE_INFINITY, Math::min);
+    static final DoubleMonoid DOUBLE_MAX = new DoubleMonoid(Double.NEGATIVE_INFINITY, Math::max);
+    static final Monoid<String> CONCAT = new Concat();
+    static final Monoid<Set<Object>> UNION = new Union<>();
+
+    private Monoids() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns a collector which maps the elements and reduces them using the
+     * monoid.
+     *
+     * @param mapper the function to map the elements to the monoid values
+     * @param monoid the monoid
+     * @return the collector
+     */
+    @SuppressWarnings("unchecked")
+    static <U, T> Collector<U, ?, T> collector(Function<? super U, ? extends T> mapper, Monoid<T> monoid) {
+        if (monoid instanceof Base)
+            return ((Base<T>) monoid).collector(mapper);
+        return boxing(mapper, monoid);
+    }
+
+    static <U, T> Collector<U, ?, T> boxing(Function<? super U, ? extends T> mapper, Monoid<T> monoid) {
+        return Collector.<U, Box<T>, T>of(() -> new Box<>(monoid.identity()), (box, u) -> box.a = monoid.combine(
+            box.a, mapper.apply(u)), (box1, box2) -> {
+                box1.a = monoid.combine(box1.a, box2.a);
+                return box1;
+            }, box -> box.a);
+    }
+
+    abstract static class Base<T> implements Monoid<T> {
+        <U> Collector<U, ?, T> collector(Function<? super U, ? extends T> mapper) {
+            return boxing(mapper, this);
+        }
+    }
+
+    static final class Generic<T> extends Base<T> {
+        private final T identity;
+        private final BinaryOperator<T> combiner;
+
+        Generic(T identity, BinaryOperator<T> combiner) {
+            this.identity = identity;
+            this.combiner = combiner;
+        }
+
+        @Override
+        public T identity() {
+            return identity;
+        }
+
+        @Override
+        public T combine(T a, T b) {
+            return combiner.apply(a, b);
+        }
+    }
+
+    static final class IntMonoid extends Base<Integer> {
+        final int identity;
+        final IntBinaryOperator op;
+
+        IntMonoid(int identity, IntBinaryOperator op) {
+            this.identity = identity;
+            this.op = op;
+        }
+
+        @Override
+        public Integer identity() {
+            return identity;
+        }
+
+        @Override
+        public Integer combine(Integer a, Integer b) {
+            return op.applyAsInt(a, b);
+        }
+
+        @Override
+        <U> Collector<U, ?, Integer> collector(Function<? super U, ? extends Integer> mapper) {
+            return Collector.<U, int[], Integer>of(() -> new int[] { identity }, (acc, u) -> acc[0] = op.applyAsInt(
+                acc[0], mapper.apply(u)), (acc1, acc2) -> {
+                    acc1[0] = op.applyAsInt(acc1[0], acc2[0]);
+                    return acc1;
+                }, acc -> acc[0]);
+        }
+    }
+
+    static final class LongMonoid extends Base<Long> {
+        final long identity;
+        final LongBinaryOperator op;
+
+        LongMonoid(long identity, LongBinaryOperator op) {
+            this.identity = identity;
+            this.op = op;
+        }
+
+        @Override
+        public Long identity() {
+            return identity;
+        }
+
+        @Override
+        public Long combine(Long a, Long b) {
+            return op.applyAsLong(a, b);
+        }
+
+        @Override
+        <U> Collector<U, ?, Long> collector(Function<? super U, ? extends Long> mapper) {
+            return Collector.<U, long[], Long>of(() -> new long[] { identity }, (acc, u) -> acc[0] = op.applyAsLong(
+                acc[0], mapper.apply(u)), (acc1, acc2) -> {
+                    acc1[0] = op.applyAsLong(acc1[0], acc2[0]);
+                    return acc1;
+                }, acc -> acc[0]);
+        }
+    }
+
+    static final class DoubleMonoid extends Base<Double> {
+        final double identity;
+        final DoubleBinaryOperator op;
+
+        DoubleMonoid(double identity, DoubleBinaryOperator op) {
+            this.identity = identity;
+            this.op = op;
+        }
+
+        @Override
+        public Double identity() {
+            return identity;
+        }
+
+        @Override
+        public Double combine(Double a, Double b) {
+            return op.applyAsDouble(a, b);
+        }
+
+        @Override
+        <U> Collector<U, ?, Double> collector(Function<? super U, ? extends Double> mapper) {
+            return Collector.<U, double[], Double>of(() -> new double[] { identity }, (acc, u) -> acc[0] = op
+                    .applyAsDouble(acc[0], mapper.apply(u)), (acc1, acc2) -> {
+                        acc1[0] = op.applyAsDouble(acc1[0], acc2[0]);
+                        return acc1;
+                    }, acc -> acc[0]);
+        }
+    }
+
+    static final class Concat extends Base<String> {
+        @Override
+        public String identity() {
+            return "";
+        }
+
+        @Override
+        public String combine(String a, String b) {
+            return a.concat(b);
+        }
+
+        @Override
+        <U> Collector<U, ?, String> collector(Function<? super U, ? extends String> mapper) {
+            // StringBuilder would append "null" while combine() throws
+            return Collector.of(StringBuilder::new, (sb, u) -> sb.append(Objects.requireNonNull(mapper.apply(u))),
+                StringBuilder::append, StringBuilder::toString);
+        }
+    }
+
+    static final class Union<T> extends Base<Set<T>> {
+        @Override
+        public Set<T> identity() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Set<T> combine(Set<T> a, Set<T> b) {
+            Set<T> result = new HashSet<>(a);
+            result.addAll(b);
+            return result;
+        }
+
+        @Override
+        <U> Collector<U, ?, Set<T>> collector(Function<? super U, ? extends Set<T>> mapper) {
+            return Collector.<U, Set<T>>of(HashSet::new, (acc, u) -> acc.addAll(mapper.apply(u)), (acc1,
+                    acc2) -> {
+                if (acc1.size() < acc2.size()) {
+                    acc2.addAll(acc1);
+                    return acc2;
+                }
+                acc1.addAll(acc2);
+                return acc1;
+            }, Collector.Characteristics.UNORDERED);
+        }
+    }
+
+    static final class MapMerge<K, V> extends Base<Map<K, V>> {
+        private final BinaryOperator<V> merger;
+
+        MapMerge(BinaryOperator<V> merger) {
+            this.merger = merger;
+        }
+
+        @Override
+        public Map<K, V> identity() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map<K, V> combine(Map<K, V> a, Map<K, V> b) {
+            Map<K, V> result = new HashMap<>(a);
+            b.forEach((k, v) -> result.merge(k, v, merger));
+            return result;
+        }
+
+        @Override
+        <U> Collector<U, ?, Map<K, V>> collector(Function<? super U, ? extends Map<K, V>> mapper) {
+            return Collector.<U, Map<K, V>>of(HashMap::new, (acc, u) -> mapper.apply(u).forEach((k,
+                    v) -> acc.merge(k, v, merger)), (acc1, acc2) -> {
+                        acc2.forEach((k, v) -> acc1.merge(k, v, merger));
+                        return acc1;
+                    });
+        }
+    }
+}
@@ -31,6 +31,7 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.OptionalInt;
 import java.util.Map.Entry;
@@ -958,7 +959,9 @@ public final class MoreCollectors {
      * this collector produces an {@link EnumMap} which contains all possible
      * keys including keys which were never returned by the classification
      * function. These keys are mapped to the default collector value which is
-     * equivalent to collecting an empty stream with the same collector.
+     * equivalent to collecting an empty stream with the same collector. The
+     * downstream accumulators are kept in an array indexed by the ordinal, so
+     * no map lookup happens per element.
      *
      * <p>
      * This method returns a
@@ -981,9 +984,36 @@ public final class MoreCollectors {
      * @see #groupingBy(Set, Function, Collector, Supplier)
      * @since 0.3.7
      */
+    @SuppressWarnings("unchecked")
     public static <T, K extends Enum<K>, A, D> Collector<T, ?, EnumMap<K, D>> groupingByEnum(Class<K> enumClass,
             Function<? super T, K> classifier, Collector<? super T, A, D> downstream) {
-        return groupingBy(EnumSet.allOf(enumClass), classifier, downstream, () -> new EnumMap<>(enumClass));
+        K[] constants = enumClass.getEnumConstants();
+        return denseGrouping(t -> classifier.apply(t).ordinal(), constants.length, downstream, arr -> {
+            EnumMap<K, D> map = new EnumMap<>(enumClass);
+            for (int i = 0; i < constants.length; i++)
+                map.put(constants[i], (D) arr[i]);
+            return map;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, A, D, R> Collector<T, ?, R> denseGrouping(ToIntFunction<? super T> index, int size,
+            Collector<? super T, A, D> downstream, Function<Object[], R> finisher) {
+        BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        BiConsumer<Object[], T> accumulator = (arr, t) -> downstreamAccumulator.accept((A) arr[index.applyAsInt(t)],
+            t);
+        PartialCollector<Object[], R> partial = PartialCollector.dense(size, downstream, finisher);
+        Predicate<A> downstreamFinished = finished(downstream);
+        if (downstreamFinished != null) {
+            return partial.asCancellable(accumulator, arr -> {
+                for (Object container : arr) {
+                    if (!downstreamFinished.test((A) container))
+                        return false;
+                }
+                return true;
+            });
+        }
+        return partial.asRef(accumulator);
     }
 
     /**
@@ -1219,13 +1249,64 @@ public final class MoreCollectors {
     public static <T, D, A> Collector<T, ?, Map<Boolean, D>> partitioningBy(Predicate<? super T> predicate,
             Collector<? super T, A, D> downstream) {
         Predicate<A> finished = finished(downstream);
+        BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        BiConsumer<BooleanMap<A>, T> partitionAccumulator = (map, t) -> accumulator.accept(predicate.test(t)
+                ? map.trueValue : map.falseValue, t);
         if (finished != null) {
-            BiConsumer<A, ? super T> accumulator = downstream.accumulator();
-            return BooleanMap.partialCollector(downstream).asCancellable((map, t) -> accumulator.accept(predicate.test(
-                t) ? map.trueValue : map.falseValue, t), map -> finished.test(map.trueValue) && finished.test(
-                    map.falseValue));
+            return BooleanMap.partialCollector(downstream).asCancellable(partitionAccumulator, map -> finished.test(
+                map.trueValue) && finished.test(map.falseValue));
         }
-        return Collectors.partitioningBy(predicate, downstream);
+        return BooleanMap.partialCollector(downstream).asRef(partitionAccumulator);
+    }
+
+    /**
+     * Returns a {@code Collector} which distributes the input elements among
+     * the fixed number of buckets according to the bucket number computed by
+     * the supplied function, reduces the values in each bucket according to
+     * another {@code Collector}, and organizes them into a {@code List<D>}
+     * which element at index {@code i} is the result of the downstream
+     * reduction of the bucket {@code i}.
+     *
+     * <p>
+     * The downstream accumulators are kept in a plain array, so routing an
+     * element costs one array access: neither a {@code Map} lookup nor a
+     * boxed key is involved. Every bucket is present in the result, even if
+     * no element was routed to it. If the bucket function returns a number
+     * out of range, an {@code IndexOutOfBoundsException} is thrown during the
+     * collection.
+     *
+     * <p>
+     * The resulting collector is
+     * <a href="package-summary.html#ShortCircuitReduction">short-circuiting</a>
+     * if the downstream collector is short-circuiting: the collection stops
+     * when all the buckets are finished.
+     *
+     * @param <T> the type of the input elements
+     * @param <A> the intermediate accumulation type of the downstream collector
+     * @param <D> the result type of the downstream reduction
+     * @param bucketFunction a function which returns the bucket number for
+     *        the input element, from 0 (inclusive) to {@code buckets}
+     *        (exclusive)
+     * @param buckets the number of buckets
+     * @param downstream a {@code Collector} implementing the downstream
+     *        reduction
+     * @return a {@code Collector} implementing the multi-way partitioning
+     *         operation
+     * @throws IllegalArgumentException if {@code buckets} is negative
+     * @see #partitioningBy(Predicate, Collector)
+     * @see #groupingByEnum(Class, Function, Collector)
+     * @since 2.3.3
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, D, A> Collector<T, ?, List<D>> partitioningBy(ToIntFunction<? super T> bucketFunction,
+            int buckets, Collector<? super T, A, D> downstream) {
+        checkNonNegative("buckets", buckets);
+        return denseGrouping(t -> {
+            int bucket = bucketFunction.applyAsInt(t);
+            if (bucket < 0 || bucket >= buckets)
+                throw new IndexOutOfBoundsException("Bucket " + bucket + " is out of range [0, " + buckets + ")");
+            return bucket;
+        }, buckets, downstream, arr -> (List<D>) Arrays.asList(arr));
     }
 
     /**
@@ -2021,6 +2102,102 @@ public final class MoreCollectors {
         return Collector.of(mapSupplier, accumulator, mapMerger(mergeFunction), CH_ID);
     }
 
+    /**
+     * Returns a {@code Collector} that accumulates elements into an immutable
+     * {@code NavigableMap} whose keys and values are the result of applying
+     * the provided mapping functions to the input elements. The keys are
+     * sorted according to their natural order.
+     *
+     * <p>
+     * If the mapped keys contains duplicates (according to the ordering), an
+     * {@code IllegalStateException} is thrown when the collection operation is
+     * performed.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the output type of the key mapping function
+     * @param <V> the output type of the value mapping function
+     * @param keyMapper a mapping function to produce keys
+     * @param valueMapper a mapping function to produce values
+     * @return a {@code Collector} which collects elements into an immutable
+     *         {@code NavigableMap}
+     * @see #toImmutableNavigableMap(Function, Function, BinaryOperator, Comparator)
+     * @since 2.3.3
+     */
+    public static <T, K, V> Collector<T, ?, NavigableMap<K, V>> toImmutableNavigableMap(
+            Function<? super T, ? extends K> keyMapper, Function<? super T, ? extends V> valueMapper) {
+        return toImmutableNavigableMap(keyMapper, valueMapper, throwingMerger(), null);
+    }
+
+    /**
+     * Returns a {@code Collector} that accumulates elements into an immutable
+     * {@code NavigableMap} whose keys and values are the result of applying
+     * the provided mapping functions to the input elements. The keys are
+     * sorted according to their natural order.
+     *
+     * <p>
+     * If the mapped keys contains duplicates (according to the ordering), the
+     * values of the equal keys are merged in the encounter order using the
+     * provided merging function.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the output type of the key mapping function
+     * @param <V> the output type of the value mapping function
+     * @param keyMapper a mapping function to produce keys
+     * @param valueMapper a mapping function to produce values
+     * @param mergeFunction a merge function, used to resolve collisions between
+     *        values associated with the same key.
+     * @return a {@code Collector} which collects elements into an immutable
+     *         {@code NavigableMap}
+     * @see #toImmutableNavigableMap(Function, Function, BinaryOperator, Comparator)
+     * @since 2.3.3
+     */
+    public static <T, K, V> Collector<T, ?, NavigableMap<K, V>> toImmutableNavigableMap(
+            Function<? super T, ? extends K> keyMapper, Function<? super T, ? extends V> valueMapper,
+            BinaryOperator<V> mergeFunction) {
+        return toImmutableNavigableMap(keyMapper, valueMapper, mergeFunction, null);
+    }
+
+    /**
+     * Returns a {@code Collector} that accumulates elements into an immutable
+     * {@code NavigableMap} whose keys and values are the result of applying
+     * the provided mapping functions to the input elements.
+     *
+     * <p>
+     * If the mapped keys contains duplicates (according to the comparator), the
+     * values of the equal keys are merged in the encounter order using the
+     * provided merging function.
+     *
+     * @implNote Unlike {@link #toMap(Function, Function, BinaryOperator, Supplier)}
+     *           with a {@link java.util.TreeMap} no tree is built: the entries
+     *           are gathered in the encounter order, the parallel parts are
+     *           concatenated, and the finisher sorts them once with
+     *           {@link java.util.Arrays#parallelSort(Object[], int, int, Comparator)}
+     *           and merges the adjacent duplicates. The resulting map keeps
+     *           the sorted keys and values in two arrays and looks them up by
+     *           binary search; its sub-maps share these arrays.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the output type of the key mapping function
+     * @param <V> the output type of the value mapping function
+     * @param keyMapper a mapping function to produce keys
+     * @param valueMapper a mapping function to produce values
+     * @param mergeFunction a merge function, used to resolve collisions between
+     *        values associated with the same key.
+     * @param comparator the comparator of the keys or null to use their natural
+     *        order
+     * @return a {@code Collector} which collects elements into an immutable
+     *         {@code NavigableMap}
+     * @since 2.3.3
+     */
+    public static <T, K, V> Collector<T, ?, NavigableMap<K, V>> toImmutableNavigableMap(
+            Function<? super T, ? extends K> keyMapper, Function<? super T, ? extends V> valueMapper,
+            BinaryOperator<V> mergeFunction, Comparator<? super K> comparator) {
+        Objects.requireNonNull(mergeFunction);
+        return Collector.<T, ArrayNavigableMap.Builder<K, V>, NavigableMap<K, V>> of(
+            () -> new ArrayNavigableMap.Builder<>(comparator, mergeFunction), (b, t) -> b.add(keyMapper.apply(t),
+                valueMapper.apply(t)), ArrayNavigableMap.Builder::addAll, ArrayNavigableMap.Builder::build);
+    }
+
     /**
      * Returns a concurrent {@code Collector} that accumulates elements into a
      * {@code ConcurrentMap} whose keys and values are the result of applying
@@ -0,0 +1,570 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import static com.landawn.streamex.StreamExInternals.*;
+
+import java.util.Map.Entry;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+
+import com.landawn.streamex.function.BiObjLongFunction;
+import com.landawn.streamex.function.ObjLongFunction;
+import com.landawn.streamex.function.ObjLongPredicate;
+
+/**
+ * A spliterator-like source of {@code (object, long)} pairs which passes the
+ * key and the value to the action as separate arguments, so no pair object is
+ * created per element. Every method has the same contract as the
+ * corresponding {@link Spliterator} method.
+ *
+ * @param <K> the type of the keys
+ * @since 2.3.3
+ */
+/* package */abstract class ObjLongSpliterator<K> {
+    static final int KEEP = IntObjSpliterator.KEEP;
+
+    abstract boolean tryAdvance(ObjLongConsumer<? super K> action);
+
+    void forEachRemaining(ObjLongConsumer<? super K> action) {
+        while (tryAdvance(action)) {
+            // empty
+        }
+    }
+
+    abstract ObjLongSpliterator<K> trySplit();
+
+    abstract long estimateSize();
+
+    abstract int characteristics();
+
+    Spliterator<K> keys() {
+        return new Keys<>(this);
+    }
+
+    Spliterator.OfLong values() {
+        return new Values<>(this);
+    }
+
+    Spliterator<Entry<K, Long>> entries() {
+        return new Entries<>(this);
+    }
+
+    static final class Zip<K> extends ObjLongSpliterator<K> {
+        private final K[] keys;
+        private final long[] values;
+        private int cur;
+        private final int limit;
+
+        Zip(K[] keys, long[] values, int cur, int limit) {
+            this.keys = keys;
+            this.values = values;
+            this.cur = cur;
+            this.limit = limit;
+        }
+
+        @Override
+        boolean tryAdvance(ObjLongConsumer<? super K> action) {
+            if (cur >= limit)
+                return false;
+            int i = cur++;
+            action.accept(keys[i], values[i]);
+            return true;
+        }
+
+        @Override
+        void forEachRemaining(ObjLongConsumer<? super K> action) {
+            K[] k = keys;
+            long[] v = values;
+            int l = limit;
+            for (int i = cur; i < l; i++) {
+                action.accept(k[i], v[i]);
+            }
+            cur = l;
+        }
+
+        @Override
+        ObjLongSpliterator<K> trySplit() {
+            int size = limit - cur;
+            if (size < 2)
+                return null;
+            int mid = cur + (size >>> 1);
+            ObjLongSpliterator<K> prefix = new Zip<>(keys, values, cur, mid);
+            cur = mid;
+            return prefix;
+        }
+
+        @Override
+        long estimateSize() {
+            return limit - cur;
+        }
+
+        @Override
+        int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /**
+     * Adapts a spliterator of arbitrary elements, extracting the key and the
+     * value from each of them.
+     */
+    static final class OfMapped<T, K> extends ObjLongSpliterator<K> implements Consumer<T> {
+        private final Spliterator<T> source;
+        private final Function<? super T, ? extends K> keyMapper;
+        private final ToLongFunction<? super T> valueMapper;
+        private ObjLongConsumer<? super K> action;
+
+        OfMapped(Spliterator<T> source, Function<? super T, ? extends K> keyMapper,
+                ToLongFunction<? super T> valueMapper) {
+            this.source = source;
+            this.keyMapper = keyMapper;
+            this.valueMapper = valueMapper;
+        }
+
+        @Override
+        public void accept(T t) {
+            action.accept(keyMapper.apply(t), valueMapper.applyAsLong(t));
+        }
+
+        @Override
+        boolean tryAdvance(ObjLongConsumer<? super K> action) {
+            this.action = action;
+            boolean result = source.tryAdvance(this);
+            this.action = null;
+            return result;
+        }
+
+        @Override
+        void forEachRemaining(ObjLongConsumer<? super K> action) {
+            this.action = action;
+            source.forEachRemaining(this);
+            this.action = null;
+        }
+
+        @Override
+        ObjLongSpliterator<K> trySplit() {
+            Spliterator<T> prefix = source.trySplit();
+            return prefix == null ? null : new OfMapped<>(prefix, keyMapper, valueMapper);
+        }
+
+        @Override
+        long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        int characteristics() {
+            return source.characteristics() & KEEP;
+        }
+    }
+
+    /**
+     * Adapts a primitive spliterator of values, computing the key for each of
+     * them.
+     */
+    static final class OfValues<K> extends ObjLongSpliterator<K> implements LongConsumer {
+        private final Spliterator.OfLong source;
+        private final LongFunction<? extends K> keyMapper;
+        private ObjLongConsumer<? super K> action;
+
+        OfValues(Spliterator.OfLong source, LongFunction<? extends K> keyMapper) {
+            this.source = source;
+            this.keyMapper = keyMapper;
+        }
+
+        @Override
+        public void accept(long value) {
+            action.accept(keyMapper.apply(value), value);
+        }
+
+        @Override
+        boolean tryAdvance(ObjLongConsumer<? super K> action) {
+            this.action = action;
+            boolean result = source.tryAdvance(this);
+            this.action = null;
+            return result;
+        }
+
+        @Override
+        void forEachRemaining(ObjLongConsumer<? super K> action) {
+            this.action = action;
+            source.forEachRemaining(this);
+            this.action = null;
+        }
+
+        @Override
+        ObjLongSpliterator<K> trySplit() {
+            Spliterator.OfLong prefix = source.trySplit();
+            return prefix == null ? null : new OfValues<>(prefix, keyMapper);
+        }
+
+        @Override
+        long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        int characteristics() {
+            return source.characteristics() & KEEP;
+        }
+    }
+
+    /**
+     * Pairs every element of the source with its index in the source.
+     *
+     * <p>
+     * The {@code SUBSIZED} source is split directly as the size of the prefix
+     * is exactly known. Other sources are split by buffering a batch of
+     * elements to an array, so the indices stay exact in parallel as well.
+     */
+    static final class Indexed<T> extends ObjLongSpliterator<T> implements Consumer<T> {
+        private static final int BATCH_UNIT = 1 << 10;
+        private static final int MAX_BATCH = 1 << 25;
+
+        private final Spliterator<T> source;
+        private long index;
+        private int batch;
+        private ObjLongConsumer<? super T> action;
+
+        Indexed(Spliterator<T> source, long index) {
+            this.source = source;
+            this.index = index;
+        }
+
+        @Override
+        public void accept(T t) {
+            action.accept(t, index++);
+        }
+
+        @Override
+        boolean tryAdvance(ObjLongConsumer<? super T> action) {
+            this.action = action;
+            boolean result = source.tryAdvance(this);
+            this.action = null;
+            return result;
+        }
+
+        @Override
+        void forEachRemaining(ObjLongConsumer<? super T> action) {
+            this.action = action;
+            source.forEachRemaining(this);
+            this.action = null;
+        }
+
+        @Override
+        ObjLongSpliterator<T> trySplit() {
+            if (source.hasCharacteristics(Spliterator.SUBSIZED)) {
+                Spliterator<T> prefix = source.trySplit();
+                if (prefix == null)
+                    return null;
+                ObjLongSpliterator<T> result = new Indexed<>(prefix, index);
+                index += prefix.estimateSize();
+                return result;
+            }
+            if (source.estimateSize() <= 1)
+                return null;
+            int n = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+            Object[] buf = new Object[n];
+            Box<T> box = new Box<>();
+            int j = 0;
+            while (j < n && source.tryAdvance(box)) {
+                buf[j++] = box.a;
+            }
+            if (j == 0)
+                return null;
+            batch = j;
+            @SuppressWarnings("unchecked")
+            Spliterator<T> prefix = (Spliterator<T>) Spliterators.spliterator(buf, 0, j, source.characteristics()
+                & Spliterator.ORDERED);
+            ObjLongSpliterator<T> result = new Indexed<>(prefix, index);
+            index += j;
+            return result;
+        }
+
+        @Override
+        long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        int characteristics() {
+            return source.characteristics() & KEEP;
+        }
+    }
+
+    /**
+     * Folds every split of the source to the single element. The stream
+     * created from this spliterator can be reduced with the combiner to get
+     * the result of the fold respecting the encounter order.
+     */
+    static final class Folded<K, U> implements Spliterator<U>, ObjLongConsumer<K> {
+        private final ObjLongSpliterator<K> source;
+        private final U identity;
+        private final BiObjLongFunction<U, ? super K, U> accumulator;
+        private U acc;
+        private boolean done;
+
+        Folded(ObjLongSpliterator<K> source, U identity, BiObjLongFunction<U, ? super K, U> accumulator) {
+            this.source = source;
+            this.identity = identity;
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        public void accept(K k, long value) {
+            acc = accumulator.apply(acc, k, value);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super U> action) {
+            if (done)
+                return false;
+            done = true;
+            acc = identity;
+            source.forEachRemaining(this);
+            U result = acc;
+            acc = null;
+            action.accept(result);
+            return true;
+        }
+
+        @Override
+        public Spliterator<U> trySplit() {
+            if (done)
+                return null;
+            ObjLongSpliterator<K> prefix = source.trySplit();
+            return prefix == null ? null : new Folded<>(prefix, identity, accumulator);
+        }
+
+        @Override
+        public long estimateSize() {
+            return done ? 0 : source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & Spliterator.ORDERED;
+        }
+    }
+
+    static final class Filtered<K> extends ObjLongSpliterator<K> implements ObjLongConsumer<K> {
+        private final ObjLongSpliterator<K> source;
+        private final ObjLongPredicate<? super K> predicate;
+        private boolean found;
+        private K key;
+        private long value;
+
+        Filtered(ObjLongSpliterator<K> source, ObjLongPredicate<? super K> predicate) {
+            this.source = source;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void accept(K k, long v) {
+            if (predicate.test(k, v)) {
+                key = k;
+                value = v;
+                found = true;
+            }
+        }
+
+        @Override
+        boolean tryAdvance(ObjLongConsumer<? super K> action) {
+            while (!found && source.tryAdvance(this)) {
+                // empty
+            }
+            if (!found)
+                return false;
+            K k = key;
+            key = null;
+            found = false;
+            action.accept(k, value);
+            return true;
+        }
+
+        @Override
+        void forEachRemaining(ObjLongConsumer<? super K> action) {
+            ObjLongPredicate<? super K> p = predicate;
+            source.forEachRemaining((k, v) -> {
+                if (p.test(k, v))
+                    action.accept(k, v);
+            });
+        }
+
+        @Override
+        ObjLongSpliterator<K> trySplit() {
+            ObjLongSpliterator<K> prefix = source.trySplit();
+            return prefix == null ? null : new Filtered<>(prefix, predicate);
+        }
+
+        @Override
+        long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        int characteristics() {
+            return source.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+        }
+    }
+
+    static final class Mapped<K, R> extends ObjLongSpliterator<R> {
+        private final ObjLongSpliterator<K> source;
+        private final ObjLongFunction<? super K, ? extends R> mapper;
+
+        Mapped(ObjLongSpliterator<K> source, ObjLongFunction<? super K, ? extends R> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        boolean tryAdvance(ObjLongConsumer<? super R> action) {
+            ObjLongFunction<? super K, ? extends R> m = mapper;
+            return source.tryAdvance((k, v) -> action.accept(m.apply(k, v), v));
+        }
+
+        @Override
+        void forEachRemaining(ObjLongConsumer<? super R> action) {
+            ObjLongFunction<? super K, ? extends R> m = mapper;
+            source.forEachRemaining((k, v) -> action.accept(m.apply(k, v), v));
+        }
+
+        @Override
+        ObjLongSpliterator<R> trySplit() {
+            ObjLongSpliterator<K> prefix = source.trySplit();
+            return prefix == null ? null : new Mapped<>(prefix, mapper);
+        }
+
+        @Override
+        long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        int characteristics() {
+            return source.characteristics() & KEEP;
+        }
+    }
+
+    static final class Keys<K> implements Spliterator<K> {
+        private final ObjLongSpliterator<K> source;
+
+        Keys(ObjLongSpliterator<K> source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super K> action) {
+            return source.tryAdvance((k, v) -> action.accept(k));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super K> action) {
+            source.forEachRemaining((k, v) -> action.accept(k));
+        }
+
+        @Override
+        public Spliterator<K> trySplit() {
+            ObjLongSpliterator<K> prefix = source.trySplit();
+            return prefix == null ? null : new Keys<>(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & KEEP;
+        }
+    }
+
+    static final class Values<K> implements Spliterator.OfLong {
+        private final ObjLongSpliterator<K> source;
+
+        Values(ObjLongSpliterator<K> source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            return source.tryAdvance((k, v) -> action.accept(v));
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            source.forEachRemaining((k, v) -> action.accept(v));
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            ObjLongSpliterator<K> prefix = source.trySplit();
+            return prefix == null ? null : new Values<>(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & KEEP;
+        }
+    }
+
+    static final class Entries<K> implements Spliterator<Entry<K, Long>> {
+        private final ObjLongSpliterator<K> source;
+
+        Entries(ObjLongSpliterator<K> source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry<K, Long>> action) {
+            return source.tryAdvance((k, v) -> action.accept(new ObjLongBox<>(k, v)));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Entry<K, Long>> action) {
+            source.forEachRemaining((k, v) -> action.accept(new ObjLongBox<>(k, v)));
+        }
+
+        @Override
+        public Spliterator<Entry<K, Long>> trySplit() {
+            ObjLongSpliterator<K> prefix = source.trySplit();
+            return prefix == null ? null : new Entries<>(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & KEEP;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import static com.landawn.streamex.StreamExInternals.*;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import com.landawn.streamex.function.ObjLongFunction;
+import com.landawn.streamex.function.ObjLongPredicate;
+
+/**
+ * A stream of {@code (object, long)} pairs. Unlike
+ * {@code EntryStream<K, Long>} it neither boxes the values nor allocates an
+ * {@link Entry} per element: the key and the value are passed to the
+ * functional arguments separately.
+ *
+ * <p>
+ * The stream is designed for sequential pipelines like counting or
+ * aggregation results. It can be parallel: the {@link #keys()},
+ * {@link #values()}, {@link #map(ObjLongFunction)} and {@link #boxed()}
+ * conversions keep the splitting of the source, so the parallel processing
+ * does not need to box the pairs.
+ *
+ * <p>
+ * Like the other streams, an {@code ObjLongStream} may be consumed only once.
+ *
+ * @param <K> the type of the keys
+ * @since 2.3.3
+ */
+public class ObjLongStream<K> implements AutoCloseable {
+    private ObjLongSpliterator<K> spliterator;
+    StreamContext context;
+
+    ObjLongStream(ObjLongSpliterator<K> spliterator, StreamContext context) {
+        this.spliterator = spliterator;
+        this.context = context;
+    }
+
+    ObjLongSpliterator<K> spliterator() {
+        ObjLongSpliterator<K> s = spliterator;
+        if (s == null)
+            throw new IllegalStateException(BaseStreamEx.CONSUMED_MESSAGE);
+        spliterator = null;
+        return s;
+    }
+
+    private <R> ObjLongStream<R> supply(ObjLongSpliterator<R> spliterator) {
+        return new ObjLongStream<>(spliterator, context);
+    }
+
+    /**
+     * Returns whether the terminal operation of this stream would execute in
+     * parallel.
+     *
+     * @return {@code true} if this stream is parallel
+     */
+    public boolean isParallel() {
+        return context.parallel;
+    }
+
+    /**
+     * Returns an equivalent stream that is parallel.
+     *
+     * @return a parallel stream
+     */
+    public ObjLongStream<K> parallel() {
+        context = context.parallel();
+        return this;
+    }
+
+    /**
+     * Returns an equivalent stream that is sequential.
+     *
+     * @return a sequential stream
+     */
+    public ObjLongStream<K> sequential() {
+        context = context.sequential();
+        return this;
+    }
+
+    /**
+     * Returns an equivalent stream with an additional close handler.
+     *
+     * @param closeHandler a task to execute when the stream is closed
+     * @return a stream with a handler that is run if the stream is closed
+     * @see java.util.stream.BaseStream#onClose(Runnable)
+     */
+    public ObjLongStream<K> onClose(Runnable closeHandler) {
+        context = context.onClose(closeHandler);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    /**
+     * Returns a stream consisting of the pairs of this stream which match the
+     * given predicate.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param predicate a non-interfering, stateless predicate to apply to the
+     *        key and the value of each pair
+     * @return the new stream
+     */
+    public ObjLongStream<K> filter(ObjLongPredicate<? super K> predicate) {
+        return supply(new ObjLongSpliterator.Filtered<>(spliterator(), predicate));
+    }
+
+    /**
+     * Returns a stream consisting of the pairs of this stream which keys match
+     * the given predicate.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param keyPredicate a non-interfering, stateless predicate to apply to
+     *        the key of each pair
+     * @return the new stream
+     */
+    public ObjLongStream<K> filterKeys(Predicate<? super K> keyPredicate) {
+        return filter((k, v) -> keyPredicate.test(k));
+    }
+
+    /**
+     * Returns a stream consisting of the pairs of this stream which values
+     * match the given predicate.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param valuePredicate a non-interfering, stateless predicate to apply to
+     *        the value of each pair
+     * @return the new stream
+     */
+    public ObjLongStream<K> filterValues(LongPredicate valuePredicate) {
+        return filter((k, v) -> valuePredicate.test(v));
+    }
+
+    /**
+     * Returns a stream consisting of the pairs which values are the same as in
+     * this stream and the keys are the results of applying the given function
+     * to the pairs of this stream.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param <KK> the type of the new keys
+     * @param keyMapper a non-interfering, stateless function to apply to the
+     *        key and the value of each pair
+     * @return the new stream
+     */
+    public <KK> ObjLongStream<KK> mapKeys(ObjLongFunction<? super K, ? extends KK> keyMapper) {
+        return supply(new ObjLongSpliterator.Mapped<>(spliterator(), keyMapper));
+    }
+
+    /**
+     * Returns a {@link StreamEx} consisting of the results of applying the
+     * given function to the pairs of this stream.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param <R> the type of the resulting stream elements
+     * @param mapper a non-interfering, stateless function to apply to the key
+     *        and the value of each pair
+     * @return the new stream
+     */
+    public <R> StreamEx<R> map(ObjLongFunction<? super K, ? extends R> mapper) {
+        return this.<R> mapKeys(mapper).keys();
+    }
+
+    /**
+     * Returns a {@link StreamEx} consisting of the keys of this stream.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @return the new stream
+     */
+    public StreamEx<K> keys() {
+        return new StreamEx<>(spliterator().keys(), context);
+    }
+
+    /**
+     * Returns a {@link LongStreamEx} consisting of the values of this stream.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @return the new stream
+     */
+    public LongStreamEx values() {
+        return new LongStreamEx(spliterator().values(), context);
+    }
+
+    /**
+     * Returns an {@link EntryStream} consisting of the pairs of this stream
+     * with boxed values.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @return the new stream
+     */
+    public EntryStream<K, Long> boxed() {
+        return new EntryStream<>(spliterator().entries(), context);
+    }
+
+    /**
+     * Performs an action for each pair of this stream.
+     *
+     * <p>
+     * This is a terminal operation. For the sequential stream the pairs are
+     * processed in the encounter order without creating intermediate
+     * objects.
+     *
+     * @param action a non-interfering action to perform on the key and the
+     *        value of each pair
+     */
+    public void forEach(ObjLongConsumer<? super K> action) {
+        if (context.parallel) {
+            map((k, v) -> {
+                action.accept(k, v);
+                return null;
+            }).reduce(null, selectFirst());
+        } else
+            spliterator().forEachRemaining(action);
+    }
+
+    /**
+     * Returns the count of pairs in this stream.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * @return the count of pairs in this stream
+     */
+    public long count() {
+        return values().count();
+    }
+
+    /**
+     * Returns the sum of the values of this stream.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * @return the sum of the values
+     */
+    public long sumValues() {
+        return values().sum();
+    }
+
+    /**
+     * Returns a {@link Map} containing the pairs of this stream. There are no
+     * guarantees on the type or mutability of the {@code Map} returned.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * @return a {@code Map} containing the pairs of this stream
+     * @throws IllegalStateException if this stream contains duplicate keys
+     */
+    public Map<K, Long> toMap() {
+        return boxed().toMap();
+    }
+
+    /**
+     * Returns a sequential {@code ObjLongStream} which keys are the elements
+     * of the first array and the values are the corresponding elements of the
+     * second array.
+     *
+     * @param <K> the type of the keys
+     * @param keys array of the keys
+     * @param values array of the values
+     * @return the new stream
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public static <K> ObjLongStream<K> zip(K[] keys, long[] values) {
+        return new ObjLongStream<>(new ObjLongSpliterator.Zip<>(keys, values, 0, checkLength(keys.length,
+            values.length)), StreamContext.SEQUENTIAL);
+    }
+
+    /**
+     * Returns an {@code ObjLongStream} which keys are the elements of the
+     * supplied stream and the values are the results of applying the given
+     * function to them.
+     *
+     * @param <K> the type of the keys
+     * @param keys the stream of the keys
+     * @param valueMapper a non-interfering, stateless function to compute the
+     *        value for each key
+     * @return the new stream
+     */
+    public static <K> ObjLongStream<K> of(Stream<K> keys, ToLongFunction<? super K> valueMapper) {
+        return new ObjLongStream<>(new ObjLongSpliterator.OfMapped<>(keys.spliterator(), Function.identity(),
+                valueMapper), StreamContext.of(keys));
+    }
+
+    /**
+     * Returns an {@code ObjLongStream} which values are the elements of the
+     * supplied {@code LongStream} and the keys are the results of applying the
+     * given function to them.
+     *
+     * @param <K> the type of the keys
+     * @param values the stream of the values
+     * @param keyMapper a non-interfering, stateless function to compute the
+     *        key for each value
+     * @return the new stream
+     */
+    public static <K> ObjLongStream<K> of(LongStream values, LongFunction<? extends K> keyMapper) {
+        return new ObjLongStream<>(new ObjLongSpliterator.OfValues<>(values.spliterator(), keyMapper),
+                StreamContext.of(values));
+    }
+
+    /**
+     * Returns an {@code ObjLongStream} consisting of the keys and the values
+     * of the supplied entries.
+     *
+     * @param <K> the type of the keys
+     * @param entries the stream of entries
+     * @return the new stream
+     */
+    public static <K> ObjLongStream<K> of(Stream<? extends Entry<? extends K, Long>> entries) {
+        return new ObjLongStream<>(new ObjLongSpliterator.OfMapped<>(entries.spliterator(), Entry::getKey,
+                Entry::getValue), StreamContext.of(entries));
+    }
+
+    /**
+     * Returns a sequential {@code ObjLongStream} consisting of the entries of
+     * the supplied map.
+     *
+     * @param <K> the type of the keys
+     * @param map the map to create the stream from
+     * @return the new stream
+     */
+    public static <K> ObjLongStream<K> of(Map<K, Long> map) {
+        return of(map.entrySet().stream());
+    }
+}
@@ -19,15 +19,21 @@ import static com.landawn.streamex.StreamExInternals.*;
 
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Spliterator;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
 import java.util.function.IntBinaryOperator;
 import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
 import java.util.function.LongBinaryOperator;
 import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+import com.landawn.streamex.function.LongDoubleToDoubleFunction;
 
 /**
  * @author Tagir Valeev
@@ -373,4 +379,318 @@ import java.util.function.LongConsumer;
             cur = limit;
         }
     }
+
+    static final class ZipLongDouble extends RangeBasedSpliterator<Double, ZipLongDouble> implements
+            Spliterator.OfDouble {
+        private final LongDoubleToDoubleFunction mapper;
+        private final long[] arr1;
+        private final double[] arr2;
+
+        public ZipLongDouble(int fromInclusive, int toExclusive, LongDoubleToDoubleFunction mapper, long[] arr1,
+                double[] arr2) {
+            super(fromInclusive, toExclusive);
+            this.mapper = mapper;
+            this.arr1 = arr1;
+            this.arr2 = arr2;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (cur < limit) {
+                action.accept(mapper.applyAsDouble(arr1[cur], arr2[cur]));
+                cur++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            int l = limit, c = cur;
+            while (c < l) {
+                action.accept(mapper.applyAsDouble(arr1[c], arr2[c]));
+                c++;
+            }
+            cur = limit;
+        }
+    }
+
+    /**
+     * Indexed source which can be traversed in either direction. The terminal
+     * operations going right to left like
+     * {@link AbstractStreamEx#foldRight(Object, java.util.function.BiFunction)}
+     * recognize it and walk the source from the end instead of buffering the
+     * whole stream. In the reversed mode the upper half of the range is split
+     * off as the prefix, so the reversed source splits in parallel as well.
+     */
+    abstract static class Reversible<T, S extends Reversible<T, S>> extends RangeBasedSpliterator<T, S> {
+        boolean reversed;
+
+        Reversible(int fromInclusive, int toExclusive, boolean reversed) {
+            super(fromInclusive, toExclusive);
+            this.reversed = reversed;
+        }
+
+        abstract T get(int index);
+
+        /**
+         * @return the spliterator which traverses the remaining elements of
+         *         this spliterator in the opposite order
+         */
+        S reverse() {
+            S clone = doClone();
+            clone.reversed = !reversed;
+            return clone;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (cur < limit) {
+                action.accept(get(reversed ? --limit : cur++));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            int l = limit, c = cur;
+            if (reversed) {
+                while (l > c) {
+                    action.accept(get(--l));
+                }
+            } else {
+                while (c < l) {
+                    action.accept(get(c++));
+                }
+            }
+            cur = limit;
+        }
+
+        @Override
+        public S trySplit() {
+            if (!reversed)
+                return super.trySplit();
+            int size = limit - cur;
+            if (size >= 2) {
+                S clone = doClone();
+                clone.cur = this.limit = this.cur + size / 2;
+                return clone;
+            }
+            return null;
+        }
+    }
+
+    static final class RefArray<T> extends Reversible<T, RefArray<T>> {
+        private final T[] array;
+
+        RefArray(T[] array, int fromInclusive, int toExclusive, boolean reversed) {
+            super(fromInclusive, toExclusive, reversed);
+            this.array = array;
+        }
+
+        @Override
+        T get(int index) {
+            return array[index];
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+        }
+    }
+
+    static final class RefList<T> extends Reversible<T, RefList<T>> {
+        private final List<? extends T> list;
+
+        RefList(List<? extends T> list, boolean reversed) {
+            super(0, list.size(), reversed);
+            this.list = list;
+        }
+
+        @Override
+        T get(int index) {
+            return list.get(index);
+        }
+    }
+
+    /**
+     * Array source which is recognized by the terminal operations of
+     * {@link IntStreamEx}: they run the loops over the array directly instead
+     * of pushing the elements through the pipeline. The filters applied right
+     * to the source are kept here, so the filtered source is recognized as
+     * well.
+     */
+    static final class IntArray extends RangeBasedSpliterator<Integer, IntArray> implements Spliterator.OfInt {
+        final int[] array;
+        final IntPredicate filter;
+
+        public IntArray(int fromInclusive, int toExclusive, int[] array, IntPredicate filter) {
+            super(fromInclusive, toExclusive);
+            this.array = array;
+            this.filter = filter;
+        }
+
+        IntArray filter(IntPredicate predicate) {
+            Objects.requireNonNull(predicate);
+            return new IntArray(cur, limit, array, filter == null ? predicate : filter.and(predicate));
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            while (cur < limit) {
+                int value = array[cur++];
+                if (filter == null || filter.test(value)) {
+                    action.accept(value);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            int l = limit, c = cur;
+            int[] a = array;
+            IntPredicate f = filter;
+            if (f == null) {
+                while (c < l) {
+                    action.accept(a[c++]);
+                }
+            } else {
+                while (c < l) {
+                    int value = a[c++];
+                    if (f.test(value))
+                        action.accept(value);
+                }
+            }
+            cur = limit;
+        }
+
+        @Override
+        public int characteristics() {
+            return filter == null ? Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+                | Spliterator.IMMUTABLE : Spliterator.ORDERED | Spliterator.IMMUTABLE;
+        }
+    }
+
+    /**
+     * Array source which is recognized by the terminal operations of
+     * {@link LongStreamEx}: they run the loops over the array directly instead
+     * of pushing the elements through the pipeline. The filters applied right
+     * to the source are kept here, so the filtered source is recognized as
+     * well.
+     */
+    static final class LongArray extends RangeBasedSpliterator<Long, LongArray> implements Spliterator.OfLong {
+        final long[] array;
+        final LongPredicate filter;
+
+        public LongArray(int fromInclusive, int toExclusive, long[] array, LongPredicate filter) {
+            super(fromInclusive, toExclusive);
+            this.array = array;
+            this.filter = filter;
+        }
+
+        LongArray filter(LongPredicate predicate) {
+            Objects.requireNonNull(predicate);
+            return new LongArray(cur, limit, array, filter == null ? predicate : filter.and(predicate));
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            while (cur < limit) {
+                long value = array[cur++];
+                if (filter == null || filter.test(value)) {
+                    action.accept(value);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            int l = limit, c = cur;
+            long[] a = array;
+            LongPredicate f = filter;
+            if (f == null) {
+                while (c < l) {
+                    action.accept(a[c++]);
+                }
+            } else {
+                while (c < l) {
+                    long value = a[c++];
+                    if (f.test(value))
+                        action.accept(value);
+                }
+            }
+            cur = limit;
+        }
+
+        @Override
+        public int characteristics() {
+            return filter == null ? Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+                | Spliterator.IMMUTABLE : Spliterator.ORDERED | Spliterator.IMMUTABLE;
+        }
+    }
+
+    /**
+     * Array source which is recognized by the terminal operations of
+     * {@link DoubleStreamEx}: they run the loops over the array directly instead
+     * of pushing the elements through the pipeline. The filters applied right
+     * to the source are kept here, so the filtered source is recognized as
+     * well.
+     */
+    static final class DoubleArray extends RangeBasedSpliterator<Double, DoubleArray> implements Spliterator.OfDouble {
+        final double[] array;
+        final DoublePredicate filter;
+
+        public DoubleArray(int fromInclusive, int toExclusive, double[] array, DoublePredicate filter) {
+            super(fromInclusive, toExclusive);
+            this.array = array;
+            this.filter = filter;
+        }
+
+        DoubleArray filter(DoublePredicate predicate) {
+            Objects.requireNonNull(predicate);
+            return new DoubleArray(cur, limit, array, filter == null ? predicate : filter.and(predicate));
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            while (cur < limit) {
+                double value = array[cur++];
+                if (filter == null || filter.test(value)) {
+                    action.accept(value);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            int l = limit, c = cur;
+            double[] a = array;
+            DoublePredicate f = filter;
+            if (f == null) {
+                while (c < l) {
+                    action.accept(a[c++]);
+                }
+            } else {
+                while (c < l) {
+                    double value = a[c++];
+                    if (f.test(value))
+                        action.accept(value);
+                }
+            }
+            cur = limit;
+        }
+
+        @Override
+        public int characteristics() {
+            return filter == null ? Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+                | Spliterator.IMMUTABLE : Spliterator.ORDERED | Spliterator.IMMUTABLE;
+        }
+    }
 }
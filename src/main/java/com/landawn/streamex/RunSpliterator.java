@@ -0,0 +1,335 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+
+import com.landawn.streamex.function.IntBiPredicate;
+import com.landawn.streamex.function.LongBiPredicate;
+
+/**
+ * Splits a primitive source into the runs of adjacent elements of the same
+ * group without boxing the elements. Only one object is created per run. The
+ * runs are not merged across the splits: {@link CollapseSpliterator} does it
+ * using {@link #merge(Object, Object)} for the runs which border elements
+ * belong to the same group.
+ *
+ * @param <R> the type of the runs
+ * @since 2.3.3
+ */
+/* package */abstract class RunSpliterator<R> implements Spliterator<R> {
+    static final int INITIAL_VALUES = 16;
+
+    final boolean keepValues;
+
+    RunSpliterator(boolean keepValues) {
+        this.keepValues = keepValues;
+    }
+
+    /**
+     * Appends the right run to the left run.
+     *
+     * @param left the left run, updated in place
+     * @param right the adjacent right run
+     * @return the left run
+     */
+    abstract R merge(R left, R right);
+
+    abstract boolean sameGroup(R left, R right);
+
+    StreamEx<R> collapse(StreamContext context) {
+        return new StreamEx<>(new CollapseSpliterator<R, R>(this::sameGroup, r -> r, this::merge, this::merge,
+                this), context);
+    }
+
+    static final class IntRun {
+        int first, last, acc;
+        long count = 1;
+        int[] values;
+        int size;
+
+        IntRun(int value, boolean keepValues) {
+            first = last = acc = value;
+            if (keepValues) {
+                values = new int[INITIAL_VALUES];
+                values[0] = value;
+                size = 1;
+            }
+        }
+
+        int[] toArray() {
+            return values.length == size ? values : Arrays.copyOf(values, size);
+        }
+    }
+
+    static final class LongRun {
+        long first, last, acc;
+        long count = 1;
+        long[] values;
+        int size;
+
+        LongRun(long value, boolean keepValues) {
+            first = last = acc = value;
+            if (keepValues) {
+                values = new long[INITIAL_VALUES];
+                values[0] = value;
+                size = 1;
+            }
+        }
+
+        long[] toArray() {
+            return values.length == size ? values : Arrays.copyOf(values, size);
+        }
+    }
+
+    static final class OfInt extends RunSpliterator<IntRun> implements IntConsumer {
+        private final Spliterator.OfInt source;
+        private final IntBiPredicate sameGroup;
+        private final IntBinaryOperator merger;
+        private IntRun run;
+        private int pending;
+        private boolean hasPending;
+
+        /**
+         * @param merger the function to merge the values of the run or null
+         *        to keep the first value
+         */
+        OfInt(Spliterator.OfInt source, IntBiPredicate sameGroup, IntBinaryOperator merger, boolean keepValues) {
+            super(keepValues);
+            this.source = source;
+            this.sameGroup = sameGroup;
+            this.merger = merger;
+        }
+
+        @Override
+        public void accept(int value) {
+            pending = value;
+            hasPending = true;
+        }
+
+        private void add(IntRun r, int value) {
+            r.last = value;
+            r.count++;
+            if (merger != null)
+                r.acc = merger.applyAsInt(r.acc, value);
+            if (keepValues) {
+                if (r.size == r.values.length)
+                    r.values = Arrays.copyOf(r.values, r.size * 2);
+                r.values[r.size++] = value;
+            }
+        }
+
+        @Override
+        IntRun merge(IntRun left, IntRun right) {
+            left.last = right.last;
+            left.count += right.count;
+            if (merger != null)
+                left.acc = merger.applyAsInt(left.acc, right.acc);
+            if (keepValues) {
+                if (left.size + right.size > left.values.length)
+                    left.values = Arrays.copyOf(left.values, Math.max(left.values.length * 2, left.size
+                        + right.size));
+                System.arraycopy(right.values, 0, left.values, left.size, right.size);
+                left.size += right.size;
+            }
+            return left;
+        }
+
+        @Override
+        boolean sameGroup(IntRun left, IntRun right) {
+            return sameGroup.test(left.last, right.first);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super IntRun> action) {
+            if (!hasPending && !source.tryAdvance(this))
+                return false;
+            IntRun r = new IntRun(pending, keepValues);
+            hasPending = false;
+            while (source.tryAdvance(this)) {
+                if (!sameGroup.test(r.last, pending)) {
+                    action.accept(r);
+                    return true;
+                }
+                add(r, pending);
+                hasPending = false;
+            }
+            action.accept(r);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super IntRun> action) {
+            run = hasPending ? new IntRun(pending, keepValues) : null;
+            hasPending = false;
+            source.forEachRemaining((int value) -> {
+                IntRun r = run;
+                if (r == null) {
+                    run = new IntRun(value, keepValues);
+                } else if (sameGroup.test(r.last, value)) {
+                    add(r, value);
+                } else {
+                    action.accept(r);
+                    run = new IntRun(value, keepValues);
+                }
+            });
+            if (run != null) {
+                action.accept(run);
+                run = null;
+            }
+        }
+
+        @Override
+        public Spliterator<IntRun> trySplit() {
+            if (hasPending)
+                return null;
+            Spliterator.OfInt prefix = source.trySplit();
+            return prefix == null ? null : new OfInt(prefix, sameGroup, merger, keepValues);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & (ORDERED | IMMUTABLE | CONCURRENT);
+        }
+    }
+
+    static final class OfLong extends RunSpliterator<LongRun> implements LongConsumer {
+        private final Spliterator.OfLong source;
+        private final LongBiPredicate sameGroup;
+        private final LongBinaryOperator merger;
+        private LongRun run;
+        private long pending;
+        private boolean hasPending;
+
+        /**
+         * @param merger the function to merge the values of the run or null
+         *        to keep the first value
+         */
+        OfLong(Spliterator.OfLong source, LongBiPredicate sameGroup, LongBinaryOperator merger, boolean keepValues) {
+            super(keepValues);
+            this.source = source;
+            this.sameGroup = sameGroup;
+            this.merger = merger;
+        }
+
+        @Override
+        public void accept(long value) {
+            pending = value;
+            hasPending = true;
+        }
+
+        private void add(LongRun r, long value) {
+            r.last = value;
+            r.count++;
+            if (merger != null)
+                r.acc = merger.applyAsLong(r.acc, value);
+            if (keepValues) {
+                if (r.size == r.values.length)
+                    r.values = Arrays.copyOf(r.values, r.size * 2);
+                r.values[r.size++] = value;
+            }
+        }
+
+        @Override
+        LongRun merge(LongRun left, LongRun right) {
+            left.last = right.last;
+            left.count += right.count;
+            if (merger != null)
+                left.acc = merger.applyAsLong(left.acc, right.acc);
+            if (keepValues) {
+                if (left.size + right.size > left.values.length)
+                    left.values = Arrays.copyOf(left.values, Math.max(left.values.length * 2, left.size
+                        + right.size));
+                System.arraycopy(right.values, 0, left.values, left.size, right.size);
+                left.size += right.size;
+            }
+            return left;
+        }
+
+        @Override
+        boolean sameGroup(LongRun left, LongRun right) {
+            return sameGroup.test(left.last, right.first);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super LongRun> action) {
+            if (!hasPending && !source.tryAdvance(this))
+                return false;
+            LongRun r = new LongRun(pending, keepValues);
+            hasPending = false;
+            while (source.tryAdvance(this)) {
+                if (!sameGroup.test(r.last, pending)) {
+                    action.accept(r);
+                    return true;
+                }
+                add(r, pending);
+                hasPending = false;
+            }
+            action.accept(r);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super LongRun> action) {
+            run = hasPending ? new LongRun(pending, keepValues) : null;
+            hasPending = false;
+            source.forEachRemaining((long value) -> {
+                LongRun r = run;
+                if (r == null) {
+                    run = new LongRun(value, keepValues);
+                } else if (sameGroup.test(r.last, value)) {
+                    add(r, value);
+                } else {
+                    action.accept(r);
+                    run = new LongRun(value, keepValues);
+                }
+            });
+            if (run != null) {
+                action.accept(run);
+                run = null;
+            }
+        }
+
+        @Override
+        public Spliterator<LongRun> trySplit() {
+            if (hasPending)
+                return null;
+            Spliterator.OfLong prefix = source.trySplit();
+            return prefix == null ? null : new OfLong(prefix, sameGroup, merger, keepValues);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & (ORDERED | IMMUTABLE | CONCURRENT);
+        }
+    }
+}
@@ -0,0 +1,443 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+import com.landawn.streamex.function.DoubleTernaryOperator;
+import com.landawn.streamex.function.IntTernaryOperator;
+import com.landawn.streamex.function.LongTernaryOperator;
+import com.landawn.streamex.function.TriFunction;
+
+/**
+ * Maps every window of two or three adjacent elements with the increment of
+ * one. The windows crossing the split boundary are handled by the prefix: on
+ * {@link #trySplit()} the suffix reads its first {@code window - 1} elements
+ * ahead and hands them to the prefix as its tail, keeping them at its own
+ * head. So the splits share nothing and the mapper is applied directly to the
+ * buffered elements.
+ *
+ * <p>
+ * If padding is requested and the whole source is shorter than the window, the
+ * single window is emitted with the missing elements set to null. The first
+ * split holds at least {@code window - 1} elements, so it can tell it by the
+ * missing tail.
+ *
+ * @param <T> the type of the source elements
+ * @param <R> the type of the mapped windows
+ * @since 2.3.3
+ */
+/* package */final class SlidingSpliterator<T, R> implements Spliterator<R>, Consumer<T> {
+    private static final Object[] EMPTY = {};
+
+    private final BiFunction<? super T, ? super T, ? extends R> biMapper;
+    private final TriFunction<? super T, ? super T, ? super T, ? extends R> triMapper;
+    private final boolean padded;
+    private final Spliterator<T> source;
+    // the elements preceding the source which windows are not emitted yet
+    private final Object[] buf;
+    private int size;
+    // up to buf.length - 1 elements following the source
+    private Object[] tail = EMPTY;
+    private int tailPos;
+    // whether no element precedes buf and no window was emitted yet
+    private boolean first = true;
+
+    SlidingSpliterator(Spliterator<T> source, BiFunction<? super T, ? super T, ? extends R> mapper, boolean padded) {
+        this(source, mapper, null, padded, 2);
+    }
+
+    SlidingSpliterator(Spliterator<T> source, TriFunction<? super T, ? super T, ? super T, ? extends R> mapper,
+            boolean padded) {
+        this(source, null, mapper, padded, 3);
+    }
+
+    private SlidingSpliterator(Spliterator<T> source, BiFunction<? super T, ? super T, ? extends R> biMapper,
+            TriFunction<? super T, ? super T, ? super T, ? extends R> triMapper, boolean padded, int window) {
+        this.source = source;
+        this.biMapper = biMapper;
+        this.triMapper = triMapper;
+        this.padded = padded;
+        this.buf = new Object[window];
+    }
+
+    @Override
+    public void accept(T t) {
+        buf[size++] = t;
+    }
+
+    @SuppressWarnings("unchecked")
+    private R apply() {
+        Object[] b = buf;
+        R r;
+        if (triMapper == null) {
+            r = biMapper.apply((T) b[0], (T) b[1]);
+            b[0] = b[1];
+        } else {
+            r = triMapper.apply((T) b[0], (T) b[1], (T) b[2]);
+            b[0] = b[1];
+            b[1] = b[2];
+        }
+        size--;
+        first = false;
+        return r;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean finish(Consumer<? super R> action) {
+        if (!padded || !first || size == 0)
+            return false;
+        first = false;
+        T a = (T) buf[0], b = size > 1 ? (T) buf[1] : null;
+        size = 0;
+        action.accept(triMapper == null ? biMapper.apply(a, null) : triMapper.apply(a, b, null));
+        return true;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        while (size < buf.length) {
+            if (!source.tryAdvance(this)) {
+                if (tailPos == tail.length)
+                    return finish(action);
+                buf[size++] = tail[tailPos++];
+            }
+        }
+        action.accept(apply());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super R> action) {
+        int window = buf.length;
+        source.forEachRemaining(t -> {
+            buf[size++] = t;
+            if (size == window)
+                action.accept(apply());
+        });
+        while (tailPos < tail.length) {
+            buf[size++] = tail[tailPos++];
+            if (size == window)
+                action.accept(apply());
+        }
+        finish(action);
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        if (padded && first) {
+            // the split emitting the padded window must hold the first elements
+            while (size < buf.length - 1) {
+                if (!source.tryAdvance(this))
+                    return null;
+            }
+        }
+        Spliterator<T> prefix = source.trySplit();
+        if (prefix == null)
+            return null;
+        SlidingSpliterator<T, R> left = new SlidingSpliterator<>(prefix, biMapper, triMapper, padded, buf.length);
+        System.arraycopy(buf, 0, left.buf, 0, size);
+        left.size = size;
+        left.first = first;
+        size = 0;
+        first = false;
+        while (size < buf.length - 1 && source.tryAdvance(this)) {
+            // read ahead the head of this split
+        }
+        int n = Math.min(buf.length - 1, size + tail.length - tailPos);
+        left.tail = Arrays.copyOf(buf, n);
+        if (n > size)
+            System.arraycopy(tail, tailPos, left.tail, size, n - size);
+        return left;
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & (ORDERED | IMMUTABLE | CONCURRENT);
+    }
+
+    /**
+     * Maps the full windows of three adjacent {@code int} elements.
+     */
+    static final class OfInt implements Spliterator.OfInt, IntConsumer {
+        private final IntTernaryOperator mapper;
+        private final Spliterator.OfInt source;
+        private final int[] buf = new int[3];
+        private int size;
+        private int[] tail = {};
+        private int tailPos;
+
+        OfInt(Spliterator.OfInt source, IntTernaryOperator mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void accept(int t) {
+            buf[size++] = t;
+        }
+
+        private int apply() {
+            int[] b = buf;
+            int r = mapper.applyAsInt(b[0], b[1], b[2]);
+            b[0] = b[1];
+            b[1] = b[2];
+            size = 2;
+            return r;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            while (size < 3) {
+                if (!source.tryAdvance(this)) {
+                    if (tailPos == tail.length)
+                        return false;
+                    buf[size++] = tail[tailPos++];
+                }
+            }
+            action.accept(apply());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            source.forEachRemaining((int t) -> {
+                buf[size++] = t;
+                if (size == 3)
+                    action.accept(apply());
+            });
+            while (tailPos < tail.length) {
+                buf[size++] = tail[tailPos++];
+                if (size == 3)
+                    action.accept(apply());
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            Spliterator.OfInt prefix = source.trySplit();
+            if (prefix == null)
+                return null;
+            SlidingSpliterator.OfInt left = new SlidingSpliterator.OfInt(prefix, mapper);
+            System.arraycopy(buf, 0, left.buf, 0, size);
+            left.size = size;
+            size = 0;
+            while (size < 2 && source.tryAdvance(this)) {
+                // read ahead the head of this split
+            }
+            int n = Math.min(2, size + tail.length - tailPos);
+            left.tail = Arrays.copyOf(buf, n);
+            if (n > size)
+                System.arraycopy(tail, tailPos, left.tail, size, n - size);
+            return left;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & (ORDERED | IMMUTABLE | CONCURRENT | NONNULL);
+        }
+    }
+
+    /**
+     * Maps the full windows of three adjacent {@code long} elements.
+     */
+    static final class OfLong implements Spliterator.OfLong, LongConsumer {
+        private final LongTernaryOperator mapper;
+        private final Spliterator.OfLong source;
+        private final long[] buf = new long[3];
+        private int size;
+        private long[] tail = {};
+        private int tailPos;
+
+        OfLong(Spliterator.OfLong source, LongTernaryOperator mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void accept(long t) {
+            buf[size++] = t;
+        }
+
+        private long apply() {
+            long[] b = buf;
+            long r = mapper.applyAsLong(b[0], b[1], b[2]);
+            b[0] = b[1];
+            b[1] = b[2];
+            size = 2;
+            return r;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            while (size < 3) {
+                if (!source.tryAdvance(this)) {
+                    if (tailPos == tail.length)
+                        return false;
+                    buf[size++] = tail[tailPos++];
+                }
+            }
+            action.accept(apply());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            source.forEachRemaining((long t) -> {
+                buf[size++] = t;
+                if (size == 3)
+                    action.accept(apply());
+            });
+            while (tailPos < tail.length) {
+                buf[size++] = tail[tailPos++];
+                if (size == 3)
+                    action.accept(apply());
+            }
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            Spliterator.OfLong prefix = source.trySplit();
+            if (prefix == null)
+                return null;
+            SlidingSpliterator.OfLong left = new SlidingSpliterator.OfLong(prefix, mapper);
+            System.arraycopy(buf, 0, left.buf, 0, size);
+            left.size = size;
+            size = 0;
+            while (size < 2 && source.tryAdvance(this)) {
+                // read ahead the head of this split
+            }
+            int n = Math.min(2, size + tail.length - tailPos);
+            left.tail = Arrays.copyOf(buf, n);
+            if (n > size)
+                System.arraycopy(tail, tailPos, left.tail, size, n - size);
+            return left;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & (ORDERED | IMMUTABLE | CONCURRENT | NONNULL);
+        }
+    }
+
+    /**
+     * Maps the full windows of three adjacent {@code double} elements.
+     */
+    static final class OfDouble implements Spliterator.OfDouble, DoubleConsumer {
+        private final DoubleTernaryOperator mapper;
+        private final Spliterator.OfDouble source;
+        private final double[] buf = new double[3];
+        private int size;
+        private double[] tail = {};
+        private int tailPos;
+
+        OfDouble(Spliterator.OfDouble source, DoubleTernaryOperator mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void accept(double t) {
+            buf[size++] = t;
+        }
+
+        private double apply() {
+            double[] b = buf;
+            double r = mapper.applyAsDouble(b[0], b[1], b[2]);
+            b[0] = b[1];
+            b[1] = b[2];
+            size = 2;
+            return r;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            while (size < 3) {
+                if (!source.tryAdvance(this)) {
+                    if (tailPos == tail.length)
+                        return false;
+                    buf[size++] = tail[tailPos++];
+                }
+            }
+            action.accept(apply());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            source.forEachRemaining((double t) -> {
+                buf[size++] = t;
+                if (size == 3)
+                    action.accept(apply());
+            });
+            while (tailPos < tail.length) {
+                buf[size++] = tail[tailPos++];
+                if (size == 3)
+                    action.accept(apply());
+            }
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            Spliterator.OfDouble prefix = source.trySplit();
+            if (prefix == null)
+                return null;
+            SlidingSpliterator.OfDouble left = new SlidingSpliterator.OfDouble(prefix, mapper);
+            System.arraycopy(buf, 0, left.buf, 0, size);
+            left.size = size;
+            size = 0;
+            while (size < 2 && source.tryAdvance(this)) {
+                // read ahead the head of this split
+            }
+            int n = Math.min(2, size + tail.length - tailPos);
+            left.tail = Arrays.copyOf(buf, n);
+            if (n > size)
+                System.arraycopy(tail, tailPos, left.tail, size, n - size);
+            return left;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & (ORDERED | IMMUTABLE | CONCURRENT | NONNULL);
+        }
+    }
+}
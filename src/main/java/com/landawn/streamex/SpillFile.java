@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The temporary file which is first written sequentially and then read back
+ * sequentially. The file is opened once with
+ * {@link StandardOpenOption#DELETE_ON_CLOSE}, so it disappears when closed
+ * even if it was not read to the end, or when the JVM exits. On Unix-like
+ * systems the file is unlinked right after opening, so it never outlives the
+ * process.
+ *
+ * <p>
+ * The elements are written through an {@link ObjectOutputStream} which is
+ * reset periodically, so the back-reference table doesn't retain the written
+ * objects.
+ *
+ * @since 2.3.3
+ */
+/* package */final class SpillFile implements Closeable {
+    private static final int RESET_INTERVAL = 1024;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private ObjectOutputStream out;
+    private ObjectInputStream in;
+    private long size;
+
+    private SpillFile(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    static SpillFile create(Path directory) {
+        try {
+            Path path = directory == null ? Files.createTempFile("streamex", ".spill") : Files.createTempFile(
+                directory, "streamex", ".spill");
+            return new SpillFile(FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> void write(SpillOptions.Codec<? super T> codec, T t) {
+        try {
+            if (out == null)
+                out = new ObjectOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel),
+                        BUFFER_SIZE));
+            ((SpillOptions.Codec<T>) codec).write(out, t);
+            if (++size % RESET_INTERVAL == 0)
+                out.reset();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes the written elements and releases the output buffer. Should be
+     * called when all the elements are written.
+     */
+    void flush() {
+        if (out == null)
+            return;
+        try {
+            // the output stream is not closed as it would close the channel
+            out.flush();
+            out = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the number of elements written
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Reads the next element. Must be called no more than {@link #size()}
+     * times after all the elements are written.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T read(SpillOptions.Codec<? super T> codec) {
+        try {
+            if (in == null) {
+                flush();
+                channel.position(0);
+                in = new ObjectInputStream(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+            }
+            return (T) codec.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Groups the source keeping at most {@link SpillOptions#maxInMemory} groups in
+ * memory. The source is consumed on the first traversal: the elements of the
+ * first groups are accumulated in memory, and once the budget is exhausted
+ * the elements of every new key are written to one of the
+ * {@value #PARTITIONS} partition files chosen by the key hash. As the set of
+ * the in-memory keys doesn't change after that, every key is either fully
+ * in memory or fully in one partition.
+ *
+ * <p>
+ * The in-memory groups are emitted first, then the partitions are loaded and
+ * grouped one at a time in the same way, using the next bits of the key hash
+ * if a partition has to be split again. After {@value #MAX_DEPTH} levels the
+ * budget is ignored.
+ *
+ * @param <T> the type of the source elements
+ * @param <K> the type of the keys
+ * @param <A> the intermediate accumulation type of the downstream collector
+ * @param <D> the result type of the downstream reduction
+ * @since 2.3.3
+ */
+/* package */final class SpillGroupingSpliterator<T, K, A, D> implements Spliterator<Map.Entry<K, D>> {
+    private static final int PARTITION_BITS = 4;
+    private static final int PARTITIONS = 1 << PARTITION_BITS;
+    private static final int MAX_DEPTH = Integer.SIZE / PARTITION_BITS;
+
+    private Spliterator<T> source;
+    private final Function<? super T, ? extends K> classifier;
+    private final Supplier<A> supplier;
+    private final BiConsumer<A, ? super T> accumulator;
+    private final Function<A, D> finisher;
+    private final SpillOptions<Object> options;
+    private final Deque<Partition> partitions = new ArrayDeque<>();
+    private Iterator<Map.Entry<K, A>> groups;
+
+    private static final class Partition {
+        final SpillFile file;
+        final int depth;
+
+        Partition(SpillFile file, int depth) {
+            this.file = file;
+            this.depth = depth;
+        }
+    }
+
+    private final class Grouper implements Consumer<T> {
+        final Map<K, A> map = new HashMap<>();
+        final int depth;
+        SpillFile[] files;
+
+        Grouper(int depth) {
+            this.depth = depth;
+        }
+
+        @Override
+        public void accept(T t) {
+            K key = classifier.apply(t);
+            A container = map.get(key);
+            if (container == null) {
+                if (map.size() >= options.maxInMemory && depth < MAX_DEPTH) {
+                    spill(key, t);
+                    return;
+                }
+                container = supplier.get();
+                map.put(key, container);
+            }
+            accumulator.accept(container, t);
+        }
+
+        private void spill(K key, T t) {
+            if (files == null)
+                files = new SpillFile[PARTITIONS];
+            int h = Objects.hashCode(key) * 0x9E3779B9;
+            int idx = (h ^ (h >>> 16)) >>> (depth * PARTITION_BITS) & (PARTITIONS - 1);
+            SpillFile file = files[idx];
+            if (file == null) {
+                file = files[idx] = SpillFile.create(options.tempDirectory);
+                partitions.push(new Partition(file, depth + 1));
+            }
+            file.write(options.codec, t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    SpillGroupingSpliterator(Spliterator<T> source, Function<? super T, ? extends K> classifier,
+            Collector<? super T, A, D> downstream, SpillOptions<? super T> options) {
+        this.source = source;
+        this.classifier = classifier;
+        this.supplier = downstream.supplier();
+        this.accumulator = downstream.accumulator();
+        this.finisher = downstream.finisher();
+        this.options = (SpillOptions<Object>) options;
+    }
+
+    private boolean nextLevel() {
+        Grouper grouper;
+        try {
+            if (source != null) {
+                grouper = new Grouper(0);
+                source.forEachRemaining(grouper);
+                source = null;
+            } else {
+                Partition p = partitions.poll();
+                if (p == null)
+                    return false;
+                grouper = new Grouper(p.depth);
+                try {
+                    for (long i = p.file.size(); i > 0; i--) {
+                        grouper.accept(p.file.<T> read(options.codec));
+                    }
+                } finally {
+                    p.file.close();
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            source = null;
+            close();
+            throw e;
+        }
+        groups = grouper.map.entrySet().iterator();
+        return true;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Map.Entry<K, D>> action) {
+        while (groups == null || !groups.hasNext()) {
+            groups = null;
+            if (!nextLevel())
+                return false;
+        }
+        Map.Entry<K, A> e = groups.next();
+        groups.remove();
+        action.accept(new SimpleImmutableEntry<>(e.getKey(), finisher.apply(e.getValue())));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Map.Entry<K, D>> action) {
+        while (tryAdvance(action)) {
+            // empty
+        }
+    }
+
+    @Override
+    public Spliterator<Map.Entry<K, D>> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return source == null ? Long.MAX_VALUE : source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return DISTINCT;
+    }
+
+    /**
+     * Deletes all the pending partition files. Called when the stream is
+     * closed.
+     */
+    void close() {
+        groups = null;
+        for (Partition p = partitions.poll(); p != null; p = partitions.poll()) {
+            p.file.close();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * The settings of the operations which may keep only a bounded number of
+ * elements in memory and spill the rest to the temporary files, like
+ * {@link AbstractStreamEx#sorted(java.util.Comparator, SpillOptions)}.
+ *
+ * <p>
+ * The memory budget is the maximal number of objects kept in memory at once;
+ * every operation which accepts {@code SpillOptions} specifies what it counts.
+ * The elements which don't fit are written to the temporary files using the
+ * supplied {@link Codec} and read back when the result is traversed. The
+ * temporary files are deleted when the resulting stream is exhausted or
+ * closed, and at the latest when the JVM exits.
+ *
+ * <p>
+ * Every {@code SpillOptions} object is immutable, so you can share it:
+ *
+ * <pre>{@code
+ * SpillOptions<Event> spill = SpillOptions.of(1_000_000, Event.CODEC).tempDirectory(Paths.get("/data/tmp"));
+ * StreamEx.of(events).sorted(Comparator.comparing(Event::getTime), spill).forEach(...);
+ * }</pre>
+ *
+ * @param <T> the type of the elements
+ * @since 2.3.3
+ */
+public final class SpillOptions<T> {
+    /**
+     * Writes the elements to the temporary files and reads them back.
+     *
+     * <p>
+     * The supplied {@code DataOutput} and {@code DataInput} are always the
+     * {@link ObjectOutput} and {@link ObjectInput} respectively, so the codec
+     * may write the whole objects as well as their fields.
+     *
+     * @param <T> the type of the elements
+     */
+    public interface Codec<T> {
+        /**
+         * Writes the element.
+         *
+         * @param out the output to write to
+         * @param t the element to write
+         * @throws IOException if an I/O error occurs
+         */
+        void write(DataOutput out, T t) throws IOException;
+
+        /**
+         * Reads the element previously written by
+         * {@link #write(DataOutput, Object)}.
+         *
+         * @param in the input to read from
+         * @return the element read
+         * @throws IOException if an I/O error occurs
+         */
+        T read(DataInput in) throws IOException;
+    }
+
+    private static final Codec<Object> SERIALIZABLE = new Codec<Object>() {
+        @Override
+        public void write(DataOutput out, Object t) throws IOException {
+            ((ObjectOutput) out).writeObject(t);
+        }
+
+        @Override
+        public Object read(DataInput in) throws IOException {
+            try {
+                return ((ObjectInput) in).readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+    };
+
+    final int maxInMemory;
+    final Codec<T> codec;
+    final Path tempDirectory;
+
+    private SpillOptions(int maxInMemory, Codec<T> codec, Path tempDirectory) {
+        this.maxInMemory = maxInMemory;
+        this.codec = codec;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Returns the {@code SpillOptions} which writes the elements using the
+     * supplied codec.
+     *
+     * @param <T> the type of the elements
+     * @param maxInMemory the maximal number of elements to keep in memory
+     * @param codec the codec to write and read the elements
+     * @return the new {@code SpillOptions} which uses the default temporary
+     *         directory
+     * @throws IllegalArgumentException if {@code maxInMemory} is not positive
+     */
+    public static <T> SpillOptions<T> of(int maxInMemory, Codec<T> codec) {
+        if (maxInMemory <= 0)
+            throw new IllegalArgumentException("maxInMemory must be positive: " + maxInMemory);
+        return new SpillOptions<>(maxInMemory, Objects.requireNonNull(codec), null);
+    }
+
+    /**
+     * Returns the {@code SpillOptions} which writes the elements using the
+     * Java serialization. The spilled elements must be {@link Serializable},
+     * otherwise an {@link java.io.UncheckedIOException} is thrown when they
+     * are written. The type is not bounded, so the elements like
+     * {@code Map.Entry} or {@code List} which implementations are usually
+     * serializable can be spilled as well.
+     *
+     * @param <T> the type of the elements
+     * @param maxInMemory the maximal number of elements to keep in memory
+     * @return the new {@code SpillOptions} which uses the default temporary
+     *         directory
+     * @throws IllegalArgumentException if {@code maxInMemory} is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> SpillOptions<T> serializable(int maxInMemory) {
+        return of(maxInMemory, (Codec<T>) SERIALIZABLE);
+    }
+
+    /**
+     * Returns the {@code SpillOptions} which creates the temporary files in
+     * the specified directory.
+     *
+     * @param directory the directory for the temporary files or null to use
+     *        the default temporary-file directory
+     * @return the new {@code SpillOptions}
+     */
+    public SpillOptions<T> tempDirectory(Path directory) {
+        return new SpillOptions<>(maxInMemory, codec, directory);
+    }
+}
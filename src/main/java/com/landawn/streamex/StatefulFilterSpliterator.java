@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.landawn.streamex.util.Fn.StatefulPredicate;
+
+/**
+ * Filters the source with the {@link StatefulPredicate}. The sequential
+ * variant of the predicate is used by {@link #forEachRemaining(Consumer)}
+ * unless the spliterator was split: then the thread-safe predicate is used by
+ * all the parts. The single elements are tested with the thread-safe
+ * predicate, as the sequential variant would have to be flushed after each of
+ * them anyway.
+ *
+ * @param <T> the type of the elements
+ * @since 2.3.3
+ */
+/* package */final class StatefulFilterSpliterator<T> implements Spliterator<T>, Consumer<T> {
+    private final Spliterator<T> source;
+    private final StatefulPredicate<? super T> predicate;
+    private boolean split;
+    private boolean found;
+    private T cur;
+
+    StatefulFilterSpliterator(Spliterator<T> source, StatefulPredicate<? super T> predicate) {
+        this.source = source;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void accept(T t) {
+        if (predicate.test(t)) {
+            cur = t;
+            found = true;
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (!found && source.tryAdvance(this)) {
+            // empty
+        }
+        if (!found)
+            return false;
+        T t = cur;
+        cur = null;
+        found = false;
+        action.accept(t);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        if (split) {
+            source.forEachRemaining(t -> {
+                if (predicate.test(t))
+                    action.accept(t);
+            });
+            return;
+        }
+        StatefulPredicate.Sequential<? super T> sequential = predicate.sequential();
+        try {
+            source.forEachRemaining(t -> {
+                if (sequential.test(t))
+                    action.accept(t);
+            });
+        } finally {
+            sequential.flush();
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        Spliterator<T> prefix = source.trySplit();
+        if (prefix == null)
+            return null;
+        split = true;
+        StatefulFilterSpliterator<T> result = new StatefulFilterSpliterator<>(prefix, predicate);
+        result.split = true;
+        return result;
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & ~(SIZED | SUBSIZED);
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        return source.getComparator();
+    }
+}
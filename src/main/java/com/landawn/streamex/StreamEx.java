@@ -37,12 +37,16 @@ import java.util.stream.Collector;
 import java.util.stream.Collector.Characteristics;
 
 import com.landawn.streamex.PairSpliterator.PSOfRef;
+import com.landawn.streamex.function.BiObjLongFunction;
+import com.landawn.streamex.function.ObjLongFunction;
+import com.landawn.streamex.function.ObjLongPredicate;
+import com.landawn.streamex.function.TriConsumer;
 import com.landawn.streamex.function.TriFunction;
 import com.landawn.streamex.util.Fn;
 import com.landawn.streamex.util.Fn.Suppliers;
-import com.landawn.streamex.util.Keyed;
 import com.landawn.streamex.util.MoreObjects;
 import com.landawn.streamex.util.Pair;
+import com.landawn.streamex.util.Triple;
 import com.landawn.streamex.util.Tuple;
 import com.landawn.streamex.util.Tuple.Tuple2;
 import com.landawn.streamex.util.Tuple.Tuple3;
@@ -381,7 +385,11 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
             return new EntryStream<>(Spliterators.emptySpliterator(), context);
         if (other.length == 1)
             return mapToEntry(e -> e, e -> other[0]);
-        return cross(t -> of(other));
+        return new EntryStream<>(VER_SPEC.mapMulti(this, (T t, Consumer<Entry<T, V>> sink) -> {
+            for (V v : other) {
+                sink.accept(new SimpleImmutableEntry<>(t, v));
+            }
+        }), context);
     }
 
     /**
@@ -406,7 +414,11 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
     public <V> EntryStream<T, V> cross(Collection<? extends V> other) {
         if (other == null || other.isEmpty())
             return new EntryStream<>(Spliterators.emptySpliterator(), context);
-        return cross(t -> of(other));
+        return new EntryStream<>(VER_SPEC.mapMulti(this, (T t, Consumer<Entry<T, V>> sink) -> {
+            for (V v : other) {
+                sink.accept(new SimpleImmutableEntry<>(t, v));
+            }
+        }), context);
     }
 
     /**
@@ -431,6 +443,42 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return new EntryStream<>(stream().flatMap(a -> EntryStream.withKey(a, mapper.apply(a))), context);
     }
 
+    /**
+     * Performs an action for every pair of an element of this stream and an
+     * element of the supplied collection. The elements of the collection are
+     * paired with every element of this stream in the collection iteration
+     * order.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation. It works like {@code cross(other).forEach(action)}, but no
+     * object is allocated per pair.
+     *
+     * <p>
+     * For parallel stream pipelines, the action may be called at whatever
+     * time and in whatever thread the library chooses, like for
+     * {@link #forEach(Consumer)}. If the action accesses shared state, it is
+     * responsible for providing the required synchronization.
+     *
+     * @param <V> the type of the collection elements
+     * @param other the collection to cross with, copied when this method is
+     *        called; null is the same as an empty collection
+     * @param action a non-interfering action to perform on the pairs
+     * @see #cross(Collection)
+     * @since 2.3.3
+     */
+    public <V> void crossForEach(Collection<? extends V> other, BiConsumer<? super T, ? super V> action) {
+        Objects.requireNonNull(action);
+        if (other == null || other.isEmpty())
+            return;
+        List<? extends V> list = new ArrayList<>(other);
+        forEach(t -> {
+            for (int i = 0, n = list.size(); i < n; i++) {
+                action.accept(t, list.get(i));
+            }
+        });
+    }
+
     /**
      * Returns a {@code StreamEx<Map.Entry<K, List<T>>>} whose keys are the
      * values resulting from applying the classification function to the input
@@ -632,14 +680,68 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      */
     public <D> StreamEx<Map.Entry<Boolean, D>> partitionBy(Predicate<? super T> predicate,
             Collector<? super T, ?, D> downstream) {
-        Supplier<Stream<Map.Entry<Boolean, D>>> supplier = null;
+        Supplier<Stream<Map.Entry<Boolean, D>>> supplier = () -> {
+            Map<Boolean, D> map = partitionTo(predicate, downstream);
+            Stream<Map.Entry<Boolean, D>> s = Stream.of(new SimpleImmutableEntry<>(Boolean.FALSE, map.get(
+                Boolean.FALSE)), new SimpleImmutableEntry<>(Boolean.TRUE, map.get(Boolean.TRUE)));
+            return context.parallel ? s.parallel() : s;
+        };
+        return new StreamEx<>(ForwardingStream.of(supplier), context);
+    }
 
-        if (context.parallel) {
-            supplier = () -> partitionTo(predicate, downstream).entrySet().parallelStream();
-        } else {
-            supplier = () -> partitionTo(predicate, downstream).entrySet().stream();
-        }
+    /**
+     * Returns a {@code StreamEx<List<T>>} which contains the fixed number of
+     * buckets of the input elements: the element at index {@code i} is the
+     * list of the input elements for which the bucket function returned
+     * {@code i}.
+     *
+     * @param bucketFunction a function which returns the bucket number for
+     *        the input element, from 0 (inclusive) to {@code buckets}
+     *        (exclusive)
+     * @param buckets the number of buckets
+     * @return a stream of {@code buckets} lists in the order of the bucket
+     *         numbers
+     * @throws IllegalArgumentException if {@code buckets} is negative
+     * @see #partitionTo(ToIntFunction, int, Collector)
+     * @since 2.3.3
+     */
+    public StreamEx<List<T>> partitionBy(ToIntFunction<? super T> bucketFunction, int buckets) {
+        return partitionBy(bucketFunction, buckets, Collectors.toList());
+    }
 
+    /**
+     * Returns a {@code StreamEx<D>} which contains the fixed number of buckets
+     * of the input elements, which are reduced according to the supplied
+     * {@code Collector}: the element at index {@code i} is the result of
+     * downstream {@code Collector} collecting the input elements for which the
+     * bucket function returned {@code i}.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>. The input is consumed in one pass when the resulting
+     * stream is traversed.
+     *
+     * @param <D> the result type of the downstream reduction
+     * @param bucketFunction a function which returns the bucket number for
+     *        the input element, from 0 (inclusive) to {@code buckets}
+     *        (exclusive)
+     * @param buckets the number of buckets
+     * @param downstream a {@code Collector} implementing the downstream
+     *        reduction
+     * @return a stream of {@code buckets} reduction results in the order of
+     *         the bucket numbers
+     * @throws IllegalArgumentException if {@code buckets} is negative
+     * @see #partitionTo(ToIntFunction, int, Collector)
+     * @see MoreCollectors#partitioningBy(ToIntFunction, int, Collector)
+     * @since 2.3.3
+     */
+    public <D> StreamEx<D> partitionBy(ToIntFunction<? super T> bucketFunction, int buckets,
+            Collector<? super T, ?, D> downstream) {
+        checkNonNegative("buckets", buckets);
+        Supplier<Stream<D>> supplier = () -> {
+            Stream<D> s = partitionTo(bucketFunction, buckets, downstream).stream();
+            return context.parallel ? s.parallel() : s;
+        };
         return new StreamEx<>(ForwardingStream.of(supplier), context);
     }
 
@@ -678,7 +780,20 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
     }
 
     public <K> Stream<Map.Entry<K, Integer>> countBy(final Function<? super T, ? extends K> classifier) {
-        return groupBy(classifier, MoreCollectors.countingInt());
+        return countByKeys(classifier);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K> StreamEx<Map.Entry<K, Integer>> countByKeys(Function<? super T, ? extends K> classifier) {
+        Supplier<Stream<Map.Entry<K, Integer>>> supplier = () -> {
+            KeyCounter<T> counter = countKeys(classifier, false);
+            Object[] keys = counter.keys();
+            long[] counts = counter.counts();
+            Stream<Map.Entry<K, Integer>> s = IntStreamEx.range(0, counter.size()).mapToObj(
+                i -> new SimpleImmutableEntry<>((K) keys[i], (int) counts[i]));
+            return context.parallel ? s.parallel() : s;
+        };
+        return new StreamEx<>(ForwardingStream.of(supplier), context);
     }
 
     /**
@@ -758,6 +873,51 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return s.mapToEntry(Fn.identity());
     }
 
+    /**
+     * Returns a {@code EntryStream<K, D>} whose keys are the values resulting
+     * from applying the classification function to the input elements, and
+     * whose corresponding values are the result of reduction of the input
+     * elements which map to the associated key under the classification
+     * function, keeping no more than the specified number of groups in memory.
+     *
+     * <p>
+     * The input is consumed when the resulting stream is first traversed. The
+     * first groups are accumulated in memory until the budget is exhausted;
+     * after that the elements of all the other keys are written to the
+     * temporary files partitioned by the key hash. The in-memory groups are
+     * emitted first, then the partitions are grouped and emitted one at a
+     * time, so at most one partition is held in memory. The downstream
+     * collector is applied to every element as it arrives, so with a
+     * reducing collector like {@link Collectors#counting()} only one
+     * accumulator per group is kept rather than its elements.
+     *
+     * <p>
+     * The order of the groups is unspecified. The temporary files are
+     * deleted as soon as the partitions are processed or when the resulting
+     * stream is closed. An {@link java.io.UncheckedIOException} is thrown if
+     * the files cannot be written or read.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * @param <K> the type of the keys
+     * @param <D> the result type of the downstream reduction
+     * @param classifier the classifier function mapping input elements to keys
+     * @param downstream a {@code Collector} implementing the downstream
+     *        reduction
+     * @param spill the maximal number of groups in memory, the codec for the
+     *        input elements and the directory of the temporary files
+     * @return an {@code EntryStream} of the keys and the reduction results
+     * @see #groupByToEntry(Function, Collector)
+     * @see #sorted(Comparator, SpillOptions)
+     * @since 2.3.3
+     */
+    public <K, D> EntryStream<K, D> groupByToEntry(Function<? super T, ? extends K> classifier,
+            Collector<? super T, ?, D> downstream, SpillOptions<? super T> spill) {
+        return groupBySpilling(classifier, downstream, spill);
+    }
+
     public <K, V> EntryStream<K, List<V>> groupByToEntry(Function<? super T, ? extends K> classifier,
             Function<? super T, ? extends V> valueMapper) {
         final StreamEx<Map.Entry<K, List<V>>> s = groupBy(classifier, valueMapper);
@@ -912,7 +1072,35 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
     }
 
     public <K> EntryStream<K, Integer> countByToEntry(final Function<? super T, ? extends K> classifier) {
-        return groupByToEntry(classifier, MoreCollectors.countingInt());
+        final StreamEx<Map.Entry<K, Integer>> s = countByKeys(classifier);
+
+        return s.mapToEntry(Fn.identity());
+    }
+
+    /**
+     * Returns an {@link ObjLongStream} whose keys are the values resulting
+     * from applying the classification function to the input elements, and
+     * whose values are the numbers of the input elements which map to the
+     * associated key.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation: the elements are counted when this method is called. The
+     * counts are kept in an open-addressing table, so neither boxed counts nor
+     * entry objects are created.
+     *
+     * @param <K> the type of the keys
+     * @param classifier the classifier function mapping input elements to keys
+     * @return the stream of the keys and the corresponding counts
+     * @see #countByToEntry(Function)
+     * @since 2.3.3
+     */
+    public <K> ObjLongStream<K> countByToObjLong(Function<? super T, ? extends K> classifier) {
+        KeyCounter<T> counter = countKeys(classifier, false);
+        @SuppressWarnings("unchecked")
+        K[] keys = (K[]) counter.keys();
+        return new ObjLongStream<>(new ObjLongSpliterator.Zip<>(keys, counter.counts(), 0, counter.size()),
+                context);
     }
 
     /**
@@ -923,10 +1111,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      */
     @Override
     public StreamEx<T> distinct(final Predicate<? super Long> occurrencesFilter) {
-        final Supplier<? extends Map<T, Long>> mapSupplier = Suppliers.ofLinkedHashMap();
-
-        return groupBy(Fn.identity(), Collectors.counting(), mapSupplier).filter(e -> occurrencesFilter.test(e
-                .getValue())).map(Fn.key());
+        return distinctByCount(null, occurrencesFilter);
     }
 
     /**
@@ -939,11 +1124,9 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
     @Override
     public StreamEx<T> distinctBy(final Function<? super T, ?> keyExtractor,
             final Predicate<? super Long> occurrencesFilter) {
-        final Supplier<? extends Map<Keyed<?, T>, Long>> mapSupplier = isParallel() ? Suppliers
-                .<Keyed<?, T>, Long> ofConcurrentHashMap() : Suppliers.<Keyed<?, T>, Long> ofLinkedHashMap();
+        Objects.requireNonNull(keyExtractor);
 
-        return groupBy(e -> Keyed.of(keyExtractor.apply(e), e), Collectors.counting(), mapSupplier).filter(
-            e -> occurrencesFilter.test(e.getValue())).map(e -> e.getKey().val());
+        return distinctByCount(keyExtractor, occurrencesFilter);
     }
 
     /**
@@ -1199,6 +1382,70 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return collect(MoreCollectors.partitioningBy(predicate, downstream));
     }
 
+    /**
+     * Returns a {@code List<List<T>>} which contains the fixed number of
+     * buckets of the input elements: the list at index {@code i} contains the
+     * input elements for which the bucket function returned {@code i}, in
+     * encounter order.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * @param bucketFunction a function which returns the bucket number for
+     *        the input element, from 0 (inclusive) to {@code buckets}
+     *        (exclusive)
+     * @param buckets the number of buckets
+     * @return a list of {@code buckets} lists
+     * @throws IllegalArgumentException if {@code buckets} is negative
+     * @throws IndexOutOfBoundsException if the bucket function returns a
+     *         number out of range
+     * @see #partitionTo(ToIntFunction, int, Collector)
+     * @since 2.3.3
+     */
+    public List<List<T>> partitionTo(ToIntFunction<? super T> bucketFunction, int buckets) {
+        return partitionTo(bucketFunction, buckets, Collectors.toList());
+    }
+
+    /**
+     * Returns a {@code List<D>} which contains the fixed number of buckets of
+     * the input elements, which are reduced according to the supplied
+     * {@code Collector}: the element at index {@code i} is the result of
+     * downstream {@code Collector} collecting the input elements for which the
+     * bucket function returned {@code i}.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation. The operation may short-circuit if the downstream collector is
+     * <a href=
+     * "package-summary.html#ShortCircuitReduction">short-circuiting</a>.
+     *
+     * <p>
+     * Each element is routed to its bucket with one array access, so this is
+     * considerably faster than grouping by the boxed bucket number. There are
+     * no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code List} returned.
+     *
+     * @param <D> the result type of the downstream reduction
+     * @param bucketFunction a function which returns the bucket number for
+     *        the input element, from 0 (inclusive) to {@code buckets}
+     *        (exclusive)
+     * @param buckets the number of buckets
+     * @param downstream a {@code Collector} implementing the downstream
+     *        reduction
+     * @return a list of {@code buckets} reduction results
+     * @throws IllegalArgumentException if {@code buckets} is negative
+     * @throws IndexOutOfBoundsException if the bucket function returns a
+     *         number out of range
+     * @see #partitionBy(ToIntFunction, int, Collector)
+     * @see MoreCollectors#partitioningBy(ToIntFunction, int, Collector)
+     * @since 2.3.3
+     */
+    public <D> List<D> partitionTo(ToIntFunction<? super T> bucketFunction, int buckets,
+            Collector<? super T, ?, D> downstream) {
+        return collect(MoreCollectors.partitioningBy(bucketFunction, buckets, downstream));
+    }
+
     /**
      * Returns a {@code Map<Boolean, C>} which contains two partitions of the
      * input elements according to a {@code Predicate}.
@@ -1768,6 +2015,74 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return toMap(keyMapper, valMapper, mergeFunction, Suppliers.ofTreeMap());
     }
 
+    /**
+     * Returns an immutable {@link NavigableMap} whose keys and values are the
+     * result of applying the provided mapping functions to the input elements.
+     * The keys are sorted according to their natural order.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * <p>
+     * If the mapped keys contains duplicates (according to the ordering), an
+     * {@code IllegalStateException} is thrown when the collection operation is
+     * performed.
+     *
+     * <p>
+     * Unlike {@link #toNavigableMap(Function, Function)} the entries are sorted
+     * once after they are collected and are kept in two arrays, which is much
+     * faster and more compact for the large maps.
+     *
+     * @param <K> the output type of the key mapping function
+     * @param <V> the output type of the value mapping function
+     * @param keyMapper a mapping function to produce keys
+     * @param valMapper a mapping function to produce values
+     * @return an immutable {@code NavigableMap} whose keys and values are the
+     *         result of applying mapping functions to the input elements
+     * @see MoreCollectors#toImmutableNavigableMap(Function, Function)
+     * @since 2.3.3
+     */
+    public <K, V> NavigableMap<K, V> toImmutableNavigableMap(Function<? super T, ? extends K> keyMapper,
+            Function<? super T, ? extends V> valMapper) {
+        return collect(MoreCollectors.toImmutableNavigableMap(keyMapper, valMapper));
+    }
+
+    /**
+     * Returns an immutable {@link NavigableMap} whose keys and values are the
+     * result of applying the provided mapping functions to the input elements.
+     * The keys are sorted according to their natural order.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * <p>
+     * If the mapped keys contains duplicates (according to the ordering), the
+     * values of the equal keys are merged in the encounter order using the
+     * provided merging function.
+     *
+     * <p>
+     * Unlike {@link #toNavigableMap(Function, Function, BinaryOperator)} the
+     * entries are sorted once after they are collected and are kept in two
+     * arrays, which is much faster and more compact for the large maps.
+     *
+     * @param <K> the output type of the key mapping function
+     * @param <V> the output type of the value mapping function
+     * @param keyMapper a mapping function to produce keys
+     * @param valMapper a mapping function to produce values
+     * @param mergeFunction a merge function, used to resolve collisions between
+     *        values associated with the same key
+     * @return an immutable {@code NavigableMap} whose keys and values are the
+     *         result of applying mapping functions to the input elements
+     * @see MoreCollectors#toImmutableNavigableMap(Function, Function, BinaryOperator)
+     * @since 2.3.3
+     */
+    public <K, V> NavigableMap<K, V> toImmutableNavigableMap(Function<? super T, ? extends K> keyMapper,
+            Function<? super T, ? extends V> valMapper, BinaryOperator<V> mergeFunction) {
+        return collect(MoreCollectors.toImmutableNavigableMap(keyMapper, valMapper, mergeFunction));
+    }
+
     /**
      * Drains the stream content into the supplied collection.
      * 
@@ -1779,6 +2094,13 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * The stream content is added into the collection using either
      * {@link Collection#add(Object)} or {@link Collection#addAll(Collection)}
      * method.
+     *
+     * <p>
+     * For parallel stream the concurrent sets are filled directly from all the
+     * threads, a {@link HashSet} is filled from the per-thread partial sets and
+     * an {@link ArrayList} is pre-sized for the {@code SUBSIZED} stream and
+     * every thread sets the elements of its own index range, so the elements
+     * are not copied to an intermediate array.
      * 
      * @param <C> type of the resulting collection
      * @param collection a mutable collection to add new elements into
@@ -1787,9 +2109,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      */
     public <C extends Collection<? super T>> C into(C collection) {
         if (isParallel()) {
-            @SuppressWarnings("unchecked")
-            List<T> list = Arrays.asList((T[]) toArray());
-            collection.addAll(list);
+            CollectionSinks.into(this, collection);
         } else {
             Spliterator<T> spltr = spliterator();
             if (collection instanceof ArrayList) {
@@ -2135,6 +2455,127 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         }).reduce(null, selectFirst());
     }
 
+    /**
+     * Returns an {@link ObjLongStream} which keys are the elements of this
+     * stream and the values are their zero-based indices in this stream.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * <p>
+     * Unlike {@code map(Fn.indexed())} no wrapper object is created per
+     * element and the indices are exact for parallel streams as well: the
+     * {@code SUBSIZED} source is split by its exact sizes, other sources are
+     * split by buffering the batches of elements.
+     *
+     * @return the new stream
+     * @see #mapIndexed(ObjLongFunction)
+     * @since 2.3.3
+     */
+    public ObjLongStream<T> indexed() {
+        return new ObjLongStream<>(new ObjLongSpliterator.Indexed<>(spliterator(), 0), context);
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream and their zero-based indices.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * @param <R> The element type of the new stream
+     * @param mapper a non-interfering, stateless function to apply to each
+     *        element and its index
+     * @return the new stream
+     * @see #indexed()
+     * @since 2.3.3
+     */
+    public <R> StreamEx<R> mapIndexed(ObjLongFunction<? super T, ? extends R> mapper) {
+        return indexed().map(mapper);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream which match
+     * the given predicate tested against the element and its zero-based index.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * @param predicate a non-interfering, stateless predicate to apply to each
+     *        element and its index
+     * @return the new stream
+     * @see #indexed()
+     * @since 2.3.3
+     */
+    public StreamEx<T> filterIndexed(ObjLongPredicate<? super T> predicate) {
+        return indexed().filter(predicate).keys();
+    }
+
+    /**
+     * Performs an action for each element of this stream and its zero-based
+     * index.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * <p>
+     * For parallel stream pipelines this operation does <em>not</em>
+     * guarantee to respect the encounter order of the stream, but every
+     * element is always passed with its actual index.
+     *
+     * @param action a non-interfering action to perform on each element and
+     *        its index
+     * @see #indexed()
+     * @since 2.3.3
+     */
+    public void forEachIndexed(ObjLongConsumer<? super T> action) {
+        indexed().forEach(action);
+    }
+
+    /**
+     * Performs a reduction on the elements of this stream and their
+     * zero-based indices, using the provided identity, accumulation and
+     * combining functions.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * <p>
+     * The accumulator is called sequentially for every split of the stream
+     * with the element and its index, and the partial results are combined
+     * in the encounter order, so the accumulator does not need to be
+     * associative, but the combiner must be compatible with it: for any
+     * {@code u}, {@code combiner.apply(u, accumulator.apply(identity, t, i))}
+     * must be equal to {@code accumulator.apply(u, t, i)}.
+     *
+     * @param <U> The type of the result
+     * @param identity the identity value for the combiner function
+     * @param accumulator a non-interfering, stateless function for
+     *        incorporating an element and its index into a result
+     * @param combiner an associative, non-interfering, stateless function for
+     *        combining two values, which must be compatible with the
+     *        accumulator function
+     * @return the result of the reduction
+     * @see #indexed()
+     * @since 2.3.3
+     */
+    public <U> U reduceIndexed(U identity, BiObjLongFunction<U, ? super T, U> accumulator,
+            BinaryOperator<U> combiner) {
+        ObjLongSpliterator<T> spliterator = new ObjLongSpliterator.Indexed<>(spliterator(), 0);
+        if (!context.parallel) {
+            Box<U> box = new Box<>(identity);
+            spliterator.forEachRemaining((t, i) -> box.a = accumulator.apply(box.a, t, i));
+            return box.a;
+        }
+        return new StreamEx<>(new ObjLongSpliterator.Folded<>(spliterator, identity, accumulator), context).reduce(
+            identity, combiner);
+    }
+
     /**
      * Merge series of adjacent elements which satisfy the given predicate using
      * the merger function and return a new stream.
@@ -2949,6 +3390,24 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return slidingMap(mapper, increment, false);
     }
 
+    /**
+     * Slide with <code>windowSize = 2</code> and the specified
+     * <code>increment</code>, then <code>map</code> by the specified
+     * <code>mapper</code>.
+     *
+     * <p>
+     * With the <code>increment</code> of one the parallel stream is split for
+     * real: every split reads the first elements of the next one ahead, so the
+     * windows crossing the split boundaries are mapped without a sequential
+     * pass. Other increments need the global position of the elements and
+     * are windowed sequentially.
+     * 
+     * @param mapper
+     * @param increment
+     * @param ignoreNotPaired whether to skip the last window which has less
+     *        than <code>2</code> elements instead of padding it with nulls
+     * @return
+     */
     @SuppressWarnings("resource")
     public <R> StreamEx<R> slidingMap(final BiFunction<? super T, ? super T, R> mapper, final int increment,
             final boolean ignoreNotPaired) {
@@ -2958,7 +3417,9 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
             throw new IllegalArgumentException("'increment'=" + increment + " must not be less than 1");
         }
 
-        if (isParallel()) {
+        if (increment == 1) {
+            return new StreamEx<>(new SlidingSpliterator<>(spliterator(), mapper, !ignoreNotPaired), context);
+        } else if (isParallel()) {
             final Function<Tuple2<T, T>, R> mapper2 = p -> mapper.apply(p._1, p._2);
 
             return new StreamEx<>(new UnknownSizeSpliterator.USOfRef<>(this.sequential().slidingMap((a, b) -> Tuple.of(
@@ -3031,6 +3492,24 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return slidingMap(mapper, increment, false);
     }
 
+    /**
+     * Slide with <code>windowSize = 3</code> and the specified
+     * <code>increment</code>, then <code>map</code> by the specified
+     * <code>mapper</code>.
+     *
+     * <p>
+     * With the <code>increment</code> of one the parallel stream is split for
+     * real: every split reads the first elements of the next one ahead, so the
+     * windows crossing the split boundaries are mapped without a sequential
+     * pass. Other increments need the global position of the elements and
+     * are windowed sequentially.
+     * 
+     * @param mapper
+     * @param increment
+     * @param ignoreNotPaired whether to skip the last window which has less
+     *        than <code>3</code> elements instead of padding it with nulls
+     * @return
+     */
     @SuppressWarnings("resource")
     public <R> StreamEx<R> slidingMap(final TriFunction<? super T, ? super T, ? super T, R> mapper, final int increment,
             final boolean ignoreNotPaired) {
@@ -3040,7 +3519,9 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
             throw new IllegalArgumentException("'increment'=" + increment + " must not be less than 1");
         }
 
-        if (isParallel()) {
+        if (increment == 1) {
+            return new StreamEx<>(new SlidingSpliterator<>(spliterator(), mapper, !ignoreNotPaired), context);
+        } else if (isParallel()) {
             final Function<Tuple3<T, T, T>, R> mapper2 = p -> mapper.apply(p._1, p._2, p._3);
 
             return new StreamEx<>(new UnknownSizeSpliterator.USOfRef<>(this.sequential().slidingMap((a, b, c) -> Tuple
@@ -3176,12 +3657,52 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
 
         final Map<Object, List<U>> rightKeyMap = StreamEx.of(b).groupTo(rightKeyMapper);
 
-        return flatMap(new Function<T, Stream<Pair<T, U>>>() {
-            @Override
-            public Stream<Pair<T, U>> apply(final T t) {
-                final List<U> v = rightKeyMap.get(leftKeyMapper.apply(t));
+        return mapMulti((T t, Consumer<Pair<T, U>> sink) -> {
+            final List<U> v = rightKeyMap.get(leftKeyMapper.apply(t));
+
+            if (v != null) {
+                for (U u : v) {
+                    sink.accept(Pair.of(t, u));
+                }
+            }
+        });
+    }
+
+    /**
+     * Performs an action for every pair which
+     * {@link #innerJoin(Collection, Function, Function)} would return.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation. No object is allocated per pair. For parallel stream
+     * pipelines the action is called like for {@link #forEach(Consumer)}.
+     *
+     * @param <U> the type of the collection elements
+     * @param <K> the type of the join keys
+     * @param b the collection to join with
+     * @param leftKeyMapper the function to extract the join key from the
+     *        elements of this stream
+     * @param rightKeyMapper the function to extract the join key from the
+     *        collection elements
+     * @param action a non-interfering action to perform on the joined pairs
+     * @since 2.3.3
+     */
+    public <U, K> void innerJoinForEach(final Collection<U> b, final Function<? super T, ? extends K> leftKeyMapper,
+            final Function<? super U, ? extends K> rightKeyMapper, final BiConsumer<? super T, ? super U> action) {
+        Objects.requireNonNull(action);
+        if (b == null || b.size() == 0) {
+            return;
+        }
+
+        final Map<K, List<U>> rightKeyMap = StreamEx.of(b).groupTo(rightKeyMapper);
 
-                return v == null ? StreamEx.<Pair<T, U>> empty() : StreamEx.of(v).map(u -> Pair.of(t, u));
+        forEach(t -> {
+            final List<U> v = rightKeyMap.get(leftKeyMapper.apply(t));
+
+            if (v != null) {
+                for (int i = 0, n = v.size(); i < n; i++) {
+                    action.accept(t, v.get(i));
+                }
             }
         });
     }
@@ -3212,8 +3733,11 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
             return StreamEx.<Pair<T, U>> empty();
         }
 
-        return flatMap(t -> {
-            return StreamEx.of(b).filter(u -> predicate.test(t, u)).map(u -> Pair.of(t, u));
+        return mapMulti((T t, Consumer<Pair<T, U>> sink) -> {
+            for (U u : b) {
+                if (predicate.test(t, u))
+                    sink.accept(Pair.of(t, u));
+            }
         });
     }
 
@@ -3243,10 +3767,15 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         final Map<U, U> joinedRights = new IdentityHashMap<>();
         final boolean isParallelStream = this.isParallel();
 
-        return flatMap(t -> {
+        return mapMulti((T t, Consumer<Pair<T, U>> sink) -> {
             final List<U> v = rightKeyMap.get(leftKeyMapper.apply(t));
 
-            return v == null ? StreamEx.just(Pair.of(t, (U) null)) : StreamEx.of(v).map(u -> {
+            if (v == null) {
+                sink.accept(Pair.of(t, (U) null));
+                return;
+            }
+
+            for (U u : v) {
                 if (isParallelStream) {
                     synchronized (joinedRights) {
                         joinedRights.put(u, u);
@@ -3255,8 +3784,8 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
                     joinedRights.put(u, u);
                 }
 
-                return Pair.of(t, u);
-            });
+                sink.accept(Pair.of(t, u));
+            }
         }).append(StreamEx.of(b).filter(u -> !joinedRights.containsKey(u)).map(u -> Pair.of((T) null, u)));
     }
 
@@ -3284,13 +3813,12 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         final Map<U, U> joinedRights = new IdentityHashMap<>();
         final boolean isParallelStream = this.isParallel();
 
-        return flatMap(new Function<T, Stream<Pair<T, U>>>() {
-            @Override
-            public StreamEx<Pair<T, U>> apply(final T t) {
-                final boolean[] joined = new boolean[1];
+        return mapMulti((T t, Consumer<Pair<T, U>> sink) -> {
+            boolean joined = false;
 
-                return StreamEx.of(b).filter(u -> predicate.test(t, u)).map(u -> {
-                    joined[0] = true;
+            for (U u : b) {
+                if (predicate.test(t, u)) {
+                    joined = true;
 
                     if (isParallelStream) {
                         synchronized (joinedRights) {
@@ -3300,10 +3828,12 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
                         joinedRights.put(u, u);
                     }
 
-                    return Pair.of(t, u);
-                }).append(StreamEx.iterate(joined, f -> f[0] == false ? (f[0] = true) : false, f -> f).map(f -> Pair.of(
-                    t, (U) null)));
+                    sink.accept(Pair.of(t, u));
+                }
             }
+
+            if (!joined)
+                sink.accept(Pair.of(t, (U) null));
         }).append(StreamEx.of(b).filter(u -> !joinedRights.containsKey(u)).map(u -> Pair.of((T) null, u)));
     }
 
@@ -3335,12 +3865,15 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
 
         final Map<Object, List<U>> rightKeyMap = StreamEx.of(b).groupTo(rightKeyMapper);
 
-        return flatMap(new Function<T, Stream<Pair<T, U>>>() {
-            @Override
-            public Stream<Pair<T, U>> apply(final T t) {
-                final List<U> v = rightKeyMap.get(leftKeyMapper.apply(t));
+        return mapMulti((T t, Consumer<Pair<T, U>> sink) -> {
+            final List<U> v = rightKeyMap.get(leftKeyMapper.apply(t));
 
-                return v == null ? StreamEx.just(Pair.of(t, (U) null)) : StreamEx.of(v).map(u -> Pair.of(t, u));
+            if (v == null) {
+                sink.accept(Pair.of(t, (U) null));
+            } else {
+                for (U u : v) {
+                    sink.accept(Pair.of(t, u));
+                }
             }
         });
     }
@@ -3370,17 +3903,18 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
             return map(t -> Pair.of(t, (U) null));
         }
 
-        return flatMap(new Function<T, Stream<Pair<T, U>>>() {
-            @Override
-            public Stream<Pair<T, U>> apply(final T t) {
-                final boolean[] joined = new boolean[1];
-
-                return StreamEx.of(b).filter(u -> predicate.test(t, u)).map(u -> {
-                    joined[0] = true;
-                    return Pair.of(t, u);
-                }).append(StreamEx.iterate(joined, f -> f[0] == false ? (f[0] = true) : false, f -> f).map(f -> Pair.of(
-                    t, (U) null)));
+        return mapMulti((T t, Consumer<Pair<T, U>> sink) -> {
+            boolean joined = false;
+
+            for (U u : b) {
+                if (predicate.test(t, u)) {
+                    joined = true;
+                    sink.accept(Pair.of(t, u));
+                }
             }
+
+            if (!joined)
+                sink.accept(Pair.of(t, (U) null));
         });
     }
 
@@ -3414,22 +3948,22 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         final Map<U, U> joinedRights = new IdentityHashMap<>();
         final boolean isParallelStream = this.isParallel();
 
-        return flatMap(new Function<T, Stream<Pair<T, U>>>() {
-            @Override
-            public Stream<Pair<T, U>> apply(final T t) {
-                final List<U> v = rightKeyMap.get(leftKeyMapper.apply(t));
+        return mapMulti((T t, Consumer<Pair<T, U>> sink) -> {
+            final List<U> v = rightKeyMap.get(leftKeyMapper.apply(t));
 
-                return v == null ? StreamEx.<Pair<T, U>> empty() : StreamEx.of(v).map(u -> {
-                    if (isParallelStream) {
-                        synchronized (joinedRights) {
-                            joinedRights.put(u, u);
-                        }
-                    } else {
+            if (v == null)
+                return;
+
+            for (U u : v) {
+                if (isParallelStream) {
+                    synchronized (joinedRights) {
                         joinedRights.put(u, u);
                     }
+                } else {
+                    joinedRights.put(u, u);
+                }
 
-                    return Pair.of(t, u);
-                });
+                sink.accept(Pair.of(t, u));
             }
         }).append(StreamEx.of(b).filter(u -> !joinedRights.containsKey(u)).map(u -> Pair.of((T) null, u)));
     }
@@ -3463,18 +3997,20 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         final Map<U, U> joinedRights = new IdentityHashMap<>();
         final boolean isParallelStream = this.isParallel();
 
-        return flatMap(t -> {
-            return StreamEx.of(b).filter(u -> predicate.test(t, u)).map(u -> {
-                if (isParallelStream) {
-                    synchronized (joinedRights) {
+        return mapMulti((T t, Consumer<Pair<T, U>> sink) -> {
+            for (U u : b) {
+                if (predicate.test(t, u)) {
+                    if (isParallelStream) {
+                        synchronized (joinedRights) {
+                            joinedRights.put(u, u);
+                        }
+                    } else {
                         joinedRights.put(u, u);
                     }
-                } else {
-                    joinedRights.put(u, u);
-                }
 
-                return Pair.of(t, u);
-            });
+                    sink.accept(Pair.of(t, u));
+                }
+            }
         }).append(StreamEx.of(b).filter(u -> !joinedRights.containsKey(u)).map(u -> Pair.of((T) null, u)));
     }
 
@@ -3597,7 +4133,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
             return StreamEx.empty();
         }
 
-        return of(Arrays.spliterator(elements));
+        return of(new RangeBasedSpliterator.RefArray<>(elements, 0, elements.length, false));
     }
 
     /**
@@ -3621,7 +4157,8 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
             return StreamEx.empty();
         }
 
-        return of(Arrays.spliterator(array, startInclusive, endExclusive));
+        rangeCheck(array.length, startInclusive, endExclusive);
+        return of(new RangeBasedSpliterator.RefArray<>(array, startInclusive, endExclusive, false));
     }
 
     /**
@@ -3668,8 +4205,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
             return StreamEx.empty();
         }
 
-        int size = list.size();
-        return IntStreamEx.ofIndices(list).mapToObj(idx -> list.get(size - idx - 1));
+        return of(new RangeBasedSpliterator.RefList<>(list, true));
     }
 
     /**
@@ -3685,8 +4221,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
             return StreamEx.empty();
         }
 
-        int size = array.length;
-        return IntStreamEx.ofIndices(array).mapToObj(idx -> array[size - idx - 1]);
+        return of(new RangeBasedSpliterator.RefArray<>(array, 0, array.length, true));
     }
 
     /**
@@ -4454,6 +4989,89 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return zip(Arrays.asList(first), Arrays.asList(second), mapper);
     }
 
+    /**
+     * Performs an action for every pair of the corresponding values in given
+     * two lists, in the list order. The action is performed
+     * <code>Math.min(first.size(), second.size())</code> times.
+     *
+     * <p>
+     * It works like {@code zip(first, second, mapper).forEach(...)}, but no
+     * object is allocated per pair. The list values are accessed using
+     * {@link List#get(int)}, so the lists should provide fast random access.
+     *
+     * @param <U> the type of the first list elements
+     * @param <V> the type of the second list elements
+     * @param first the first list
+     * @param second the second list
+     * @param action the action to perform on the corresponding values
+     * @see #zip(List, List, BiFunction)
+     * @since 2.3.3
+     */
+    public static <U, V> void zipForEach(List<U> first, List<V> second, BiConsumer<? super U, ? super V> action) {
+        Objects.requireNonNull(action);
+        for (int i = 0, n = Math.min(first.size(), second.size()); i < n; i++) {
+            action.accept(first.get(i), second.get(i));
+        }
+    }
+
+    /**
+     * Performs an action for every pair of the corresponding values in given
+     * two arrays, in the array order. The action is performed
+     * <code>Math.min(first.length, second.length)</code> times.
+     *
+     * @param <U> the type of the first array elements
+     * @param <V> the type of the second array elements
+     * @param first the first array
+     * @param second the second array
+     * @param action the action to perform on the corresponding values
+     * @see #zip(Object[], Object[], BiFunction)
+     * @since 2.3.3
+     */
+    public static <U, V> void zipForEach(U[] first, V[] second, BiConsumer<? super U, ? super V> action) {
+        zipForEach(Arrays.asList(first), Arrays.asList(second), action);
+    }
+
+    /**
+     * Performs an action for every triple of the corresponding values in given
+     * three lists, in the list order. The action is performed as many times as
+     * the size of the shortest list.
+     *
+     * @param <A> the type of the first list elements
+     * @param <B> the type of the second list elements
+     * @param <C> the type of the third list elements
+     * @param first the first list
+     * @param second the second list
+     * @param third the third list
+     * @param action the action to perform on the corresponding values
+     * @since 2.3.3
+     */
+    public static <A, B, C> void zipForEach(List<A> first, List<B> second, List<C> third,
+            TriConsumer<? super A, ? super B, ? super C> action) {
+        Objects.requireNonNull(action);
+        for (int i = 0, n = Math.min(first.size(), Math.min(second.size(), third.size())); i < n; i++) {
+            action.accept(first.get(i), second.get(i), third.get(i));
+        }
+    }
+
+    /**
+     * Performs an action for every triple of the corresponding values in given
+     * three arrays, in the array order. The action is performed as many times
+     * as the length of the shortest array.
+     *
+     * @param <A> the type of the first array elements
+     * @param <B> the type of the second array elements
+     * @param <C> the type of the third array elements
+     * @param first the first array
+     * @param second the second array
+     * @param third the third array
+     * @param action the action to perform on the corresponding values
+     * @since 2.3.3
+     */
+    public static <A, B, C> void zipForEach(A[] first, B[] second, C[] third,
+            TriConsumer<? super A, ? super B, ? super C> action) {
+        zipForEach(Arrays.asList(first), Arrays.asList(second), Arrays.asList(third), action);
+    }
+
     /**
      * Return a new {@link StreamEx} containing all the nodes of tree-like data
      * structure in depth-first order.
@@ -50,8 +50,8 @@ final class StreamExInternals {
     static final Field SOURCE_STAGE;
     static final Field SOURCE_CLOSE_ACTION;
     static final Field SPLITERATOR_ITERATOR;
-    static final VersionSpecific VER_SPEC = System.getProperty("java.version", "")
-            .compareTo("1.9") > 0 ? new Java9Specific() : new VersionSpecific();
+    static final VersionSpecific VER_SPEC = Java16Specific.isSupported() ? new Java16Specific() : System
+            .getProperty("java.version", "").compareTo("1.9") > 0 ? new Java9Specific() : new VersionSpecific();
 
     static {
         Deque<Field> fields = new ArrayDeque<>();
@@ -525,10 +525,56 @@ final class StreamExInternals {
                         suffix, NO_CHARACTERISTICS);
             return new PartialCollector<>(supplier, merger, StringBuilder::toString, NO_CHARACTERISTICS);
         }
+
+        /**
+         * Returns the partial collector which keeps one downstream container
+         * per key in a plain array indexed by the dense key index, so no map
+         * lookup or key boxing happens per element. The containers of two
+         * parts are combined element-wise.
+         *
+         * @param size the number of keys
+         * @param downstream the downstream collector
+         * @param finisher the function to create the result from the array of
+         *        the finished downstream results
+         */
+        @SuppressWarnings("unchecked")
+        static <A, D, R> PartialCollector<Object[], R> dense(int size, Collector<?, A, D> downstream,
+                Function<Object[], R> finisher) {
+            Supplier<A> downstreamSupplier = downstream.supplier();
+            Supplier<Object[]> supplier = () -> {
+                Object[] arr = new Object[size];
+                for (int i = 0; i < size; i++)
+                    arr[i] = downstreamSupplier.get();
+                return arr;
+            };
+            BinaryOperator<A> downstreamCombiner = downstream.combiner();
+            BiConsumer<Object[], Object[]> merger = (left, right) -> {
+                for (int i = 0; i < size; i++)
+                    left[i] = downstreamCombiner.apply((A) left[i], (A) right[i]);
+            };
+            if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+                return new PartialCollector<>(supplier, merger, finisher, NO_CHARACTERISTICS);
+            }
+            Function<A, D> downstreamFinisher = downstream.finisher();
+            return new PartialCollector<>(supplier, merger, arr -> {
+                for (int i = 0; i < size; i++)
+                    arr[i] = downstreamFinisher.apply((A) arr[i]);
+                return finisher.apply(arr);
+            }, NO_CHARACTERISTICS);
+        }
     }
 
     static abstract class CancellableCollector<T, A, R> implements Collector<T, A, R> {
         abstract Predicate<A> finished();
+
+        /**
+         * Returns the supplier of the only accumulation container which is
+         * used when the collector is known to be applied to the sequential
+         * stream, so no other containers will be created and combined.
+         */
+        Supplier<A> sequentialSupplier() {
+            return supplier();
+        }
     }
 
     static final class CancellableCollectorImpl<T, A, R> extends CancellableCollector<T, A, R> {
@@ -1008,6 +1054,13 @@ final class StreamExInternals {
         return null;
     }
 
+    @SuppressWarnings("unchecked")
+    static <A> Supplier<A> sequentialSupplier(Collector<?, A, ?> collector) {
+        if (collector instanceof CancellableCollector)
+            return ((CancellableCollector<?, A, ?>) collector).sequentialSupplier();
+        return collector.supplier();
+    }
+
     @SuppressWarnings("unchecked")
     static <T> T none() {
         return (T) NONE;
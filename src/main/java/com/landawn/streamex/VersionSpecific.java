@@ -16,12 +16,17 @@
 package com.landawn.streamex;
 
 import java.nio.CharBuffer;
+import java.util.List;
 import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.DoublePredicate;
 import java.util.function.IntPredicate;
 import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Tagir Valeev
@@ -53,4 +58,56 @@ import java.util.stream.IntStream;
         // In JDK 9 chars() method for most of implementations is much better
         return CharBuffer.wrap(seq).chars();
     }
+
+    /**
+     * Joins the elements of all the chunks into the single string copying
+     * every element exactly once. The strings and string builders are copied
+     * in bulk.
+     * 
+     * @param chunks the lists of the elements to join
+     * @param length the exact length of the result
+     */
+    String join(List<List<CharSequence>> chunks, int length, String delimiter, String prefix, String suffix) {
+        char[] buf = new char[length];
+        prefix.getChars(0, prefix.length(), buf, 0);
+        int pos = prefix.length();
+        boolean first = true;
+        for (List<CharSequence> chunk : chunks) {
+            for (CharSequence cs : chunk) {
+                if (first) {
+                    first = false;
+                } else {
+                    delimiter.getChars(0, delimiter.length(), buf, pos);
+                    pos += delimiter.length();
+                }
+                pos = getChars(cs, buf, pos);
+            }
+        }
+        suffix.getChars(0, suffix.length(), buf, pos);
+        return new String(buf);
+    }
+
+    private static int getChars(CharSequence cs, char[] buf, int pos) {
+        int len = cs.length();
+        if (cs instanceof String) {
+            ((String) cs).getChars(0, len, buf, pos);
+        } else if (cs instanceof StringBuilder) {
+            ((StringBuilder) cs).getChars(0, len, buf, pos);
+        } else if (cs instanceof StringBuffer) {
+            ((StringBuffer) cs).getChars(0, len, buf, pos);
+        } else {
+            for (int i = 0; i < len; i++) {
+                buf[pos + i] = cs.charAt(i);
+            }
+        }
+        return pos + len;
+    }
+
+    <T, R> Stream<R> mapMulti(AbstractStreamEx<T, ?> stream, BiConsumer<? super T, ? super Consumer<R>> mapper) {
+        return StreamSupport.stream(new MapMultiSpliterator<>(stream.spliterator(), mapper), stream.isParallel());
+    }
+
+    <T> List<T> toImmutableList(AbstractStreamEx<T, ?> stream) {
+        return CompactCollections.list(stream.toArray());
+    }
 }
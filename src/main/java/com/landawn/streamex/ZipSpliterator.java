@@ -22,6 +22,12 @@ import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+import com.landawn.streamex.function.LongDoubleToDoubleFunction;
 
 /**
  * @author Tagir Valeev
@@ -120,28 +126,33 @@ import java.util.function.Consumer;
         return arraySplit();
     }
     
+    /**
+     * Buffers the next chunk of both sources into arrays and returns the zip
+     * of these arrays. The chunk is split further in lock-step and the mapper
+     * is applied by the thread which traverses the chunk, so the sources
+     * which cannot be split (or cannot be split evenly) still parallelize.
+     */
     private Spliterator<R> arraySplit() {
         long s = estimateSize();
         if (s <= 1) return null;
-        int n = batch + BATCH_UNIT;
-        if (n > s)
-            n = (int) s;
-        if (n > MAX_BATCH)
-            n = MAX_BATCH;
-        @SuppressWarnings("unchecked")
-        R[] array = (R[]) new Object[n];
-        int index = drainTo(array, this);
+        int n = chunkSize(batch, s);
+        Object[] us = new Object[n];
+        Object[] vs = new Object[n];
+        int index = 0;
+        while (index < n && left.tryAdvance(l) && right.tryAdvance(r)) {
+            us[index] = l.a;
+            vs[index++] = r.a;
+        }
+        l.a = null;
+        r.a = null;
         if((batch = index) == 0)
             return null;
-        long s2 = estimateSize();
-        USOfRef<R> prefix = new UnknownSizeSpliterator.USOfRef<>(array, 0, index);
-        if(hasCharacteristics(SUBSIZED))
-            prefix.est = index;
-        else if(s == s2)
-            prefix.est = Math.max(index, s/2);
-        else
-            prefix.est = Math.max(index, s2 - s);
-        return prefix;
+        int chars = characteristics() & ORDERED;
+        @SuppressWarnings("unchecked")
+        Spliterator<U> leftChunk = (Spliterator<U>) Spliterators.spliterator(us, 0, index, chars);
+        @SuppressWarnings("unchecked")
+        Spliterator<V> rightChunk = (Spliterator<V>) Spliterators.spliterator(vs, 0, index, chars);
+        return new ZipSpliterator<>(leftChunk, rightChunk, mapper, true);
     }
 
     @Override
@@ -154,4 +165,226 @@ import java.util.function.Consumer;
         // Remove SORTED, NONNULL, DISTINCT
         return left.characteristics() & right.characteristics() & (SIZED | SUBSIZED | ORDERED | IMMUTABLE | CONCURRENT);
     }
+
+    /**
+     * Zips two {@code int} sources without boxing. The sources of the same
+     * size are split together when they're {@code SUBSIZED}, otherwise they're
+     * split in chunks buffered into arrays, like in
+     * {@link ZipSpliterator#arraySplit()}.
+     */
+    static final class OfIntInt implements Spliterator.OfInt {
+        private final Spliterator.OfInt left;
+        private final Spliterator.OfInt right;
+        private final IntBinaryOperator mapper;
+        private int batch = 0;
+        private int l, r;
+        private final IntConsumer lc = x -> l = x;
+        private final IntConsumer rc = x -> r = x;
+
+        OfIntInt(Spliterator.OfInt left, Spliterator.OfInt right, IntBinaryOperator mapper) {
+            this.left = left;
+            this.right = right;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (left.tryAdvance(lc) && right.tryAdvance(rc)) {
+                action.accept(mapper.applyAsInt(l, r));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            if (!hasCharacteristics(SIZED)) {
+                Spliterator.OfInt.super.forEachRemaining(action);
+                return;
+            }
+            if (left.getExactSizeIfKnown() <= right.getExactSizeIfKnown()) {
+                left.forEachRemaining((int u) -> {
+                    if (right.tryAdvance(rc))
+                        action.accept(mapper.applyAsInt(u, r));
+                });
+            } else {
+                right.forEachRemaining((int v) -> {
+                    if (left.tryAdvance(lc))
+                        action.accept(mapper.applyAsInt(l, v));
+                });
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            if (hasCharacteristics(SIZED | SUBSIZED) && left.estimateSize() == right.estimateSize()) {
+                Spliterator.OfInt leftPrefix = left.trySplit();
+                if (leftPrefix == null)
+                    return arraySplit();
+                Spliterator.OfInt rightPrefix = right.trySplit();
+                long leftSize = leftPrefix.estimateSize();
+                if (rightPrefix != null && leftSize == rightPrefix.estimateSize())
+                    return new OfIntInt(leftPrefix, rightPrefix, mapper);
+                // uneven split: both prefixes are buffered along with the
+                // elements which the longer one has and the other one lacks
+                int n = (int) Math.max(leftSize, rightPrefix == null ? 0 : rightPrefix.estimateSize());
+                int[] us = new int[n];
+                int[] vs = new int[n];
+                int[] idx = { 0 };
+                leftPrefix.forEachRemaining((int x) -> us[idx[0]++] = x);
+                for (int i = idx[0]; i < n && left.tryAdvance(lc); i++)
+                    us[i] = l;
+                idx[0] = 0;
+                if (rightPrefix != null)
+                    rightPrefix.forEachRemaining((int x) -> vs[idx[0]++] = x);
+                for (int i = idx[0]; i < n && right.tryAdvance(rc); i++)
+                    vs[i] = r;
+                return new RangeBasedSpliterator.ZipInt(0, n, mapper, us, vs);
+            }
+            return arraySplit();
+        }
+
+        private Spliterator.OfInt arraySplit() {
+            long s = estimateSize();
+            if (s <= 1)
+                return null;
+            int n = chunkSize(batch, s);
+            int[] us = new int[n];
+            int[] vs = new int[n];
+            int index = 0;
+            while (index < n && left.tryAdvance(lc) && right.tryAdvance(rc)) {
+                us[index] = l;
+                vs[index++] = r;
+            }
+            if ((batch = index) == 0)
+                return null;
+            return new RangeBasedSpliterator.ZipInt(0, index, mapper, us, vs);
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.min(left.estimateSize(), right.estimateSize());
+        }
+
+        @Override
+        public int characteristics() {
+            return left.characteristics() & right.characteristics() & (SIZED | SUBSIZED | ORDERED | IMMUTABLE
+                | CONCURRENT);
+        }
+    }
+
+    /**
+     * Zips a {@code long} and a {@code double} source without boxing. The
+     * sources are split like in {@link OfIntInt}.
+     */
+    static final class OfLongDouble implements Spliterator.OfDouble {
+        private final Spliterator.OfLong left;
+        private final Spliterator.OfDouble right;
+        private final LongDoubleToDoubleFunction mapper;
+        private int batch = 0;
+        private long l;
+        private double r;
+        private final LongConsumer lc = x -> l = x;
+        private final DoubleConsumer rc = x -> r = x;
+
+        OfLongDouble(Spliterator.OfLong left, Spliterator.OfDouble right, LongDoubleToDoubleFunction mapper) {
+            this.left = left;
+            this.right = right;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (left.tryAdvance(lc) && right.tryAdvance(rc)) {
+                action.accept(mapper.applyAsDouble(l, r));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            if (!hasCharacteristics(SIZED)) {
+                Spliterator.OfDouble.super.forEachRemaining(action);
+                return;
+            }
+            if (left.getExactSizeIfKnown() <= right.getExactSizeIfKnown()) {
+                left.forEachRemaining((long u) -> {
+                    if (right.tryAdvance(rc))
+                        action.accept(mapper.applyAsDouble(u, r));
+                });
+            } else {
+                right.forEachRemaining((double v) -> {
+                    if (left.tryAdvance(lc))
+                        action.accept(mapper.applyAsDouble(l, v));
+                });
+            }
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            if (hasCharacteristics(SIZED | SUBSIZED) && left.estimateSize() == right.estimateSize()) {
+                Spliterator.OfLong leftPrefix = left.trySplit();
+                if (leftPrefix == null)
+                    return arraySplit();
+                Spliterator.OfDouble rightPrefix = right.trySplit();
+                long leftSize = leftPrefix.estimateSize();
+                if (rightPrefix != null && leftSize == rightPrefix.estimateSize())
+                    return new OfLongDouble(leftPrefix, rightPrefix, mapper);
+                // uneven split: both prefixes are buffered along with the
+                // elements which the longer one has and the other one lacks
+                int n = (int) Math.max(leftSize, rightPrefix == null ? 0 : rightPrefix.estimateSize());
+                long[] us = new long[n];
+                double[] vs = new double[n];
+                int[] idx = { 0 };
+                leftPrefix.forEachRemaining((long x) -> us[idx[0]++] = x);
+                for (int i = idx[0]; i < n && left.tryAdvance(lc); i++)
+                    us[i] = l;
+                idx[0] = 0;
+                if (rightPrefix != null)
+                    rightPrefix.forEachRemaining((double x) -> vs[idx[0]++] = x);
+                for (int i = idx[0]; i < n && right.tryAdvance(rc); i++)
+                    vs[i] = r;
+                return new RangeBasedSpliterator.ZipLongDouble(0, n, mapper, us, vs);
+            }
+            return arraySplit();
+        }
+
+        private Spliterator.OfDouble arraySplit() {
+            long s = estimateSize();
+            if (s <= 1)
+                return null;
+            int n = chunkSize(batch, s);
+            long[] us = new long[n];
+            double[] vs = new double[n];
+            int index = 0;
+            while (index < n && left.tryAdvance(lc) && right.tryAdvance(rc)) {
+                us[index] = l;
+                vs[index++] = r;
+            }
+            if ((batch = index) == 0)
+                return null;
+            return new RangeBasedSpliterator.ZipLongDouble(0, index, mapper, us, vs);
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.min(left.estimateSize(), right.estimateSize());
+        }
+
+        @Override
+        public int characteristics() {
+            return left.characteristics() & right.characteristics() & (SIZED | SUBSIZED | ORDERED | IMMUTABLE
+                | CONCURRENT);
+        }
+    }
+
+    static int chunkSize(int batch, long size) {
+        int n = batch + BATCH_UNIT;
+        if (n > size)
+            n = (int) size;
+        if (n > MAX_BATCH)
+            n = MAX_BATCH;
+        return n;
+    }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.streamex.function;
+
+/**
+ * Represents a function that accepts two object-valued arguments and a
+ * {@code long}-valued argument, and produces a result. It's typically used as
+ * an index-aware accumulator.
+ *
+ * @param <T> the type of the first argument to the function
+ * @param <U> the type of the second argument to the function
+ * @param <R> the type of the result of the function
+ * @since 2.3.3
+ */
+@FunctionalInterface
+public interface BiObjLongFunction<T, U, R> {
+
+    R apply(T t, U u, long value);
+}
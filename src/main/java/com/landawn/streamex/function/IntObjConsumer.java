@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.streamex.function;
+
+import java.util.Objects;
+
+/**
+ * Represents an operation that accepts an {@code int}-valued and an
+ * object-valued argument, and returns no result. This is the
+ * {@code (int, reference)} specialization of
+ * {@link java.util.function.BiConsumer}.
+ *
+ * @param <T> the type of the object argument to the operation
+ * @since 2.3.3
+ */
+@FunctionalInterface
+public interface IntObjConsumer<T> {
+
+    void accept(int i, T t);
+
+    default IntObjConsumer<T> andThen(IntObjConsumer<? super T> after) {
+        Objects.requireNonNull(after);
+
+        return (i, t) -> {
+            accept(i, t);
+            after.accept(i, t);
+        };
+    }
+}
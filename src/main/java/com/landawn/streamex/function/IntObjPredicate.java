@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.streamex.function;
+
+/**
+ * Represents a predicate (boolean-valued function) of an {@code int}-valued
+ * and an object-valued argument. This is the {@code (int, reference)}
+ * specialization of {@link java.util.function.BiPredicate}.
+ *
+ * @param <T> the type of the object argument to the predicate
+ * @since 2.3.3
+ */
+@FunctionalInterface
+public interface IntObjPredicate<T> {
+
+    boolean test(int i, T t);
+
+    default IntObjPredicate<T> negate() {
+        return (i, t) -> !test(i, t);
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex.function;
+
+/**
+ * Represents an operation upon three {@code int}-valued operands and producing
+ * a {@code int}-valued result. This is the primitive type specialization of
+ * {@link TriFunction} for {@code int}.
+ *
+ * @since 2.3.3
+ */
+@FunctionalInterface
+public interface IntTernaryOperator {
+
+    int applyAsInt(int a, int b, int c);
+}
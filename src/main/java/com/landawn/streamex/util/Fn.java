@@ -47,10 +47,12 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.*;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * Factory utility class for functional interfaces.
@@ -327,6 +329,120 @@ public final class Fn extends Comparators {
         };
     }
 
+    /**
+     * Returns a thread-safe function which caches up to {@code maxSize}
+     * results of the supplied function, evicting them according to the given
+     * policy.
+     * 
+     * <p>
+     * The cache is set-associative: the policy chooses the victim among the
+     * few entries which may hold the new key, so it approximates the global
+     * LRU or LFU order. The capacity is rounded up to a multiple of the set
+     * size, so the cache may hold a few more than {@code maxSize} results.
+     * Lookups don't lock and concurrent misses of the same key may call the
+     * function more than once.
+     * 
+     * @param func the function to memoize
+     * @param maxSize the maximal number of cached results
+     * @param policy the eviction policy
+     * @return the memoizing function
+     * @throws IllegalArgumentException if {@code maxSize} is not positive
+     * @since 2.3.3
+     */
+    public static <T, R> MemoizedFunction<T, R> memoize(final Function<? super T, ? extends R> func, final int maxSize,
+            final EvictionPolicy policy) {
+        return new MemoCache.OfObj<>(func, maxSize, policy, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns a thread-safe function which caches up to {@code maxSize}
+     * results of the supplied function for the given time, evicting the least
+     * recently used results when the cache is full.
+     * 
+     * @param func the function to memoize
+     * @param maxSize the maximal number of cached results
+     * @param expireAfter how long a result stays valid after it's computed
+     * @param unit the unit of {@code expireAfter}
+     * @return the memoizing function
+     * @throws IllegalArgumentException if {@code maxSize} or
+     *         {@code expireAfter} is not positive
+     * @see #memoize(Function, int, EvictionPolicy)
+     * @since 2.3.3
+     */
+    public static <T, R> MemoizedFunction<T, R> memoize(final Function<? super T, ? extends R> func, final int maxSize,
+            final long expireAfter, final TimeUnit unit) {
+        return new MemoCache.OfObj<>(func, maxSize, EvictionPolicy.LRU, MemoCache.checkExpireAfter(
+            expireAfter), unit);
+    }
+
+    /**
+     * The {@code int}-keyed variant of
+     * {@link #memoize(Function, int, EvictionPolicy)} which doesn't box the
+     * keys.
+     * 
+     * @param func the function to memoize
+     * @param maxSize the maximal number of cached results
+     * @param policy the eviction policy
+     * @return the memoizing function
+     * @since 2.3.3
+     */
+    public static <R> MemoizedIntFunction<R> memoizeInt(final IntFunction<? extends R> func, final int maxSize,
+            final EvictionPolicy policy) {
+        return new MemoCache.OfInt<>(func, maxSize, policy, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The {@code int}-keyed variant of
+     * {@link #memoize(Function, int, long, TimeUnit)} which doesn't box the
+     * keys.
+     * 
+     * @param func the function to memoize
+     * @param maxSize the maximal number of cached results
+     * @param expireAfter how long a result stays valid after it's computed
+     * @param unit the unit of {@code expireAfter}
+     * @return the memoizing function
+     * @since 2.3.3
+     */
+    public static <R> MemoizedIntFunction<R> memoizeInt(final IntFunction<? extends R> func, final int maxSize,
+            final long expireAfter, final TimeUnit unit) {
+        return new MemoCache.OfInt<>(func, maxSize, EvictionPolicy.LRU, MemoCache.checkExpireAfter(
+            expireAfter), unit);
+    }
+
+    /**
+     * The {@code long}-keyed variant of
+     * {@link #memoize(Function, int, EvictionPolicy)} which doesn't box the
+     * keys.
+     * 
+     * @param func the function to memoize
+     * @param maxSize the maximal number of cached results
+     * @param policy the eviction policy
+     * @return the memoizing function
+     * @since 2.3.3
+     */
+    public static <R> MemoizedLongFunction<R> memoizeLong(final LongFunction<? extends R> func, final int maxSize,
+            final EvictionPolicy policy) {
+        return new MemoCache.OfLong<>(func, maxSize, policy, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The {@code long}-keyed variant of
+     * {@link #memoize(Function, int, long, TimeUnit)} which doesn't box the
+     * keys.
+     * 
+     * @param func the function to memoize
+     * @param maxSize the maximal number of cached results
+     * @param expireAfter how long a result stays valid after it's computed
+     * @param unit the unit of {@code expireAfter}
+     * @return the memoizing function
+     * @since 2.3.3
+     */
+    public static <R> MemoizedLongFunction<R> memoizeLong(final LongFunction<? extends R> func, final int maxSize,
+            final long expireAfter, final TimeUnit unit) {
+        return new MemoCache.OfLong<>(func, maxSize, EvictionPolicy.LRU, MemoCache.checkExpireAfter(
+            expireAfter), unit);
+    }
+
     public static Runnable close(final AutoCloseable closeable) {
         return new Runnable() {
             private volatile boolean isClosed = false;
@@ -1146,6 +1262,16 @@ public final class Fn extends Comparators {
     }
 
     /**
+     * Returns a stateful predicate which accepts only the first {@code limit}
+     * tested elements which match the given predicate. The supplied predicate
+     * is not tested for the elements after the limit is reached.
+     * 
+     * <p>
+     * The returned predicate is thread-safe: the permits are spread over
+     * several counters, so the parallel threads don't contend on a single
+     * one. It's a {@link StatefulPredicate}, so {@code StreamEx.filter} uses
+     * a plain counter for a sequential stream and gives the permits to the
+     * first elements in the encounter order for an ordered parallel stream.
      * 
      * @param limit
      * @param predicate
@@ -1154,12 +1280,47 @@ public final class Fn extends Comparators {
     public static <T> Predicate<T> limitThenFilter(final int limit, final Predicate<T> predicate) {
         Objects.requireNonNull(predicate);
 
-        return new Predicate<T>() {
-            private final AtomicInteger counter = new AtomicInteger(limit);
+        return new StatefulPredicate<T>() {
+            private final StripedLimit counter = new StripedLimit(limit);
 
             @Override
             public boolean test(T t) {
-                return counter.getAndDecrement() > 0 && predicate.test(t);
+                return counter.acquire() && predicate.test(t);
+            }
+
+            @Override
+            public Sequential<T> sequential() {
+                return new Sequential<T>() {
+                    // -1 until the permits are taken from the counter
+                    private int permits = -1;
+
+                    @Override
+                    public boolean test(T t) {
+                        if (permits < 0)
+                            permits = counter.drain();
+                        if (permits == 0)
+                            return false;
+                        permits--;
+                        return predicate.test(t);
+                    }
+
+                    @Override
+                    public void flush() {
+                        if (permits > 0)
+                            counter.release(permits);
+                        permits = -1;
+                    }
+                };
+            }
+
+            @Override
+            public boolean isOrderDependent() {
+                return true;
+            }
+
+            @Override
+            public <R extends T> Stream<R> filterOrdered(Stream<R> stream) {
+                return stream.limit(counter.remaining()).filter(this);
             }
         };
     }
@@ -1168,24 +1329,76 @@ public final class Fn extends Comparators {
         Objects.requireNonNull(predicate);
 
         return new BiPredicate<T, U>() {
-            private final AtomicInteger counter = new AtomicInteger(limit);
+            private final StripedLimit counter = new StripedLimit(limit);
 
             @Override
             public boolean test(T t, U u) {
-                return counter.getAndDecrement() > 0 && predicate.test(t, u);
+                return counter.acquire() && predicate.test(t, u);
             }
         };
     }
 
+    /**
+     * Returns a stateful predicate which accepts only the first {@code limit}
+     * tested elements which match the given predicate.
+     * 
+     * <p>
+     * The returned predicate is thread-safe: the permits are spread over
+     * several counters, so the parallel threads don't contend on a single
+     * one. It's a {@link StatefulPredicate}, so {@code StreamEx.filter} uses
+     * a plain counter for a sequential stream and gives the permits to the
+     * first elements in the encounter order for an ordered parallel stream.
+     * 
+     * @param predicate
+     * @param limit
+     * @return
+     */
     public static <T> Predicate<T> filterThenLimit(final Predicate<T> predicate, final int limit) {
         Objects.requireNonNull(predicate);
 
-        return new Predicate<T>() {
-            private final AtomicInteger counter = new AtomicInteger(limit);
+        return new StatefulPredicate<T>() {
+            private final StripedLimit counter = new StripedLimit(limit);
 
             @Override
             public boolean test(T t) {
-                return predicate.test(t) && counter.getAndDecrement() > 0;
+                return predicate.test(t) && counter.acquire();
+            }
+
+            @Override
+            public Sequential<T> sequential() {
+                return new Sequential<T>() {
+                    // -1 until the permits are taken from the counter
+                    private int permits = -1;
+
+                    @Override
+                    public boolean test(T t) {
+                        if (!predicate.test(t))
+                            return false;
+                        if (permits < 0)
+                            permits = counter.drain();
+                        if (permits == 0)
+                            return false;
+                        permits--;
+                        return true;
+                    }
+
+                    @Override
+                    public void flush() {
+                        if (permits > 0)
+                            counter.release(permits);
+                        permits = -1;
+                    }
+                };
+            }
+
+            @Override
+            public boolean isOrderDependent() {
+                return true;
+            }
+
+            @Override
+            public <R extends T> Stream<R> filterOrdered(Stream<R> stream) {
+                return stream.filter(predicate).limit(counter.remaining()).filter(t -> counter.acquire());
             }
         };
     }
@@ -1194,11 +1407,11 @@ public final class Fn extends Comparators {
         Objects.requireNonNull(predicate);
 
         return new BiPredicate<T, U>() {
-            private final AtomicInteger counter = new AtomicInteger(limit);
+            private final StripedLimit counter = new StripedLimit(limit);
 
             @Override
             public boolean test(T t, U u) {
-                return predicate.test(t, u) && counter.getAndDecrement() > 0;
+                return predicate.test(t, u) && counter.acquire();
             }
         };
     }
@@ -1208,6 +1421,7 @@ public final class Fn extends Comparators {
      * parallel stream.
      * 
      * @return
+     * @see com.landawn.streamex.StreamEx#mapIndexed(com.landawn.streamex.function.ObjLongFunction)
      */
     public static <T> Function<T, Indexed<T>> indexed() {
         return new Function<T, Indexed<T>>() {
@@ -1314,6 +1528,248 @@ public final class Fn extends Comparators {
         return BinaryOperators.REPLACING_MERGER;
     }
 
+    /**
+     * The policy which selects the cached result to evict.
+     * 
+     * @since 2.3.3
+     */
+    public static enum EvictionPolicy {
+        /** evict the least recently used result */
+        LRU,
+        /** evict the least frequently used result */
+        LFU
+    }
+
+    /**
+     * Immutable snapshot of the counters of a memoizing function.
+     * 
+     * @since 2.3.3
+     */
+    public static final class CacheStats {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+
+        CacheStats(long hitCount, long missCount, long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        public long hitCount() {
+            return hitCount;
+        }
+
+        public long missCount() {
+            return missCount;
+        }
+
+        public long evictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return the ratio of hits to all the calls, or {@code 1.0} if there
+         *         were no calls
+         */
+        public double hitRate() {
+            long total = hitCount + missCount;
+            return total == 0 ? 1.0 : (double) hitCount / total;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStats{hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + "}";
+        }
+    }
+
+    /**
+     * A memoizing {@code Function} created by
+     * {@link Fn#memoize(Function, int, EvictionPolicy)}.
+     * 
+     * @since 2.3.3
+     */
+    public static interface MemoizedFunction<T, R> extends Function<T, R> {
+        CacheStats stats();
+
+        /**
+         * Removes all the cached results. The counters are not reset.
+         */
+        void clear();
+    }
+
+    /**
+     * A memoizing {@code IntFunction} created by
+     * {@link Fn#memoizeInt(IntFunction, int, EvictionPolicy)}.
+     * 
+     * @since 2.3.3
+     */
+    public static interface MemoizedIntFunction<R> extends IntFunction<R> {
+        CacheStats stats();
+
+        /**
+         * Removes all the cached results. The counters are not reset.
+         */
+        void clear();
+    }
+
+    /**
+     * A memoizing {@code LongFunction} created by
+     * {@link Fn#memoizeLong(LongFunction, int, EvictionPolicy)}.
+     * 
+     * @since 2.3.3
+     */
+    public static interface MemoizedLongFunction<R> extends LongFunction<R> {
+        CacheStats stats();
+
+        /**
+         * Removes all the cached results. The counters are not reset.
+         */
+        void clear();
+    }
+
+    /**
+     * A thread-safe stateful predicate, like the ones returned by
+     * {@link Fn#limitThenFilter(int, Predicate)} or
+     * {@link Predicates#distinctBy(Function)}.
+     * 
+     * <p>
+     * {@code StreamEx.filter} recognizes such predicates: it tests the
+     * elements with the {@link #sequential()} variant unless the stream is
+     * actually split for parallel processing, and it filters the ordered
+     * parallel streams with {@link #filterOrdered(Stream)} for the
+     * {@link #isOrderDependent() order-dependent} predicates. The sequential
+     * variant publishes its state changes when it's flushed, so the same
+     * predicate may be reused by several streams.
+     * 
+     * @param <T> the type of the input to the predicate
+     * @since 2.3.3
+     */
+    public static interface StatefulPredicate<T> extends Predicate<T> {
+        /**
+         * Returns a predicate to be used by a single thread, which keeps the
+         * state in plain fields instead of the thread-safe structures. The
+         * state changes become visible to this predicate when the returned
+         * predicate is {@link Sequential#flush() flushed}, and this predicate
+         * must not be used meanwhile.
+         * 
+         * @return a predicate to be used by a single thread
+         */
+        Sequential<T> sequential();
+
+        /**
+         * Returns true if the accepted elements depend on the order in which
+         * the elements are tested, like for the limiting predicates.
+         * 
+         * @return true if this predicate is order-dependent
+         */
+        default boolean isOrderDependent() {
+            return false;
+        }
+
+        /**
+         * Filters the ordered parallel stream, so the same elements are
+         * accepted as if the stream were sequential. The default
+         * implementation just filters with this predicate.
+         * 
+         * @param <R> the type of the stream elements
+         * @param stream the ordered stream to filter
+         * @return the filtered stream
+         */
+        default <R extends T> Stream<R> filterOrdered(Stream<R> stream) {
+            return stream.filter(this);
+        }
+
+        /**
+         * The single-thread variant of the {@link StatefulPredicate}.
+         * 
+         * @param <T> the type of the input to the predicate
+         */
+        public static interface Sequential<T> extends Predicate<T> {
+            /**
+             * Publishes the state changes to the thread-safe predicate.
+             */
+            void flush();
+        }
+    }
+
+    /**
+     * Exact thread-safe countdown of the permits. The permits are spread over
+     * the padded cells, so different threads usually update different cache
+     * lines. A thread takes the permits from other cells only when its own
+     * cell is exhausted.
+     */
+    static final class StripedLimit {
+        // ints per 64-byte cache line
+        private static final int PAD = 16;
+
+        private final AtomicIntegerArray cells;
+        private final int mask;
+        private volatile boolean exhausted;
+
+        StripedLimit(int limit) {
+            int n = limit <= 0 ? 1 : Integer.highestOneBit(Math.min(limit, Runtime.getRuntime()
+                    .availableProcessors()));
+            this.mask = n - 1;
+            this.cells = new AtomicIntegerArray(n * PAD);
+            if (limit <= 0) {
+                exhausted = true;
+            } else {
+                for (int i = 0; i < n; i++) {
+                    cells.set(i * PAD, limit / n + (i < limit % n ? 1 : 0));
+                }
+            }
+        }
+
+        boolean acquire() {
+            if (exhausted)
+                return false;
+            long id = Thread.currentThread().getId();
+            int h = (int) ((id * 0x9E3779B97F4A7C15L) >>> 32);
+            for (int i = 0; i <= mask; i++) {
+                int idx = ((h + i) & mask) * PAD;
+                for (int c = cells.get(idx); c > 0; c = cells.get(idx)) {
+                    if (cells.compareAndSet(idx, c, c - 1))
+                        return true;
+                }
+            }
+            exhausted = true;
+            return false;
+        }
+
+        /**
+         * Takes all the remaining permits, so they can be counted by a single
+         * thread without atomic updates.
+         */
+        int drain() {
+            if (exhausted)
+                return 0;
+            int sum = 0;
+            for (int i = 0; i <= mask; i++) {
+                sum += cells.getAndSet(i * PAD, 0);
+            }
+            return sum;
+        }
+
+        /**
+         * Returns the permits taken by {@link #drain()} and not used.
+         */
+        void release(int permits) {
+            cells.addAndGet(0, permits);
+            exhausted = false;
+        }
+
+        int remaining() {
+            if (exhausted)
+                return 0;
+            int sum = 0;
+            for (int i = 0; i <= mask; i++) {
+                sum += cells.get(i * PAD);
+            }
+            return sum;
+        }
+    }
+
     public static class Factory {
         private static final IntFunction<boolean[]> BOOLEAN_ARRAY = new IntFunction<boolean[]>() {
             @Override
@@ -1936,24 +2392,60 @@ public final class Fn extends Comparators {
             };
         }
 
+        /**
+         * Returns a stateful thread-safe predicate which accepts only the
+         * first occurrence of every element (see {@link StatefulPredicate}).
+         * 
+         * @return
+         */
         public static <T> Predicate<T> distinctBy() {
-            return new Predicate<T>() {
-                private final Map<Object, Object> map = new ConcurrentHashMap<>();
-
-                @Override
-                public boolean test(T value) {
-                    return map.put(value, NONE) == null;
-                }
-            };
+            return distinctBy(Function.identity());
         }
 
+        /**
+         * Returns a stateful thread-safe predicate which accepts only the
+         * first element for every key produced by the mapper (see
+         * {@link StatefulPredicate}).
+         * 
+         * @param mapper
+         * @return
+         */
         public static <T> Predicate<T> distinctBy(final Function<? super T, ?> mapper) {
-            return new Predicate<T>() {
-                private final Map<Object, Object> map = new ConcurrentHashMap<>();
+            Objects.requireNonNull(mapper);
+
+            return new StatefulPredicate<T>() {
+                private final Set<Object> set = ConcurrentHashMap.newKeySet();
 
                 @Override
                 public boolean test(T value) {
-                    return map.put(mapper.apply(value), NONE) == null;
+                    Object key = mapper.apply(value);
+                    // repeated keys are only read, so they don't lock the bin
+                    return !set.contains(key) && set.add(key);
+                }
+
+                @Override
+                public Sequential<T> sequential() {
+                    return new Sequential<T>() {
+                        // the shared set is not read while it's empty
+                        private final boolean fresh = set.isEmpty();
+                        private final Set<Object> seen = new HashSet<>();
+                        private final List<Object> added = new ArrayList<>();
+
+                        @Override
+                        public boolean test(T value) {
+                            Object key = mapper.apply(value);
+                            if (!fresh && set.contains(key) || !seen.add(key))
+                                return false;
+                            added.add(key);
+                            return true;
+                        }
+
+                        @Override
+                        public void flush() {
+                            set.addAll(added);
+                            added.clear();
+                        }
+                    };
                 }
             };
         }
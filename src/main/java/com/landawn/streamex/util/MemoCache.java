@@ -0,0 +1,300 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+
+import com.landawn.streamex.util.Fn.CacheStats;
+import com.landawn.streamex.util.Fn.EvictionPolicy;
+import com.landawn.streamex.util.Fn.MemoizedFunction;
+import com.landawn.streamex.util.Fn.MemoizedIntFunction;
+import com.landawn.streamex.util.Fn.MemoizedLongFunction;
+
+/**
+ * Bounded thread-safe cache backing the {@code Fn.memoize} functions.
+ *
+ * <p>
+ * The cache is set-associative: a key can be stored only in one of
+ * {@code ways} slots of its set, and the eviction policy selects the victim
+ * among them. Lookups don't take locks and don't write shared memory except
+ * the rarely updated recency/frequency of the found entry. Concurrent misses
+ * of the same key may compute the value more than once; only one result is
+ * stored.
+ *
+ * @since 2.3.3
+ */
+/* package */abstract class MemoCache {
+    private static final int WAYS = 8;
+    private static final int LFU_LOG_FACTOR = 10;
+    private static final int LFU_MAX = 255;
+
+    private final Entry[] table;
+    private final int sets;
+    private final int ways;
+    private final boolean lfu;
+    private final long ttlNanos;
+    // logical time advanced by misses; racy updates are fine
+    private long clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    MemoCache(int maxSize, EvictionPolicy policy, long expireAfter, TimeUnit unit) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        this.ways = Math.min(WAYS, maxSize);
+        // rounded up, so the cache holds at least maxSize results
+        this.sets = (maxSize - 1) / ways + 1;
+        this.table = new Entry[sets * ways];
+        this.lfu = Objects.requireNonNull(policy) == EvictionPolicy.LFU;
+        // zero means that the results never expire
+        this.ttlNanos = expireAfter == 0 ? 0 : Math.max(1, unit.toNanos(expireAfter));
+    }
+
+    static long checkExpireAfter(long expireAfter) {
+        if (expireAfter <= 0)
+            throw new IllegalArgumentException("expireAfter must be positive: " + expireAfter);
+        return expireAfter;
+    }
+
+    static abstract class Entry {
+        final Object value;
+        final long expiresAt;
+        long stamp;
+        int freq = 1;
+
+        Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    static final class ObjEntry extends Entry {
+        final int hash;
+        final Object key;
+
+        ObjEntry(int hash, Object key, Object value, long expiresAt) {
+            super(value, expiresAt);
+            this.hash = hash;
+            this.key = key;
+        }
+    }
+
+    static final class IntEntry extends Entry {
+        final int key;
+
+        IntEntry(int key, Object value, long expiresAt) {
+            super(value, expiresAt);
+            this.key = key;
+        }
+    }
+
+    static final class LongEntry extends Entry {
+        final long key;
+
+        LongEntry(long key, Object value, long expiresAt) {
+            super(value, expiresAt);
+            this.key = key;
+        }
+    }
+
+    final int base(int hash) {
+        int h = hash * 0x9E3779B9;
+        return ((h ^ (h >>> 16)) & 0x7fffffff) % sets * ways;
+    }
+
+    final long now() {
+        return ttlNanos == 0 ? 0 : System.nanoTime();
+    }
+
+    final long expiresAt(long now) {
+        return ttlNanos == 0 ? 0 : now + ttlNanos;
+    }
+
+    final boolean alive(Entry e, long now) {
+        return ttlNanos == 0 || e.expiresAt - now > 0;
+    }
+
+    final Entry[] table() {
+        return table;
+    }
+
+    final int ways() {
+        return ways;
+    }
+
+    final Object hit(Entry e) {
+        hits.increment();
+        long c = clock;
+        if (e.stamp != c)
+            e.stamp = c;
+        if (lfu) {
+            int f = e.freq;
+            if (f < LFU_MAX && ThreadLocalRandom.current().nextInt(f * LFU_LOG_FACTOR) == 0)
+                e.freq = f + 1;
+        }
+        return e.value;
+    }
+
+    final void miss() {
+        misses.increment();
+    }
+
+    final void store(int base, Entry e, long now) {
+        long c = ++clock;
+        e.stamp = c;
+        Entry[] t = table;
+        int victim = base;
+        Entry v = t[base];
+        for (int i = base; i < base + ways; i++) {
+            Entry cur = t[i];
+            if (cur == null || !alive(cur, now)) {
+                victim = i;
+                v = cur;
+                break;
+            }
+            if (lfu ? cur.freq < v.freq || cur.freq == v.freq && cur.stamp < v.stamp : cur.stamp < v.stamp) {
+                victim = i;
+                v = cur;
+            }
+        }
+        if (v != null)
+            evictions.increment();
+        t[victim] = e;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    public void clear() {
+        Arrays.fill(table, null);
+    }
+
+    static final class OfObj<T, R> extends MemoCache implements MemoizedFunction<T, R> {
+        private final Function<? super T, ? extends R> func;
+
+        OfObj(Function<? super T, ? extends R> func, int maxSize, EvictionPolicy policy, long expireAfter,
+                TimeUnit unit) {
+            super(maxSize, policy, expireAfter, unit);
+            this.func = Objects.requireNonNull(func);
+        }
+
+        private Entry find(Object key, int hash, int base, long now) {
+            Entry[] t = table();
+            for (int i = base, end = base + ways(); i < end; i++) {
+                Entry e = t[i];
+                if (e instanceof ObjEntry) {
+                    ObjEntry oe = (ObjEntry) e;
+                    if (oe.hash == hash && Objects.equals(oe.key, key) && alive(oe, now))
+                        return oe;
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public R apply(T key) {
+            int hash = Objects.hashCode(key);
+            int base = base(hash);
+            long now = now();
+            Entry e = find(key, hash, base, now);
+            if (e != null)
+                return (R) hit(e);
+            miss();
+            R value = func.apply(key);
+            if (find(key, hash, base, now) == null)
+                store(base, new ObjEntry(hash, key, value, expiresAt(now)), now);
+            return value;
+        }
+    }
+
+    static final class OfInt<R> extends MemoCache implements MemoizedIntFunction<R> {
+        private final IntFunction<? extends R> func;
+
+        OfInt(IntFunction<? extends R> func, int maxSize, EvictionPolicy policy, long expireAfter, TimeUnit unit) {
+            super(maxSize, policy, expireAfter, unit);
+            this.func = Objects.requireNonNull(func);
+        }
+
+        private Entry find(int key, int base, long now) {
+            Entry[] t = table();
+            for (int i = base, end = base + ways(); i < end; i++) {
+                Entry e = t[i];
+                if (e instanceof IntEntry && ((IntEntry) e).key == key && alive(e, now))
+                    return e;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public R apply(int key) {
+            int base = base(key);
+            long now = now();
+            Entry e = find(key, base, now);
+            if (e != null)
+                return (R) hit(e);
+            miss();
+            R value = func.apply(key);
+            if (find(key, base, now) == null)
+                store(base, new IntEntry(key, value, expiresAt(now)), now);
+            return value;
+        }
+    }
+
+    static final class OfLong<R> extends MemoCache implements MemoizedLongFunction<R> {
+        private final LongFunction<? extends R> func;
+
+        OfLong(LongFunction<? extends R> func, int maxSize, EvictionPolicy policy, long expireAfter, TimeUnit unit) {
+            super(maxSize, policy, expireAfter, unit);
+            this.func = Objects.requireNonNull(func);
+        }
+
+        private Entry find(long key, int base, long now) {
+            Entry[] t = table();
+            for (int i = base, end = base + ways(); i < end; i++) {
+                Entry e = t[i];
+                if (e instanceof LongEntry && ((LongEntry) e).key == key && alive(e, now))
+                    return e;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public R apply(long key) {
+            int base = base(Long.hashCode(key));
+            long now = now();
+            Entry e = find(key, base, now);
+            if (e != null)
+                return (R) hit(e);
+            miss();
+            R value = func.apply(key);
+            if (find(key, base, now) == null)
+                store(base, new LongEntry(key, value, expiresAt(now)), now);
+            return value;
+        }
+    }
+}
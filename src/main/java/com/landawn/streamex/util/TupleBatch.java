@@ -0,0 +1,878 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex.util;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.landawn.streamex.IntStreamEx;
+import com.landawn.streamex.StreamEx;
+
+/**
+ * An immutable columnar batch of tuples: every tuple field is stored in its
+ * own array, which is an {@code int[]}, {@code long[]} or {@code double[]} for
+ * the primitive columns and an {@code Object[]} otherwise.
+ *
+ * <p>
+ * The batch operations work on whole columns and create no object per row
+ * (except the boxed keys of {@link #groupBy(int)} for the primitive key
+ * columns). Streams of {@link Pair}, {@link Triple} or {@link Tuple} can be
+ * converted to the streams of batches using {@link #ofPairs(Stream, int, Class, Class)},
+ * {@link #ofTriples(Stream, int, Class, Class, Class)} or
+ * {@link #ofTuples(Stream, int, Class...)} and back using {@link #toPairs()},
+ * {@link #toTriples()} or {@link #toTuples()}, so the per-row objects are
+ * created only at the edges of the pipeline:
+ *
+ * <pre>{@code
+ * Map<String, TupleBatch> byKey = TupleBatch.ofTriples(triples, 4096, String.class, long.class, double.class)
+ *         .map(b -> b.filterLong(1, ts -> ts >= from))
+ *         .collect(TupleBatch.groupingBy(0));
+ * }</pre>
+ *
+ * <p>
+ * The columns passed to or returned from the batch are not copied, so they
+ * must not be modified while the batch is in use. The column arrays may be
+ * longer than the batch {@link #size()}.
+ *
+ * @since 2.3.3
+ */
+public final class TupleBatch {
+    private final Class<?>[] types;
+    private final Object[] columns;
+    private final int size;
+
+    private TupleBatch(Class<?>[] types, Object[] columns, int size) {
+        this.types = types;
+        this.columns = columns;
+        this.size = size;
+    }
+
+    /**
+     * Creates a single-column batch from the column array, which must be an
+     * {@code int[]}, a {@code long[]}, a {@code double[]} or an object array.
+     *
+     * @param column the column array
+     * @return the new batch
+     * @throws IllegalArgumentException if the column is not an array
+     */
+    public static TupleBatch of(Object column) {
+        return ofColumns(new Object[] { column });
+    }
+
+    /**
+     * Creates a two-column batch from the column arrays. Every column must be
+     * an {@code int[]}, a {@code long[]}, a {@code double[]} or an object
+     * array; both columns must have the same length.
+     *
+     * @param first the first column array
+     * @param second the second column array
+     * @return the new batch
+     * @throws IllegalArgumentException if a column is not an array or the
+     *         lengths of the columns differ
+     */
+    public static TupleBatch of(Object first, Object second) {
+        return ofColumns(new Object[] { first, second });
+    }
+
+    /**
+     * Creates a three-column batch from the column arrays. Every column must
+     * be an {@code int[]}, a {@code long[]}, a {@code double[]} or an object
+     * array; all the columns must have the same length.
+     *
+     * @param first the first column array
+     * @param second the second column array
+     * @param third the third column array
+     * @return the new batch
+     * @throws IllegalArgumentException if a column is not an array or the
+     *         lengths of the columns differ
+     */
+    public static TupleBatch of(Object first, Object second, Object third) {
+        return ofColumns(new Object[] { first, second, third });
+    }
+
+    /**
+     * Creates a batch from the list of the column arrays. Every column must be
+     * an {@code int[]}, a {@code long[]}, a {@code double[]} or an object
+     * array; all the columns must have the same length.
+     *
+     * @param columns the column arrays, one per tuple field
+     * @return the new batch
+     * @throws IllegalArgumentException if the list is empty, a column is not
+     *         an array or the lengths of the columns differ
+     */
+    public static TupleBatch of(List<?> columns) {
+        return ofColumns(columns.toArray());
+    }
+
+    private static TupleBatch ofColumns(Object[] columns) {
+        if (columns.length == 0)
+            throw new IllegalArgumentException("At least one column is required");
+        Class<?>[] types = new Class<?>[columns.length];
+        int size = lengthOf(columns[0]);
+        for (int i = 0; i < columns.length; i++) {
+            types[i] = typeOf(columns[i]);
+            if (lengthOf(columns[i]) != size)
+                throw new IllegalArgumentException("Column " + i + " has length " + lengthOf(columns[i])
+                    + " while " + size + " is expected");
+        }
+        return new TupleBatch(types, columns, size);
+    }
+
+    /**
+     * Returns a stream of batches created from the stream of pairs. The
+     * primitive field types ({@code int.class}, {@code long.class},
+     * {@code double.class}) are stored in the primitive columns and must not
+     * be null in the source pairs.
+     *
+     * <p>
+     * This is a lazy intermediate operation; the resulting stream is parallel
+     * if the source is parallel and every split of the source produces its own
+     * batches.
+     *
+     * @param <L> the type of the pair left values
+     * @param <R> the type of the pair right values
+     * @param pairs the source stream
+     * @param batchSize the maximal number of rows in a batch
+     * @param leftType the type of the left column
+     * @param rightType the type of the right column
+     * @return the stream of batches
+     */
+    public static <L, R> StreamEx<TupleBatch> ofPairs(Stream<? extends Pair<L, R>> pairs, int batchSize,
+            Class<? super L> leftType, Class<? super R> rightType) {
+        return batches(pairs, batchSize, new Class<?>[] { leftType, rightType }, (p, cols, row) -> {
+            set(cols[0], row, p.left);
+            set(cols[1], row, p.right);
+        });
+    }
+
+    /**
+     * Returns a stream of batches created from the stream of triples. The
+     * primitive field types ({@code int.class}, {@code long.class},
+     * {@code double.class}) are stored in the primitive columns and must not
+     * be null in the source triples.
+     *
+     * <p>
+     * This is a lazy intermediate operation; the resulting stream is parallel
+     * if the source is parallel and every split of the source produces its own
+     * batches.
+     *
+     * @param <L> the type of the triple left values
+     * @param <M> the type of the triple middle values
+     * @param <R> the type of the triple right values
+     * @param triples the source stream
+     * @param batchSize the maximal number of rows in a batch
+     * @param leftType the type of the left column
+     * @param middleType the type of the middle column
+     * @param rightType the type of the right column
+     * @return the stream of batches
+     */
+    public static <L, M, R> StreamEx<TupleBatch> ofTriples(Stream<? extends Triple<L, M, R>> triples,
+            int batchSize, Class<? super L> leftType, Class<? super M> middleType, Class<? super R> rightType) {
+        return batches(triples, batchSize, new Class<?>[] { leftType, middleType, rightType }, (t, cols, row) -> {
+            set(cols[0], row, t.left);
+            set(cols[1], row, t.middle);
+            set(cols[2], row, t.right);
+        });
+    }
+
+    /**
+     * Returns a stream of batches created from the stream of tuples of the
+     * given arity. The primitive field types ({@code int.class},
+     * {@code long.class}, {@code double.class}) are stored in the primitive
+     * columns and must not be null in the source tuples.
+     *
+     * <p>
+     * This is a lazy intermediate operation; the resulting stream is parallel
+     * if the source is parallel and every split of the source produces its own
+     * batches.
+     *
+     * @param tuples the source stream
+     * @param batchSize the maximal number of rows in a batch
+     * @param types the types of the columns, one per tuple field
+     * @return the stream of batches
+     */
+    public static StreamEx<TupleBatch> ofTuples(Stream<? extends Tuple> tuples, int batchSize, Class<?>... types) {
+        final int arity = types.length;
+        return batches(tuples, batchSize, types.clone(), (t, cols, row) -> {
+            if (t.arity() != arity)
+                throw new IllegalArgumentException("Tuple of arity " + arity + " is expected: " + t);
+            Object[] a = t.toArray();
+            for (int i = 0; i < arity; i++) {
+                set(cols[i], row, a[i]);
+            }
+        });
+    }
+
+    /**
+     * Returns a collector which concatenates the batches by the values of the
+     * key column. The keys are ordered by the first occurrence.
+     *
+     * @param <K> the type of the keys
+     * @param keyColumn the index of the key column
+     * @return the collector
+     * @see #groupBy(int)
+     */
+    public static <K> Collector<TupleBatch, ?, Map<K, TupleBatch>> groupingBy(int keyColumn) {
+        return Collector.<TupleBatch, Map<K, List<TupleBatch>>, Map<K, TupleBatch>> of(LinkedHashMap::new, (map,
+                batch) -> batch.<K> groupBy(keyColumn).forEach((k, b) -> map.computeIfAbsent(k,
+                    x -> new ArrayList<>()).add(b)), (m1, m2) -> {
+                        m2.forEach((k, list) -> m1.merge(k, list, (l1, l2) -> {
+                            l1.addAll(l2);
+                            return l1;
+                        }));
+                        return m1;
+                    }, map -> {
+                        Map<K, TupleBatch> result = new LinkedHashMap<>();
+                        map.forEach((k, list) -> result.put(k, concat(list)));
+                        return result;
+                    });
+    }
+
+    /**
+     * Concatenates the batches of the same column types into one batch.
+     *
+     * @param batches the batches to concatenate
+     * @return the concatenated batch
+     * @throws IllegalArgumentException if the batches are empty or their
+     *         column types differ
+     */
+    public static TupleBatch concat(Collection<TupleBatch> batches) {
+        Iterator<TupleBatch> it = batches.iterator();
+        if (!it.hasNext())
+            throw new IllegalArgumentException("At least one batch is required");
+        TupleBatch first = it.next();
+        if (!it.hasNext())
+            return first;
+        long total = 0;
+        for (TupleBatch b : batches) {
+            if (!Arrays.equals(first.types, b.types))
+                throw new IllegalArgumentException("Column types differ: " + Arrays.toString(first.types) + " and "
+                    + Arrays.toString(b.types));
+            total += b.size;
+        }
+        if (total > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Batch is too big: " + total);
+        int size = (int) total;
+        Object[] columns = new Object[first.columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            columns[c] = newColumn(first.types[c], size);
+            int pos = 0;
+            for (TupleBatch b : batches) {
+                System.arraycopy(b.columns[c], 0, columns[c], pos, b.size);
+                pos += b.size;
+            }
+        }
+        return new TupleBatch(first.types, columns, size);
+    }
+
+    /**
+     * @return the number of rows in this batch
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of columns in this batch
+     */
+    public int arity() {
+        return columns.length;
+    }
+
+    /**
+     * Returns the type of the column: {@code int.class}, {@code long.class}
+     * or {@code double.class} for the primitive columns or the component
+     * type of the object column.
+     *
+     * @param column the index of the column
+     * @return the type of the column
+     */
+    public Class<?> columnType(int column) {
+        return types[column];
+    }
+
+    /**
+     * Returns the column array itself (not a copy). The array may be longer
+     * than {@link #size()}.
+     *
+     * @param column the index of the column
+     * @return the column array
+     */
+    public Object column(int column) {
+        return columns[column];
+    }
+
+    /**
+     * @param column the index of an {@code int} column
+     * @return the column array itself; it may be longer than {@link #size()}
+     */
+    public int[] intColumn(int column) {
+        return (int[]) checkType(column, int.class);
+    }
+
+    /**
+     * @param column the index of a {@code long} column
+     * @return the column array itself; it may be longer than {@link #size()}
+     */
+    public long[] longColumn(int column) {
+        return (long[]) checkType(column, long.class);
+    }
+
+    /**
+     * @param column the index of a {@code double} column
+     * @return the column array itself; it may be longer than {@link #size()}
+     */
+    public double[] doubleColumn(int column) {
+        return (double[]) checkType(column, double.class);
+    }
+
+    /**
+     * @param <T> the type of the column elements
+     * @param column the index of an object column
+     * @return the column array itself; it may be longer than {@link #size()}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T[] objColumn(int column) {
+        if (types[column].isPrimitive())
+            throw new IllegalArgumentException("Column " + column + " is primitive: " + types[column]);
+        return (T[]) columns[column];
+    }
+
+    /**
+     * Returns the value of the cell boxing it if the column is primitive.
+     *
+     * @param column the index of the column
+     * @param row the index of the row
+     * @return the value of the cell
+     */
+    public Object get(int column, int row) {
+        checkRow(row);
+        Object col = columns[column];
+        if (col instanceof int[])
+            return ((int[]) col)[row];
+        if (col instanceof long[])
+            return ((long[]) col)[row];
+        if (col instanceof double[])
+            return ((double[]) col)[row];
+        return ((Object[]) col)[row];
+    }
+
+    /**
+     * Returns a batch which contains only the rows whose value of the object
+     * column matches the predicate.
+     *
+     * @param <T> the type of the column elements
+     * @param column the index of an object column
+     * @param predicate the predicate to apply to the column values
+     * @return the filtered batch; this batch if all the rows match
+     */
+    public <T> TupleBatch filter(int column, Predicate<? super T> predicate) {
+        T[] a = objColumn(column);
+        int[] rows = new int[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(a[i]))
+                rows[n++] = i;
+        }
+        return select(rows, n);
+    }
+
+    /**
+     * Returns a batch which contains only the rows whose value of the
+     * {@code int} column matches the predicate.
+     *
+     * @param column the index of an {@code int} column
+     * @param predicate the predicate to apply to the column values
+     * @return the filtered batch; this batch if all the rows match
+     */
+    public TupleBatch filterInt(int column, IntPredicate predicate) {
+        int[] a = intColumn(column);
+        int[] rows = new int[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(a[i]))
+                rows[n++] = i;
+        }
+        return select(rows, n);
+    }
+
+    /**
+     * Returns a batch which contains only the rows whose value of the
+     * {@code long} column matches the predicate.
+     *
+     * @param column the index of a {@code long} column
+     * @param predicate the predicate to apply to the column values
+     * @return the filtered batch; this batch if all the rows match
+     */
+    public TupleBatch filterLong(int column, LongPredicate predicate) {
+        long[] a = longColumn(column);
+        int[] rows = new int[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(a[i]))
+                rows[n++] = i;
+        }
+        return select(rows, n);
+    }
+
+    /**
+     * Returns a batch which contains only the rows whose value of the
+     * {@code double} column matches the predicate.
+     *
+     * @param column the index of a {@code double} column
+     * @param predicate the predicate to apply to the column values
+     * @return the filtered batch; this batch if all the rows match
+     */
+    public TupleBatch filterDouble(int column, DoublePredicate predicate) {
+        double[] a = doubleColumn(column);
+        int[] rows = new int[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(a[i]))
+                rows[n++] = i;
+        }
+        return select(rows, n);
+    }
+
+    /**
+     * Returns a batch where the values of the object column are replaced with
+     * the results of the mapper.
+     *
+     * @param <T> the type of the column elements
+     * @param column the index of an object column
+     * @param mapper the function to apply to the column values
+     * @return the new batch
+     */
+    public <T> TupleBatch map(int column, Function<? super T, ?> mapper) {
+        T[] a = objColumn(column);
+        Object[] r = new Object[size];
+        for (int i = 0; i < size; i++) {
+            r[i] = mapper.apply(a[i]);
+        }
+        return replace(column, Object.class, r);
+    }
+
+    /**
+     * Returns a batch where the values of the {@code int} column are replaced
+     * with the results of the mapper.
+     *
+     * @param column the index of an {@code int} column
+     * @param mapper the function to apply to the column values
+     * @return the new batch
+     */
+    public TupleBatch mapInt(int column, IntUnaryOperator mapper) {
+        int[] a = intColumn(column);
+        int[] r = new int[size];
+        for (int i = 0; i < size; i++) {
+            r[i] = mapper.applyAsInt(a[i]);
+        }
+        return replace(column, int.class, r);
+    }
+
+    /**
+     * Returns a batch where the values of the {@code long} column are replaced
+     * with the results of the mapper.
+     *
+     * @param column the index of a {@code long} column
+     * @param mapper the function to apply to the column values
+     * @return the new batch
+     */
+    public TupleBatch mapLong(int column, LongUnaryOperator mapper) {
+        long[] a = longColumn(column);
+        long[] r = new long[size];
+        for (int i = 0; i < size; i++) {
+            r[i] = mapper.applyAsLong(a[i]);
+        }
+        return replace(column, long.class, r);
+    }
+
+    /**
+     * Returns a batch where the values of the {@code double} column are
+     * replaced with the results of the mapper.
+     *
+     * @param column the index of a {@code double} column
+     * @param mapper the function to apply to the column values
+     * @return the new batch
+     */
+    public TupleBatch mapDouble(int column, DoubleUnaryOperator mapper) {
+        double[] a = doubleColumn(column);
+        double[] r = new double[size];
+        for (int i = 0; i < size; i++) {
+            r[i] = mapper.applyAsDouble(a[i]);
+        }
+        return replace(column, double.class, r);
+    }
+
+    /**
+     * Returns a batch with the column replaced by the given array, which may
+     * have a different type.
+     *
+     * @param column the index of the column to replace
+     * @param values the new column array of at least {@link #size()} length
+     * @return the new batch
+     */
+    public TupleBatch withColumn(int column, Object values) {
+        if (column < 0 || column >= columns.length)
+            throw new IndexOutOfBoundsException("Column " + column + " is out of [0, " + columns.length + ")");
+        if (lengthOf(values) < size)
+            throw new IllegalArgumentException("Column is shorter than " + size + ": " + lengthOf(values));
+        return replace(column, typeOf(values), values);
+    }
+
+    /**
+     * Returns a batch which consists of the selected columns of this batch in
+     * the given order. The column arrays are shared.
+     *
+     * @param columns the indices of the columns to select
+     * @return the new batch
+     */
+    public TupleBatch select(int... columns) {
+        Class<?>[] t = new Class<?>[columns.length];
+        Object[] c = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            t[i] = types[columns[i]];
+            c[i] = this.columns[columns[i]];
+        }
+        return new TupleBatch(t, c, size);
+    }
+
+    /**
+     * Splits this batch by the values of the key column. The rows keep their
+     * relative order and the keys are ordered by the first occurrence.
+     *
+     * @param <K> the type of the keys
+     * @param keyColumn the index of the key column
+     * @return the map of the keys to the batches of their rows
+     */
+    @SuppressWarnings("unchecked")
+    public <K> Map<K, TupleBatch> groupBy(int keyColumn) {
+        Map<Object, int[]> ids = new LinkedHashMap<>();
+        int[] groupOf = new int[size];
+        int[] counts = new int[16];
+        for (int i = 0; i < size; i++) {
+            int[] id = ids.get(get(keyColumn, i));
+            if (id == null) {
+                id = new int[] { ids.size() };
+                ids.put(get(keyColumn, i), id);
+                if (id[0] == counts.length)
+                    counts = Arrays.copyOf(counts, counts.length * 2);
+            }
+            groupOf[i] = id[0];
+            counts[id[0]]++;
+        }
+        Map<K, TupleBatch> result = new LinkedHashMap<>();
+        if (ids.size() == 1) {
+            result.put((K) ids.keySet().iterator().next(), this);
+            return result;
+        }
+        // counting sort of the row indices by group
+        int[] offsets = new int[ids.size() + 1];
+        for (int g = 0; g < ids.size(); g++) {
+            offsets[g + 1] = offsets[g] + counts[g];
+        }
+        int[] pos = Arrays.copyOf(offsets, ids.size());
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[pos[groupOf[i]]++] = i;
+        }
+        int g = 0;
+        for (Object key : ids.keySet()) {
+            result.put((K) key, gather(rows, offsets[g], offsets[g + 1]));
+            g++;
+        }
+        return result;
+    }
+
+    /**
+     * @param column the index of an {@code int} or {@code long} column
+     * @return the sum of the column values
+     */
+    public long sumLong(int column) {
+        Object col = columns[column];
+        long sum = 0;
+        if (col instanceof int[]) {
+            int[] a = (int[]) col;
+            for (int i = 0; i < size; i++) {
+                sum += a[i];
+            }
+        } else {
+            long[] a = longColumn(column);
+            for (int i = 0; i < size; i++) {
+                sum += a[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @param column the index of a {@code double} column
+     * @return the sum of the column values
+     */
+    public double sumDouble(int column) {
+        double[] a = doubleColumn(column);
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns a stream of the rows of this batch as pairs.
+     *
+     * @param <L> the type of the left values
+     * @param <R> the type of the right values
+     * @return the stream of pairs
+     * @throws IllegalStateException if the batch arity is not 2
+     */
+    @SuppressWarnings("unchecked")
+    public <L, R> StreamEx<Pair<L, R>> toPairs() {
+        checkArity(2);
+        return IntStreamEx.range(size).mapToObj(i -> Pair.of((L) get(0, i), (R) get(1, i)));
+    }
+
+    /**
+     * Returns a stream of the rows of this batch as triples.
+     *
+     * @param <L> the type of the left values
+     * @param <M> the type of the middle values
+     * @param <R> the type of the right values
+     * @return the stream of triples
+     * @throws IllegalStateException if the batch arity is not 3
+     */
+    @SuppressWarnings("unchecked")
+    public <L, M, R> StreamEx<Triple<L, M, R>> toTriples() {
+        checkArity(3);
+        return IntStreamEx.range(size).mapToObj(i -> Triple.of((L) get(0, i), (M) get(1, i), (R) get(2, i)));
+    }
+
+    /**
+     * Returns a stream of the rows of this batch as tuples of the batch arity.
+     *
+     * @param <T> the type of the tuples
+     * @return the stream of tuples
+     */
+    public <T extends Tuple> StreamEx<T> toTuples() {
+        return IntStreamEx.range(size).mapToObj(i -> {
+            Object[] row = new Object[columns.length];
+            for (int c = 0; c < row.length; c++) {
+                row[c] = get(c, i);
+            }
+            return Tuple.<T> from(row);
+        });
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("TupleBatch[size=").append(size).append(", types=[");
+        for (int i = 0; i < types.length; i++) {
+            sb.append(i == 0 ? "" : ", ").append(types[i].getSimpleName());
+        }
+        return sb.append("]]").toString();
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size)
+            throw new IndexOutOfBoundsException("Row " + row + " is out of [0, " + size + ")");
+    }
+
+    private void checkArity(int arity) {
+        if (columns.length != arity)
+            throw new IllegalStateException("Batch arity is " + columns.length + " while " + arity
+                + " is expected");
+    }
+
+    private Object checkType(int column, Class<?> type) {
+        if (types[column] != type)
+            throw new IllegalArgumentException("Column " + column + " is not of type " + type + ": "
+                + types[column]);
+        return columns[column];
+    }
+
+    private TupleBatch replace(int column, Class<?> type, Object values) {
+        Class<?>[] t = types.clone();
+        Object[] c = columns.clone();
+        t[column] = type;
+        c[column] = values;
+        return new TupleBatch(t, c, size);
+    }
+
+    private TupleBatch select(int[] rows, int n) {
+        return n == size ? this : gather(rows, 0, n);
+    }
+
+    private TupleBatch gather(int[] rows, int from, int to) {
+        int n = to - from;
+        Object[] c = new Object[columns.length];
+        for (int j = 0; j < c.length; j++) {
+            Object src = columns[j];
+            Object dst = newColumn(types[j], n);
+            if (src instanceof int[]) {
+                int[] s = (int[]) src, d = (int[]) dst;
+                for (int i = 0; i < n; i++)
+                    d[i] = s[rows[from + i]];
+            } else if (src instanceof long[]) {
+                long[] s = (long[]) src, d = (long[]) dst;
+                for (int i = 0; i < n; i++)
+                    d[i] = s[rows[from + i]];
+            } else if (src instanceof double[]) {
+                double[] s = (double[]) src, d = (double[]) dst;
+                for (int i = 0; i < n; i++)
+                    d[i] = s[rows[from + i]];
+            } else {
+                Object[] s = (Object[]) src, d = (Object[]) dst;
+                for (int i = 0; i < n; i++)
+                    d[i] = s[rows[from + i]];
+            }
+            c[j] = dst;
+        }
+        return new TupleBatch(types, c, n);
+    }
+
+    private static Class<?> typeOf(Object column) {
+        if (column instanceof int[])
+            return int.class;
+        if (column instanceof long[])
+            return long.class;
+        if (column instanceof double[])
+            return double.class;
+        if (column instanceof Object[])
+            return column.getClass().getComponentType();
+        throw new IllegalArgumentException("Column must be an int[], long[], double[] or object array: "
+            + (column == null ? null : column.getClass()));
+    }
+
+    private static int lengthOf(Object column) {
+        typeOf(column);
+        return Array.getLength(column);
+    }
+
+    private static Object newColumn(Class<?> type, int size) {
+        if (type == int.class)
+            return new int[size];
+        if (type == long.class)
+            return new long[size];
+        if (type == double.class)
+            return new double[size];
+        return Array.newInstance(type, size);
+    }
+
+    private static void set(Object column, int row, Object value) {
+        if (column instanceof long[])
+            ((long[]) column)[row] = ((Number) value).longValue();
+        else if (column instanceof double[])
+            ((double[]) column)[row] = ((Number) value).doubleValue();
+        else if (column instanceof int[])
+            ((int[]) column)[row] = ((Number) value).intValue();
+        else
+            ((Object[]) column)[row] = value;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T t, Object[] columns, int row);
+    }
+
+    private static <T> StreamEx<TupleBatch> batches(Stream<? extends T> source, int batchSize, Class<?>[] types,
+            RowWriter<T> writer) {
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        for (Class<?> type : types) {
+            if (type == null || type.isPrimitive() && type != int.class && type != long.class && type != double.class)
+                throw new IllegalArgumentException("Unsupported column type: " + type);
+        }
+        Spliterator<TupleBatch> spliterator = new BatchSpliterator<>(source.spliterator(), batchSize, types, writer);
+        return StreamEx.of(StreamSupport.stream(spliterator, source.isParallel()).onClose(source::close));
+    }
+
+    private static final class BatchSpliterator<T> implements Spliterator<TupleBatch>, Consumer<T> {
+        private final Spliterator<? extends T> source;
+        private final int batchSize;
+        private final Class<?>[] types;
+        private final RowWriter<T> writer;
+        private Object[] columns;
+        private int row;
+
+        BatchSpliterator(Spliterator<? extends T> source, int batchSize, Class<?>[] types, RowWriter<T> writer) {
+            this.source = source;
+            this.batchSize = batchSize;
+            this.types = types;
+            this.writer = writer;
+        }
+
+        @Override
+        public void accept(T t) {
+            if (columns == null) {
+                // allocated lazily, so an exhausted source costs nothing
+                columns = new Object[types.length];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = newColumn(types[i], batchSize);
+                }
+            }
+            writer.write(t, columns, row++);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super TupleBatch> action) {
+            row = 0;
+            while (row < batchSize && source.tryAdvance(this)) {
+                // empty
+            }
+            Object[] cols = columns;
+            columns = null;
+            if (row == 0)
+                return false;
+            action.accept(new TupleBatch(types, cols, row));
+            return true;
+        }
+
+        @Override
+        public Spliterator<TupleBatch> trySplit() {
+            Spliterator<? extends T> prefix = source.trySplit();
+            return prefix == null ? null : new BatchSpliterator<>(prefix, batchSize, types, writer);
+        }
+
+        @Override
+        public long estimateSize() {
+            long size = source.estimateSize();
+            return size == Long.MAX_VALUE ? size : (size + batchSize - 1) / batchSize;
+        }
+
+        @Override
+        public int characteristics() {
+            return (source.characteristics() & ORDERED) | NONNULL;
+        }
+    }
+}
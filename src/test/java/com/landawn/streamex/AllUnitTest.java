@@ -7,6 +7,7 @@ package com.landawn.streamex;
 import org.junit.runner.RunWith;
 
 import com.landawn.streamex.api.StreamExApiTest;
+import com.landawn.streamex.util.FnTest;
 
 import junit.framework.TestSuite;
 import org.junit.runners.Suite;
@@ -15,6 +16,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
         // 
         StreamExApiTest.class, //
+        FnTest.class, //
         AverageLongTest.class, //
         BaseStreamExTest.class, //
         CharSpliteratorTest.class, //
@@ -28,6 +30,7 @@ import org.junit.runners.Suite;
         EmitterTest.class, //
         EntryStreamTest.class, //
         IntCollectorTest.class, //
+        IntObjStreamTest.class, //
         InternalsTest.class, //
         IntStreamExTest.class, //
         JoiningTest.class, //
@@ -35,6 +38,7 @@ import org.junit.runners.Suite;
         LongCollectorTest.class, //
         LongStreamExTest.class, //
         MoreCollectorsTest.class, //
+        ObjLongStreamTest.class, //
         OrderedCancellableSpliteratorTest.class, //
         PairPermutationSpliteratorTest.class, //
         PairSpliteratorTest.class, //
@@ -18,15 +18,18 @@ package com.landawn.streamex;
 import java.nio.DoubleBuffer;
 import java.util.*;
 import java.util.PrimitiveIterator.OfDouble;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
 import java.util.function.DoubleToIntFunction;
 import java.util.function.DoubleToLongFunction;
 import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
 import java.util.stream.LongStream;
 import java.util.stream.DoubleStream.Builder;
@@ -507,4 +510,58 @@ public class DoubleStreamExTest {
                 .toArray(), 0.0);
         assertEquals(0L, IntStreamEx.empty().intersperse(1).count());
     }
+
+    @Test
+    public void testArrayKernels() {
+        double[] data = new Random(1).doubles(100003, -1, 1).toArray();
+        DoublePredicate p = x -> x > 0;
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int from : new int[] { 0, 1, 50000, 100003 }) {
+                double[] range = Arrays.copyOfRange(data, from, data.length);
+                double[] filtered = DoubleStream.of(range).filter(p).toArray();
+                List<Supplier<DoubleStreamEx>> sources = Arrays.asList(() -> DoubleStreamEx.of(data, from, data.length),
+                    () -> DoubleStreamEx.of(data, from, data.length).parallel(), () -> DoubleStreamEx.of(data, from,
+                        data.length).parallel(pool));
+                for (Supplier<DoubleStreamEx> s : sources) {
+                    assertEquals(DoubleStream.of(range).sum(), s.get().sum(), 1e-9);
+                    assertEquals(DoubleStream.of(range).min(), s.get().min());
+                    assertEquals(DoubleStream.of(range).max(), s.get().max());
+                    assertEquals(range.length, s.get().count());
+                    assertArrayEquals(range, s.get().toArray(), 0.0);
+                    assertEquals(DoubleStream.of(filtered).sum(), s.get().filter(p).sum(), 1e-9);
+                    assertEquals(DoubleStream.of(filtered).min(), s.get().filter(p).min());
+                    assertEquals(DoubleStream.of(filtered).filter(x -> x < 0.5).max(), s.get().filter(x -> x < 0.5).filter(p).max());
+                    assertEquals(filtered.length, s.get().filter(p).count());
+                    assertArrayEquals(filtered, s.get().filter(p).toArray(), 0.0);
+                    assertArrayEquals(DoubleStream.of(filtered).map(x -> x * 2).toArray(), s.get().filter(p).map(
+                        x -> x * 2).toArray(), 0.0);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertFalse(DoubleStreamEx.of(data).filter(x -> false).max().isPresent());
+        assertEquals(3, DoubleStreamEx.of(data, 0, 3).filter(x -> false).spliterator().estimateSize());
+        assertEquals(Double.POSITIVE_INFINITY, DoubleStreamEx.of(1, Double.POSITIVE_INFINITY).sum(), 0.0);
+        assertTrue(Double.isNaN(DoubleStreamEx.of(1, Double.NaN, 3).max().getAsDouble()));
+        assertEquals(DoubleStream.of(0.1, 0.2, 0.3, 1e-17).sum(), DoubleStreamEx.of(0.1, 0.2, 0.3, 1e-17).sum(), 0.0);
+        Supplier<Spliterator<Double>> spliterator = () -> DoubleStreamEx.of(data, 5, 1000).filter(p).spliterator();
+        checkSpliterator("of", DoubleStream.of(data).skip(5).limit(995).filter(p).boxed().collect(Collectors.toList()),
+            spliterator);
+        DoubleStreamEx s = DoubleStreamEx.of(data);
+        s.sum();
+        try {
+            s.min();
+            fail("should not be reusable");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            DoubleStreamEx.of(1, 2, 3).filter((DoublePredicate) null);
+            fail("null predicate");
+        } catch (NullPointerException e) {
+            // expected
+        }
+    }
 }
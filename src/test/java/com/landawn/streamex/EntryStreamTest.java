@@ -19,6 +19,9 @@ import static com.landawn.streamex.TestHelpers.*;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.*;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.AbstractMap;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
@@ -31,6 +34,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.Map.Entry;
 import java.util.NavigableMap;
@@ -434,7 +438,22 @@ public class EntryStreamTest {
             ConcurrentSkipListMap<Integer, Integer> map = supplier.get().mapToEntry(i -> i / 500, i -> i).groupTo(
                 MoreCollectors.countingInt(), ConcurrentSkipListMap::new);
             assertEquals(EntryStream.of(0, 500, 1, 500).toMap(), map);
+            assertEquals(IntStreamEx.range(10).boxed().toMap(i -> i, i -> 100), supplier.get().mapToEntry(i -> i % 10, i -> i)
+                    .groupBy(MoreCollectors.countingInt(), SpillOptions.serializable(3)).toMap());
         });
+        assertEquals(expected, s.get().groupBy(Collectors.toList(), SpillOptions.of(1,
+            new SpillOptions.Codec<Entry<String, Integer>>() {
+                @Override
+                public void write(DataOutput out, Entry<String, Integer> e) throws IOException {
+                    out.writeUTF(e.getKey());
+                    out.writeInt(e.getValue());
+                }
+
+                @Override
+                public Entry<String, Integer> read(DataInput in) throws IOException {
+                    return new SimpleEntry<>(in.readUTF(), in.readInt());
+                }
+            })).toMap());
     }
 
     @Test
@@ -650,6 +669,25 @@ public class EntryStreamTest {
                 }
             });
         });
+        Map<Integer, String> expected = IntStreamEx.range(2000).boxed().toMap(x -> x, String::valueOf);
+        expected.put(null, "null");
+        expected.put(-1, null);
+        streamEx(() -> EntryStream.of(expected).toList().stream(), s -> {
+            Map<Integer, String> map = EntryStream.of(s.get()).toImmutableMap();
+            assertEquals(expected, map);
+            assertEquals(expected.hashCode(), map.hashCode());
+            assertEquals("null", map.get(null));
+            assertTrue(map.containsKey(-1));
+            assertNull(map.get(-1));
+            assertFalse(map.containsKey(-2));
+            assertEquals(expected.keySet(), map.keySet());
+        });
+        try {
+            EntryStream.of(1, "a", 2, "b", 1, "c").toImmutableMap();
+            fail("no exception");
+        } catch (IllegalStateException e) {
+            assertEquals("Duplicate entry for key '1' (attempt to merge values 'a' and 'c')", e.getMessage());
+        }
     }
     
     @Test
@@ -677,4 +715,19 @@ public class EntryStreamTest {
         Map<String, Integer> map = EntryStream.of("a", 1, "b", 2, "c", 3, "d", 4).scanKeys(String::concat).toMap();
         assertEquals(EntryStream.of("a", 1, "ab", 2, "abc", 3, "abcd", 4).toMap(), map);
     }
+
+    @Test
+    public void testPrimitiveAggregates() {
+        entryStream(() -> IntStreamEx.range(1000).mapToEntry(i -> "k" + i % 10, i -> i).entries().stream(), s -> {
+            assertEquals(IntStreamEx.range(1000).sum() + 1000 * 2, s.get().sumValuesInt((k, v) -> v + k.length()));
+            assertEquals(OptionalLong.of(999L * 999), s.get().maxValuesLong((k, v) -> (long) v * v));
+            Map<String, Long> sums = s.get().groupingSum(v -> v);
+            assertEquals(10, sums.size());
+            assertEquals(Long.valueOf(IntStreamEx.range(3, 1000, 10).sum()), sums.get("k3"));
+            assertEquals(Collections.singletonMap(2, 1000L), s.get().groupingSum(String::length, v -> 1));
+        });
+        assertEquals(0, EntryStream.<String, Integer> empty().sumValuesInt((k, v) -> v));
+        assertEquals(OptionalLong.empty(), EntryStream.<String, Integer> empty().maxValuesLong((k, v) -> v));
+        assertEquals(Collections.emptyMap(), EntryStream.<String, Integer> empty().groupingSum(v -> v));
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import static com.landawn.streamex.TestHelpers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class IntObjStreamTest {
+    @Test
+    public void testCreate() {
+        List<String> list = Arrays.asList("a", "bb", "ccc");
+        List<String> result = new ArrayList<>();
+        IntObjStream.of(list).forEach((i, s) -> result.add(i + s));
+        assertEquals(Arrays.asList("0a", "1bb", "2ccc"), result);
+        assertEquals(Arrays.asList("0a", "1bb", "2ccc"), IntObjStream.of("a", "bb", "ccc").map((i, s) -> i + s)
+                .toList());
+        assertEquals(Arrays.asList("5a", "7b"), IntObjStream.zip(new int[] { 5, 7 }, new String[] { "a", "b" }).map(
+            (i, s) -> i + s).toList());
+        assertEquals(Arrays.asList("1:1", "2:4", "3:9"), IntObjStream.of(IntStream.rangeClosed(1, 3), i -> i * i)
+                .map((i, s) -> i + ":" + s).toList());
+        Map<Integer, String> map = EntryStream.of(1, "a", 2, "b").toMap();
+        assertEquals(map, IntObjStream.of(EntryStream.of(1, "a", 2, "b")).toMap());
+        try {
+            IntObjStream.zip(new int[] { 1, 2, 1 }, new String[] { "a", "b", "c" }).toMap();
+            fail("no exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            IntObjStream.zip(new int[] { 1 }, new String[0]);
+            fail("no exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testOps() {
+        List<String> list = IntStreamEx.range(1000).mapToObj(String::valueOf).toList();
+        assertEquals(IntStreamEx.range(0, 1000, 3).boxed().toList(), IntObjStream.of(list).filterKeys(i -> i % 3 == 0)
+                .keys().boxed().toList());
+        assertEquals(Arrays.asList("7", "17", "27", "37"), IntObjStream.of(list).filterValues(s -> s.endsWith("7"))
+                .values().limit(4).toList());
+        assertEquals(500, IntObjStream.of(list).filter((i, s) -> i % 2 == 0 && s.length() > 0).count());
+        assertEquals(IntStreamEx.range(1000).map(i -> i * 2).boxed().toList(), IntObjStream.of(list).mapValues(
+            (i, s) -> i + Integer.parseInt(s)).values().toList());
+        List<Entry<Integer, String>> entries = IntObjStream.of(list).boxed().toList();
+        assertEquals(EntryStream.of(list).toList(), entries);
+
+        for (boolean parallel : new boolean[] { false, true }) {
+            IntObjStream<String> s = IntObjStream.of(list).filterKeys(i -> i % 2 == 1).mapValues((i, v) -> v + "!");
+            if (parallel)
+                s.parallel();
+            assertEquals(parallel, s.isParallel());
+            assertEquals(StreamEx.of(list).filter(v -> Integer.parseInt(v) % 2 == 1).map(v -> v + "!").toList(), s
+                    .values().toList());
+        }
+        int[] sum = new int[1];
+        IntObjStream.of(list).parallel().forEach((i, s) -> {
+            synchronized (sum) {
+                sum[0] += i;
+            }
+        });
+        assertEquals(999 * 1000 / 2, sum[0]);
+    }
+
+    @Test
+    public void testSpliterators() {
+        List<String> list = IntStreamEx.range(100).mapToObj(String::valueOf).toList();
+        checkSpliterator("values", list, () -> new IntObjSpliterator.Indexed<>(list::get, 0, list.size()).values());
+        checkSpliterator("filtered", StreamEx.of(list).filter(s -> s.contains("1")).toList(),
+            () -> new IntObjSpliterator.Filtered<>(new IntObjSpliterator.Indexed<>(list::get, 0, list.size()),
+                    (i, s) -> s.contains("1")).values());
+        checkSpliterator("entries", EntryStream.of(list).toList(), () -> new IntObjSpliterator.Indexed<>(list::get, 0,
+            list.size()).entries());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testConsumed() {
+        IntObjStream<String> s = IntObjStream.of("a");
+        s.count();
+        s.count();
+    }
+
+    @Test
+    public void testClose() {
+        List<String> closed = new ArrayList<>();
+        try (IntObjStream<String> s = IntObjStream.of(IntStreamEx.range(3).onClose(() -> closed.add("source")),
+            String::valueOf).onClose(() -> closed.add("stream"))) {
+            assertEquals(3, s.count());
+        }
+        assertEquals(Arrays.asList("source", "stream"), closed);
+    }
+}
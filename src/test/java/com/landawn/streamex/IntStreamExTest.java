@@ -20,6 +20,7 @@ import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
 import com.landawn.streamex.IntStreamEx;
+import com.landawn.streamex.Monoid;
 import com.landawn.streamex.StreamEx;
 
 import java.io.ByteArrayInputStream;
@@ -28,6 +29,7 @@ import java.io.InputStream;
 import java.nio.IntBuffer;
 import java.util.*;
 import java.util.PrimitiveIterator.OfInt;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.*;
@@ -305,6 +307,36 @@ public class IntStreamExTest {
         assertTrue(IntStreamEx.of(1).noneMatch(x -> false));
     }
 
+    @Test
+    public void testMapMultii() {
+        int[] expected = IntStreamEx.range(1000).flatMap(i -> IntStreamEx.range(i % 4)).toArray();
+        assertArrayEquals(expected, IntStreamEx.range(1000).mapMultii((i, sink) -> {
+            for (int j = 0; j < i % 4; j++) {
+                sink.accept(j);
+            }
+        }).toArray());
+        assertArrayEquals(expected, IntStreamEx.range(1000).parallel().mapMultii((i, sink) -> {
+            for (int j = 0; j < i % 4; j++) {
+                sink.accept(j);
+            }
+        }).toArray());
+        assertEquals(OptionalInt.of(2), IntStreamEx.range(1000).mapMultii((i, sink) -> {
+            for (int j = 0; j < i % 4; j++) {
+                sink.accept(j);
+            }
+        }).skip(5).findFirst());
+        assertArrayEquals(new int[] { 1, 2, 3, 4 }, IntStreamEx.of(1, 3).flattMap(i -> new int[] { i, i + 1 })
+                .toArray());
+        assertArrayEquals(new long[] { 1, -1, 2, -2 }, LongStreamEx.of(1, 2).mapMultii((x, sink) -> {
+            sink.accept(x);
+            sink.accept(-x);
+        }).toArray());
+        assertArrayEquals(new double[] { 0.5, 1.5 }, DoubleStreamEx.of(0.5, Double.NaN, 1.5).mapMultii((x, sink) -> {
+            if (!Double.isNaN(x))
+                sink.accept(x);
+        }).toArray(), 0.0);
+    }
+
     @Test
     public void testFlatMap() {
         long[][] vals = { { 1, 2, 3 }, { 2, 3, 4 }, { 5, 4, Long.MAX_VALUE, Long.MIN_VALUE } };
@@ -476,6 +508,120 @@ public class IntStreamExTest {
         return s.pairMap((a, b) -> a);
     }
 
+    @Test
+    public void testZipWith() {
+        int[] expected = IntStreamEx.range(10000).map(x -> x * 2 + 1).toArray();
+        assertArrayEquals(expected, IntStreamEx.range(10000).zipWith(IntStreamEx.iterate(1, x -> x + 1), (x, y) -> x
+            + y).toArray());
+        assertArrayEquals(expected, IntStreamEx.range(10000).parallel().zipWith(IntStreamEx.iterate(1, x -> x + 1),
+            (x, y) -> x + y).toArray());
+        assertArrayEquals(expected, IntStreamEx.iterate(0, x -> x + 1).zipWith(IntStreamEx.range(1, 10001)
+                .parallel(), (x, y) -> x + y).toArray());
+        assertArrayEquals(new int[] { 3, 5 }, IntStreamEx.of(1, 2, 3).zipWith(IntStreamEx.of(2, 3), Integer::sum)
+                .toArray());
+        // split together, evenly and unevenly
+        assertArrayEquals(expected, IntStreamEx.range(10000).parallel().zipWith(IntStreamEx.range(1, 10001), (x,
+                y) -> x + y).toArray());
+        assertArrayEquals(expected, IntStreamEx.range(10000).parallel().zipWith(IntStreamEx.of(Spliterators
+                .spliterator(IntStreamEx.range(1, 10001).iterator(), 10000, Spliterator.ORDERED)), (x, y) -> x + y)
+                .toArray());
+        List<Integer> expectedList = IntStreamEx.of(expected).limit(1000).boxed().toList();
+        checkSpliterator("zipWith", expectedList, () -> IntStreamEx.range(1000).zipWith(IntStreamEx.range(1, 1001),
+            (x, y) -> x + y).spliterator());
+        checkSpliterator("zipWith", expectedList, () -> IntStreamEx.range(1000).zipWith(IntStreamEx.of(Spliterators
+                .spliterator(IntStreamEx.range(1, 1001).iterator(), 1000, Spliterator.ORDERED)), (x, y) -> x + y)
+                .spliterator());
+        AtomicBoolean closed = new AtomicBoolean();
+        IntStreamEx.of(1).zipWith(IntStreamEx.of(2).onClose(() -> closed.set(true)), Integer::sum).close();
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testRuns() {
+        List<Integer> input = IntStreamEx.range(3000).mapToObj(i -> (i / 7 + i / 100 % 2)).toList();
+        streamEx(input::stream, supplier -> {
+            assertEquals(supplier.get().runLengths((a, b) -> a.equals(b)).toList(), supplier.get().mapToInt(x -> x)
+                    .runLengths().toList());
+            assertEquals(supplier.get().collapse((a, b) -> b - a <= 1, (Integer a, Integer b) -> a + b).toList(), supplier
+                    .get().mapToInt(x -> x).collapse((a, b) -> b - a <= 1, (a, b) -> a + b).boxed().toList());
+            assertEquals(supplier.get().collapse(Objects::equals).toList(), supplier.get().mapToInt(x -> x).collapse((a,
+                    b) -> a == b).boxed().toList());
+            assertEquals(supplier.get().groupRuns((a, b) -> a / 10 == b / 10).toList(), supplier.get().mapToInt(x -> x)
+                    .groupRuns((a, b) -> a / 10 == b / 10).map(a -> IntStreamEx.of(a).boxed().toList()).toList());
+            assertEquals(supplier.get().intervalMap((a, b) -> b - a <= 1, (a, b) -> a * 1000 + b).toList(), supplier
+                    .get().mapToInt(x -> x).intervalMap((a, b) -> b - a <= 1, (a, b) -> a * 1000 + b).boxed().toList());
+        });
+        assertEquals(0, IntStreamEx.empty().runLengths().count());
+        assertEquals(Collections.singletonMap(5, 3L), IntStreamEx.of(5, 5, 5).parallel().runLengths().toMap());
+    }
+
+    @Test
+    public void testToImmutable() {
+        List<Integer> list = IntStreamEx.of(3, 1, 3, 2).toImmutableList();
+        assertEquals(Arrays.asList(3, 1, 3, 2), list);
+        assertEquals(Arrays.asList(3, 1, 3, 2).hashCode(), list.hashCode());
+        Set<Integer> set = IntStreamEx.of(3, 1, 3, 2).toImmutableSet();
+        assertEquals(Arrays.asList(3, 1, 2), new ArrayList<>(set));
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)), set);
+        assertTrue(set.contains(2));
+        assertFalse(set.contains(4));
+        assertFalse(set.contains(2L));
+        assertTrue(IntStreamEx.empty().toImmutableList().isEmpty());
+        assertTrue(IntStreamEx.empty().toImmutableSet().isEmpty());
+        Set<Integer> big = IntStreamEx.range(20000).map(x -> x % 5000 * 31).parallel().toImmutableSet();
+        assertEquals(IntStreamEx.range(5000).map(x -> x * 31).boxed().toSet(), big);
+        Set<Integer> same = IntStreamEx.range(100000).map(x -> x % 3).toImmutableSet();
+        assertEquals(Arrays.asList(0, 1, 2), new ArrayList<>(same));
+        assertTrue(IntStreamEx.range(-1000, 1000).allMatch(x -> same.contains(x) == (x >= 0 && x < 3)));
+        assertEquals(20000, IntStreamEx.range(20000).parallel().toImmutableList().size());
+        try {
+            list.set(0, 1);
+            fail("set");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            set.remove(1);
+            fail("removed");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        assertEquals(Arrays.asList(5L, -1L, 5L), LongStreamEx.of(5, -1, 5).toImmutableList());
+        Set<Long> longs = LongStreamEx.of(5, -1, 5, Long.MAX_VALUE).toImmutableSet();
+        assertEquals(Arrays.asList(5L, -1L, Long.MAX_VALUE), new ArrayList<>(longs));
+        assertTrue(longs.contains(Long.MAX_VALUE));
+        assertFalse(longs.contains(5));
+        assertEquals(LongStreamEx.range(3000).boxed().toSet(), LongStreamEx.range(9000).map(x -> x % 3000).parallel()
+                .toImmutableSet());
+    }
+
+    @Test
+    public void testSlidingMap() {
+        assertArrayEquals(new int[] { 1, 1, 1 }, IntStreamEx.of(1, 2, 3, 4).slidingMap((a, b) -> b - a).toArray());
+        for (int n = 0; n < 6; n++) {
+            int[] input = IntStreamEx.range(n).toArray();
+            List<Integer> expected = IntStreamEx.range(Math.max(0, n - 2)).map(i -> i * 3 + 3).boxed().toList();
+            checkSpliterator("int/" + n, expected, () -> new SlidingSpliterator.OfInt(Spliterators.spliterator(input,
+                0), (a, b, c) -> a + b + c));
+            checkSpliterator("long/" + n, StreamEx.of(expected).map(Long::valueOf).toList(),
+                () -> new SlidingSpliterator.OfLong(Spliterators.spliterator(IntStreamEx.of(input).asLongStream()
+                        .toArray(), 0), (a, b, c) -> a + b + c));
+            checkSpliterator("double/" + n, StreamEx.of(expected).map(Double::valueOf).toList(),
+                () -> new SlidingSpliterator.OfDouble(Spliterators.spliterator(IntStreamEx.of(input)
+                        .asDoubleStream().toArray(), 0), (a, b, c) -> a + b + c));
+        }
+        assertEquals(9998, IntStreamEx.range(10000).parallel().slidingMap((a, b, c) -> (a + b + c) / 3 - b).filter(
+            x -> x == 0).count());
+        assertEquals(9998, LongStreamEx.range(10000).parallel().slidingMap((a, b, c) -> (a + b + c) / 3 - b)
+                .filter(x -> x == 0).count());
+        assertArrayEquals(new double[] { 2, 3 }, DoubleStreamEx.of(1, 2, 3, 4).parallel().slidingMap(
+            (a, b, c) -> (a + b + c) / 3).toArray(), 0.0);
+        assertArrayEquals(new long[] { 1, 1 }, LongStreamEx.of(1, 2, 3).slidingMap((a, b) -> b - a).toArray());
+        assertArrayEquals(new double[] { 0.5 }, DoubleStreamEx.of(1, 1.5).slidingMap((a, b) -> b - a).toArray(),
+            0.0);
+    }
+
     @Test
     public void testPairMap() {
         assertEquals(0, IntStreamEx.range(0).pairMap(Integer::sum).count());
@@ -660,6 +806,21 @@ public class IntStreamExTest {
         assertEquals(144, IntStreamEx.rangeClosed(1, 3).parallel().foldLeft(0, accumulator));
     }
 
+    @Test
+    public void testFold() {
+        assertEquals(499500, IntStreamEx.range(1000).fold(Monoid.intSum()));
+        assertEquals(499500, IntStreamEx.range(1000).parallel().fold(Monoid.intSum()));
+        assertEquals(999, IntStreamEx.range(1000).parallel().fold(Monoid.intMax()));
+        assertEquals(Integer.MAX_VALUE, IntStreamEx.empty().fold(Monoid.intMin()));
+        assertEquals(5, IntStreamEx.of(3, 5, 1).parallel().fold(Monoid.max(Comparator.naturalOrder())));
+        assertEquals(6, IntStreamEx.of(1, 2, 3).fold(Monoid.of(0, Integer::sum)));
+        assertEquals(499500L, LongStreamEx.range(1000).parallel().fold(Monoid.longSum()));
+        assertEquals(-1L, LongStreamEx.of(3, -1, 2).fold(Monoid.longMin()));
+        assertEquals(6.0, DoubleStreamEx.of(1, 2, 3).parallel().fold(Monoid.doubleSum()), 0.0);
+        assertEquals(3.0, DoubleStreamEx.of(1, 3, 2).fold(Monoid.doubleMax()), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, DoubleStreamEx.empty().fold(Monoid.doubleMin()), 0.0);
+    }
+
     @Test
     public void testMapFirstLast() {
         // capitalize
@@ -784,4 +945,56 @@ public class IntStreamExTest {
         IntStreamEx.of(1).intersperse(-1).println();
         IntStreamEx.of(1, 2).intersperse(-1).println();
     }
+
+    @Test
+    public void testArrayKernels() {
+        int[] data = new Random(1).ints(100003, -1000, 1000).toArray();
+        IntPredicate p = x -> x % 2 == 0;
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int from : new int[] { 0, 1, 50000, 100003 }) {
+                int[] range = Arrays.copyOfRange(data, from, data.length);
+                int[] filtered = IntStream.of(range).filter(p).toArray();
+                List<Supplier<IntStreamEx>> sources = Arrays.asList(() -> IntStreamEx.of(data, from, data.length),
+                    () -> IntStreamEx.of(data, from, data.length).parallel(), () -> IntStreamEx.of(data, from,
+                        data.length).parallel(pool));
+                for (Supplier<IntStreamEx> s : sources) {
+                    assertEquals(IntStream.of(range).sum(), s.get().sum());
+                    assertEquals(IntStream.of(range).min(), s.get().min());
+                    assertEquals(IntStream.of(range).max(), s.get().max());
+                    assertEquals(range.length, s.get().count());
+                    assertArrayEquals(range, s.get().toArray());
+                    assertEquals(IntStream.of(filtered).sum(), s.get().filter(p).sum());
+                    assertEquals(IntStream.of(filtered).min(), s.get().filter(p).min());
+                    assertEquals(IntStream.of(filtered).filter(x -> x < 500).max(), s.get().filter(x -> x < 500).filter(p).max());
+                    assertEquals(filtered.length, s.get().filter(p).count());
+                    assertArrayEquals(filtered, s.get().filter(p).toArray());
+                    assertArrayEquals(IntStream.of(filtered).map(x -> x * 2).toArray(), s.get().filter(p).map(
+                        x -> x * 2).toArray());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertFalse(IntStreamEx.of(data).filter(x -> false).max().isPresent());
+        assertEquals(3, IntStreamEx.of(data, 0, 3).filter(x -> false).spliterator().estimateSize());
+        assertEquals(Integer.MIN_VALUE, IntStreamEx.of(Integer.MAX_VALUE, 1).sum());
+        Supplier<Spliterator<Integer>> spliterator = () -> IntStreamEx.of(data, 5, 1000).filter(p).spliterator();
+        checkSpliterator("of", IntStream.of(data).skip(5).limit(995).filter(p).boxed().collect(Collectors.toList()),
+            spliterator);
+        IntStreamEx s = IntStreamEx.of(data);
+        s.sum();
+        try {
+            s.min();
+            fail("should not be reusable");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            IntStreamEx.of(1, 2, 3).filter((IntPredicate) null);
+            fail("null predicate");
+        } catch (NullPointerException e) {
+            // expected
+        }
+    }
 }
@@ -21,6 +21,8 @@ import com.landawn.streamex.Java9Specific;
 
 import java.lang.invoke.MethodHandle;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.landawn.streamex.StreamExInternals.ArrayCollection;
@@ -62,4 +64,28 @@ public class InternalsTest {
         else
             assertNull(jdk9Methods);
     }
+
+    @Test
+    public void testJdk16Basics() {
+        assertEquals(Stream.of(Stream.class.getMethods()).anyMatch(m -> m.getName().equals("mapMulti")),
+            Java16Specific.isSupported());
+        List<VersionSpecific> specs = new ArrayList<>(Arrays.asList(new VersionSpecific()));
+        if (Java16Specific.isSupported())
+            specs.add(new Java16Specific());
+        for (VersionSpecific spec : specs) {
+            assertEquals(Arrays.asList("a", "b", "c"), spec.mapMulti(StreamEx.of(Arrays.asList("a", "b"), null,
+                Collections.singleton("c")), (Collection<String> c, Consumer<String> sink) -> {
+                    if (c != null)
+                        c.forEach(sink);
+                }).collect(Collectors.toList()));
+            List<Integer> list = spec.toImmutableList(StreamEx.of(1, null, 3).parallel());
+            assertEquals(Arrays.asList(1, null, 3), list);
+            try {
+                list.set(0, 2);
+                fail("should be immutable");
+            } catch (UnsupportedOperationException e) {
+                // expected
+            }
+        }
+    }
 }
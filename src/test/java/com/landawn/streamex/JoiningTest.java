@@ -17,7 +17,13 @@ package com.landawn.streamex;
 
 import static com.landawn.streamex.TestHelpers.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -285,4 +291,58 @@ public class JoiningTest {
         checkShortCircuitCollector("maxSymbolsBeforeDelimiterPrefix", string, 0, input::stream, Joining.with(",").wrap(
             string, string).maxGraphemes(8).cutBeforeDelimiter());
     }
+
+    @Test
+    public void testLargeJoin() {
+        List<String> latin = IntStreamEx.range(10000).mapToObj(i -> i % 7 == 0 ? "\u00e9" + i : String.valueOf(i))
+                .toList();
+        List<String> mixed = StreamEx.of(latin).append("\u0444").toList();
+        for (List<String> input : Arrays.asList(latin, mixed)) {
+            checkCollector("large", input.stream().collect(Collectors.joining(", ", "[", "]")), input::stream,
+                Joining.with(", ").wrap("[", "]"));
+            List<List<CharSequence>> chunks = StreamEx.ofSubLists(input, 1000).<List<CharSequence>> map(
+                ArrayList::new).toList();
+            int length = input.stream().mapToInt(String::length).sum() + (input.size() - 1) * 2 + 2;
+            String expected = input.stream().collect(Collectors.joining(", ", "[", "]"));
+            assertEquals(expected, new VersionSpecific().join(chunks, length, ", ", "[", "]"));
+            assertEquals(expected, new Java9Specific().join(chunks, length, ", ", "[", "]"));
+        }
+    }
+
+    @Test
+    public void testStreaming() {
+        String surrogates = "\ud801\udc14\ud801\udc2f\ud801\udc45";
+        List<List<String>> inputs = Arrays.asList(Collections.emptyList(), Arrays.asList("one two", "three four",
+            "five", "six seven"), Collections.nCopies(3, "aa\u0300\u0321e\u0300a"), Collections.nCopies(10000,
+                surrogates));
+        List<Joining> joinings = StreamEx.of(Joining.with(", "), Joining.with(",").wrap("[", "]"), Joining.with("")
+                .ellipsis("")).cross(j -> StreamEx.of(j, j.maxChars(0), j.maxChars(2), j.maxChars(11),
+                    j.maxChars(25), j.maxChars(10000), j.maxCodePoints(7), j.maxGraphemes(5), j.maxChars(12)
+                            .cutAtWord(), j.maxChars(12).cutBeforeDelimiter(), j.maxChars(12).cutAfterDelimiter(),
+                    j.maxCodePoints(9).cutAnywhere())).values().toList();
+        for (List<String> input : inputs) {
+            for (Joining joining : joinings) {
+                String expected = input.stream().collect(joining);
+                streamEx(input::stream, supplier -> {
+                    assertEquals(expected, supplier.get().collect(joining.to(new StringBuilder())).toString());
+                    assertEquals(expected, supplier.get().collect(joining.toWriter(new StringWriter())).toString());
+                    ByteBuffer buf = supplier.get().collect(joining.toByteBuffer(StandardCharsets.UTF_8));
+                    assertEquals(expected, StandardCharsets.UTF_8.decode(buf).toString());
+                });
+                assertEquals(expected, input.stream().collect(joining.to(new StringBuilder())).toString());
+            }
+        }
+        StringBuilder sb = new StringBuilder("prefix:");
+        assertSame(sb, StreamEx.of("a", "b").collect(Joining.with("+").to(sb)));
+        assertEquals("prefix:a+b", sb.toString());
+
+        // sequential stream is written incrementally
+        StringBuilder target = new StringBuilder();
+        int[] seen = new int[1];
+        IntStreamEx.range(10000).mapToObj(String::valueOf).peek(x -> seen[0] = target.length()).collect(
+            Joining.with(",").maxChars(30000).to(target));
+        assertTrue(seen[0] > 0);
+        assertEquals(IntStreamEx.range(10000).mapToObj(String::valueOf).join(",").substring(0, 29997) + "...",
+            target.toString());
+    }
 }
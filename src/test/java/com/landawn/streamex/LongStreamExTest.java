@@ -25,13 +25,16 @@ import com.landawn.streamex.LongStreamEx;
 import java.nio.LongBuffer;
 import java.util.*;
 import java.util.PrimitiveIterator.OfLong;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.*;
+import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 import java.util.stream.LongStream.Builder;
 
 import static com.landawn.streamex.TestHelpers.checkSpliterator;
+import static com.landawn.streamex.TestHelpers.streamEx;
 import static org.junit.Assert.*;
 
 /**
@@ -407,6 +410,42 @@ public class LongStreamExTest {
         maxFns.forEach(fn -> assertEquals(120, fn.apply(s.get().parallel()).getAsLong()));
     }
 
+    @Test
+    public void testZipWith() {
+        double[] expected = LongStreamEx.range(10000).asDoubleStream().map(x -> x * 1.5).toArray();
+        assertArrayEquals(expected, LongStreamEx.range(10000).zipWith(DoubleStreamEx.iterate(0, x -> x + 0.5), (x,
+                y) -> x + y).toArray(), 0.0);
+        assertArrayEquals(expected, LongStreamEx.range(10000).parallel().zipWith(DoubleStreamEx.iterate(0,
+            x -> x + 0.5), (x, y) -> x + y).toArray(), 0.0);
+        assertArrayEquals(new double[] { 1.5 }, LongStreamEx.of(1).zipWith(DoubleStreamEx.of(0.5, 1.0), (x,
+                y) -> x + y).toArray(), 0.0);
+        // split together, evenly and unevenly
+        assertArrayEquals(expected, LongStreamEx.range(10000).parallel().zipWith(LongStreamEx.range(10000)
+                .asDoubleStream().map(x -> x / 2), (x, y) -> x + y).toArray(), 0.0);
+        assertArrayEquals(expected, LongStreamEx.range(10000).parallel().zipWith(DoubleStreamEx.of(Spliterators
+                .spliterator(LongStreamEx.range(10000).asDoubleStream().map(x -> x / 2).iterator(), 10000,
+                    Spliterator.ORDERED)), (x, y) -> x + y).toArray(), 0.0);
+    }
+
+    @Test
+    public void testRuns() {
+        List<Long> input = IntStreamEx.range(3000).mapToObj(i -> (long) (i / 7 + i / 100 % 2)).toList();
+        streamEx(input::stream, supplier -> {
+            assertEquals(supplier.get().runLengths((a, b) -> a.equals(b)).toList(), supplier.get().mapToLong(x -> x)
+                    .runLengths().toList());
+            assertEquals(supplier.get().collapse((a, b) -> b - a <= 1, (Long a, Long b) -> a + b).toList(), supplier
+                    .get().mapToLong(x -> x).collapse((a, b) -> b - a <= 1, (a, b) -> a + b).boxed().toList());
+            assertEquals(supplier.get().collapse(Objects::equals).toList(), supplier.get().mapToLong(x -> x).collapse((a,
+                    b) -> a == b).boxed().toList());
+            assertEquals(supplier.get().groupRuns((a, b) -> a / 10 == b / 10).toList(), supplier.get().mapToLong(x -> x)
+                    .groupRuns((a, b) -> a / 10 == b / 10).map(a -> LongStreamEx.of(a).boxed().toList()).toList());
+            assertEquals(supplier.get().intervalMap((a, b) -> b - a <= 1, (a, b) -> a * 1000 + b).toList(), supplier
+                    .get().mapToLong(x -> x).intervalMap((a, b) -> b - a <= 1, (a, b) -> a * 1000 + b).boxed().toList());
+        });
+        assertEquals(0, LongStreamEx.empty().runLengths().count());
+        assertEquals(Collections.singletonMap((long) 5, 3L), LongStreamEx.of(5, 5, 5).parallel().runLengths().toMap());
+    }
+
     @Test
     public void testPairMap() {
         assertEquals(0, LongStreamEx.range(0).pairMap(Long::sum).count());
@@ -592,4 +631,56 @@ public class LongStreamExTest {
                 .toArray());
         assertEquals(0L, IntStreamEx.empty().intersperse(1).count());
     }
+
+    @Test
+    public void testArrayKernels() {
+        long[] data = new Random(1).longs(100003, -1000, 1000).toArray();
+        LongPredicate p = x -> x % 2 == 0;
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int from : new int[] { 0, 1, 50000, 100003 }) {
+                long[] range = Arrays.copyOfRange(data, from, data.length);
+                long[] filtered = LongStream.of(range).filter(p).toArray();
+                List<Supplier<LongStreamEx>> sources = Arrays.asList(() -> LongStreamEx.of(data, from, data.length),
+                    () -> LongStreamEx.of(data, from, data.length).parallel(), () -> LongStreamEx.of(data, from,
+                        data.length).parallel(pool));
+                for (Supplier<LongStreamEx> s : sources) {
+                    assertEquals(LongStream.of(range).sum(), s.get().sum());
+                    assertEquals(LongStream.of(range).min(), s.get().min());
+                    assertEquals(LongStream.of(range).max(), s.get().max());
+                    assertEquals(range.length, s.get().count());
+                    assertArrayEquals(range, s.get().toArray());
+                    assertEquals(LongStream.of(filtered).sum(), s.get().filter(p).sum());
+                    assertEquals(LongStream.of(filtered).min(), s.get().filter(p).min());
+                    assertEquals(LongStream.of(filtered).filter(x -> x < 500).max(), s.get().filter(x -> x < 500).filter(p).max());
+                    assertEquals(filtered.length, s.get().filter(p).count());
+                    assertArrayEquals(filtered, s.get().filter(p).toArray());
+                    assertArrayEquals(LongStream.of(filtered).map(x -> x * 2).toArray(), s.get().filter(p).map(
+                        x -> x * 2).toArray());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertFalse(LongStreamEx.of(data).filter(x -> false).max().isPresent());
+        assertEquals(3, LongStreamEx.of(data, 0, 3).filter(x -> false).spliterator().estimateSize());
+        assertEquals(Long.MIN_VALUE, LongStreamEx.of(Long.MAX_VALUE, 1).sum());
+        Supplier<Spliterator<Long>> spliterator = () -> LongStreamEx.of(data, 5, 1000).filter(p).spliterator();
+        checkSpliterator("of", LongStream.of(data).skip(5).limit(995).filter(p).boxed().collect(Collectors.toList()),
+            spliterator);
+        LongStreamEx s = LongStreamEx.of(data);
+        s.sum();
+        try {
+            s.min();
+            fail("should not be reusable");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            LongStreamEx.of(1, 2, 3).filter((LongPredicate) null);
+            fail("null predicate");
+        } catch (NullPointerException e) {
+            // expected
+        }
+    }
 }
@@ -101,6 +101,119 @@ public class MoreCollectorsTest {
         assertTrue(list.isEmpty());
     }
 
+    @Test
+    public void testToImmutableNavigableMap() {
+        withRandom(r -> {
+            List<Integer> input = IntStreamEx.of(r, 2000, 0, 500).boxed().toList();
+            TreeMap<Integer, Integer> expected = StreamEx.of(input).toMap(x -> x, x -> 1, Integer::sum, TreeMap::new);
+            checkCollector("counts", expected, input::stream, MoreCollectors.toImmutableNavigableMap(x -> x, x -> 1,
+                Integer::sum));
+            NavigableMap<Integer, Integer> map = StreamEx.of(input).parallel().toImmutableNavigableMap(x -> x, x -> 1,
+                Integer::sum);
+            assertEquals(expected, map);
+            assertEquals(expected.hashCode(), map.hashCode());
+            assertEquals(expected.toString(), map.toString());
+            assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(map.values()));
+            for (int k = -1; k <= 501; k++) {
+                assertEquals(expected.get(k), map.get(k));
+                assertEquals(expected.lowerEntry(k), map.lowerEntry(k));
+                assertEquals(expected.floorKey(k), map.floorKey(k));
+                assertEquals(expected.ceilingEntry(k), map.ceilingEntry(k));
+                assertEquals(expected.higherKey(k), map.higherKey(k));
+                assertEquals(expected.headMap(k), map.headMap(k));
+                assertEquals(expected.tailMap(k, false), map.tailMap(k, false));
+                assertEquals(expected.subMap(k, true, k + 30, true), map.subMap(k, true, k + 30, true));
+                assertEquals(expected.subMap(k, k + 30).keySet(), map.subMap(k, k + 30).keySet());
+                assertEquals(expected.subMap(k, true, k + 30, true).firstEntry(), map.subMap(k, true, k + 30, true)
+                        .firstEntry());
+                assertEquals(expected.subMap(k, true, k + 30, false).lastEntry(), map.subMap(k, true, k + 30, false)
+                        .lastEntry());
+                assertEquals(expected.navigableKeySet().headSet(k, true), map.navigableKeySet().headSet(k, true));
+                assertEquals(expected.navigableKeySet().lower(k), map.navigableKeySet().lower(k));
+            }
+            assertEquals(new ArrayList<>(expected.descendingKeySet()), new ArrayList<>(map.descendingKeySet()));
+            assertEquals(expected.descendingMap().firstEntry(), map.descendingMap().firstEntry());
+        });
+
+        NavigableMap<String, Integer> byLength = StreamEx.of("bb", "a", "ccc", "dd").toImmutableNavigableMap(x -> x,
+            String::length);
+        assertEquals(asList("a", "bb", "ccc", "dd"), new ArrayList<>(byLength.keySet()));
+        assertEquals("bb", byLength.lowerKey("bz"));
+        assertNull(byLength.lowerKey("a"));
+        assertNull(byLength.subMap("e", true, "f", false).firstEntry());
+        try {
+            byLength.put("e", 1);
+            fail("no exception");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            byLength.subMap("c", "b");
+            fail("no exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            byLength.headMap("a").firstKey();
+            fail("no exception");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+        try {
+            StreamEx.of("a", "b", "a").toImmutableNavigableMap(x -> x, x -> 1);
+            fail("no exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        streamEx(() -> StreamEx.of("a", "bb", "c", "dd", "eee"), s -> {
+            NavigableMap<Integer, String> byLen = s.get().toImmutableNavigableMap(String::length, x -> x,
+                String::concat);
+            assertEquals("{1=ac, 2=bbdd, 3=eee}", byLen.toString());
+            assertEquals("{3=eee, 2=bbdd, 1=ac}", byLen.descendingMap().toString());
+        });
+        assertEquals("{3=eee, 2=bbdd, 1=ac}", StreamEx.of("a", "bb", "c", "dd", "eee").collect(MoreCollectors
+                .toImmutableNavigableMap(String::length, x -> x, String::concat, Comparator.reverseOrder()))
+                .toString());
+        assertEquals("{1=a, 2=b}", EntryStream.of(2, "b", 1, "a").toImmutableNavigableMap().toString());
+        assertEquals("{1=ab}", EntryStream.of(1, "a", 1, "b").parallel().toImmutableNavigableMap(String::concat)
+                .toString());
+        assertTrue(EntryStream.<Integer, String> empty().toImmutableNavigableMap().isEmpty());
+    }
+
+    @Test
+    public void testImmutableNavigableSubMapRanges() {
+        NavigableMap<Integer, Integer> map = IntStreamEx.range(10).boxed().toImmutableNavigableMap(x -> x, x -> x * x);
+        TreeMap<Integer, Integer> expected = new TreeMap<>(map);
+        List<Function<NavigableMap<Integer, Integer>, Object>> views = asList( //
+            m -> m.subMap(1, true, 3, false).headMap(5), //
+            m -> m.subMap(1, true, 3, false).headMap(3), //
+            m -> m.subMap(1, true, 3, false).headMap(3, true), //
+            m -> m.subMap(1, false, 3, true).tailMap(1), //
+            m -> m.subMap(1, false, 3, true).tailMap(1, false), //
+            m -> m.headMap(4, false).subMap(2, 5), //
+            m -> m.headMap(4, true).subMap(2, 5), //
+            m -> m.tailMap(4, true).headMap(2), //
+            m -> m.tailMap(4, false).tailMap(4), //
+            m -> m.headMap(6, false).tailMap(2, true).headMap(4, true), //
+            m -> m.subMap(2, true, 8, false).navigableKeySet().headSet(9), //
+            m -> m.subMap(2, true, 8, false).navigableKeySet().tailSet(2, false), //
+            m -> m.subMap(2, true, 8, false).descendingMap().headMap(1), //
+            m -> m.subMap(2, true, 8, false).descendingMap().headMap(4));
+        for (Function<NavigableMap<Integer, Integer>, Object> view : views) {
+            assertEquals(viewOrMessage(view, expected), viewOrMessage(view, map));
+        }
+    }
+
+    private static Object viewOrMessage(Function<NavigableMap<Integer, Integer>, Object> view,
+            NavigableMap<Integer, Integer> map) {
+        try {
+            return view.apply(map);
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
     @Test
     public void testDistinctCount() {
         List<String> input = asList("a", "bb", "c", "cc", "eee", "bb", "bc", "ddd");
@@ -333,6 +446,12 @@ public class MoreCollectorsTest {
         checkCollector("groupingByEnum", expected, () -> Stream.of(TimeUnit.SECONDS, TimeUnit.DAYS, TimeUnit.DAYS,
             TimeUnit.NANOSECONDS), MoreCollectors.groupingByEnum(TimeUnit.class, Function.identity(), Collectors
                 .counting()));
+
+        EnumMap<TimeUnit, Optional<TimeUnit>> firsts = new EnumMap<>(TimeUnit.class);
+        EnumSet.allOf(TimeUnit.class).forEach(tu -> firsts.put(tu, Optional.of(tu)));
+        List<TimeUnit> input = StreamEx.repeat(EnumSet.allOf(TimeUnit.class), 10).flatMap(Set::stream).toList();
+        checkShortCircuitCollector("groupingByEnumFirst", firsts, TimeUnit.values().length, input::stream,
+            MoreCollectors.groupingByEnum(TimeUnit.class, Function.identity(), MoreCollectors.first()));
     }
 
     @Test(expected = IllegalStateException.class)
@@ -407,6 +526,32 @@ public class MoreCollectorsTest {
         Supplier<Stream<Integer>> supplier = () -> IntStreamEx.range(1, 100).boxed();
         checkShortCircuitCollector("by20", new BooleanMap<>(Optional.of(20), Optional.of(1)), 20, supplier, by20);
         checkShortCircuitCollector("by200", new BooleanMap<>(Optional.empty(), Optional.of(1)), 99, supplier, by200);
+
+        Collector<Integer, ?, List<Optional<Integer>>> byMod3 = MoreCollectors.partitioningBy(x -> x % 3, 3,
+            MoreCollectors.first());
+        checkShortCircuitCollector("byMod3", asList(Optional.of(3), Optional.of(1), Optional.of(2)), 3, supplier,
+            byMod3);
+        checkCollector("byMod3Count", asList(33L, 33L, 33L), supplier, MoreCollectors.partitioningBy(x -> x % 3, 3,
+            Collectors.counting()));
+        checkCollector("noBuckets", Collections.emptyList(), Stream::empty, MoreCollectors.partitioningBy(x -> 0, 0,
+            Collectors.toList()));
+        List<String> data = asList("a", "foo", "test", "ququq", "bar", "blahblah");
+        checkShortCircuitCollector("byLength", asList(Optional.empty(), Optional.of("a"), Optional.empty(), Optional
+                .of("foo"), Optional.of("test"), Optional.of("ququq"), Optional.empty(), Optional.empty(), Optional.of(
+                    "blahblah"), Optional.empty()), data.size(), data::stream, MoreCollectors.partitioningBy(
+                        String::length, 10, MoreCollectors.first()));
+        try {
+            MoreCollectors.partitioningBy(x -> 0, -1, Collectors.toList());
+            fail("no exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            StreamEx.of("a", "foo").collect(MoreCollectors.partitioningBy(String::length, 3, Collectors.toList()));
+            fail("no exception");
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals("Bucket 3 is out of range [0, 3)", e.getMessage());
+        }
     }
 
     @Test
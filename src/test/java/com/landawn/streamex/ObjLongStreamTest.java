@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex;
+
+import static com.landawn.streamex.TestHelpers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+
+public class ObjLongStreamTest {
+    @Test
+    public void testCreate() {
+        List<String> result = new ArrayList<>();
+        ObjLongStream.zip(new String[] { "a", "b" }, new long[] { 1, 2 }).forEach((k, v) -> result.add(k + v));
+        assertEquals(Arrays.asList("a1", "b2"), result);
+        assertEquals(Arrays.asList("a:1", "bb:2"), ObjLongStream.of(StreamEx.of("a", "bb"), String::length).map(
+            (k, v) -> k + ":" + v).toList());
+        assertEquals(Arrays.asList("1:1", "2:4"), ObjLongStream.of(LongStream.of(1, 4), v -> String.valueOf(
+            (long) Math.sqrt(v))).map((k, v) -> k + ":" + v).toList());
+        Map<String, Long> map = new HashMap<>();
+        map.put("x", 10L);
+        map.put("y", 20L);
+        assertEquals(map, ObjLongStream.of(map).toMap());
+        assertEquals(30, ObjLongStream.of(map).sumValues());
+        assertEquals(map, ObjLongStream.of(EntryStream.of(map)).parallel().toMap());
+        try {
+            ObjLongStream.zip(new String[] { "a", "a" }, new long[] { 1, 2 }).toMap();
+            fail("no exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testOps() {
+        String[] keys = IntStreamEx.range(1000).mapToObj(String::valueOf).toArray(String[]::new);
+        long[] values = LongStreamEx.range(1000).map(x -> x * x).toArray();
+        assertEquals(LongStreamEx.range(0, 1000, 2).map(x -> x * x).sum(), ObjLongStream.zip(keys, values)
+                .filterValues(v -> v % 2 == 0).sumValues());
+        assertEquals(StreamEx.of(keys).filter(k -> k.startsWith("9")).toList(), ObjLongStream.zip(keys, values)
+                .filterKeys(k -> k.startsWith("9")).keys().toList());
+        assertEquals(10, ObjLongStream.zip(keys, values).filter((k, v) -> k.length() == 1 && v < 100).count());
+        assertEquals(StreamEx.of(keys).map(k -> k + "!").toList(), ObjLongStream.zip(keys, values).mapKeys(
+            (k, v) -> k + "!").keys().toList());
+        assertEquals(EntryStream.zip(keys, LongStreamEx.of(values).boxed().toArray(Long[]::new)).toList(),
+            ObjLongStream.zip(keys, values).boxed().toList());
+        assertEquals(LongStreamEx.of(values).sum(), ObjLongStream.zip(keys, values).parallel().values().sum());
+        long[] sum = new long[1];
+        ObjLongStream.zip(keys, values).parallel().forEach((k, v) -> {
+            synchronized (sum) {
+                sum[0] += v;
+            }
+        });
+        assertEquals(LongStreamEx.of(values).sum(), sum[0]);
+    }
+
+    @Test
+    public void testCountBy() {
+        List<String> input = Arrays.asList("a", "bb", "cc", "ddd", "e", "ff");
+        Map<Integer, Long> expected = input.stream().collect(Collectors.groupingBy(String::length, Collectors
+                .counting()));
+        streamEx(input::stream, s -> assertEquals(expected, new TreeMap<>(s.get().countByToObjLong(String::length)
+                .toMap())));
+        assertEquals(6, StreamEx.of(input).countByToObjLong(Function.identity()).sumValues());
+        assertEquals(0, StreamEx.empty().countByToObjLong(Function.identity()).count());
+    }
+}
@@ -16,6 +16,8 @@
 package com.landawn.streamex;
 
 import java.io.BufferedReader;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
@@ -23,6 +25,8 @@ import java.io.StringReader;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.AbstractList;
 import java.util.AbstractMap;
 import java.util.ArrayDeque;
@@ -50,6 +54,8 @@ import java.util.Spliterator;
 import java.util.TreeSet;
 import java.util.Vector;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -60,6 +66,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import org.junit.Assume;
 import org.junit.FixMethodOrder;
 import org.junit.Rule;
 import org.junit.Test;
@@ -69,10 +76,15 @@ import org.junit.runners.MethodSorters;
 import com.landawn.streamex.EntryStream;
 import com.landawn.streamex.IntStreamEx;
 import com.landawn.streamex.Joining;
+import com.landawn.streamex.Monoid;
 import com.landawn.streamex.MoreCollectors;
 import com.landawn.streamex.StreamEx;
 import com.landawn.streamex.util.Fn;
 import com.landawn.streamex.util.Fn.Suppliers;
+import com.landawn.streamex.util.Pair;
+import com.landawn.streamex.util.Triple;
+import com.landawn.streamex.util.Tuple;
+import com.landawn.streamex.util.TupleBatch;
 
 import static org.junit.Assert.*;
 import static com.landawn.streamex.TestHelpers.*;
@@ -149,6 +161,32 @@ public class StreamExTest {
                 .println();
         StreamEx.of("a", "bb", "c", "ddd").parallel().slidingMap((a, b, c) -> len(a) + "-" + len(b) + "-" + len(c), 2,
             true).println();
+
+        for (int n = 0; n < 6; n++) {
+            List<Integer> input = IntStreamEx.range(n).boxed().toList();
+            List<String> pairs = new ArrayList<>(), triples = new ArrayList<>();
+            for (int i = 0; i + 1 < n; i++)
+                pairs.add(input.get(i) + "-" + input.get(i + 1));
+            for (int i = 0; i + 2 < n; i++)
+                triples.add(input.get(i) + "-" + input.get(i + 1) + "-" + input.get(i + 2));
+            List<String> paddedPairs = n == 1 ? asList("0-null") : pairs;
+            List<String> paddedTriples = n == 1 ? asList("0-null-null") : n == 2 ? asList("0-1-null") : triples;
+            checkSpliterator("pairs/" + n, pairs, () -> new SlidingSpliterator<Integer, String>(input.spliterator(),
+                    (a, b) -> a + "-" + b, false));
+            checkSpliterator("paddedPairs/" + n, paddedPairs, () -> new SlidingSpliterator<Integer, String>(input
+                    .spliterator(), (a, b) -> a + "-" + b, true));
+            checkSpliterator("triples/" + n, triples, () -> new SlidingSpliterator<Integer, String>(input
+                    .spliterator(), (a, b, c) -> a + "-" + b + "-" + c, false));
+            checkSpliterator("paddedTriples/" + n, paddedTriples, () -> new SlidingSpliterator<Integer, String>(input
+                    .spliterator(), (a, b, c) -> a + "-" + b + "-" + c, true));
+            streamEx(input::stream, s -> assertEquals(paddedTriples, s.get().slidingMap((a, b,
+                    c) -> a + "-" + b + "-" + c).toList()));
+            streamEx(input::stream, s -> assertEquals(pairs, s.get().slidingMap((a, b) -> a + "-" + b, 1, true)
+                    .toList()));
+        }
+        List<Integer> input = IntStreamEx.range(10000).boxed().toList();
+        assertEquals(9998, StreamEx.of(input).parallel().slidingMap((a, b, c) -> c - a == 2 && b - a == 1).filter(
+            x -> x).count());
     }
 
     @Test
@@ -196,6 +234,18 @@ public class StreamExTest {
 
         assertEquals(asList("a", "b", "c", "d"), StreamEx.ofReversed(asList("d", "c", "b", "a")).toList());
         assertEquals(asList("a", "b", "c", "d"), StreamEx.ofReversed(new String[] { "d", "c", "b", "a" }).toList());
+        Integer[] numbers = IntStreamEx.range(1000).boxed().toArray(Integer[]::new);
+        List<Integer> reversed = IntStreamEx.range(1000).map(x -> 999 - x).boxed().toList();
+        checkSpliterator("ofReversed", reversed, () -> StreamEx.ofReversed(numbers).spliterator());
+        checkSpliterator("ofReversedList", reversed, () -> StreamEx.ofReversed(asList(numbers)).spliterator());
+        assertEquals(reversed, StreamEx.ofReversed(numbers).parallel().toList());
+        assertEquals(asList(3, 4), StreamEx.of(numbers, 3, 5).toList());
+        try {
+            StreamEx.of(numbers, 5, 3);
+            fail("no exception");
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // expected
+        }
     }
 
     @Test
@@ -509,6 +559,25 @@ public class StreamExTest {
         assertEquals(asList("bb", "dd"), mapLinked.get(true));
         assertEquals(asList("a", "c"), mapLinked.get(false));
         assertTrue(mapLinked.get(true) instanceof LinkedList);
+
+        assertEquals("false=[a, c], true=[bb, dd]", StreamEx.of("a", "bb", "c", "dd").partitionBy(s -> s.length() > 1)
+                .map(String::valueOf).join(", "));
+        streamEx(() -> IntStreamEx.range(1000).boxed(), s -> {
+            List<List<Integer>> buckets = s.get().partitionTo(x -> x % 64, 64);
+            assertEquals(64, buckets.size());
+            assertEquals(IntStreamEx.range(5, 1000, 64).boxed().toList(), buckets.get(5));
+            assertEquals(asList(16L, 15L), s.get().partitionBy(x -> x % 64, 64, Collectors.counting()).skip(39)
+                    .limit(2).toList());
+            assertEquals(asList(Optional.of(0), Optional.of(1), Optional.empty()), s.get().partitionTo(x -> x > 1 ? 1
+                    : x, 3, MoreCollectors.first()));
+        });
+        assertEquals(asList(asList(), asList()), StreamEx.<Integer> empty().partitionTo(x -> x, 2));
+        try {
+            StreamEx.of(1, 2, 3).partitionTo(x -> x, 3);
+            fail("no exception");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
     }
 
     @Test
@@ -567,6 +636,32 @@ public class StreamExTest {
         assertEquals(asList("a", "b", "c", "d"), StreamEx.of(data.entrySet()).flatArray(Entry::getValue).toList());
     }
 
+    @Test
+    public void testMapMulti() {
+        List<String> expected = IntStreamEx.range(1000).boxed().flatMap(i -> IntStreamEx.range(i % 4).mapToObj(
+            j -> i + ":" + j)).toList();
+        streamEx(() -> IntStreamEx.range(1000).boxed(), s -> {
+            assertEquals(expected, s.get().<String> mapMulti((i, sink) -> {
+                for (int j = 0; j < i % 4; j++) {
+                    sink.accept(i + ":" + j);
+                }
+            }).toList());
+            assertEquals("3:0", s.get().<String> mapMulti((i, sink) -> {
+                for (int j = 0; j < i % 4; j++) {
+                    sink.accept(i + ":" + j);
+                }
+            }).findFirst(x -> x.startsWith("3")).get());
+        });
+        checkSpliterator("mapMulti", expected, () -> new MapMultiSpliterator<Integer, String>(IntStreamEx.range(1000)
+                .boxed().spliterator(), (i, sink) -> {
+                    for (int j = 0; j < i % 4; j++) {
+                        sink.accept(i + ":" + j);
+                    }
+                }));
+        assertEquals(asList("a-1", "a-2", "b-1", "b-2"), StreamEx.of("a", "b").cross(asList(1, 2)).map(
+            (k, v) -> k + "-" + v).toList());
+    }
+
     @Test
     public void testAppend() {
         assertEquals(asList("a", "b", "c", "d", "e"), StreamEx.of("a", "b", "c", "dd").removeIf(s -> s.length() > 1)
@@ -649,6 +744,132 @@ public class StreamExTest {
         assertEquals(asList("a", "cc", "bbb"), StreamEx.of(data).sortedBy(String::length).toList());
     }
 
+    @Test
+    public void testSortingSpill() throws IOException {
+        File dir = tmp.newFolder();
+        SpillOptions<String> spill = SpillOptions.of(100, new SpillOptions.Codec<String>() {
+            @Override
+            public void write(DataOutput out, String s) throws IOException {
+                out.writeUTF(s);
+            }
+
+            @Override
+            public String read(DataInput in) throws IOException {
+                return in.readUTF();
+            }
+        }).tempDirectory(dir.toPath());
+        Comparator<String> byKey = Comparator.comparing(s -> s.substring(0, 2));
+        withRandom(r -> {
+            List<String> input = IntStreamEx.range(2500).mapToObj(i -> (char) ('a' + r.nextInt(20)) + ":" + i)
+                    .toList();
+            List<String> expected = StreamEx.of(input).sorted(byKey).toList();
+            streamEx(input::stream, s -> assertEquals(expected, s.get().sorted(byKey, spill).toList()));
+            assertEquals(expected, StreamEx.of(input).parallel(new ForkJoinPool(3)).sorted(byKey, spill).toList());
+            assertEquals(expected, StreamEx.of(input).sorted(byKey, SpillOptions.serializable(10000)).toList());
+            try (StreamEx<String> sorted = StreamEx.of(input).filter(x -> true).sorted(byKey, SpillOptions
+                    .serializable(7))) {
+                assertEquals(expected.subList(0, 10), sorted.limit(10).toList());
+            }
+        });
+        try (StreamEx<Integer> s = IntStreamEx.range(1000).boxed().reverseSorted().sorted(Comparator.naturalOrder(),
+            SpillOptions.<Integer> serializable(64).tempDirectory(dir.toPath()))) {
+            Iterator<Integer> it = s.iterator();
+            assertEquals(0, (int) it.next());
+            assertEquals(1, (int) it.next());
+        }
+        // 1000 runs are merged in cascades
+        List<Integer> shuffled = IntStreamEx.range(10000).map(x -> x * 7919 % 10000).boxed().toList();
+        assertEquals(IntStreamEx.range(10000).boxed().toList(), StreamEx.of(shuffled).sorted(Comparator
+                .naturalOrder(), SpillOptions.<Integer> serializable(10)).toList());
+        assertEquals(Collections.emptyList(), StreamEx.<String> empty().sorted(byKey, spill).toList());
+        try {
+            SpillOptions.serializable(0);
+            fail("no exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testGroupingSpill() throws IOException {
+        File dir = tmp.newFolder();
+        withRandom(r -> {
+            List<Integer> input = IntStreamEx.of(r, 5000, 0, 700).boxed().toList();
+            Map<Integer, Long> expected = StreamEx.of(input).groupTo(x -> x % 300, Collectors.counting());
+            for (int budget : new int[] { 1, 10, 299, 300, 1000 }) {
+                SpillOptions<Integer> spill = SpillOptions.<Integer> serializable(budget).tempDirectory(dir.toPath());
+                streamEx(input::stream, s -> assertEquals(expected, s.get().groupByToEntry(x -> x % 300, Collectors
+                        .counting(), spill).toMap()));
+            }
+            Map<Integer, List<Integer>> expectedLists = StreamEx.of(input).groupTo(x -> x % 300);
+            assertEquals(expectedLists, StreamEx.of(input).groupByToEntry(x -> x % 300, Collectors.toList(),
+                SpillOptions.serializable(7)).toMap());
+        });
+        try (EntryStream<Integer, Optional<String>> s = StreamEx.of("a", "bb", "cc", "ddd").groupByToEntry(
+            String::length, MoreCollectors.first(), SpillOptions.serializable(1))) {
+            assertTrue(s.findFirst().isPresent());
+        }
+        assertEquals(Collections.emptyMap(), StreamEx.<String> empty().groupByToEntry(String::length, Collectors
+                .counting(), SpillOptions.serializable(1)).toMap());
+    }
+
+    @Test
+    public void testSpillFilesReleased() throws IOException {
+        // the files are unlinked once opened on Unix, so the open ones are
+        // found among the file descriptors of the process
+        Assume.assumeTrue(Files.isDirectory(Paths.get("/proc/self/fd")));
+        Path dir = tmp.newFolder().toPath().toRealPath();
+        SpillOptions<Integer> spill = SpillOptions.<Integer> serializable(64).tempDirectory(dir);
+        List<Integer> input = IntStreamEx.range(1000).map(x -> x * 7919 % 1000).boxed().toList();
+        streamEx(input::stream, s -> {
+            assertEquals(IntStreamEx.range(1000).boxed().toList(), s.get().sorted(Comparator.naturalOrder(), spill)
+                    .toList());
+            assertEquals(1000, s.get().groupByToEntry(x -> x, Collectors.counting(), spill).count());
+            assertEquals(0, openSpillFiles(dir));
+        });
+        try (StreamEx<Integer> s = StreamEx.of(input).sorted(Comparator.naturalOrder(), spill)) {
+            Iterator<Integer> it = s.iterator();
+            assertEquals(0, (int) it.next());
+            assertTrue(openSpillFiles(dir) > 0);
+        }
+        assertEquals(0, openSpillFiles(dir));
+        try (StreamEx<Integer> s = StreamEx.of(input).sorted(Comparator.naturalOrder(), spill)) {
+            assertEquals(asList(0, 1), s.limit(2).toList());
+        }
+        assertEquals(0, openSpillFiles(dir));
+
+        // 1000 runs are merged in cascades
+        List<Integer> shuffled = IntStreamEx.range(10000).map(x -> x * 7919 % 10000).boxed().toList();
+        try (StreamEx<Integer> s = StreamEx.of(shuffled).sorted(Comparator.naturalOrder(), SpillOptions
+                .<Integer> serializable(10).tempDirectory(dir))) {
+            Iterator<Integer> it = s.iterator();
+            assertEquals(0, (int) it.next());
+            assertTrue(openSpillFiles(dir) < ExternalSortSpliterator.MAX_FAN_IN);
+        }
+        assertEquals(0, openSpillFiles(dir));
+
+        try (EntryStream<Integer, Optional<String>> s = StreamEx.of("a", "bb", "cc", "ddd").groupByToEntry(
+            String::length, MoreCollectors.first(), SpillOptions.<String> serializable(1).tempDirectory(dir))) {
+            assertTrue(s.findFirst().isPresent());
+        }
+        assertEquals(0, openSpillFiles(dir));
+    }
+
+    private static long openSpillFiles(Path dir) {
+        try (Stream<Path> fds = Files.list(Paths.get("/proc/self/fd"))) {
+            return fds.filter(fd -> {
+                try {
+                    return Files.readSymbolicLink(fd).startsWith(dir);
+                } catch (IOException e) {
+                    // closed meanwhile
+                    return false;
+                }
+            }).count();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Test
     public void testMinMax() {
         withRandom(random -> {
@@ -743,6 +964,55 @@ public class StreamExTest {
         });
     }
 
+    @Test
+    public void testFoldMap() {
+        List<String> input = IntStreamEx.range(1000).mapToObj(String::valueOf).toList();
+        streamEx(input::stream, supplier -> {
+            assertEquals(499500, (int) supplier.get().foldMap(Integer::valueOf, Monoid.intSum()));
+            assertEquals(499500L, (long) supplier.get().foldMap(Long::valueOf, Monoid.longSum()));
+            assertEquals(499500.0, supplier.get().foldMap(Double::valueOf, Monoid.doubleSum()), 0.0);
+            assertEquals(0, (int) supplier.get().foldMap(Integer::valueOf, Monoid.intMin()));
+            assertEquals(999L, (long) supplier.get().foldMap(Long::valueOf, Monoid.longMax()));
+            assertEquals(String.join("", input), supplier.get().foldMap(Function.identity(), Monoid.concat()));
+            assertEquals("999", supplier.get().foldMap(Function.identity(), Monoid.max(Comparator
+                    .comparingInt(String::length))));
+            assertEquals("100", supplier.get().foldMap(Function.identity(), Monoid.min(Comparator
+                    .comparingInt(String::length).reversed())));
+            assertEquals(StreamEx.of(input).map(String::length).toSet(), supplier.get().foldMap(
+                s -> Collections.singleton(s.length()), Monoid.union()));
+            assertEquals(EntryStream.of(1, 10, 2, 90, 3, 900).toMap(), supplier.get().foldMap(s -> Collections
+                    .singletonMap(s.length(), 1), Monoid.mergeMaps(Integer::sum)));
+            // non-commutative custom monoid
+            assertEquals(input, supplier.get().foldMap(Collections::singletonList, Monoid.<List<String>> of(
+                Collections.emptyList(), (a, b) -> StreamEx.of(a).append(b).toList())));
+        });
+        emptyStreamEx(String.class, supplier -> {
+            assertEquals(0, (int) supplier.get().foldMap(String::length, Monoid.intSum()));
+            assertEquals(Integer.MAX_VALUE, (int) supplier.get().foldMap(String::length, Monoid.intMin()));
+            assertEquals("", supplier.get().foldMap(Function.identity(), Monoid.concat()));
+            assertNull(supplier.get().foldMap(Function.identity(), Monoid.min(Comparator.naturalOrder())));
+            assertTrue(supplier.get().foldMap(Collections::singleton, Monoid.union()).isEmpty());
+        });
+
+        Monoid<Set<Integer>> union = Monoid.union();
+        Set<Integer> a = Collections.singleton(1);
+        assertEquals(new HashSet<>(asList(1, 2)), union.combine(a, Collections.singleton(2)));
+        assertEquals(a, union.combine(union.identity(), a));
+        Monoid<Map<String, Integer>> merge = Monoid.mergeMaps(Integer::sum);
+        assertEquals(Collections.singletonMap("a", 3), merge.combine(Collections.singletonMap("a", 1), Collections
+                .singletonMap("a", 2)));
+        assertEquals("ab", Monoid.concat().combine("a", "b"));
+        streamEx(() -> StreamEx.of("a", null, "b"), supplier -> {
+            try {
+                supplier.get().foldMap(Function.identity(), Monoid.concat());
+                fail("no exception");
+            } catch (NullPointerException e) {
+                // expected
+            }
+        });
+        assertEquals(3, (int) Monoid.intMax().combine(3, Monoid.intMax().identity()));
+    }
+
     @Test
     public void testFoldLeftOptional() {
         // non-associative
@@ -763,6 +1033,8 @@ public class StreamExTest {
             (BiFunction<String, Map<String, Object>, Map<String, Object>>) Collections::singletonMap).toString());
         assertEquals("{a={bb={ccc={}}}}", StreamEx.of("a", "bb", "ccc").parallel().foldRight(Collections.emptyMap(),
             (BiFunction<String, Map<String, Object>, Map<String, Object>>) Collections::singletonMap).toString());
+        assertEquals(";a;b;c", StreamEx.ofReversed(asList("a", "b", "c")).foldRight("", (u, v) -> v + ";" + u));
+        assertEquals(";c;b;a", StreamEx.of("a", "b", "c").filter(x -> true).foldRight("", (u, v) -> v + ";" + u));
     }
 
     @Test
@@ -773,6 +1045,10 @@ public class StreamExTest {
             accumulator).orElse(-1)));
         streamEx(() -> StreamEx.of(1, 2, 3, 0), supplier -> assertEquals(14884, (int) supplier.get().foldRight(
             accumulator).orElse(-1)));
+        assertEquals(14884, (int) StreamEx.of(1, 2, 3, 0).foldRight(accumulator).get());
+        assertEquals(14884, (int) StreamEx.ofReversed(new Integer[] { 0, 3, 2, 1 }).foldRight(accumulator).get());
+        assertEquals(14884, (int) StreamEx.of(1, 2, 3, 0).parallel().foldRight(accumulator).get());
+        assertFalse(StreamEx.of(new Integer[0], 0, 0).foldRight(accumulator).isPresent());
         emptyStreamEx(Integer.class, supplier -> assertFalse(supplier.get().foldRight(accumulator).isPresent()));
     }
 
@@ -1010,6 +1286,165 @@ public class StreamExTest {
         assertEquals("four:three:two:one", nodes.get(0).toString());
     }
 
+    @Test
+    public void testStatefulPredicates() {
+        streamEx(() -> IntStreamEx.range(10000).boxed(), s -> {
+            assertEquals(100, s.get().filter(Fn.filterThenLimit(x -> x % 2 == 0, 100)).count());
+            assertEquals(50, s.get().filter(Fn.limitThenFilter(100, x -> x % 2 == 0)).count());
+            assertEquals(0, s.get().filter(Fn.limitThenFilter(0, x -> true)).count());
+            assertEquals(IntStreamEx.range(7).boxed().toSet(), s.get().filter(Fn.Predicates.distinctBy(x -> x % 7))
+                    .map(x -> x % 7).toSet());
+            assertEquals(10000, s.get().map(x -> x / 2).filter(Fn.Predicates.distinctBy()).count() * 2);
+        });
+        assertEquals(asList(0, 2, 4), IntStreamEx.range(100).boxed().filter(Fn.filterThenLimit(x -> x % 2 == 0, 3))
+                .toList());
+        // the ordered parallel stream is split, but the permits go to the first elements
+        assertEquals(IntStreamEx.range(0, 2000, 2).boxed().toList(), IntStreamEx.range(100000).parallel().boxed()
+                .filter(Fn.filterThenLimit(x -> x % 2 == 0, 1000)).toList());
+        assertEquals(1000, IntStreamEx.range(100000).parallel().boxed().unordered().filter(Fn.limitThenFilter(1000,
+            x -> true)).count());
+        // thread-safe variant used directly
+        Predicate<Integer> limit = Fn.filterThenLimit(x -> true, 1000);
+        assertEquals(1000, IntStreamEx.range(100000).parallel().boxed().collect(Collectors.partitioningBy(limit))
+                .get(true).size());
+        Predicate<Integer> distinct = Fn.Predicates.distinctBy(x -> x % 1000);
+        assertEquals(1000, IntStreamEx.range(100000).parallel().boxed().collect(Collectors.partitioningBy(distinct))
+                .get(true).size());
+        // the state is shared between the direct calls and the streams
+        Predicate<Integer> p = Fn.limitThenFilter(3, x -> true);
+        assertTrue(p.test(1));
+        assertEquals(asList(1, 2), StreamEx.of(1, 2, 3, 4).filter(p).toList());
+        assertFalse(p.test(1));
+        Predicate<Integer> once = Fn.limitThenFilter(3, x -> true);
+        assertEquals(asList(1, 2), StreamEx.of(1, 2).filter(once).toList());
+        assertEquals(asList(3), StreamEx.of(3, 4, 5).filter(once).toList());
+        Predicate<Integer> unique = Fn.Predicates.distinctBy();
+        assertEquals(asList(1, 2, 3), StreamEx.of(1, 2, 3, 1).filter(unique).toList());
+        assertEquals(asList(4), StreamEx.of(2, 3, 4).filter(unique).toList());
+        assertFalse(unique.test(4));
+    }
+
+    @Test
+    public void testZipForEach() {
+        Integer[] a = IntStreamEx.range(10000).boxed().toArray(Integer[]::new);
+        String[] b = IntStreamEx.range(10000).mapToObj(String::valueOf).toArray(String[]::new);
+        List<String> zipped = new ArrayList<>();
+        StreamEx.zipForEach(a, b, (x, y) -> zipped.add(x + y));
+        assertEquals(StreamEx.zip(a, b, (x, y) -> x + y).toList(), zipped);
+        List<String> triples = new ArrayList<>();
+        StreamEx.zipForEach(asList(0, 1, 2), asList("a", "b", "c"), asList(true, true, false), (x, y, z) -> {
+            if (z)
+                triples.add(x + y);
+        });
+        assertEquals(asList("0a", "1b"), triples);
+        triples.clear();
+        StreamEx.zipForEach(new Integer[] { 0, 1 }, new String[] { "a" }, new Boolean[] { true, true }, (x, y,
+                z) -> triples.add(x + y));
+        assertEquals(asList("0a"), triples);
+
+        List<String> input = asList("a", "bb", "c", "ddd");
+        streamEx(input::stream, supplier -> {
+            List<String> crossed = Collections.synchronizedList(new ArrayList<>());
+            supplier.get().crossForEach(asList(1, 2), (x, y) -> crossed.add(x + y));
+            assertEquals(supplier.get().cross(1, 2).map(e -> e.getKey() + e.getValue()).sorted().toList(), StreamEx
+                    .of(crossed).sorted().toList());
+            crossed.clear();
+            supplier.get().crossForEach(Collections.emptyList(), (x, y) -> crossed.add(x + y));
+            supplier.get().crossForEach(null, (x, y) -> crossed.add(x + y));
+            assertEquals(0, supplier.get().cross((Collection<Object>) null).count());
+            assertTrue(crossed.isEmpty());
+            supplier.get().innerJoinForEach(asList(1, 2, 2), String::length, x -> x, (x, y) -> crossed.add(x + y));
+            assertEquals(supplier.get().innerJoin(asList(1, 2, 2), String::length, x -> x).map(p -> p.left
+                + p.right).sorted().toList(), StreamEx.of(crossed).sorted().toList());
+        });
+    }
+
+    @Test
+    public void testTupleBatch() {
+        List<Triple<String, Long, Double>> triples = IntStreamEx.range(1000).mapToObj(i -> Triple.of("k" + i % 3,
+            (long) i, i / 2.0)).toList();
+        streamEx(triples::stream, supplier -> {
+            List<TupleBatch> batches = TupleBatch.ofTriples(supplier.get(), 64, String.class, long.class,
+                double.class).toList();
+            assertTrue(StreamEx.of(batches).allMatch(b -> b.size() <= 64));
+            assertEquals(1000, StreamEx.of(batches).mapToInt(TupleBatch::size).sum());
+            assertEquals(triples, StreamEx.of(batches).flatMap(TupleBatch::<String, Long, Double> toTriples)
+                    .toList());
+            Map<String, TupleBatch> byKey = TupleBatch.ofTriples(supplier.get(), 64, String.class, long.class,
+                double.class).map(b -> b.filterLong(1, ts -> ts >= 100)).collect(TupleBatch.groupingBy(0));
+            assertEquals(asList("k1", "k2", "k0"), new ArrayList<>(byKey.keySet()));
+            assertEquals(300, byKey.get("k1").size());
+            assertEquals(IntStreamEx.range(100, 1000, 3).asLongStream().sum(), byKey.get("k1").sumLong(1));
+            assertEquals(asList("k2", "k2"), byKey.get("k2").toTriples().limit(2).map(Triple::left).toList());
+        });
+
+        TupleBatch batch = TupleBatch.of(new String[] { "a", "b", "a", "c" }, new long[] { 1, 2, 3, 4 },
+            new double[] { 0.5, 1.5, 2.5, 3.5 });
+        assertEquals(4, batch.size());
+        assertEquals(3, batch.arity());
+        assertEquals(long.class, batch.columnType(1));
+        assertEquals(String.class, batch.columnType(0));
+        assertEquals(3L, batch.get(1, 2));
+        assertSame(batch, batch.filterDouble(2, d -> d > 0));
+        assertEquals(asList(Pair.of("a", 1L), Pair.of("a", 3L)), batch.filter(0, "a"::equals).select(0, 1)
+                .toPairs().toList());
+        assertArrayEquals(new long[] { 10, 20, 30, 40 }, batch.mapLong(1, x -> x * 10).longColumn(1));
+        assertEquals(16.0, batch.mapDouble(2, x -> x * 2).sumDouble(2), 0.0);
+        assertEquals(asList("A", "B", "A", "C"), asList(batch.map(0, (String s) -> s.toUpperCase()).objColumn(
+            0)));
+        String[] as = batch.<String> groupBy(0).get("a").objColumn(0);
+        assertArrayEquals(new String[] { "a", "a" }, as);
+        assertEquals(asList(Tuple.of("a", 1L, 0.5), Tuple.of("b", 2L, 1.5)), batch.toTuples().limit(2).toList());
+        assertEquals(asList(Tuple.of(1, "x"), Tuple.of(2, "y")), TupleBatch.ofTuples(Stream.of(Tuple.of(1, "x"),
+            Tuple.of(2, "y")), 10, int.class, String.class).flatMap(TupleBatch::toTuples).toList());
+        assertEquals(8, TupleBatch.concat(asList(batch, batch)).size());
+        // a single object array is one column
+        TupleBatch names = TupleBatch.of(new String[] { "x", "y" });
+        assertEquals(1, names.arity());
+        assertEquals(2, names.size());
+        assertEquals(asList(Tuple.of("x", 1), Tuple.of("y", 2)), TupleBatch.of(asList(new String[] { "x", "y" },
+            new int[] { 1, 2 })).toTuples().toList());
+        assertEquals("TupleBatch[size=4, types=[String, long, double]]", batch.toString());
+        List<Runnable> illegal = asList(() -> batch.longColumn(2), () -> TupleBatch.of(new int[1], new int[2]),
+            () -> TupleBatch.of(Collections.emptyList()), () -> TupleBatch.of("abc"),
+            () -> TupleBatch.concat(asList(batch, batch.select(0))));
+        for (Runnable r : illegal) {
+            try {
+                r.run();
+                fail("no exception");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+        assertEquals(0, TupleBatch.ofPairs(Stream.<Pair<String, Integer>> empty(), 10, String.class, int.class)
+                .count());
+    }
+
+    @Test
+    public void testIndexed() {
+        List<String> expected = IntStreamEx.range(0, 10000, 3).mapToObj(i -> (i / 3) + ":" + i).toList();
+        streamEx(() -> IntStreamEx.range(10000).boxed(), s -> {
+            assertEquals(IntStreamEx.range(10000).map(i -> i * 2).boxed().toList(), s.get().mapIndexed((x, i) -> x
+                + (int) i).toList());
+            assertEquals(IntStreamEx.range(0, 10000, 7).boxed().toList(), s.get().filterIndexed((x, i) -> i % 7 == 0)
+                    .toList());
+            assertEquals(49995000L, (long) s.get().reduceIndexed(0L, (acc, x, i) -> acc + i, Long::sum));
+        });
+        // not SIZED source: indices are assigned after filtering
+        streamEx(() -> IntStreamEx.range(10000).boxed().filter(x -> x % 3 == 0), s -> {
+            assertEquals(expected, s.get().mapIndexed((x, i) -> i + ":" + x).toList());
+            assertEquals(expected.size(), s.get().indexed().count());
+            assertEquals(IntStreamEx.range(0, 10000, 3).asLongStream().map(x -> x * x / 3).sum(), (long) s.get()
+                    .reduceIndexed(0L, (acc, x, i) -> acc + x * i, Long::sum));
+            long[] indices = new long[expected.size()];
+            s.get().forEachIndexed((x, i) -> indices[(int) i] = x);
+            assertArrayEquals(IntStreamEx.range(0, 10000, 3).asLongStream().toArray(), indices);
+        });
+        assertEquals("abc", StreamEx.of("a", "b", "c").reduceIndexed("", (acc, x, i) -> acc + x, String::concat));
+        assertEquals("", StreamEx.<String> empty().parallel().reduceIndexed("", (acc, x, i) -> acc + x,
+            String::concat));
+    }
+
     @Test
     public void testScanLeft() {
         streamEx(() -> IntStreamEx.rangeClosed(1, 4).boxed(), supplier -> {
@@ -1036,6 +1471,12 @@ public class StreamExTest {
         });
         assertEquals(333833500, IntStreamEx.rangeClosed(1, 1000).boxed().parallel().scanRight(0, Integer::sum).stream()
                 .mapToLong(x -> x).sum());
+        assertEquals(asList(10, 9, 7, 4, 0), StreamEx.of(1, 2, 3, 4).scanRight(0, Integer::sum));
+        assertEquals(asList(10, 9, 7, 4), StreamEx.of(1, 2, 3, 4).parallel().scanRight(Integer::sum));
+        assertEquals(asList(10, 6, 3, 1), StreamEx.ofReversed(asList(1, 2, 3, 4)).scanRight(Integer::sum));
+        // non-associative
+        assertEquals(asList(-2, 3, -1, 4), StreamEx.of(1, 2, 3, 4).parallel().scanRight((x, y) -> x - y));
+        assertTrue(StreamEx.of(new Integer[0], 0, 0).scanRight(Integer::sum).isEmpty());
     }
 
     @Test
@@ -1767,6 +2208,25 @@ public class StreamExTest {
         });
     }
 
+    @Test
+    public void testCountByOccurrences() {
+        List<String> input = IntStreamEx.range(2000).mapToObj(i -> i % 7 == 0 ? null : "s" + i % 13).toList();
+        List<String> keys = StreamEx.of(input).distinct().toList();
+        streamEx(input::stream, supplier -> {
+            assertEquals(keys, supplier.get().countBy(Function.identity()).map(Entry::getKey).collect(Collectors
+                    .toList()));
+            assertEquals(2000, supplier.get().countByToEntry(Function.identity()).values().mapToInt(x -> x).sum());
+            assertEquals(286, (int) supplier.get().countByToEntry(Function.identity()).toMap().get(null));
+            assertEquals(keys.subList(0, 3), supplier.get().distinct(n -> n > 0).limit(3).toList());
+            assertEquals(asList(), supplier.get().distinct(n -> n > 286).toList());
+            assertEquals(asList(null, "s10"), supplier.get().distinctBy(s -> s == null ? 0 : s.length(),
+                n -> n < 1000).toList());
+        });
+        EntryStream<String, Integer> entries = StreamEx.of(input).mapToEntry(Function.identity(),
+            s -> s == null ? 0 : s.length());
+        assertEquals(asList(null, "s1", "s10"), entries.distinctBy(Entry::getValue, n -> n > 0).keys().toList());
+    }
+
     @Test
     public void testIndexOf() {
         List<Integer> input = IntStreamEx.range(100).append(IntStreamEx.range(100)).boxed().toList();
@@ -2098,6 +2558,18 @@ public class StreamExTest {
                 // expected
             }
         }));
+        streamEx(() -> StreamEx.of("b", null, "a", "b", null, "c", "a"), s -> {
+            Set<String> set = s.get().toImmutableSet();
+            assertEquals(new HashSet<>(asList("a", "b", "c", null)), set);
+            assertEquals(new HashSet<>(asList("a", "b", "c", null)).hashCode(), set.hashCode());
+            assertEquals(asList("b", null, "a", "c"), new ArrayList<>(set));
+            assertTrue(set.contains(null));
+            assertFalse(set.contains("d"));
+        });
+        Set<Integer> big = IntStreamEx.range(10000).map(x -> x % 3000).boxed().parallel().toImmutableSet();
+        assertEquals(3000, big.size());
+        assertEquals(IntStreamEx.range(3000).boxed().toSet(), big);
+        assertTrue(IntStreamEx.range(-100, 3100).allMatch(x -> big.contains(x) == (x >= 0 && x < 3000)));
     }
 
     @Test
@@ -2131,6 +2603,34 @@ public class StreamExTest {
         assertSame(c, StreamEx.repeat("a", 20).into(c));
         //noinspection NumericOverflow
         assertEquals(Integer.MAX_VALUE + 10, c.size());
+
+        List<Integer> expected = IntStreamEx.range(-5, 20000).boxed().toList();
+        List<Integer> sized = new ArrayList<>(asList(-5, -4, -3, -2, -1));
+        assertSame(sized, IntStreamEx.range(20000).boxed().parallel().map(x -> x).into(sized));
+        assertEquals(expected, sized);
+        assertEquals(expected.subList(5, 20005), StreamEx.of(expected).parallel().filter(x -> x >= 0).into(
+            new ArrayList<>()));
+        assertEquals(expected.subList(5, 20005), IntStreamEx.range(20000).boxed().parallel().into(
+            new LinkedList<>()));
+        assertEquals(new HashSet<>(expected), StreamEx.of(expected).parallel().map(x -> x).into(new HashSet<>()));
+        assertEquals(new HashSet<>(expected), StreamEx.of(expected).parallel().into(ConcurrentHashMap.newKeySet()));
+        assertEquals(new TreeSet<>(expected), StreamEx.of(expected).parallel().toCollection(
+            ConcurrentSkipListSet::new));
+        assertEquals(expected, StreamEx.of(expected).parallel().toCollection(ArrayList::new));
+        List<Integer> untouched = new ArrayList<>(asList(1, 2));
+        try {
+            IntStreamEx.range(20000).boxed().parallel().map(x -> {
+                if (x == 12345)
+                    throw new IllegalArgumentException();
+                return x;
+            }).into(untouched);
+            fail("no exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(asList(1, 2), untouched);
+        assertEquals(expected.subList(5, 20005), IntStreamEx.range(20000).boxed().parallel(new ForkJoinPool(3)).into(
+            new ArrayList<>()));
     }
 
     //    @Test
@@ -2204,5 +2704,18 @@ public class StreamExTest {
         StreamEx.of(listA).rightJoin(listB, (a, b) -> a.length() == b).println();
         StreamEx.of(listA).rightJoin(listB, a -> a.length(), b -> b).println();
         System.out.println("===============================================");
+
+        String inner = "[[a, 1], [b, 1], [c, 1], [aa, 2], [bb, 2]]";
+        assertEquals(inner, StreamEx.of(listA).innerJoin(listB, (a, b) -> a.length() == b).toList().toString());
+        assertEquals(inner, StreamEx.of(listA).innerJoin(listB, a -> a.length(), b -> b).toList().toString());
+        String left = "[[a, 1], [b, 1], [c, 1], [aa, 2], [bb, 2], [ccc, null]]";
+        assertEquals(left, StreamEx.of(listA).leftJoin(listB, (a, b) -> a.length() == b).toList().toString());
+        assertEquals(left, StreamEx.of(listA).leftJoin(listB, a -> a.length(), b -> b).toList().toString());
+        String right = "[[a, 1], [b, 1], [c, 1], [aa, 2], [bb, 2], [null, 5]]";
+        assertEquals(right, StreamEx.of(listA).rightJoin(listB, (a, b) -> a.length() == b).toList().toString());
+        assertEquals(right, StreamEx.of(listA).rightJoin(listB, a -> a.length(), b -> b).toList().toString());
+        String full = "[[a, 1], [b, 1], [c, 1], [aa, 2], [bb, 2], [ccc, null], [null, 5]]";
+        assertEquals(full, StreamEx.of(listA).fullJoin(listB, (a, b) -> a.length() == b).toList().toString());
+        assertEquals(full, StreamEx.of(listA).fullJoin(listB, a -> a.length(), b -> b).toList().toString());
     }
 }
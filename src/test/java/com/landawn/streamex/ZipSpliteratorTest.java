@@ -24,6 +24,8 @@ import java.util.function.Supplier;
 
 import org.junit.Test;
 
+import static org.junit.Assert.*;
+
 import com.landawn.streamex.IntStreamEx;
 import com.landawn.streamex.ZipSpliterator;
 
@@ -66,4 +68,27 @@ public class ZipSpliteratorTest {
             201).iterator(), Spliterator.ORDERED), (x, y) -> x + ":" + y, true);
         checkSpliterator("unknownSize", expected, s);
     }
+
+    @Test
+    public void testChunks() {
+        List<String> expected = IntStreamEx.range(5000).mapToObj(x -> x + ":" + (x + 1)).toList();
+        Supplier<Spliterator<String>> s = () -> new ZipSpliterator<>(IntStreamEx.range(5000).boxed().spliterator(),
+                Spliterators.spliteratorUnknownSize(IntStreamEx.range(1, 5001).iterator(), Spliterator.ORDERED), (x,
+                        y) -> x + ":" + y, true);
+        checkSpliterator("sizedUnknown", expected, s);
+        Spliterator<String> spltr = s.get();
+        Spliterator<String> prefix = spltr.trySplit();
+        assertTrue(prefix.hasCharacteristics(Spliterator.SUBSIZED));
+        assertNotNull(prefix.trySplit());
+    }
+
+    @Test
+    public void testPrimitive() {
+        List<Integer> expected = IntStreamEx.range(3000).map(x -> x * 3 + 1).boxed().toList();
+        checkSpliterator("intInt", expected, () -> new ZipSpliterator.OfIntInt(IntStreamEx.range(3000)
+                .spliterator(), IntStreamEx.iterate(1, x -> x + 2).spliterator(), (x, y) -> x + y));
+        List<Double> expectedDouble = IntStreamEx.range(3000).mapToObj(x -> x * 1.5).toList();
+        checkSpliterator("longDouble", expectedDouble, () -> new ZipSpliterator.OfLongDouble(LongStreamEx.range(
+            3000).spliterator(), DoubleStreamEx.iterate(0, x -> x + 0.5).spliterator(), (x, y) -> x + y));
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.landawn.streamex.util;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.Test;
+
+import com.landawn.streamex.IntStreamEx;
+import com.landawn.streamex.LongStreamEx;
+
+public class FnTest {
+    @Test
+    public void testMemoize() {
+        AtomicInteger calls = new AtomicInteger();
+        Fn.MemoizedFunction<String, Integer> len = Fn.memoize(s -> {
+            calls.incrementAndGet();
+            return s == null ? -1 : s.length();
+        }, 100, Fn.EvictionPolicy.LRU);
+        assertEquals(asList(3, 2, -1), IntStreamEx.range(1000).mapToObj(i -> "abc").append(asList("de", null)).map(len)
+                .distinct().toList());
+        assertEquals(3, calls.get());
+        assertEquals(asList(3, 2, -1), IntStreamEx.range(1000).mapToObj(i -> "abc").append(asList("de", null))
+                .parallel().map(len).distinct().toList());
+        assertEquals(3, calls.get());
+        assertEquals(0, len.stats().evictionCount());
+        assertTrue(len.stats().hitRate() > 0.9);
+
+        Fn.MemoizedIntFunction<Integer> parallel = Fn.memoizeInt(x -> x % 10, 16, Fn.EvictionPolicy.LFU);
+        assertEquals(450000, IntStreamEx.range(100000).parallel().map(x -> parallel.apply(x % 10)).sum());
+        assertEquals(100000, parallel.stats().hitCount() + parallel.stats().missCount());
+        try {
+            Fn.memoize(x -> x, 0, Fn.EvictionPolicy.LRU);
+            fail("no exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testMemoizeEviction() {
+        // LRU keeps the recently used key
+        Fn.MemoizedIntFunction<String> lru = Fn.memoizeInt(String::valueOf, 4, Fn.EvictionPolicy.LRU);
+        IntStreamEx.range(4).forEach(lru::apply);
+        for (int i = 4; i < 100; i++) {
+            lru.apply(0);
+            lru.apply(i);
+        }
+        Fn.CacheStats stats = lru.stats();
+        assertEquals(96 + 4, stats.missCount());
+        assertEquals(96, stats.hitCount());
+        assertEquals(96, stats.evictionCount());
+        lru.clear();
+        assertEquals("0", lru.apply(0));
+        assertEquals(101, lru.stats().missCount());
+
+        // LFU keeps the frequently used keys
+        Fn.MemoizedLongFunction<Long> lfu = Fn.memoizeLong(x -> x * x, 8, Fn.EvictionPolicy.LFU);
+        for (int i = 0; i < 1000; i++) {
+            lfu.apply(i % 4);
+        }
+        LongStreamEx.range(100, 200).forEach(lfu::apply);
+        long misses = lfu.stats().missCount();
+        LongStreamEx.range(4).forEach(lfu::apply);
+        assertEquals(misses, lfu.stats().missCount());
+        assertEquals(Long.valueOf(9), lfu.apply(3));
+    }
+
+    @Test
+    public void testMemoizeExpiration() {
+        Fn.MemoizedFunction<Integer, Integer> expiring = Fn.memoize(x -> x + 1, 10, 1, TimeUnit.HOURS);
+        assertEquals(Integer.valueOf(2), expiring.apply(1));
+        assertEquals(Integer.valueOf(2), expiring.apply(1));
+        assertEquals(1, expiring.stats().hitCount());
+        Fn.MemoizedFunction<Integer, Integer> expired = Fn.memoize(x -> x + 1, 10, 1, TimeUnit.NANOSECONDS);
+        expired.apply(1);
+        LockSupport.parkNanos(1000);
+        expired.apply(1);
+        assertEquals(0, expired.stats().hitCount());
+    }
+
+    @Test
+    public void testMemoizeCapacity() {
+        for (int maxSize : new int[] { 1, 7, 8, 9, 15, 16, 17, 100 }) {
+            MemoCache cache = new MemoCache.OfInt<>(String::valueOf, maxSize, Fn.EvictionPolicy.LRU, 0,
+                    TimeUnit.NANOSECONDS);
+            int capacity = cache.table().length;
+            assertTrue(String.valueOf(maxSize), capacity >= maxSize && capacity < maxSize + 8);
+        }
+        // one set holds all the keys
+        Fn.MemoizedIntFunction<String> small = Fn.memoizeInt(String::valueOf, 5, Fn.EvictionPolicy.LRU);
+        IntStreamEx.of(1, 2, 3, 4, 5, 1, 2, 3, 4, 5).forEach(small::apply);
+        assertEquals(5, small.stats().hitCount());
+    }
+}